@@ -1,17 +1,47 @@
 package gr.aueb.cf.schoolappsoa;
 
+import gr.aueb.cf.schoolappsoa.dao.IMeetingDAO;
+import gr.aueb.cf.schoolappsoa.dao.IMeetingSeriesDAO;
+import gr.aueb.cf.schoolappsoa.dao.MeetingDAOImpl;
+import gr.aueb.cf.schoolappsoa.dao.MeetingSeriesDAOImpl;
+import gr.aueb.cf.schoolappsoa.dao.exceptions.MeetingDAOException;
+import gr.aueb.cf.schoolappsoa.dao.exceptions.MeetingSeriesDAOException;
+import gr.aueb.cf.schoolappsoa.model.Meeting;
+import gr.aueb.cf.schoolappsoa.service.reminder.ReminderScheduler;
+import gr.aueb.cf.schoolappsoa.service.scheduling.Recurrence;
+import gr.aueb.cf.schoolappsoa.service.scheduling.SeriesCalendar;
+import gr.aueb.cf.schoolappsoa.service.scheduling.SeriesIndex;
+import gr.aueb.cf.schoolappsoa.service.security.SecUtil;
+import gr.aueb.cf.schoolappsoa.service.session.SessionContext;
+import gr.aueb.cf.schoolappsoa.service.session.UserSession;
 import gr.aueb.cf.schoolappsoa.viewcontroller.*;
 
 import java.awt.EventQueue;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.Objects;
 
 /**
  * The driver class for the school-app-pro.
  * Initializes every JFrame and set visible the
- * login frame.
+ * login frame. It also starts the {@link ReminderScheduler} of the
+ * meetings and of the meetings of the series, whose reminders are
+ * listed in the {@link RemindersForm} for the logged in user.
  *
  * @author Thanasis Chousiadas
  */
 public class Main {
+    public static final String BCRYPT_TARGET_PROPERTY = "security.bcrypt.targetMillis";
+    public static final String REMINDER_LEAD_PROPERTY = "meetings.reminder.leadMinutes";
+    public static final long DEFAULT_REMINDER_LEAD_MINUTES = 15L;
+
+    private static final IMeetingDAO meetingDAO = new MeetingDAOImpl();
+    private static final IMeetingSeriesDAO meetingSeriesDAO = new MeetingSeriesDAOImpl();
+    private static final SeriesIndex seriesIndex = new SeriesIndex(meetingSeriesDAO);
+    private static final ReminderScheduler reminderScheduler = new ReminderScheduler(meetingDAO,
+            new SeriesCalendar(seriesIndex, new Recurrence(ZoneId.systemDefault())),
+            Duration.ofMinutes(Long.getLong(REMINDER_LEAD_PROPERTY, DEFAULT_REMINDER_LEAD_MINUTES)), Main::remind);
+
     private static Login loginForm;
     private static AdminMenu adminMenu;
     private static StudentsMenu studentsMenu;
@@ -23,8 +53,12 @@ public class Main {
     private static TeachersMenu teachersMenu;
     private static AdminInsertTeachersForm adminInsertTeachersForm;
     private static AdminUpdateDeleteTeachersForm adminUpdateDeleteTeachersForm;
+    private static RemindersForm remindersForm;
 
     public static void main(String[] args) {
+        calibrateBcrypt();
+        startReminders();
+
         EventQueue.invokeLater(() -> {
             try {
 
@@ -61,12 +95,70 @@ public class Main {
                 adminUpdateDeleteTeachersForm = new AdminUpdateDeleteTeachersForm();
                 adminUpdateDeleteTeachersForm.setVisible(false);
 
+                remindersForm = new RemindersForm();
+                remindersForm.setVisible(false);
+
             } catch (Exception e) {
                 e.printStackTrace();
             }
         });
     }
 
+    /**
+     * Sets the bcrypt cost to the highest one that meets the latency target
+     * of the {@value #BCRYPT_TARGET_PROPERTY} system property, if it is given.
+     * The measurement runs in the background, so the login form is shown at once.
+     */
+    private static void calibrateBcrypt() {
+        Long targetMillis = Long.getLong(BCRYPT_TARGET_PROPERTY);
+        if (targetMillis == null) {
+            return;
+        }
+
+        Thread calibration = new Thread(() -> SecUtil.calibrate(targetMillis), "bcrypt-calibration");
+        calibration.setDaemon(true);
+        calibration.start();
+    }
+
+    /**
+     * Starts the {@link ReminderScheduler} in the background, so the login
+     * form is shown while its first window of meetings is read. If the
+     * window cannot be read, the scheduler tries again at its next tick.
+     */
+    private static void startReminders() {
+        Thread reminders = new Thread(() -> {
+            try {
+                reminderScheduler.start();
+            } catch (MeetingDAOException | MeetingSeriesDAOException e) {
+                e.printStackTrace();
+            }
+        }, "meeting-reminders-start");
+        reminders.setDaemon(true);
+        reminders.start();
+    }
+
+    /**
+     * Adds the reminder of a meeting of the logged in student or teacher
+     * to the {@link RemindersForm}, on the event dispatch thread. The
+     * reminders of the meetings of the other users are dropped.
+     */
+    private static void remind(Meeting meeting) {
+        UserSession session = SessionContext.getCurrent();
+        if (session == null || !isOwnMeeting(session, meeting)) {
+            return;
+        }
+
+        String reminder = "Meeting in room " + meeting.getMeetingRoom() + " at " + meeting.getMeetingDate();
+        EventQueue.invokeLater(() -> remindersForm.addReminder(reminder));
+    }
+
+    private static boolean isOwnMeeting(UserSession session, Meeting meeting) {
+        return (session.getStudent() != null
+                && Objects.equals(session.getStudent().getId(), meeting.getStudent().getId()))
+                || (session.getTeacher() != null
+                && Objects.equals(session.getTeacher().getId(), meeting.getTeacher().getId()));
+    }
+
     /**
      * Getter for {@link Login} JFrame class.
      *
@@ -0,0 +1,70 @@
+package gr.aueb.cf.schoolappsoa.dao;
+
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * This class holds the result of a batch insert: the inserted
+ * Entities, with the primary keys generated by the database,
+ * and the result of every row, in the order of the input.
+ *
+ * @param <T> the type of the Entity.
+ * @author Thanasis Chousiadas
+ */
+public class BatchResult<T> {
+    private final List<T> entities;
+    private final int[] updateCounts;
+
+    /**
+     * Overloaded constructor.
+     *
+     * @param entities     the inserted Entities.
+     * @param updateCounts the update count of every row, as returned
+     *                     by {@link Statement#executeBatch()}.
+     */
+    public BatchResult(List<T> entities, int[] updateCounts) {
+        this.entities = Collections.unmodifiableList(entities);
+        this.updateCounts = updateCounts;
+    }
+
+    public List<T> getEntities() {
+        return entities;
+    }
+
+    public int[] getUpdateCounts() {
+        return updateCounts.clone();
+    }
+
+    public int size() {
+        return updateCounts.length;
+    }
+
+    /**
+     * Returns if the row at an index of the input is inserted.
+     * The MySQL driver reports {@link Statement#SUCCESS_NO_INFO}
+     * for the rows of a rewritten batch, which counts as inserted.
+     *
+     * @param index the index of the row.
+     * @return true if the row is inserted, otherwise false.
+     */
+    public boolean isInserted(int index) {
+        int count = updateCounts[index];
+        return count >= 1 || count == Statement.SUCCESS_NO_INFO;
+    }
+
+    /**
+     * Returns the number of the inserted rows.
+     *
+     * @return the number of the inserted rows.
+     */
+    public int getInsertedCount() {
+        int inserted = 0;
+        for (int i = 0; i < updateCounts.length; i++) {
+            if (isInserted(i)) {
+                inserted++;
+            }
+        }
+        return inserted;
+    }
+}
@@ -8,6 +8,7 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -23,7 +24,7 @@ public class CityDAOImpl implements ICityDAO {
      * This method inserts a new record in the table Cities.
      *
      * @param city the {@link City} object of the model, represents the entity.
-     * @return the inserted {@link City} object.
+     * @return the inserted {@link City} object, with the id generated by the database.
      * @throws CityDAOException if an error is occurred, the wrapper
      *                          exception to {@link SQLException} will be thrown.
      */
@@ -32,11 +33,12 @@ public class CityDAOImpl implements ICityDAO {
         String sql = "INSERT INTO CITIES (CITY) VALUES (?)";
 
         try (Connection conn = DBUtil.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)
+             PreparedStatement ps = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)
         ) {
             ps.setString(1, city.getCity());
             int n = ps.executeUpdate();
             if (n == 1) {
+                city.setId(GeneratedKeys.first(ps));
                 return city;
             }
             return null;
@@ -207,4 +209,49 @@ public class CityDAOImpl implements ICityDAO {
             }
         }
     }
+
+    /**
+     * This method returns a page of the cities where their names begin
+     * with the name given by the client, in the order of the names,
+     * after the last name of the previous page.
+     *
+     * @param name      the beginning of the names, matched literally.
+     * @param afterName the last name of the previous page, or null for the first page.
+     * @param limit     the maximum number of cities.
+     * @return an {@link ArrayList} with {@link City} objects.
+     * @throws CityDAOException if an error is occurred, this wrapper
+     *                          exception to {@link SQLException} will be thrown.
+     */
+    @Override
+    public List<City> getByNameLike(String name, String afterName, int limit) throws CityDAOException {
+        String sql = "SELECT ID, CITY FROM CITIES WHERE CITY LIKE ?" + LikePattern.ESCAPE_CLAUSE
+                + " AND CITY > ? ORDER BY CITY LIMIT ?";
+        ResultSet rs = null;
+        List<City> cities = new ArrayList<>();
+
+        try (Connection conn = DBUtil.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)
+        ) {
+            ps.setString(1, LikePattern.startsWith(name));
+            ps.setString(2, afterName == null ? "" : afterName);
+            ps.setInt(3, limit);
+            rs = ps.executeQuery();
+
+            while (rs.next()) {
+                cities.add(new City(rs.getLong("ID"), rs.getString("CITY")));
+            }
+            return cities;
+        } catch (SQLException e1) {
+            e1.printStackTrace();
+            throw new CityDAOException("SQL Error in Cities: Query Cities by name like " + name);
+        } finally {
+            try {
+                if (rs != null) {
+                    rs.close();
+                }
+            } catch (SQLException e2) {
+                e2.printStackTrace();
+            }
+        }
+    }
 }
@@ -0,0 +1,22 @@
+package gr.aueb.cf.schoolappsoa.dao;
+
+/**
+ * This enum declares how much of an Entity's graph
+ * a query of the Data Access Object Layer loads.
+ *
+ * @author Thanasis Chousiadas
+ */
+public enum FetchPlan {
+
+    /**
+     * The Entity and its related Entities are loaded
+     * with a single joined query.
+     */
+    EAGER_JOIN,
+
+    /**
+     * Only the Entity is loaded. The related Entities carry
+     * only their ids until the caller asks for the rest.
+     */
+    LAZY_ID
+}
@@ -0,0 +1,35 @@
+package gr.aueb.cf.schoolappsoa.dao;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * This class reads the primary keys generated by the database
+ * for the inserts of the DAOs. The statements must be prepared
+ * with {@link Statement#RETURN_GENERATED_KEYS}.
+ *
+ * @author Thanasis Chousiadas
+ */
+final class GeneratedKeys {
+
+    /**
+     * No instances of this class should be available.
+     */
+    private GeneratedKeys() {
+    }
+
+    /**
+     * Returns the primary key generated by the last insert of a statement.
+     *
+     * @param ps the executed statement.
+     * @return the generated primary key, or null if there is none.
+     * @throws SQLException if the keys cannot be read.
+     */
+    static Long first(PreparedStatement ps) throws SQLException {
+        try (ResultSet keys = ps.getGeneratedKeys()) {
+            return keys.next() ? keys.getLong(1) : null;
+        }
+    }
+}
@@ -19,4 +19,5 @@ public interface ICityDAO {
     City getById(long id) throws CityDAOException;
 
     City getByName(String name) throws CityDAOException;
+    List<City> getByNameLike(String name, String afterName, int limit) throws CityDAOException;
 }
@@ -0,0 +1,29 @@
+package gr.aueb.cf.schoolappsoa.dao;
+
+import gr.aueb.cf.schoolappsoa.dao.exceptions.MeetingDAOException;
+import gr.aueb.cf.schoolappsoa.model.Meeting;
+
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * This interface of DAO provides the Public API,
+ * CRUD operations and time-range queries for Meetings
+ * Table in the database.
+ *
+ * @author Thanasis Chousiadas
+ */
+public interface IMeetingDAO {
+    Meeting insert(Meeting meeting) throws MeetingDAOException;
+    BatchResult<Meeting> insertAll(List<Meeting> meetings) throws MeetingDAOException;
+    BatchResult<Meeting> insertAll(List<Meeting> meetings, int batchSize) throws MeetingDAOException;
+    Meeting update(Meeting meeting) throws MeetingDAOException;
+    boolean delete(long id) throws MeetingDAOException;
+    Meeting getById(long id) throws MeetingDAOException;
+    Stream<Meeting> streamAll() throws MeetingDAOException;
+    Page<Meeting> getByTeacher(long teacherId, Date from, Date to, int pageSize, String pageToken) throws MeetingDAOException;
+    Page<Meeting> getByStudent(long studentId, Date from, Date to, int pageSize, String pageToken) throws MeetingDAOException;
+    Page<Meeting> getByRoom(String meetingRoom, Date from, Date to, int pageSize, String pageToken) throws MeetingDAOException;
+    Page<Meeting> getByDate(Date from, Date to, int pageSize, String pageToken) throws MeetingDAOException;
+}
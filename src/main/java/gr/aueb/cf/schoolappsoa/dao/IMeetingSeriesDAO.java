@@ -0,0 +1,25 @@
+package gr.aueb.cf.schoolappsoa.dao;
+
+import gr.aueb.cf.schoolappsoa.dao.exceptions.MeetingSeriesDAOException;
+import gr.aueb.cf.schoolappsoa.model.MeetingSeries;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * This interface of DAO provides the Public API,
+ * CRUD operations and time-range queries for the
+ * Meeting Series and their cancelled meetings in the database.
+ *
+ * @author Thanasis Chousiadas
+ */
+public interface IMeetingSeriesDAO {
+    MeetingSeries insert(MeetingSeries series) throws MeetingSeriesDAOException;
+    boolean delete(long id) throws MeetingSeriesDAOException;
+    boolean cancel(long seriesId, Date cancelledDate) throws MeetingSeriesDAOException;
+    MeetingSeries getById(long id) throws MeetingSeriesDAOException;
+    List<MeetingSeries> getAll() throws MeetingSeriesDAOException;
+    List<MeetingSeries> getByTeacher(long teacherId, Date from, Date to) throws MeetingSeriesDAOException;
+    List<MeetingSeries> getByStudent(long studentId, Date from, Date to) throws MeetingSeriesDAOException;
+    List<MeetingSeries> getByRoom(String meetingRoom, Date from, Date to) throws MeetingSeriesDAOException;
+}
@@ -6,6 +6,7 @@ import gr.aueb.cf.schoolappsoa.dao.exceptions.UserDAOException;
 import gr.aueb.cf.schoolappsoa.model.Student;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * This interface of DAO provides the Public API,
@@ -15,9 +16,14 @@ import java.util.List;
  */
 public interface IStudentDAO {
     Student insert(Student student) throws StudentDAOException;
+    BatchResult<Student> insertAll(List<Student> students) throws StudentDAOException;
+    BatchResult<Student> insertAll(List<Student> students, int batchSize) throws StudentDAOException;
     Student update(Student student) throws StudentDAOException;
     boolean delete(long id) throws StudentDAOException;
+    boolean deleteByUserId(long userId) throws StudentDAOException;
     List<Student> getByLastname(String lastname) throws StudentDAOException, CityDAOException, UserDAOException;
+    Page<Student> getByLastname(String lastname, int pageSize, String pageToken) throws StudentDAOException;
+    Stream<Student> streamAll() throws StudentDAOException;
     Student getById(long id) throws StudentDAOException, CityDAOException, UserDAOException;
 
     Student getByUserId(long id) throws StudentDAOException, CityDAOException, UserDAOException;
@@ -6,6 +6,7 @@ import gr.aueb.cf.schoolappsoa.dao.exceptions.UserDAOException;
 import gr.aueb.cf.schoolappsoa.model.Teacher;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * This interface of DAO provides the Public API,
@@ -15,10 +16,20 @@ import java.util.List;
  */
 public interface ITeacherDAO {
     Teacher insert(Teacher teacher) throws TeacherDAOException;
+    BatchResult<Teacher> insertAll(List<Teacher> teachers) throws TeacherDAOException;
+    BatchResult<Teacher> insertAll(List<Teacher> teachers, int batchSize) throws TeacherDAOException;
     Teacher update(Teacher teacher) throws TeacherDAOException;
     boolean delete(long id) throws TeacherDAOException;
+    boolean deleteByUserId(long userId) throws TeacherDAOException;
     List<Teacher> getByLastname(String lastname) throws TeacherDAOException, SpecialityDAOException, UserDAOException;
     Teacher getById(long id) throws TeacherDAOException, UserDAOException, SpecialityDAOException;
 
     Teacher getByUserId(long id) throws TeacherDAOException, UserDAOException, SpecialityDAOException;
+
+    List<Teacher> getByLastname(String lastname, FetchPlan plan) throws TeacherDAOException;
+    Page<Teacher> getByLastname(String lastname, FetchPlan plan, int pageSize, String pageToken) throws TeacherDAOException;
+    Stream<Teacher> streamAll(FetchPlan plan) throws TeacherDAOException;
+    Teacher getById(long id, FetchPlan plan) throws TeacherDAOException;
+    Teacher getByUserId(long id, FetchPlan plan) throws TeacherDAOException;
+    Teacher hydrate(Teacher teacher) throws TeacherDAOException;
 }
@@ -3,8 +3,12 @@ package gr.aueb.cf.schoolappsoa.dao;
 
 import gr.aueb.cf.schoolappsoa.dao.exceptions.UserDAOException;
 import gr.aueb.cf.schoolappsoa.model.User;
+import gr.aueb.cf.schoolappsoa.model.UserProfile;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * This interface of DAO provides the Public API,
@@ -14,10 +18,17 @@ import java.util.List;
  */
 public interface IUserDAO {
     User insert(User user) throws UserDAOException;
+    BatchResult<User> insertAll(List<User> users) throws UserDAOException;
+    BatchResult<User> insertAll(List<User> users, int batchSize) throws UserDAOException;
     User update(User user) throws UserDAOException;
-    void delete(long id) throws UserDAOException;
+    boolean delete(long id) throws UserDAOException;
     List<User> getAll() throws UserDAOException;
+    Page<User> getAll(int pageSize, String pageToken) throws UserDAOException;
+    Stream<User> streamAll() throws UserDAOException;
     User getById(long id) throws UserDAOException;
     User getByUsername(String username) throws UserDAOException;
+    Set<String> getExistingUsernames(Collection<String> usernames) throws UserDAOException;
+    UserProfile getProfileByUsername(String username) throws UserDAOException;
     List<User> getByUsernameLike(String username) throws UserDAOException;
+    List<User> getByUsernameLike(String username, String afterUsername, int limit) throws UserDAOException;
 }
@@ -0,0 +1,114 @@
+package gr.aueb.cf.schoolappsoa.dao;
+
+import gr.aueb.cf.schoolappsoa.dao.mapper.ParameterBinder;
+import gr.aueb.cf.schoolappsoa.service.util.DBUtil;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * This class executes the batch inserts of the DAOs with
+ * {@link PreparedStatement#addBatch()} and {@link PreparedStatement#executeBatch()},
+ * on one connection. The rows are sent in chunks of the batch size and
+ * the generated primary keys are set back to the Entities. If the connection
+ * is in auto-commit mode, the whole batch runs in its own transaction, so
+ * either all the rows are inserted or none. Inside a
+ * {@link gr.aueb.cf.schoolappsoa.service.util.UnitOfWork} the batch joins
+ * its transaction.
+ *
+ * @author Thanasis Chousiadas
+ */
+final class JdbcBatch {
+
+    /**
+     * No instances of this class should be available.
+     */
+    private JdbcBatch() {
+    }
+
+    /**
+     * Returns the batch size of the settings of {@link DBUtil}.
+     *
+     * @return the batch size.
+     */
+    static int defaultBatchSize() {
+        return DBUtil.getConfig().getBatchSize();
+    }
+
+    /**
+     * Inserts the Entities in batches.
+     *
+     * @param sql       the insert statement.
+     * @param entities  the Entities to be inserted.
+     * @param batchSize the number of rows of every round trip.
+     * @param binder    binds an Entity to the parameters of the statement.
+     * @param idSetter  sets the generated primary key to an Entity.
+     * @param <T>       the type of the Entity.
+     * @return a {@link BatchResult} with the inserted Entities.
+     * @throws SQLException if a row cannot be inserted. The whole batch
+     *                      is rolled back, if it runs in its own transaction.
+     */
+    static <T> BatchResult<T> insertAll(String sql, List<T> entities, int batchSize,
+                                        ParameterBinder<T> binder, BiConsumer<T, Long> idSetter) throws SQLException {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        }
+        int[] updateCounts = new int[entities.size()];
+        if (entities.isEmpty()) {
+            return new BatchResult<>(new ArrayList<>(), updateCounts);
+        }
+
+        try (Connection conn = DBUtil.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            boolean localTransaction = conn.getAutoCommit();
+            if (localTransaction) {
+                conn.setAutoCommit(false);
+            }
+
+            try {
+                for (int from = 0; from < entities.size(); from += batchSize) {
+                    List<T> chunk = entities.subList(from, Math.min(from + batchSize, entities.size()));
+                    for (T entity : chunk) {
+                        binder.bind(ps, entity);
+                        ps.addBatch();
+                    }
+
+                    int[] counts = ps.executeBatch();
+                    System.arraycopy(counts, 0, updateCounts, from, counts.length);
+                    setGeneratedKeys(ps, chunk, idSetter);
+                }
+                if (localTransaction) {
+                    conn.commit();
+                }
+            } catch (SQLException e) {
+                if (localTransaction) {
+                    conn.rollback();
+                }
+                throw e;
+            } finally {
+                if (localTransaction) {
+                    conn.setAutoCommit(true);
+                }
+            }
+        }
+        return new BatchResult<>(new ArrayList<>(entities), updateCounts);
+    }
+
+    private static <T> void setGeneratedKeys(PreparedStatement ps, List<T> chunk,
+                                             BiConsumer<T, Long> idSetter) throws SQLException {
+        try (ResultSet keys = ps.getGeneratedKeys()) {
+            for (T entity : chunk) {
+                if (!keys.next()) {
+                    break;
+                }
+                idSetter.accept(entity, keys.getLong(1));
+            }
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package gr.aueb.cf.schoolappsoa.dao;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * This class is the position of a keyset-paginated search: the sort
+ * key of the last row of a page, a lastname or a username, and its id.
+ * It is handed to the clients as an opaque continuation token, so the
+ * next page starts right after that row with an index seek, without
+ * an OFFSET that scans all the previous pages.
+ *
+ * @author Thanasis Chousiadas
+ */
+final class Keyset {
+    private final String key;
+    private final long id;
+
+    private Keyset(String key, long id) {
+        this.key = key;
+        this.id = id;
+    }
+
+    /**
+     * Returns the continuation token of a row.
+     *
+     * @param key the sort key of the row, or null if the search is keyed on the id only.
+     * @param id  the id of the row.
+     * @return the continuation token.
+     */
+    static String token(String key, long id) {
+        String plain = id + ":" + (key == null ? "" : key);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(plain.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Reads the position of a continuation token.
+     *
+     * @param token the continuation token, or null for the first page.
+     * @return the {@link Keyset}, or null for the first page.
+     * @throws IllegalArgumentException if the token is malformed.
+     */
+    static Keyset of(String token) {
+        if (token == null) {
+            return null;
+        }
+
+        try {
+            String plain = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int colon = plain.indexOf(':');
+            return new Keyset(plain.substring(colon + 1), Long.parseLong(plain.substring(0, colon)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid page token: " + token);
+        }
+    }
+
+    /**
+     * Checks the page size of a search.
+     *
+     * @param pageSize the page size.
+     * @throws IllegalArgumentException if the page size is not positive.
+     */
+    static void checkPageSize(int pageSize) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Page size must be positive: " + pageSize);
+        }
+    }
+
+    /**
+     * Makes a {@link Page} out of the rows of a query which fetched
+     * one row more than the page size. That extra row only tells
+     * that there is a next page, and it is not returned.
+     *
+     * @param rows     the rows of the query, at most pageSize + 1.
+     * @param pageSize the page size.
+     * @param tokenOf  returns the continuation token of a row.
+     * @param <T>      the type of the Entity.
+     * @return the {@link Page}.
+     */
+    static <T> Page<T> page(List<T> rows, int pageSize, Function<T, String> tokenOf) {
+        if (rows.size() <= pageSize) {
+            return new Page<>(rows, null);
+        }
+        rows.remove(pageSize);
+        return new Page<>(rows, tokenOf.apply(rows.get(pageSize - 1)));
+    }
+
+    String getKey() {
+        return key;
+    }
+
+    long getId() {
+        return id;
+    }
+}
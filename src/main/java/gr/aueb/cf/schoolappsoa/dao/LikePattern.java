@@ -0,0 +1,39 @@
+package gr.aueb.cf.schoolappsoa.dao;
+
+/**
+ * This class builds the patterns of the prefix searches with {@code LIKE},
+ * where the text typed by the user is matched literally: a {@code %} or a
+ * {@code _} in it is not a wildcard. The queries declare the escape
+ * character with {@code ESCAPE '!'}, which MySQL and H2 read alike.
+ *
+ * @author Thanasis Chousiadas
+ */
+final class LikePattern {
+    private static final char ESCAPE = '!';
+    static final String ESCAPE_CLAUSE = " ESCAPE '" + ESCAPE + "'";
+
+    /**
+     * No instances of this class should be available.
+     */
+    private LikePattern() {
+    }
+
+    /**
+     * Returns the pattern of the values which begin with a prefix.
+     *
+     * @param prefix the beginning of the values, matched literally.
+     * @return the pattern, for a {@code LIKE ?} with {@link #ESCAPE_CLAUSE}.
+     */
+    static String startsWith(String prefix) {
+        StringBuilder pattern = new StringBuilder(prefix.length() + 1);
+
+        for (int i = 0; i < prefix.length(); i++) {
+            char c = prefix.charAt(i);
+            if (c == '%' || c == '_' || c == ESCAPE) {
+                pattern.append(ESCAPE);
+            }
+            pattern.append(c);
+        }
+        return pattern.append('%').toString();
+    }
+}
@@ -0,0 +1,373 @@
+package gr.aueb.cf.schoolappsoa.dao;
+
+import gr.aueb.cf.schoolappsoa.dao.exceptions.MeetingDAOException;
+import gr.aueb.cf.schoolappsoa.dao.mapper.MeetingRowMapper;
+import gr.aueb.cf.schoolappsoa.dao.mapper.ParameterBinder;
+import gr.aueb.cf.schoolappsoa.dao.mapper.RowMapper;
+import gr.aueb.cf.schoolappsoa.model.Meeting;
+import gr.aueb.cf.schoolappsoa.service.util.DBUtil;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * This class implements the Public API of the
+ * {@link IMeetingDAO} interface.
+ *
+ * @author Thanasis Chousiadas
+ */
+public class MeetingDAOImpl implements IMeetingDAO {
+    private static final String INSERT_SQL =
+            "INSERT INTO MEETINGS (STUDENT_ID, TEACHER_ID, MEETING_ROOM, MEETING_DATE, MEETING_END) VALUES (?, ?, ?, ?, ?)";
+    private static final ParameterBinder<Meeting> INSERT_BINDER = (ps, meeting) -> {
+        ps.setLong(1, meeting.getStudent().getId());
+        ps.setLong(2, meeting.getTeacher().getId());
+        ps.setString(3, meeting.getMeetingRoom());
+        ps.setTimestamp(4, toTimestamp(meeting.getMeetingDate()));
+        ps.setTimestamp(5, toTimestamp(meeting.getMeetingEnd()));
+    };
+
+    private final RowMapper<Meeting> meetingMapper = new MeetingRowMapper();
+
+    /**
+     * This method inserts a new record in the Meetings table.
+     *
+     * @param meeting the {@link Meeting} object of the model to be inserted.
+     * @return the inserted {@link Meeting} object, with the id generated by the database.
+     * @throws MeetingDAOException if an error is occurred, this wrapper
+     *                             exception to {@link SQLException} will be thrown.
+     */
+    @Override
+    public Meeting insert(Meeting meeting) throws MeetingDAOException {
+        try (Connection conn = DBUtil.getConnection();
+             PreparedStatement ps = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+            INSERT_BINDER.bind(ps, meeting);
+            int n = ps.executeUpdate();
+
+            if (n >= 1) {
+                meeting.setId(GeneratedKeys.first(ps));
+                return meeting;
+            }
+            return null;
+        } catch (SQLException e) {
+            e.printStackTrace();
+            throw new MeetingDAOException("SQL Error in Meeting insert " + meeting);
+        }
+    }
+
+    /**
+     * This method inserts new records in the Meetings table with JDBC
+     * batches of the batch size of the settings
+     * ({@value gr.aueb.cf.schoolappsoa.service.util.DBConfig#BATCH_SIZE_PROPERTY}).
+     *
+     * @param meetings the {@link Meeting} objects to be inserted.
+     * @return a {@link BatchResult} with the inserted {@link Meeting} objects,
+     * their generated ids and the result of every row.
+     * @throws MeetingDAOException if an error is occurred, this wrapper
+     *                             exception to {@link SQLException} will be thrown.
+     *                             No record is inserted.
+     */
+    @Override
+    public BatchResult<Meeting> insertAll(List<Meeting> meetings) throws MeetingDAOException {
+        return insertAll(meetings, JdbcBatch.defaultBatchSize());
+    }
+
+    /**
+     * This method inserts new records in the Meetings table with JDBC
+     * batches, one round trip for every batchSize rows.
+     *
+     * @param meetings  the {@link Meeting} objects to be inserted.
+     * @param batchSize the number of rows of every batch.
+     * @return a {@link BatchResult} with the inserted {@link Meeting} objects,
+     * their generated ids and the result of every row.
+     * @throws MeetingDAOException if an error is occurred, this wrapper
+     *                             exception to {@link SQLException} will be thrown.
+     *                             No record is inserted.
+     */
+    @Override
+    public BatchResult<Meeting> insertAll(List<Meeting> meetings, int batchSize) throws MeetingDAOException {
+        try {
+            return JdbcBatch.insertAll(INSERT_SQL, meetings, batchSize, INSERT_BINDER, Meeting::setId);
+        } catch (SQLException e) {
+            e.printStackTrace();
+            throw new MeetingDAOException("SQL Error in Meeting batch insert of " + meetings.size() + " rows");
+        }
+    }
+
+    /**
+     * This method updates an old record in the Meetings table
+     * with a new one.
+     *
+     * @param meeting the {@link Meeting} object.
+     * @return the updated {@link Meeting} object, or null if there
+     * is no record with its id.
+     * @throws MeetingDAOException if an error is occurred, this wrapper
+     *                             exception to {@link SQLException} will be thrown.
+     */
+    @Override
+    public Meeting update(Meeting meeting) throws MeetingDAOException {
+        String sql = "UPDATE MEETINGS SET STUDENT_ID = ?, TEACHER_ID = ?, MEETING_ROOM = ?, MEETING_DATE = ?, "
+                + "MEETING_END = ? WHERE ID = ?";
+
+        try (Connection conn = DBUtil.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            INSERT_BINDER.bind(ps, meeting);
+            ps.setLong(6, meeting.getId());
+
+            if (ps.executeUpdate() >= 1) {
+                return meeting;
+            }
+            return null;
+        } catch (SQLException e) {
+            e.printStackTrace();
+            throw new MeetingDAOException("SQL Error in Meeting update " + meeting);
+        }
+    }
+
+    /**
+     * This method deletes a record from Meetings table with an id given by
+     * the client.
+     *
+     * @param id the primary key of the record.
+     * @return true if the row is deleted successfully,
+     * otherwise false.
+     * @throws MeetingDAOException if an error is occurred, this wrapper
+     *                             exception to {@link SQLException} will be thrown.
+     */
+    @Override
+    public boolean delete(long id) throws MeetingDAOException {
+        String sql = "DELETE FROM MEETINGS WHERE ID = ?";
+
+        try (Connection conn = DBUtil.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setLong(1, id);
+            return ps.executeUpdate() == 1;
+        } catch (SQLException e) {
+            e.printStackTrace();
+            throw new MeetingDAOException("SQL Error: Meeting delete with id = " + id);
+        }
+    }
+
+    /**
+     * This method searches for the record in Meetings table with
+     * the primary key id given by the client.
+     *
+     * @param id the id given by the client.
+     * @return a {@link Meeting} object, or null if there is no record.
+     * @throws MeetingDAOException if an error is occurred, this wrapper
+     *                             exception to {@link SQLException} will be thrown.
+     */
+    @Override
+    public Meeting getById(long id) throws MeetingDAOException {
+        String sql = MeetingRowMapper.SELECT_COLUMNS + " WHERE M.ID = ?";
+        ResultSet rs = null;
+
+        try (Connection conn = DBUtil.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setLong(1, id);
+            rs = ps.executeQuery();
+
+            if (!rs.next()) {
+                return null;
+            }
+            return meetingMapper.mapRow(rs);
+        } catch (SQLException e) {
+            e.printStackTrace();
+            throw new MeetingDAOException("SQL Error in Meeting retrieve with id = " + id);
+        } finally {
+            try {
+                if (rs != null) rs.close();
+            } catch (SQLException e1) {
+                e1.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * This method returns all the records of the Meetings table as a
+     * {@link Stream} which reads one row at a time from the database, so
+     * the heap use does not depend on the number of meetings. The stream
+     * must be closed if it is not read to the end, e.g. with try-with-resources.
+     *
+     * @return a {@link Stream} of {@link Meeting} objects, ordered by id.
+     * @throws MeetingDAOException if an error is occurred, this wrapper
+     *                             exception to {@link SQLException} will be thrown.
+     *                             Errors while reading the stream are thrown as
+     *                             {@link gr.aueb.cf.schoolappsoa.dao.exceptions.StreamDAOException}.
+     */
+    @Override
+    public Stream<Meeting> streamAll() throws MeetingDAOException {
+        String sql = MeetingRowMapper.SELECT_COLUMNS + " ORDER BY M.ID";
+
+        try {
+            return ResultSetStream.of(sql, meetingMapper);
+        } catch (SQLException e) {
+            e.printStackTrace();
+            throw new MeetingDAOException("SQL Error in Meetings stream");
+        }
+    }
+
+    /**
+     * This method returns one page of the meetings of a teacher which
+     * start in the time window [from, to), ordered by their start.
+     *
+     * @param teacherId the id of the teacher.
+     * @param from      the start of the window, inclusive.
+     * @param to        the end of the window, exclusive.
+     * @param pageSize  the maximum number of meetings of the page.
+     * @param pageToken the continuation token of the previous page,
+     *                  or null for the first page.
+     * @return a {@link Page} of {@link Meeting} objects.
+     * @throws MeetingDAOException if an error is occurred, this wrapper
+     *                             exception to {@link SQLException} will be thrown.
+     */
+    @Override
+    public Page<Meeting> getByTeacher(long teacherId, Date from, Date to, int pageSize, String pageToken)
+            throws MeetingDAOException {
+        return getWindow("M.TEACHER_ID", teacherId, from, to, pageSize, pageToken);
+    }
+
+    /**
+     * This method returns one page of the meetings of a student which
+     * start in the time window [from, to), ordered by their start.
+     *
+     * @param studentId the id of the student.
+     * @param from      the start of the window, inclusive.
+     * @param to        the end of the window, exclusive.
+     * @param pageSize  the maximum number of meetings of the page.
+     * @param pageToken the continuation token of the previous page,
+     *                  or null for the first page.
+     * @return a {@link Page} of {@link Meeting} objects.
+     * @throws MeetingDAOException if an error is occurred, this wrapper
+     *                             exception to {@link SQLException} will be thrown.
+     */
+    @Override
+    public Page<Meeting> getByStudent(long studentId, Date from, Date to, int pageSize, String pageToken)
+            throws MeetingDAOException {
+        return getWindow("M.STUDENT_ID", studentId, from, to, pageSize, pageToken);
+    }
+
+    /**
+     * This method returns one page of the meetings in a room which
+     * start in the time window [from, to), ordered by their start.
+     *
+     * @param meetingRoom the room.
+     * @param from        the start of the window, inclusive.
+     * @param to          the end of the window, exclusive.
+     * @param pageSize    the maximum number of meetings of the page.
+     * @param pageToken   the continuation token of the previous page,
+     *                    or null for the first page.
+     * @return a {@link Page} of {@link Meeting} objects.
+     * @throws MeetingDAOException if an error is occurred, this wrapper
+     *                             exception to {@link SQLException} will be thrown.
+     */
+    @Override
+    public Page<Meeting> getByRoom(String meetingRoom, Date from, Date to, int pageSize, String pageToken)
+            throws MeetingDAOException {
+        return getWindow("M.MEETING_ROOM", meetingRoom, from, to, pageSize, pageToken);
+    }
+
+    /**
+     * This method returns one page of all the meetings which
+     * start in the time window [from, to), ordered by their start.
+     *
+     * @param from      the start of the window, inclusive.
+     * @param to        the end of the window, exclusive.
+     * @param pageSize  the maximum number of meetings of the page.
+     * @param pageToken the continuation token of the previous page,
+     *                  or null for the first page.
+     * @return a {@link Page} of {@link Meeting} objects.
+     * @throws MeetingDAOException if an error is occurred, this wrapper
+     *                             exception to {@link SQLException} will be thrown.
+     */
+    @Override
+    public Page<Meeting> getByDate(Date from, Date to, int pageSize, String pageToken) throws MeetingDAOException {
+        return getWindow(null, null, from, to, pageSize, pageToken);
+    }
+
+    /**
+     * This method reads one page of the meetings of an owner, a teacher,
+     * a student or a room, in a time window. The owner column and
+     * MEETING_DATE are the leading columns of a composite index, so the
+     * window is a range seek, and each page continues after the
+     * (MEETING_DATE, ID) of the last row of the previous page. Without
+     * an owner, the window of all the meetings is a seek on MEETING_DATE.
+     *
+     * @param ownerColumn the column of the owner, or null for all the meetings.
+     * @param owner       the value of the owner column.
+     * @param from        the start of the window, inclusive.
+     * @param to          the end of the window, exclusive.
+     * @param pageSize    the maximum number of meetings of the page.
+     * @param pageToken   the continuation token of the previous page,
+     *                    or null for the first page.
+     * @return a {@link Page} of {@link Meeting} objects.
+     * @throws MeetingDAOException if an error is occurred, this wrapper
+     *                             exception to {@link SQLException} will be thrown.
+     */
+    private Page<Meeting> getWindow(String ownerColumn, Object owner, Date from, Date to, int pageSize,
+                                    String pageToken) throws MeetingDAOException {
+        Keyset.checkPageSize(pageSize);
+        Keyset after = Keyset.of(pageToken);
+        String sql = MeetingRowMapper.SELECT_COLUMNS + " WHERE "
+                + (ownerColumn == null ? "" : ownerColumn + " = ? AND ")
+                + "M.MEETING_DATE >= ? AND M.MEETING_DATE < ?"
+                + (after == null ? "" : " AND (M.MEETING_DATE > ? OR (M.MEETING_DATE = ? AND M.ID > ?))")
+                + " ORDER BY M.MEETING_DATE, M.ID LIMIT ?";
+        List<Meeting> meetings = new ArrayList<>(pageSize + 1);
+        ResultSet rs = null;
+
+        try (Connection conn = DBUtil.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            int i = 1;
+            if (ownerColumn != null) {
+                ps.setObject(i++, owner);
+            }
+            ps.setTimestamp(i++, toTimestamp(from));
+            ps.setTimestamp(i++, toTimestamp(to));
+            if (after != null) {
+                Timestamp afterDate = new Timestamp(parseMillis(after.getKey(), pageToken));
+                ps.setTimestamp(i++, afterDate);
+                ps.setTimestamp(i++, afterDate);
+                ps.setLong(i++, after.getId());
+            }
+            ps.setInt(i, pageSize + 1);
+            rs = ps.executeQuery();
+
+            while (rs.next()) {
+                meetings.add(meetingMapper.mapRow(rs));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            throw new MeetingDAOException("SQL Error in Meetings retrieve page"
+                    + (ownerColumn == null ? " of " + from + " - " + to : " with " + ownerColumn + " = " + owner));
+        } finally {
+            try {
+                if (rs != null) rs.close();
+            } catch (SQLException e1) {
+                e1.printStackTrace();
+            }
+        }
+        return Keyset.page(meetings, pageSize,
+                m -> Keyset.token(String.valueOf(m.getMeetingDate().getTime()), m.getId()));
+    }
+
+    private static long parseMillis(String key, String pageToken) {
+        try {
+            return Long.parseLong(key);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid page token: " + pageToken);
+        }
+    }
+
+    private static Timestamp toTimestamp(Date date) {
+        return new Timestamp(date.getTime());
+    }
+}
@@ -0,0 +1,301 @@
+package gr.aueb.cf.schoolappsoa.dao;
+
+import gr.aueb.cf.schoolappsoa.dao.exceptions.MeetingSeriesDAOException;
+import gr.aueb.cf.schoolappsoa.dao.mapper.MeetingSeriesRowMapper;
+import gr.aueb.cf.schoolappsoa.dao.mapper.RowMapper;
+import gr.aueb.cf.schoolappsoa.model.MeetingSeries;
+import gr.aueb.cf.schoolappsoa.service.util.DBUtil;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class implements the Public API of the
+ * {@link IMeetingSeriesDAO} interface. A series is one row,
+ * however many meetings it has; a cancelled meeting is one
+ * row of the cancellations of the series.
+ *
+ * @author Thanasis Chousiadas
+ */
+public class MeetingSeriesDAOImpl implements IMeetingSeriesDAO {
+    private final RowMapper<MeetingSeries> seriesMapper = new MeetingSeriesRowMapper();
+
+    /**
+     * This method inserts a new record in the Meeting Series table.
+     * The cancelled meetings of the series are not inserted.
+     *
+     * @param series the {@link MeetingSeries} object of the model to be inserted.
+     * @return the inserted {@link MeetingSeries} object, with the id generated by the database.
+     * @throws MeetingSeriesDAOException if an error is occurred, this wrapper
+     *                                   exception to {@link SQLException} will be thrown.
+     */
+    @Override
+    public MeetingSeries insert(MeetingSeries series) throws MeetingSeriesDAOException {
+        String sql = "INSERT INTO MEETING_SERIES (STUDENT_ID, TEACHER_ID, MEETING_ROOM, FIRST_DATE, FIRST_END, "
+                + "INTERVAL_WEEKS, UNTIL_DATE) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+        try (Connection conn = DBUtil.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            ps.setLong(1, series.getStudent().getId());
+            ps.setLong(2, series.getTeacher().getId());
+            ps.setString(3, series.getMeetingRoom());
+            ps.setTimestamp(4, toTimestamp(series.getFirstDate()));
+            ps.setTimestamp(5, toTimestamp(series.getFirstEnd()));
+            ps.setInt(6, series.getIntervalWeeks());
+            if (series.getUntilDate() == null) {
+                ps.setNull(7, Types.TIMESTAMP);
+            } else {
+                ps.setTimestamp(7, toTimestamp(series.getUntilDate()));
+            }
+
+            if (ps.executeUpdate() >= 1) {
+                series.setId(GeneratedKeys.first(ps));
+                return series;
+            }
+            return null;
+        } catch (SQLException e) {
+            e.printStackTrace();
+            throw new MeetingSeriesDAOException("SQL Error in Meeting Series insert " + series);
+        }
+    }
+
+    /**
+     * This method deletes a record from Meeting Series table with an id given
+     * by the client. Its cancelled meetings are deleted by the database.
+     *
+     * @param id the primary key of the record.
+     * @return true if the row is deleted successfully,
+     * otherwise false.
+     * @throws MeetingSeriesDAOException if an error is occurred, this wrapper
+     *                                   exception to {@link SQLException} will be thrown.
+     */
+    @Override
+    public boolean delete(long id) throws MeetingSeriesDAOException {
+        String sql = "DELETE FROM MEETING_SERIES WHERE ID = ?";
+
+        try (Connection conn = DBUtil.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setLong(1, id);
+            return ps.executeUpdate() == 1;
+        } catch (SQLException e) {
+            e.printStackTrace();
+            throw new MeetingSeriesDAOException("SQL Error: Meeting Series delete with id = " + id);
+        }
+    }
+
+    /**
+     * This method cancels the meeting of a series which starts at a date.
+     *
+     * @param seriesId      the id of the series.
+     * @param cancelledDate the start of the cancelled meeting.
+     * @return true if the meeting is cancelled, false if it was already cancelled.
+     * @throws MeetingSeriesDAOException if an error is occurred, this wrapper
+     *                                   exception to {@link SQLException} will be thrown.
+     */
+    @Override
+    public boolean cancel(long seriesId, Date cancelledDate) throws MeetingSeriesDAOException {
+        String sql = "INSERT IGNORE INTO MEETING_SERIES_CANCELLATIONS (SERIES_ID, CANCELLED_DATE) VALUES (?, ?)";
+
+        try (Connection conn = DBUtil.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setLong(1, seriesId);
+            ps.setTimestamp(2, toTimestamp(cancelledDate));
+            return ps.executeUpdate() == 1;
+        } catch (SQLException e) {
+            e.printStackTrace();
+            throw new MeetingSeriesDAOException("SQL Error: Meeting Series cancel with id = " + seriesId
+                    + " at " + cancelledDate);
+        }
+    }
+
+    /**
+     * This method searches for the record in Meeting Series table with
+     * the primary key id given by the client.
+     *
+     * @param id the id given by the client.
+     * @return a {@link MeetingSeries} object with its cancelled meetings,
+     * or null if there is no record.
+     * @throws MeetingSeriesDAOException if an error is occurred, this wrapper
+     *                                   exception to {@link SQLException} will be thrown.
+     */
+    @Override
+    public MeetingSeries getById(long id) throws MeetingSeriesDAOException {
+        String sql = MeetingSeriesRowMapper.SELECT_COLUMNS + " WHERE S.ID = ?";
+        ResultSet rs = null;
+
+        try (Connection conn = DBUtil.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setLong(1, id);
+            rs = ps.executeQuery();
+
+            List<MeetingSeries> series = mapAll(rs);
+            return series.isEmpty() ? null : series.get(0);
+        } catch (SQLException e) {
+            e.printStackTrace();
+            throw new MeetingSeriesDAOException("SQL Error in Meeting Series retrieve with id = " + id);
+        } finally {
+            try {
+                if (rs != null) rs.close();
+            } catch (SQLException e1) {
+                e1.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * This method returns all the records of the Meeting Series table,
+     * with their cancelled meetings. A series is one row, however many
+     * meetings it has, so the whole table is read in one query.
+     *
+     * @return a {@link List} of {@link MeetingSeries} objects, ordered by id.
+     * @throws MeetingSeriesDAOException if an error is occurred, this wrapper
+     *                                   exception to {@link SQLException} will be thrown.
+     */
+    @Override
+    public List<MeetingSeries> getAll() throws MeetingSeriesDAOException {
+        String sql = MeetingSeriesRowMapper.SELECT_COLUMNS + " ORDER BY S.ID";
+        ResultSet rs = null;
+
+        try (Connection conn = DBUtil.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            rs = ps.executeQuery();
+
+            return mapAll(rs);
+        } catch (SQLException e) {
+            e.printStackTrace();
+            throw new MeetingSeriesDAOException("SQL Error in Meeting Series retrieve of all the series");
+        } finally {
+            try {
+                if (rs != null) rs.close();
+            } catch (SQLException e1) {
+                e1.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * This method returns the series of a teacher which are active
+     * in the time window [from, to).
+     *
+     * @param teacherId the id of the teacher.
+     * @param from      the start of the window, inclusive.
+     * @param to        the end of the window, exclusive.
+     * @return a {@link List} of {@link MeetingSeries} objects, ordered by id.
+     * @throws MeetingSeriesDAOException if an error is occurred, this wrapper
+     *                                   exception to {@link SQLException} will be thrown.
+     */
+    @Override
+    public List<MeetingSeries> getByTeacher(long teacherId, Date from, Date to) throws MeetingSeriesDAOException {
+        return getWindow("S.TEACHER_ID", teacherId, from, to);
+    }
+
+    /**
+     * This method returns the series of a student which are active
+     * in the time window [from, to).
+     *
+     * @param studentId the id of the student.
+     * @param from      the start of the window, inclusive.
+     * @param to        the end of the window, exclusive.
+     * @return a {@link List} of {@link MeetingSeries} objects, ordered by id.
+     * @throws MeetingSeriesDAOException if an error is occurred, this wrapper
+     *                                   exception to {@link SQLException} will be thrown.
+     */
+    @Override
+    public List<MeetingSeries> getByStudent(long studentId, Date from, Date to) throws MeetingSeriesDAOException {
+        return getWindow("S.STUDENT_ID", studentId, from, to);
+    }
+
+    /**
+     * This method returns the series in a room which are active
+     * in the time window [from, to).
+     *
+     * @param meetingRoom the room.
+     * @param from        the start of the window, inclusive.
+     * @param to          the end of the window, exclusive.
+     * @return a {@link List} of {@link MeetingSeries} objects, ordered by id.
+     * @throws MeetingSeriesDAOException if an error is occurred, this wrapper
+     *                                   exception to {@link SQLException} will be thrown.
+     */
+    @Override
+    public List<MeetingSeries> getByRoom(String meetingRoom, Date from, Date to) throws MeetingSeriesDAOException {
+        return getWindow("S.MEETING_ROOM", meetingRoom, from, to);
+    }
+
+    /**
+     * This method reads the series of an owner, a teacher, a student or a
+     * room, whose span [FIRST_DATE, UNTIL_DATE) overlaps a time window. A
+     * series is one row, so a window of a year reads the rule of a weekly
+     * series once instead of 52 meetings.
+     *
+     * @param ownerColumn the column of the owner.
+     * @param owner       the value of the owner column.
+     * @param from        the start of the window, inclusive.
+     * @param to          the end of the window, exclusive.
+     * @return a {@link List} of {@link MeetingSeries} objects, ordered by id.
+     * @throws MeetingSeriesDAOException if an error is occurred, this wrapper
+     *                                   exception to {@link SQLException} will be thrown.
+     */
+    private List<MeetingSeries> getWindow(String ownerColumn, Object owner, Date from, Date to)
+            throws MeetingSeriesDAOException {
+        String sql = MeetingSeriesRowMapper.SELECT_COLUMNS + " WHERE " + ownerColumn + " = ?"
+                + " AND S.FIRST_DATE < ? AND (S.UNTIL_DATE IS NULL OR S.UNTIL_DATE > ?)"
+                + " ORDER BY S.ID";
+        ResultSet rs = null;
+
+        try (Connection conn = DBUtil.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setObject(1, owner);
+            ps.setTimestamp(2, toTimestamp(to));
+            ps.setTimestamp(3, toTimestamp(from));
+            rs = ps.executeQuery();
+
+            return mapAll(rs);
+        } catch (SQLException e) {
+            e.printStackTrace();
+            throw new MeetingSeriesDAOException("SQL Error in Meeting Series retrieve with " + ownerColumn + " = " + owner);
+        } finally {
+            try {
+                if (rs != null) rs.close();
+            } catch (SQLException e1) {
+                e1.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * This method maps the rows of the series, one for each cancelled
+     * meeting, ordered by the id of the series, to one object per series.
+     */
+    private List<MeetingSeries> mapAll(ResultSet rs) throws SQLException {
+        Map<Long, MeetingSeries> series = new LinkedHashMap<>();
+
+        while (rs.next()) {
+            long id = rs.getLong("ID");
+            MeetingSeries current = series.get(id);
+            if (current == null) {
+                current = seriesMapper.mapRow(rs);
+                series.put(id, current);
+            }
+
+            Timestamp cancelled = rs.getTimestamp("CANCELLED_DATE");
+            if (cancelled != null) {
+                current.getCancelledDates().add(new Date(cancelled.getTime()));
+            }
+        }
+        return new ArrayList<>(series.values());
+    }
+
+    private static Timestamp toTimestamp(Date date) {
+        return new Timestamp(date.getTime());
+    }
+}
@@ -0,0 +1,53 @@
+package gr.aueb.cf.schoolappsoa.dao;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * This class holds one page of a keyset-paginated search.
+ * The next page is requested with the continuation token of
+ * this page, which is null on the last page.
+ *
+ * @param <T> the type of the Entity.
+ * @author Thanasis Chousiadas
+ */
+public class Page<T> {
+    private final List<T> items;
+    private final String nextPageToken;
+
+    /**
+     * Overloaded constructor.
+     *
+     * @param items         the Entities of the page.
+     * @param nextPageToken the continuation token of the next page,
+     *                      or null if this is the last page.
+     */
+    public Page(List<T> items, String nextPageToken) {
+        this.items = Collections.unmodifiableList(items);
+        this.nextPageToken = nextPageToken;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public String getNextPageToken() {
+        return nextPageToken;
+    }
+
+    public boolean hasNext() {
+        return nextPageToken != null;
+    }
+
+    public int size() {
+        return items.size();
+    }
+
+    @Override
+    public String toString() {
+        return "Page{" +
+                "items=" + items +
+                ", nextPageToken='" + nextPageToken + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,147 @@
+package gr.aueb.cf.schoolappsoa.dao;
+
+import gr.aueb.cf.schoolappsoa.dao.exceptions.StreamDAOException;
+import gr.aueb.cf.schoolappsoa.dao.mapper.RowMapper;
+import gr.aueb.cf.schoolappsoa.service.util.DBUtil;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * This class reads the rows of a query as a {@link Stream}, one row
+ * at a time, without keeping them in memory. With the MySQL driver, a
+ * fetch size of {@link Integer#MIN_VALUE} streams the rows from the
+ * server row by row; a positive fetch size with {@code useCursorFetch=true}
+ * on the URL reads them in chunks from a server-side cursor. The fetch size
+ * is read from the {@value #FETCH_SIZE_PROPERTY} setting of {@link DBUtil}.
+ * <p>
+ * The connection, the statement and the result set are closed when the
+ * last row is read, when a row cannot be read or when the stream is closed,
+ * whichever comes first. Streams which may not be read to the end must be
+ * closed, e.g. with try-with-resources.
+ *
+ * @author Thanasis Chousiadas
+ */
+final class ResultSetStream {
+    static final String FETCH_SIZE_PROPERTY = "db.streamFetchSize";
+
+    /**
+     * No instances of this class should be available.
+     */
+    private ResultSetStream() {
+    }
+
+    /**
+     * Returns a stream of the rows of a query on a dedicated connection,
+     * which is not shared with the {@link gr.aueb.cf.schoolappsoa.service.util.ConnectionScope}
+     * of the thread, because a streaming result set keeps its connection busy until it is closed.
+     *
+     * @param sql    the query.
+     * @param mapper maps a row to an Entity.
+     * @param <T>    the type of the Entity.
+     * @return a {@link Stream} of Entities.
+     * @throws SQLException if the query cannot be executed.
+     */
+    static <T> Stream<T> of(String sql, RowMapper<T> mapper) throws SQLException {
+        int fetchSize = DBUtil.getConfig().getInt(FETCH_SIZE_PROPERTY, Integer.MIN_VALUE);
+        return of(DBUtil.getDedicatedConnection(), sql, fetchSize, mapper);
+    }
+
+    /**
+     * Returns a stream of the rows of a query. The stream takes
+     * the ownership of the connection and closes it.
+     *
+     * @param conn      the connection.
+     * @param sql       the query.
+     * @param fetchSize the fetch size of the statement.
+     * @param mapper    maps a row to an Entity.
+     * @param <T>       the type of the Entity.
+     * @return a {@link Stream} of Entities.
+     * @throws SQLException if the query cannot be executed.
+     */
+    static <T> Stream<T> of(Connection conn, String sql, int fetchSize, RowMapper<T> mapper) throws SQLException {
+        PreparedStatement ps = null;
+
+        try {
+            ps = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            ResultSet rs = ps.executeQuery();
+
+            RowSpliterator<T> rows = new RowSpliterator<>(conn, ps, rs, mapper);
+            return StreamSupport.stream(rows, false).onClose(rows::close);
+        } catch (SQLException e) {
+            closeQuietly(ps);
+            closeQuietly(conn);
+            throw e;
+        }
+    }
+
+    private static void closeQuietly(AutoCloseable resource) {
+        if (resource == null) {
+            return;
+        }
+        try {
+            resource.close();
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Reads the rows of a {@link ResultSet} one at a time
+     * and closes its resources after the last row.
+     *
+     * @param <T> the type of the Entity.
+     */
+    private static final class RowSpliterator<T> extends Spliterators.AbstractSpliterator<T> {
+        private final Connection conn;
+        private final PreparedStatement ps;
+        private final ResultSet rs;
+        private final RowMapper<T> mapper;
+        private boolean closed;
+
+        RowSpliterator(Connection conn, PreparedStatement ps, ResultSet rs, RowMapper<T> mapper) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.conn = conn;
+            this.ps = ps;
+            this.rs = rs;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (closed) {
+                return false;
+            }
+
+            try {
+                if (!rs.next()) {
+                    close();
+                    return false;
+                }
+                action.accept(mapper.mapRow(rs));
+                return true;
+            } catch (SQLException e) {
+                close();
+                throw new StreamDAOException("SQL Error while streaming rows", e);
+            }
+        }
+
+        void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            closeQuietly(rs);
+            closeQuietly(ps);
+            closeQuietly(conn);
+        }
+    }
+}
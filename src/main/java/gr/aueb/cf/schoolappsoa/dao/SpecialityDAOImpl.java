@@ -8,6 +8,7 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -23,7 +24,7 @@ public class SpecialityDAOImpl implements ISpecialityDAO {
      * This method inserts a new record in the Specialities table.
      *
      * @param speciality the {@link Speciality} object of the model to be inserted.
-     * @return the inserted {@link Speciality} object.
+     * @return the inserted {@link Speciality} object, with the id generated by the database.
      * @throws SpecialityDAOException if an error is occurred, this wrapper
      *                                exception to {@link SQLException} will be thrown.
      */
@@ -32,11 +33,12 @@ public class SpecialityDAOImpl implements ISpecialityDAO {
         String sql = "INSERT INTO SPECIALITIES (SPECIALITY) VALUES (?)";
 
         try (Connection conn = DBUtil.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)
+             PreparedStatement ps = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)
         ) {
             ps.setString(1, speciality.getSpeciality());
             int n = ps.executeUpdate();
             if (n == 1) {
+                speciality.setId(GeneratedKeys.first(ps));
                 return speciality;
             }
             return null;
@@ -3,6 +3,9 @@ package gr.aueb.cf.schoolappsoa.dao;
 import gr.aueb.cf.schoolappsoa.dao.exceptions.CityDAOException;
 import gr.aueb.cf.schoolappsoa.dao.exceptions.StudentDAOException;
 import gr.aueb.cf.schoolappsoa.dao.exceptions.UserDAOException;
+import gr.aueb.cf.schoolappsoa.dao.mapper.ParameterBinder;
+import gr.aueb.cf.schoolappsoa.dao.mapper.RowMapper;
+import gr.aueb.cf.schoolappsoa.dao.mapper.StudentRowMapper;
 import gr.aueb.cf.schoolappsoa.model.City;
 import gr.aueb.cf.schoolappsoa.model.Student;
 import gr.aueb.cf.schoolappsoa.model.User;
@@ -12,8 +15,10 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * This class implements the Public API of the
@@ -22,33 +27,36 @@ import java.util.List;
  * @author Thanasis Chousiadas
  */
 public class StudentDAOImpl implements IStudentDAO {
-    private final ICityDAO cityDAO = new CityDAOImpl();
-    private final IUserDAO userDAO = new UserDAOImpl();
+    private static final String INSERT_SQL =
+            "INSERT INTO STUDENTS (FIRSTNAME, LASTNAME, GENDER, BIRTH_DATE, CITY_ID, USER_ID) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final ParameterBinder<Student> INSERT_BINDER = (ps, student) -> {
+        ps.setString(1, student.getFirstname());
+        ps.setString(2, student.getLastname());
+        ps.setString(3, String.valueOf(student.getGender()));
+        ps.setDate(4, student.getBirthDate());
+        ps.setLong(5, student.getStudentCity().getId());
+        ps.setLong(6, student.getUser().getId());
+    };
+
+    private final RowMapper<Student> studentMapper = new StudentRowMapper();
 
     /**
      * This method inserts a new record in the Students table.
      *
      * @param student the {@link Student} object of the model to be inserted.
-     * @return the inserted {@link Student} object.
+     * @return the inserted {@link Student} object, with the id generated by the database.
      * @throws StudentDAOException if an error is occurred, this wrapper
      *                             exception to {@link SQLException} will be thrown.
      */
     @Override
     public Student insert(Student student) throws StudentDAOException {
-        String sql = "INSERT INTO STUDENTS (FIRSTNAME, LASTNAME, GENDER, BIRTH_DATE, CITY_ID, USER_ID) VALUES (?, ?, ?, ?, ?, ?)";
-
         try (Connection conn = DBUtil.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
-
-            ps.setString(1, student.getFirstname());
-            ps.setString(2, student.getLastname());
-            ps.setString(3, String.valueOf(student.getGender()));
-            ps.setDate(4, student.getBirthDate());
-            ps.setLong(5, student.getStudentCity().getId());
-            ps.setLong(6, student.getUser().getId());
+             PreparedStatement ps = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+            INSERT_BINDER.bind(ps, student);
             int n = ps.executeUpdate();
 
             if (n >= 1) {
+                student.setId(GeneratedKeys.first(ps));
                 return student;
             }
             return null;
@@ -58,6 +66,45 @@ public class StudentDAOImpl implements IStudentDAO {
         }
     }
 
+    /**
+     * This method inserts new records in the Students table with JDBC
+     * batches of the batch size of the settings
+     * ({@value gr.aueb.cf.schoolappsoa.service.util.DBConfig#BATCH_SIZE_PROPERTY}).
+     *
+     * @param students the {@link Student} objects to be inserted.
+     * @return a {@link BatchResult} with the inserted {@link Student} objects,
+     * their generated ids and the result of every row.
+     * @throws StudentDAOException if an error is occurred, this wrapper
+     *                             exception to {@link SQLException} will be thrown.
+     *                             No record is inserted.
+     */
+    @Override
+    public BatchResult<Student> insertAll(List<Student> students) throws StudentDAOException {
+        return insertAll(students, JdbcBatch.defaultBatchSize());
+    }
+
+    /**
+     * This method inserts new records in the Students table with JDBC
+     * batches, one round trip for every batchSize rows.
+     *
+     * @param students     the {@link Student} objects to be inserted.
+     * @param batchSize the number of rows of every batch.
+     * @return a {@link BatchResult} with the inserted {@link Student} objects,
+     * their generated ids and the result of every row.
+     * @throws StudentDAOException if an error is occurred, this wrapper
+     *                             exception to {@link SQLException} will be thrown.
+     *                             No record is inserted.
+     */
+    @Override
+    public BatchResult<Student> insertAll(List<Student> students, int batchSize) throws StudentDAOException {
+        try {
+            return JdbcBatch.insertAll(INSERT_SQL, students, batchSize, INSERT_BINDER, Student::setId);
+        } catch (SQLException e) {
+            e.printStackTrace();
+            throw new StudentDAOException("SQL Error in Student batch insert of " + students.size() + " rows");
+        }
+    }
+
     /**
      * This method updates an old record in the Students table
      * with a new one.
@@ -124,10 +171,35 @@ public class StudentDAOImpl implements IStudentDAO {
         return studentIsDeleted;
     }
 
+    /**
+     * This method deletes the record from Students table where the
+     * foreign key user_id is the same with the id given by the client,
+     * with one statement and without fetching the record first.
+     *
+     * @param userId the id of the user.
+     * @return true if a row is deleted, otherwise false.
+     * @throws StudentDAOException if an error is occurred, this wrapper
+     *                             exception to {@link SQLException} will be thrown.
+     */
+    @Override
+    public boolean deleteByUserId(long userId) throws StudentDAOException {
+        String sql = "DELETE FROM STUDENTS WHERE USER_ID = ?";
+
+        try (Connection conn = DBUtil.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setLong(1, userId);
+            return ps.executeUpdate() >= 1;
+        } catch (SQLException e) {
+            e.printStackTrace();
+            throw new StudentDAOException("SQL Error: Student delete with user id = " + userId);
+        }
+    }
+
     /**
      * This method returns an {@link ArrayList} with the records
      * of the Students table where lastname begins with the lastname
-     * provided by the client.
+     * provided by the client. The {@link City} and the {@link User}
+     * of each student are fetched with the same joined query.
      *
      * @param lastname the lastname for searching given by the client.
      * @return an {@link ArrayList} of {@link Student} objects where
@@ -144,7 +216,7 @@ public class StudentDAOImpl implements IStudentDAO {
      */
     @Override
     public List<Student> getByLastname(String lastname) throws StudentDAOException, CityDAOException, UserDAOException {
-        String sql = "SELECT * FROM STUDENTS WHERE LASTNAME LIKE ?";
+        String sql = StudentRowMapper.SELECT_COLUMNS + " WHERE S.LASTNAME LIKE ?";
         List<Student> students = new ArrayList<>();
         ResultSet rs = null;
 
@@ -155,23 +227,11 @@ public class StudentDAOImpl implements IStudentDAO {
             rs = ps.executeQuery();
 
             while (rs.next()) {
-                City city = cityDAO.getById(rs.getLong("CITY_ID"));
-                User user = userDAO.getById(rs.getLong("USER_ID"));
-
-                Student student = new Student();
-                student.setId(rs.getLong("ID"));
-                student.setFirstname(rs.getString("FIRSTNAME"));
-                student.setLastname(rs.getString("LASTNAME"));
-                student.setGender(rs.getString("GENDER").charAt(0));
-                student.setBirthDate(rs.getDate("BIRTH_DATE"));
-                student.setStudentCity(city);
-                student.setUser(user);
-
-                students.add(student);
+                students.add(studentMapper.mapRow(rs));
             }
         } catch (SQLException e) {
             e.printStackTrace();
-            throw new StudentDAOException("");
+            throw new StudentDAOException("SQL Error in Students retrieve with lastname = " + lastname);
         } finally {
             try {
                 if (rs != null) rs.close();
@@ -182,6 +242,84 @@ public class StudentDAOImpl implements IStudentDAO {
         return students;
     }
 
+    /**
+     * This method returns one page of the records of the Students table
+     * where lastname begins with the lastname provided by the client,
+     * ordered by lastname and id. Each page is read with an index seek
+     * after the last row of the previous page, so the cost of a page does
+     * not depend on how many pages come before it.
+     *
+     * @param lastname  the lastname for searching given by the client.
+     * @param pageSize  the maximum number of students of the page.
+     * @param pageToken the continuation token of the previous page,
+     *                  or null for the first page.
+     * @return a {@link Page} of {@link Student} objects.
+     * @throws StudentDAOException if an error is occurred, this wrapper
+     *                             exception to {@link SQLException} will be thrown.
+     */
+    @Override
+    public Page<Student> getByLastname(String lastname, int pageSize, String pageToken) throws StudentDAOException {
+        Keyset.checkPageSize(pageSize);
+        Keyset after = Keyset.of(pageToken);
+        String sql = StudentRowMapper.SELECT_COLUMNS + " WHERE S.LASTNAME LIKE ?"
+                + (after == null ? "" : " AND (S.LASTNAME > ? OR (S.LASTNAME = ? AND S.ID > ?))")
+                + " ORDER BY S.LASTNAME, S.ID LIMIT ?";
+        List<Student> students = new ArrayList<>(pageSize + 1);
+        ResultSet rs = null;
+
+        try (Connection conn = DBUtil.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            int i = 1;
+            ps.setString(i++, lastname + "%");
+            if (after != null) {
+                ps.setString(i++, after.getKey());
+                ps.setString(i++, after.getKey());
+                ps.setLong(i++, after.getId());
+            }
+            ps.setInt(i, pageSize + 1);
+            rs = ps.executeQuery();
+
+            while (rs.next()) {
+                students.add(studentMapper.mapRow(rs));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            throw new StudentDAOException("SQL Error in Students retrieve page with lastname = " + lastname);
+        } finally {
+            try {
+                if (rs != null) rs.close();
+            } catch (SQLException e1) {
+                e1.printStackTrace();
+            }
+        }
+        return Keyset.page(students, pageSize, s -> Keyset.token(s.getLastname(), s.getId()));
+    }
+
+    /**
+     * This method returns all the records of the Students table, with
+     * their cities and users, as a {@link Stream} which reads one row at
+     * a time from the database, so the heap use does not depend on the
+     * number of students. The stream must be closed if it is not read
+     * to the end, e.g. with try-with-resources.
+     *
+     * @return a {@link Stream} of {@link Student} objects, ordered by id.
+     * @throws StudentDAOException if an error is occurred, this wrapper
+     *                             exception to {@link SQLException} will be thrown.
+     *                             Errors while reading the stream are thrown as
+     *                             {@link gr.aueb.cf.schoolappsoa.dao.exceptions.StreamDAOException}.
+     */
+    @Override
+    public Stream<Student> streamAll() throws StudentDAOException {
+        String sql = StudentRowMapper.SELECT_COLUMNS + " ORDER BY S.ID";
+
+        try {
+            return ResultSetStream.of(sql, studentMapper);
+        } catch (SQLException e) {
+            e.printStackTrace();
+            throw new StudentDAOException("SQL Error in Students stream");
+        }
+    }
+
     /**
      * This method returns the record where the primary key is
      * same with the id given by the client.
@@ -199,41 +337,13 @@ public class StudentDAOImpl implements IStudentDAO {
      */
     @Override
     public Student getById(long id) throws StudentDAOException, CityDAOException, UserDAOException {
-        String sql = "SELECT * FROM STUDENTS WHERE ID = ?";
-        ResultSet rs = null;
+        String sql = StudentRowMapper.SELECT_COLUMNS + " WHERE S.ID = ?";
 
-        try (Connection conn = DBUtil.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
-            ps.setLong(1, id);
-            rs = ps.executeQuery();
-            if (!rs.next()) {
-                return null;
-            }
-            City city = cityDAO.getById(rs.getLong("CITY_ID"));
-            User user = userDAO.getById(rs.getLong("USER_ID"));
-
-            return new Student(
-                    rs.getLong("ID"),
-                    rs.getString("FIRSTNAME"),
-                    rs.getString("LASTNAME"),
-                    rs.getString("GENDER").charAt(0),
-                    rs.getDate("BIRTH_DATE"),
-                    city,
-                    user
-            );
+        try {
+            return getSingle(sql, id);
         } catch (SQLException e) {
             e.printStackTrace();
             throw new StudentDAOException("SQL Error in Student retrieve with id = " + id);
-        } catch (CityDAOException | UserDAOException e1) {
-            throw e1;
-        } finally {
-            try {
-                if (rs != null) {
-                    rs.close();
-                }
-            } catch (SQLException e1) {
-                e1.printStackTrace();
-            }
         }
     }
 
@@ -257,7 +367,26 @@ public class StudentDAOImpl implements IStudentDAO {
      */
     @Override
     public Student getByUserId(long id) throws StudentDAOException, CityDAOException, UserDAOException {
-        String sql = "SELECT * FROM STUDENTS WHERE USER_ID = ?";
+        String sql = StudentRowMapper.SELECT_COLUMNS + " WHERE S.USER_ID = ?";
+
+        try {
+            return getSingle(sql, id);
+        } catch (SQLException e1) {
+            e1.printStackTrace();
+            throw new StudentDAOException("SQL Error: Get Student by user_id = " + id);
+        }
+    }
+
+    /**
+     * This method executes a joined query with a single id parameter
+     * and maps the first row to a {@link Student} object.
+     *
+     * @param sql the joined query with one parameter.
+     * @param id  the value of the parameter.
+     * @return a {@link Student} object or null if there is no row.
+     * @throws SQLException for errors that occur during the query.
+     */
+    private Student getSingle(String sql, long id) throws SQLException {
         ResultSet rs = null;
 
         try (Connection conn = DBUtil.getConnection();
@@ -268,21 +397,7 @@ public class StudentDAOImpl implements IStudentDAO {
             if (!rs.next()) {
                 return null;
             }
-
-            City city = cityDAO.getById(rs.getLong("CITY_ID"));
-            User user = userDAO.getById(rs.getLong("USER_ID"));
-            return new Student(
-                    rs.getLong("ID"),
-                    rs.getString("FIRSTNAME"),
-                    rs.getString("LASTNAME"),
-                    rs.getString("GENDER").charAt(0),
-                    rs.getDate("BIRTH_DATE"),
-                    city,
-                    user
-            );
-        } catch (SQLException e1) {
-            e1.printStackTrace();
-            throw new StudentDAOException("SQL Error: Get Student by user_id = " + id);
+            return studentMapper.mapRow(rs);
         } finally {
             try {
                 if (rs != null) {
@@ -3,6 +3,8 @@ package gr.aueb.cf.schoolappsoa.dao;
 import gr.aueb.cf.schoolappsoa.dao.exceptions.SpecialityDAOException;
 import gr.aueb.cf.schoolappsoa.dao.exceptions.TeacherDAOException;
 import gr.aueb.cf.schoolappsoa.dao.exceptions.UserDAOException;
+import gr.aueb.cf.schoolappsoa.dao.mapper.ParameterBinder;
+import gr.aueb.cf.schoolappsoa.dao.mapper.TeacherRowMapper;
 import gr.aueb.cf.schoolappsoa.model.Speciality;
 import gr.aueb.cf.schoolappsoa.model.Teacher;
 import gr.aueb.cf.schoolappsoa.model.User;
@@ -12,8 +14,10 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * This class implements the Public API of the
@@ -23,31 +27,36 @@ import java.util.List;
  */
 public class TeacherDAOImpl implements ITeacherDAO {
 
-    private final ISpecialityDAO specialtyDAO = new SpecialityDAOImpl();
-    private final IUserDAO userDAO = new UserDAOImpl();
+    private static final String INSERT_SQL =
+            "INSERT INTO TEACHERS (SSN, FIRSTNAME, LASTNAME, SPECIALITY_ID, USER_ID) VALUES (?, ?, ?, ?, ?)";
+    private static final ParameterBinder<Teacher> INSERT_BINDER = (ps, teacher) -> {
+        ps.setLong(1, teacher.getSsn());
+        ps.setString(2, teacher.getFirstname());
+        ps.setString(3, teacher.getLastname());
+        ps.setLong(4, teacher.getTeacherSpeciality().getId());
+        ps.setLong(5, teacher.getUser().getId());
+    };
+
+    private final TeacherRowMapper eagerMapper = new TeacherRowMapper(FetchPlan.EAGER_JOIN);
+    private final TeacherRowMapper lazyMapper = new TeacherRowMapper(FetchPlan.LAZY_ID);
 
     /**
      * This method inserts a new record in the Teachers table.
      *
      * @param teacher a {@link Teacher} object, to be inserted.
-     * @return the inserted {@link Teacher} object.
+     * @return the inserted {@link Teacher} object, with the id generated by the database.
      * @throws TeacherDAOException if an error is occurred, this wrapper
      *                             exception to {@link SQLException} will be thrown.
      */
     @Override
     public Teacher insert(Teacher teacher) throws TeacherDAOException {
-        String sql = "INSERT INTO TEACHERS (SSN, FIRSTNAME, LASTNAME, SPECIALITY_ID, USER_ID) VALUES (?, ?, ?, ?, ?)";
-
         try (Connection conn = DBUtil.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)
+             PreparedStatement ps = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)
         ) {
-            ps.setLong(1, teacher.getSsn());
-            ps.setString(2, teacher.getFirstname());
-            ps.setString(3, teacher.getLastname());
-            ps.setLong(4, teacher.getTeacherSpeciality().getId());
-            ps.setLong(5, teacher.getUser().getId());
+            INSERT_BINDER.bind(ps, teacher);
             int n = ps.executeUpdate();
             if (n == 1) {
+                teacher.setId(GeneratedKeys.first(ps));
                 return teacher;
             }
             return null;
@@ -57,6 +66,45 @@ public class TeacherDAOImpl implements ITeacherDAO {
         }
     }
 
+    /**
+     * This method inserts new records in the Teachers table with JDBC
+     * batches of the batch size of the settings
+     * ({@value gr.aueb.cf.schoolappsoa.service.util.DBConfig#BATCH_SIZE_PROPERTY}).
+     *
+     * @param teachers the {@link Teacher} objects to be inserted.
+     * @return a {@link BatchResult} with the inserted {@link Teacher} objects,
+     * their generated ids and the result of every row.
+     * @throws TeacherDAOException if an error is occurred, this wrapper
+     *                             exception to {@link SQLException} will be thrown.
+     *                             No record is inserted.
+     */
+    @Override
+    public BatchResult<Teacher> insertAll(List<Teacher> teachers) throws TeacherDAOException {
+        return insertAll(teachers, JdbcBatch.defaultBatchSize());
+    }
+
+    /**
+     * This method inserts new records in the Teachers table with JDBC
+     * batches, one round trip for every batchSize rows.
+     *
+     * @param teachers     the {@link Teacher} objects to be inserted.
+     * @param batchSize the number of rows of every batch.
+     * @return a {@link BatchResult} with the inserted {@link Teacher} objects,
+     * their generated ids and the result of every row.
+     * @throws TeacherDAOException if an error is occurred, this wrapper
+     *                             exception to {@link SQLException} will be thrown.
+     *                             No record is inserted.
+     */
+    @Override
+    public BatchResult<Teacher> insertAll(List<Teacher> teachers, int batchSize) throws TeacherDAOException {
+        try {
+            return JdbcBatch.insertAll(INSERT_SQL, teachers, batchSize, INSERT_BINDER, Teacher::setId);
+        } catch (SQLException e) {
+            e.printStackTrace();
+            throw new TeacherDAOException("SQL Error in Teacher batch insert of " + teachers.size() + " rows");
+        }
+    }
+
     /**
      * This method updates an old record in the Teachers table
      * with the new one.
@@ -117,10 +165,36 @@ public class TeacherDAOImpl implements ITeacherDAO {
         }
     }
 
+    /**
+     * This method deletes the record from Teachers table where the
+     * foreign key user_id is the same with the id given by the client,
+     * with one statement and without fetching the record first.
+     *
+     * @param userId the id of the user.
+     * @return true if a row is deleted, otherwise false.
+     * @throws TeacherDAOException if an error is occurred, this wrapper
+     *                             exception to {@link SQLException} will be thrown.
+     */
+    @Override
+    public boolean deleteByUserId(long userId) throws TeacherDAOException {
+        String sql = "DELETE FROM TEACHERS WHERE USER_ID = ?";
+
+        try (Connection conn = DBUtil.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)
+        ) {
+            ps.setLong(1, userId);
+            return ps.executeUpdate() >= 1;
+        } catch (SQLException e) {
+            e.printStackTrace();
+            throw new TeacherDAOException("SQL Error: Teacher delete with user id = " + userId);
+        }
+    }
+
     /**
      * This method returns an {@link ArrayList} with the records
      * of the Teachers table where lastname begins with the lastname
-     * provided by the client.
+     * provided by the client. The {@link Speciality} and the {@link User}
+     * of each teacher are fetched with the same joined query.
      *
      * @param lastname the lastname for searching given by the client.
      * @return an {@link ArrayList} of {@link Teacher} objects where
@@ -137,7 +211,26 @@ public class TeacherDAOImpl implements ITeacherDAO {
      */
     @Override
     public List<Teacher> getByLastname(String lastname) throws TeacherDAOException, SpecialityDAOException, UserDAOException {
-        String sql = "SELECT * FROM TEACHERS WHERE LASTNAME LIKE ?";
+        return getByLastname(lastname, FetchPlan.EAGER_JOIN);
+    }
+
+    /**
+     * This method returns an {@link ArrayList} with the records
+     * of the Teachers table where lastname begins with the lastname
+     * provided by the client, loaded according to a {@link FetchPlan}.
+     *
+     * @param lastname the lastname for searching given by the client.
+     * @param plan     {@link FetchPlan#EAGER_JOIN} for fully hydrated teachers,
+     *                 {@link FetchPlan#LAZY_ID} for teachers where the {@link Speciality}
+     *                 and the {@link User} carry only their ids.
+     * @return an {@link ArrayList} of {@link Teacher} objects.
+     * @throws TeacherDAOException for errors that occur during records retrieval
+     *                             from Teachers table.
+     */
+    @Override
+    public List<Teacher> getByLastname(String lastname, FetchPlan plan) throws TeacherDAOException {
+        TeacherRowMapper mapper = mapperOf(plan);
+        String sql = mapper.getSelectClause() + " WHERE T.LASTNAME LIKE ?";
         List<Teacher> teachers = new ArrayList<>();
         ResultSet rs = null;
 
@@ -147,25 +240,12 @@ public class TeacherDAOImpl implements ITeacherDAO {
             ps.setString(1, lastname + "%");
             rs = ps.executeQuery();
             while (rs.next()) {
-                Speciality speciality = specialtyDAO.getById(rs.getLong("SPECIALITY_ID"));
-                User user = userDAO.getById(rs.getLong("USER_ID"));
-
-                Teacher teacher = new Teacher(
-                        rs.getLong("ID"),
-                        rs.getLong("SSN"),
-                        rs.getString("FIRSTNAME"),
-                        rs.getString("LASTNAME"),
-                        speciality,
-                        user
-                );
-                teachers.add(teacher);
+                teachers.add(mapper.mapRow(rs));
             }
             return teachers;
         } catch (SQLException e) {
             e.printStackTrace();
             throw new TeacherDAOException("SQL Error: Could not retrieve teachers from DB.");
-        } catch (SpecialityDAOException | UserDAOException e1) {
-            throw e1;
         } finally {
             try {
                 if (rs != null) {
@@ -177,6 +257,91 @@ public class TeacherDAOImpl implements ITeacherDAO {
         }
     }
 
+    /**
+     * This method returns one page of the records of the Teachers table
+     * where lastname begins with the lastname provided by the client,
+     * ordered by lastname and id and loaded according to a {@link FetchPlan}.
+     * Each page is read with an index seek after the last row of the
+     * previous page, so the cost of a page does not depend on how many
+     * pages come before it.
+     *
+     * @param lastname  the lastname for searching given by the client.
+     * @param plan      the {@link FetchPlan} of the query.
+     * @param pageSize  the maximum number of teachers of the page.
+     * @param pageToken the continuation token of the previous page,
+     *                  or null for the first page.
+     * @return a {@link Page} of {@link Teacher} objects.
+     * @throws TeacherDAOException if an error is occurred, this wrapper
+     *                             exception to {@link SQLException} will be thrown.
+     */
+    @Override
+    public Page<Teacher> getByLastname(String lastname, FetchPlan plan, int pageSize, String pageToken) throws TeacherDAOException {
+        Keyset.checkPageSize(pageSize);
+        Keyset after = Keyset.of(pageToken);
+        TeacherRowMapper mapper = mapperOf(plan);
+        String sql = mapper.getSelectClause() + " WHERE T.LASTNAME LIKE ?"
+                + (after == null ? "" : " AND (T.LASTNAME > ? OR (T.LASTNAME = ? AND T.ID > ?))")
+                + " ORDER BY T.LASTNAME, T.ID LIMIT ?";
+        List<Teacher> teachers = new ArrayList<>(pageSize + 1);
+        ResultSet rs = null;
+
+        try (Connection conn = DBUtil.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)
+        ) {
+            int i = 1;
+            ps.setString(i++, lastname + "%");
+            if (after != null) {
+                ps.setString(i++, after.getKey());
+                ps.setString(i++, after.getKey());
+                ps.setLong(i++, after.getId());
+            }
+            ps.setInt(i, pageSize + 1);
+            rs = ps.executeQuery();
+            while (rs.next()) {
+                teachers.add(mapper.mapRow(rs));
+            }
+            return Keyset.page(teachers, pageSize, t -> Keyset.token(t.getLastname(), t.getId()));
+        } catch (SQLException e) {
+            e.printStackTrace();
+            throw new TeacherDAOException("SQL Error: Could not retrieve page of teachers from DB.");
+        } finally {
+            try {
+                if (rs != null) {
+                    rs.close();
+                }
+            } catch (SQLException e1) {
+                e1.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * This method returns all the records of the Teachers table, loaded
+     * according to a {@link FetchPlan}, as a {@link Stream} which reads one
+     * row at a time from the database, so the heap use does not depend on
+     * the number of teachers. The stream must be closed if it is not read
+     * to the end, e.g. with try-with-resources.
+     *
+     * @param plan the {@link FetchPlan} of the query.
+     * @return a {@link Stream} of {@link Teacher} objects, ordered by id.
+     * @throws TeacherDAOException if an error is occurred, this wrapper
+     *                             exception to {@link SQLException} will be thrown.
+     *                             Errors while reading the stream are thrown as
+     *                             {@link gr.aueb.cf.schoolappsoa.dao.exceptions.StreamDAOException}.
+     */
+    @Override
+    public Stream<Teacher> streamAll(FetchPlan plan) throws TeacherDAOException {
+        TeacherRowMapper mapper = mapperOf(plan);
+        String sql = mapper.getSelectClause() + " ORDER BY T.ID";
+
+        try {
+            return ResultSetStream.of(sql, mapper);
+        } catch (SQLException e) {
+            e.printStackTrace();
+            throw new TeacherDAOException("SQL Error: Could not stream teachers from DB.");
+        }
+    }
+
     /**
      * This method returns the record where the primary key is
      * the same with the id given by the client.
@@ -194,39 +359,30 @@ public class TeacherDAOImpl implements ITeacherDAO {
      */
     @Override
     public Teacher getById(long id) throws TeacherDAOException, UserDAOException, SpecialityDAOException {
-        String sql = "SELECT * FROM TEACHERS WHERE ID = ?";
-        ResultSet rs = null;
+        return getById(id, FetchPlan.EAGER_JOIN);
+    }
 
-        try (Connection conn = DBUtil.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)
-        ) {
-            ps.setLong(1, id);
-            rs = ps.executeQuery();
-            if (!rs.next()) {
-                return null;
-            }
+    /**
+     * This method returns the record where the primary key is
+     * the same with the id given by the client, loaded according
+     * to a {@link FetchPlan}.
+     *
+     * @param id   the id provided by the client.
+     * @param plan the {@link FetchPlan} of the query.
+     * @return a {@link Teacher} with the id, or null if not found.
+     * @throws TeacherDAOException for errors that occur during records retrieval
+     *                             from Teachers table.
+     */
+    @Override
+    public Teacher getById(long id, FetchPlan plan) throws TeacherDAOException {
+        TeacherRowMapper mapper = mapperOf(plan);
+        String sql = mapper.getSelectClause() + " WHERE T.ID = ?";
 
-            Speciality speciality = specialtyDAO.getById(rs.getLong("SPECIALITY_ID"));
-            User user = userDAO.getById(rs.getLong("USER_ID"));
-            return new Teacher(
-                    rs.getLong("ID"),
-                    rs.getLong("SSN"),
-                    rs.getString("FIRSTNAME"),
-                    rs.getString("LASTNAME"),
-                    speciality,
-                    user
-            );
+        try {
+            return getSingle(mapper, sql, id);
         } catch (SQLException e) {
             e.printStackTrace();
             throw new TeacherDAOException("SQL Error: Teacher with id = " + id + " not found");
-        } finally {
-            try {
-                if (rs != null) {
-                    rs.close();
-                }
-            } catch (SQLException e1) {
-                e1.printStackTrace();
-            }
         }
     }
 
@@ -250,8 +406,79 @@ public class TeacherDAOImpl implements ITeacherDAO {
      */
     @Override
     public Teacher getByUserId(long id) throws TeacherDAOException, UserDAOException, SpecialityDAOException {
-        String sql = "SELECT * FROM TEACHERS WHERE USER_ID = ?";
+        return getByUserId(id, FetchPlan.EAGER_JOIN);
+    }
+
+    /**
+     * This method searches for the record in Teachers table where
+     * the foreign key user_id is the same with the id given by the client,
+     * loaded according to a {@link FetchPlan}.
+     *
+     * @param id   the user id given by the client.
+     * @param plan the {@link FetchPlan} of the query.
+     * @return a {@link Teacher} object, or null if not found.
+     * @throws TeacherDAOException for errors that occur during records retrieval
+     *                             from Teachers table.
+     */
+    @Override
+    public Teacher getByUserId(long id, FetchPlan plan) throws TeacherDAOException {
+        TeacherRowMapper mapper = mapperOf(plan);
+        String sql = mapper.getSelectClause() + " WHERE T.USER_ID = ?";
+
+        try {
+            return getSingle(mapper, sql, id);
+        } catch (SQLException e1) {
+            e1.printStackTrace();
+            throw new TeacherDAOException("SQL Error: Get Teacher by teacher_id = " + id);
+        }
+    }
+
+    /**
+     * This method loads the {@link Speciality} and the {@link User} of a
+     * teacher, which was retrieved with {@link FetchPlan#LAZY_ID}.
+     * A fully hydrated teacher is returned as it is.
+     *
+     * @param teacher the {@link Teacher} object.
+     * @return the same {@link Teacher} object, fully hydrated.
+     * @throws TeacherDAOException for errors that occur during records retrieval
+     *                             from Teachers table.
+     */
+    @Override
+    public Teacher hydrate(Teacher teacher) throws TeacherDAOException {
+        if (teacher == null || isHydrated(teacher)) {
+            return teacher;
+        }
+
+        Teacher loaded = getById(teacher.getId(), FetchPlan.EAGER_JOIN);
+        if (loaded != null) {
+            teacher.setTeacherSpeciality(loaded.getTeacherSpeciality());
+            teacher.setUser(loaded.getUser());
+        }
+        return teacher;
+    }
+
+    private boolean isHydrated(Teacher teacher) {
+        return (teacher.getTeacherSpeciality() == null || teacher.getTeacherSpeciality().getSpeciality() != null)
+                && (teacher.getUser() == null || teacher.getUser().getUsername() != null);
+    }
+
+    private TeacherRowMapper mapperOf(FetchPlan plan) {
+        return plan == FetchPlan.LAZY_ID ? lazyMapper : eagerMapper;
+    }
+
+    /**
+     * This method executes a query with a single id parameter
+     * and maps the first row to a {@link Teacher} object.
+     *
+     * @param mapper the {@link TeacherRowMapper} of the query.
+     * @param sql    the query with one parameter.
+     * @param id     the value of the parameter.
+     * @return a {@link Teacher} object or null if there is no row.
+     * @throws SQLException for errors that occur during the query.
+     */
+    private Teacher getSingle(TeacherRowMapper mapper, String sql, long id) throws SQLException {
         ResultSet rs = null;
+
         try (Connection conn = DBUtil.getConnection();
              PreparedStatement ps = conn.prepareStatement(sql)) {
             ps.setLong(1, id);
@@ -260,19 +487,7 @@ public class TeacherDAOImpl implements ITeacherDAO {
             if (!rs.next()) {
                 return null;
             }
-            Speciality speciality = specialtyDAO.getById(rs.getLong("SPECIALITY_ID"));
-            User user = userDAO.getById(rs.getLong("USER_ID"));
-            return new Teacher(
-                    rs.getLong("ID"),
-                    rs.getLong("SSN"),
-                    rs.getString("FIRSTNAME"),
-                    rs.getString("LASTNAME"),
-                    speciality,
-                    user
-            );
-        } catch (SQLException e1) {
-            e1.printStackTrace();
-            throw new TeacherDAOException("SQL Error: Get Teacher by teacher_id = " + id);
+            return mapper.mapRow(rs);
         } finally {
             try {
                 if (rs != null) {
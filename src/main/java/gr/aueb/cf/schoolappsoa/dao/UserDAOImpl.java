@@ -1,7 +1,10 @@
 package gr.aueb.cf.schoolappsoa.dao;
 
 import gr.aueb.cf.schoolappsoa.dao.exceptions.UserDAOException;
+import gr.aueb.cf.schoolappsoa.dao.mapper.ParameterBinder;
+import gr.aueb.cf.schoolappsoa.dao.mapper.UserProfileRowMapper;
 import gr.aueb.cf.schoolappsoa.model.User;
+import gr.aueb.cf.schoolappsoa.model.UserProfile;
 import gr.aueb.cf.schoolappsoa.service.util.DBUtil;
 
 import javax.swing.*;
@@ -9,8 +12,14 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * This class implements the Public API of
@@ -19,30 +28,33 @@ import java.util.List;
  * @author Thanasis Chousiadas
  */
 public class UserDAOImpl implements IUserDAO {
+    private static final String INSERT_SQL = "INSERT INTO USERS (USERNAME, PASSWORD) VALUES (?, ?)";
+    private static final ParameterBinder<User> INSERT_BINDER = (ps, user) -> {
+        ps.setString(1, user.getUsername());
+        ps.setString(2, user.getPassword());
+    };
+    private static final int USERNAMES_PER_QUERY = 500;
+    private static final UserProfileRowMapper PROFILE_MAPPER = new UserProfileRowMapper();
 
     /**
      * This method inserts a new record in the Users table.
      *
      * @param user          a {@link User} object, to be inserted.
-     * @return              the inserted {@link User} object.
+     * @return              the inserted {@link User} object, with the id
+     *                      generated by the database.
      * @throws UserDAOException
      *                      if an error is occurred, this wrapper
      *                      exception to {@link SQLException} will be thrown.
      */
     @Override
     public User insert(User user) throws UserDAOException {
-        String sql = "INSERT INTO USERS (USERNAME, PASSWORD) VALUES (?, ?)";
-
         try (Connection conn = DBUtil.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
-
-            ps.setString(1, user.getUsername());
-            ps.setString(2, user.getPassword());
-
+             PreparedStatement ps = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+            INSERT_BINDER.bind(ps, user);
             int n = ps.executeUpdate();
 
             if (n >= 1) {
-//                JOptionPane.showMessageDialog(null, n + " rows affected", "Successfully Insert", JOptionPane  .PLAIN_MESSAGE);
+                user.setId(GeneratedKeys.first(ps));
                 return user;
             }
             return null;
@@ -52,6 +64,45 @@ public class UserDAOImpl implements IUserDAO {
         }
     }
 
+    /**
+     * This method inserts new records in the Users table with JDBC
+     * batches of the batch size of the settings
+     * ({@value gr.aueb.cf.schoolappsoa.service.util.DBConfig#BATCH_SIZE_PROPERTY}).
+     *
+     * @param users the {@link User} objects to be inserted.
+     * @return a {@link BatchResult} with the inserted {@link User} objects,
+     * their generated ids and the result of every row.
+     * @throws UserDAOException if an error is occurred, this wrapper
+     *                             exception to {@link SQLException} will be thrown.
+     *                             No record is inserted.
+     */
+    @Override
+    public BatchResult<User> insertAll(List<User> users) throws UserDAOException {
+        return insertAll(users, JdbcBatch.defaultBatchSize());
+    }
+
+    /**
+     * This method inserts new records in the Users table with JDBC
+     * batches, one round trip for every batchSize rows.
+     *
+     * @param users     the {@link User} objects to be inserted.
+     * @param batchSize the number of rows of every batch.
+     * @return a {@link BatchResult} with the inserted {@link User} objects,
+     * their generated ids and the result of every row.
+     * @throws UserDAOException if an error is occurred, this wrapper
+     *                             exception to {@link SQLException} will be thrown.
+     *                             No record is inserted.
+     */
+    @Override
+    public BatchResult<User> insertAll(List<User> users, int batchSize) throws UserDAOException {
+        try {
+            return JdbcBatch.insertAll(INSERT_SQL, users, batchSize, INSERT_BINDER, User::setId);
+        } catch (SQLException e) {
+            e.printStackTrace();
+            throw new UserDAOException("SQL Error in User batch insert of " + users.size() + " rows");
+        }
+    }
+
     /**
      * This method updates an old record in the Users table
      * with the new one.
@@ -91,12 +142,13 @@ public class UserDAOImpl implements IUserDAO {
      * client.
      *
      * @param id            the primary key given by the client.
+     * @return              true if the row is deleted, otherwise false.
      * @throws UserDAOException
      *                      if an error is occurred, this wrapper
      *                      exception to {@link SQLException} will be thrown.
      */
     @Override
-    public void delete(long id) throws UserDAOException
+    public boolean delete(long id) throws UserDAOException
     {
         String sql = "DELETE FROM USERS WHERE ID = ?";
 
@@ -105,9 +157,7 @@ public class UserDAOImpl implements IUserDAO {
         ) {
             ps.setLong(1, id);
             int n = ps.executeUpdate();
-            if (n == 1) {
-                System.out.println("...");
-            }
+            return n == 1;
         } catch (SQLException e) {
             e.printStackTrace();
             throw new UserDAOException("SQL Error in User delete with id " + id);
@@ -158,6 +208,88 @@ public class UserDAOImpl implements IUserDAO {
         return users;
     }
 
+    /**
+     * This method returns one page of the records of the Users
+     * table, ordered by id. Each page is read with a primary key
+     * seek after the last row of the previous page.
+     *
+     * @param pageSize      the maximum number of users of the page.
+     * @param pageToken     the continuation token of the previous page,
+     *                      or null for the first page.
+     * @return              a {@link Page} of {@link User} objects.
+     * @throws UserDAOException
+     *                      if an error is occurred, this wrapper
+     *                      exception to {@link SQLException} will be thrown.
+     */
+    @Override
+    public Page<User> getAll(int pageSize, String pageToken) throws UserDAOException
+    {
+        Keyset.checkPageSize(pageSize);
+        Keyset after = Keyset.of(pageToken);
+        String sql = "SELECT * FROM USERS WHERE ID > ? ORDER BY ID LIMIT ?";
+        List<User> users = new ArrayList<>(pageSize + 1);
+        ResultSet rs = null;
+
+        try (Connection conn = DBUtil.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)
+        ) {
+            ps.setLong(1, after == null ? 0L : after.getId());
+            ps.setInt(2, pageSize + 1);
+            rs = ps.executeQuery();
+
+            while (rs.next()) {
+                User user = new User(
+                        rs.getLong("ID"),
+                        rs.getString("USERNAME"),
+                        rs.getString("PASSWORD")
+                );
+                users.add(user);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            throw new UserDAOException("SQL Error in Users, retrieve page of users");
+        } finally {
+            try {
+                if (rs != null) {
+                    rs.close();
+                }
+            } catch (SQLException e1) {
+                e1.printStackTrace();
+            }
+        }
+        return Keyset.page(users, pageSize, u -> Keyset.token(null, u.getId()));
+    }
+
+    /**
+     * This method returns all the records of the Users table as
+     * a {@link Stream} which reads one row at a time from the database,
+     * so the heap use does not depend on the number of users. The stream
+     * must be closed if it is not read to the end, e.g. with try-with-resources.
+     *
+     * @return              a {@link Stream} of {@link User} objects, ordered by id.
+     * @throws UserDAOException
+     *                      if an error is occurred, this wrapper
+     *                      exception to {@link SQLException} will be thrown.
+     *                      Errors while reading the stream are thrown as
+     *                      {@link gr.aueb.cf.schoolappsoa.dao.exceptions.StreamDAOException}.
+     */
+    @Override
+    public Stream<User> streamAll() throws UserDAOException
+    {
+        String sql = "SELECT * FROM USERS ORDER BY ID";
+
+        try {
+            return ResultSetStream.of(sql, rs -> new User(
+                    rs.getLong("ID"),
+                    rs.getString("USERNAME"),
+                    rs.getString("PASSWORD")
+            ));
+        } catch (SQLException e) {
+            e.printStackTrace();
+            throw new UserDAOException("SQL Error in Users stream");
+        }
+    }
+
     /**
      * This method returns the record where the primary key is
      * the same with the id given by the client.
@@ -246,6 +378,85 @@ public class UserDAOImpl implements IUserDAO {
         }
     }
 
+    /**
+     * This method returns which of the usernames provided by the client
+     * exist in the Users table, with one query for every
+     * {@value #USERNAMES_PER_QUERY} usernames.
+     *
+     * @param usernames     the usernames for searching in the database.
+     * @return              a {@link HashSet} with the usernames which exist.
+     * @throws UserDAOException
+     *                      if an error is occurred, this wrapper
+     *                      exception to {@link SQLException} will be thrown.
+     */
+    @Override
+    public Set<String> getExistingUsernames(Collection<String> usernames) throws UserDAOException {
+        List<String> all = new ArrayList<>(usernames);
+        Set<String> existing = new HashSet<>();
+
+        try (Connection conn = DBUtil.getConnection()) {
+            for (int from = 0; from < all.size(); from += USERNAMES_PER_QUERY) {
+                List<String> chunk = all.subList(from, Math.min(from + USERNAMES_PER_QUERY, all.size()));
+                String sql = "SELECT USERNAME FROM USERS WHERE USERNAME IN ("
+                        + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")";
+
+                try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                    for (int i = 0; i < chunk.size(); i++) {
+                        ps.setString(i + 1, chunk.get(i));
+                    }
+                    try (ResultSet rs = ps.executeQuery()) {
+                        while (rs.next()) {
+                            existing.add(rs.getString("USERNAME"));
+                        }
+                    }
+                }
+            }
+            return existing;
+        } catch (SQLException e) {
+            e.printStackTrace();
+            throw new UserDAOException("SQL Error in Users: Usernames check of " + all.size() + " usernames");
+        }
+    }
+
+    /**
+     * This method returns the user with the username provided by
+     * the client, together with the student or teacher linked to it,
+     * in one query with left joins.
+     *
+     * @param username      the username for searching in the database.
+     * @return              a {@link UserProfile} of the user or null if not found.
+     * @throws UserDAOException
+     *                      if an error is occurred, this wrapper
+     *                      exception to {@link SQLException} will be thrown.
+     */
+    @Override
+    public UserProfile getProfileByUsername(String username) throws UserDAOException {
+        String sql = UserProfileRowMapper.SELECT_COLUMNS + " WHERE U.USERNAME = ?";
+        ResultSet rs = null;
+
+        try (Connection conn = DBUtil.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)
+        ) {
+            ps.setString(1, username);
+            rs = ps.executeQuery();
+            if (!rs.next()) {
+                return null;
+            }
+            return PROFILE_MAPPER.mapRow(rs);
+        } catch (SQLException e) {
+            e.printStackTrace();
+            throw new UserDAOException("SQL Error in Users: No profile found with username = " + username);
+        } finally {
+            try {
+                if (rs != null) {
+                    rs.close();
+                }
+            } catch (SQLException e1) {
+                e1.printStackTrace();
+            }
+        }
+    }
+
     /**
      * This method returns the records from Users table
      * where their usernames begin with the username parameter
@@ -292,4 +503,52 @@ public class UserDAOImpl implements IUserDAO {
             }
         }
     }
+
+    /**
+     * This method returns a page of the users where their usernames
+     * begin with the username parameter given by the client, in the
+     * order of the usernames, after the last username of the previous page.
+     * Only the ids and the usernames are read, the passwords are null.
+     *
+     * @param username      the beginning of the usernames, matched literally.
+     * @param afterUsername the last username of the previous page,
+     *                      or null for the first page.
+     * @param limit         the maximum number of users.
+     * @return              an {@link ArrayList} with {@link User} objects.
+     * @throws UserDAOException
+     *                      if an error is occurred, this wrapper
+     *                      exception to {@link SQLException} will be thrown.
+     */
+    @Override
+    public List<User> getByUsernameLike(String username, String afterUsername, int limit) throws UserDAOException {
+        String sql = "SELECT ID, USERNAME FROM USERS WHERE USERNAME LIKE ?" + LikePattern.ESCAPE_CLAUSE
+                + " AND USERNAME > ? ORDER BY USERNAME LIMIT ?";
+        ResultSet rs = null;
+        List<User> users = new ArrayList<>();
+
+        try (Connection conn = DBUtil.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)
+        ) {
+            ps.setString(1, LikePattern.startsWith(username));
+            ps.setString(2, afterUsername == null ? "" : afterUsername);
+            ps.setInt(3, limit);
+            rs = ps.executeQuery();
+
+            while (rs.next()) {
+                users.add(new User(rs.getLong("ID"), rs.getString("USERNAME"), null));
+            }
+            return users;
+        } catch (SQLException e) {
+            e.printStackTrace();
+            throw new UserDAOException("SQL Error in Users: No records found with username = " + username);
+        } finally {
+            try {
+                if (rs != null) {
+                    rs.close();
+                }
+            } catch (SQLException e1) {
+                e1.printStackTrace();
+            }
+        }
+    }
 }
@@ -0,0 +1,146 @@
+package gr.aueb.cf.schoolappsoa.dao.cache;
+
+import gr.aueb.cf.schoolappsoa.dao.ICityDAO;
+import gr.aueb.cf.schoolappsoa.dao.exceptions.CityDAOException;
+import gr.aueb.cf.schoolappsoa.model.City;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class implements the Public API of the {@link ICityDAO}
+ * interface as a read-through cache in front of another
+ * {@link ICityDAO} implementation. Cities are cached by id.
+ * Every insert, update or delete invalidates the cache, and a value
+ * read before an invalidation is not cached after it.
+ *
+ * @author Thanasis Chousiadas
+ */
+public class CachedCityDAO implements ICityDAO {
+    private static final ReferenceDataCache<Long, City> SHARED_CACHE =
+            new ReferenceDataCache<>(1000, TimeUnit.MINUTES.toMillis(10));
+
+    private final ICityDAO cityDAO;
+    private final ReferenceDataCache<Long, City> cache;
+
+    /**
+     * Overloaded constructor, with the cache which is shared by all
+     * the instances of this class in the application.
+     *
+     * @param cityDAO the {@link ICityDAO} implementation behind the cache.
+     */
+    public CachedCityDAO(ICityDAO cityDAO) {
+        this(cityDAO, SHARED_CACHE);
+    }
+
+    /**
+     * Overloaded constructor.
+     *
+     * @param cityDAO the {@link ICityDAO} implementation behind the cache.
+     * @param cache   the cache of the cities.
+     */
+    public CachedCityDAO(ICityDAO cityDAO, ReferenceDataCache<Long, City> cache) {
+        this.cityDAO = cityDAO;
+        this.cache = cache;
+    }
+
+    @Override
+    public City insert(City city) throws CityDAOException {
+        try {
+            return cityDAO.insert(city);
+        } finally {
+            cache.invalidateAll();
+        }
+    }
+
+    @Override
+    public City update(City city) throws CityDAOException {
+        try {
+            return cityDAO.update(city);
+        } finally {
+            cache.invalidateAll();
+        }
+    }
+
+    @Override
+    public void delete(Long id) throws CityDAOException {
+        try {
+            cityDAO.delete(id);
+        } finally {
+            cache.invalidateAll();
+        }
+    }
+
+    /**
+     * This method returns all the cities from the database
+     * and refreshes the cache with them.
+     *
+     * @return an {@link ArrayList} with the {@link City} objects.
+     * @throws CityDAOException if an error is occurred in the
+     *                          {@link ICityDAO} implementation.
+     */
+    @Override
+    public List<City> getAll() throws CityDAOException {
+        long generation = cache.getGeneration();
+        List<City> cities = cityDAO.getAll();
+
+        for (City city : cities) {
+            cache.putIfCurrent(city.getId(), copyOf(city), generation);
+        }
+        return cities;
+    }
+
+    /**
+     * This method returns a city with an id from the cache, or
+     * from the database if it is not cached.
+     *
+     * @param id the id given by the client.
+     * @return a {@link City} object, or null if not found.
+     * @throws CityDAOException if an error is occurred in the
+     *                          {@link ICityDAO} implementation.
+     */
+    @Override
+    public City getById(long id) throws CityDAOException {
+        City city = cache.get(id);
+
+        if (city == null) {
+            // an update which invalidates the cache during the read keeps the value out of it
+            long generation = cache.getGeneration();
+            city = cityDAO.getById(id);
+            cache.putIfCurrent(id, copyOf(city), generation);
+        }
+        return copyOf(city);
+    }
+
+    @Override
+    public City getByName(String name) throws CityDAOException {
+        return cityDAO.getByName(name);
+    }
+
+    @Override
+    public List<City> getByNameLike(String name, String afterName, int limit) throws CityDAOException {
+        return cityDAO.getByNameLike(name, afterName, limit);
+    }
+
+    /**
+     * Returns the cache of this DAO, for its hit, miss
+     * and eviction counters.
+     *
+     * @return the {@link ReferenceDataCache} of the cities.
+     */
+    public ReferenceDataCache<Long, City> getCache() {
+        return cache;
+    }
+
+    /**
+     * The model is mutable, so the cache never hands out
+     * the instances it holds.
+     *
+     * @param city a {@link City} object or null.
+     * @return a copy of the city or null.
+     */
+    private static City copyOf(City city) {
+        return city == null ? null : new City(city.getId(), city.getCity());
+    }
+}
@@ -0,0 +1,136 @@
+package gr.aueb.cf.schoolappsoa.dao.cache;
+
+import gr.aueb.cf.schoolappsoa.dao.ISpecialityDAO;
+import gr.aueb.cf.schoolappsoa.dao.exceptions.SpecialityDAOException;
+import gr.aueb.cf.schoolappsoa.model.Speciality;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class implements the Public API of the {@link ISpecialityDAO}
+ * interface as a read-through cache in front of another
+ * {@link ISpecialityDAO} implementation. Specialities are cached by id.
+ * Every insert, update or delete invalidates the cache, and a value
+ * read before an invalidation is not cached after it.
+ *
+ * @author Thanasis Chousiadas
+ */
+public class CachedSpecialityDAO implements ISpecialityDAO {
+    private static final ReferenceDataCache<Long, Speciality> SHARED_CACHE =
+            new ReferenceDataCache<>(1000, TimeUnit.MINUTES.toMillis(10));
+
+    private final ISpecialityDAO specialityDAO;
+    private final ReferenceDataCache<Long, Speciality> cache;
+
+    /**
+     * Overloaded constructor, with the cache which is shared by all
+     * the instances of this class in the application.
+     *
+     * @param specialityDAO the {@link ISpecialityDAO} implementation behind the cache.
+     */
+    public CachedSpecialityDAO(ISpecialityDAO specialityDAO) {
+        this(specialityDAO, SHARED_CACHE);
+    }
+
+    /**
+     * Overloaded constructor.
+     *
+     * @param specialityDAO the {@link ISpecialityDAO} implementation behind the cache.
+     * @param cache         the cache of the specialities.
+     */
+    public CachedSpecialityDAO(ISpecialityDAO specialityDAO, ReferenceDataCache<Long, Speciality> cache) {
+        this.specialityDAO = specialityDAO;
+        this.cache = cache;
+    }
+
+    @Override
+    public Speciality insert(Speciality speciality) throws SpecialityDAOException {
+        try {
+            return specialityDAO.insert(speciality);
+        } finally {
+            cache.invalidateAll();
+        }
+    }
+
+    @Override
+    public Speciality update(Speciality speciality) throws SpecialityDAOException {
+        try {
+            return specialityDAO.update(speciality);
+        } finally {
+            cache.invalidateAll();
+        }
+    }
+
+    @Override
+    public void delete(Long id) throws SpecialityDAOException {
+        try {
+            specialityDAO.delete(id);
+        } finally {
+            cache.invalidateAll();
+        }
+    }
+
+    /**
+     * This method returns all the specialities from the database
+     * and refreshes the cache with them.
+     *
+     * @return an {@link ArrayList} with the {@link Speciality} objects.
+     * @throws SpecialityDAOException if an error is occurred in the
+     *                                {@link ISpecialityDAO} implementation.
+     */
+    @Override
+    public List<Speciality> getAll() throws SpecialityDAOException {
+        long generation = cache.getGeneration();
+        List<Speciality> specialities = specialityDAO.getAll();
+
+        for (Speciality speciality : specialities) {
+            cache.putIfCurrent(speciality.getId(), copyOf(speciality), generation);
+        }
+        return specialities;
+    }
+
+    /**
+     * This method returns a speciality with an id from the cache, or
+     * from the database if it is not cached.
+     *
+     * @param id the id given by the client.
+     * @return a {@link Speciality} object, or null if not found.
+     * @throws SpecialityDAOException if an error is occurred in the
+     *                                {@link ISpecialityDAO} implementation.
+     */
+    @Override
+    public Speciality getById(Long id) throws SpecialityDAOException {
+        Speciality speciality = cache.get(id);
+
+        if (speciality == null) {
+            // an update which invalidates the cache during the read keeps the value out of it
+            long generation = cache.getGeneration();
+            speciality = specialityDAO.getById(id);
+            cache.putIfCurrent(id, copyOf(speciality), generation);
+        }
+        return copyOf(speciality);
+    }
+
+    /**
+     * Returns the cache of this DAO, for its hit, miss
+     * and eviction counters.
+     *
+     * @return the {@link ReferenceDataCache} of the specialities.
+     */
+    public ReferenceDataCache<Long, Speciality> getCache() {
+        return cache;
+    }
+
+    /**
+     * The model is mutable, so the cache never hands out
+     * the instances it holds.
+     *
+     * @param speciality a {@link Speciality} object or null.
+     * @return a copy of the speciality or null.
+     */
+    private static Speciality copyOf(Speciality speciality) {
+        return speciality == null ? null : new Speciality(speciality.getId(), speciality.getSpeciality());
+    }
+}
@@ -0,0 +1,176 @@
+package gr.aueb.cf.schoolappsoa.dao.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * A bounded in-memory cache for reference data, such as
+ * cities and specialities, which are read often and change rarely.
+ * Entries expire after a time to live and, when the cache is full,
+ * the least recently used entry is evicted. The cache counts its
+ * hits, misses and evictions. It is safe for concurrent use.
+ * <p>
+ * A read-through caller reads the {@link #getGeneration() generation}
+ * before it loads a value and caches it with {@link #putIfCurrent},
+ * so a value which was loaded before an invalidation, e.g. the old
+ * name of an updated city, is never cached after it.
+ *
+ * @param <K> the type of the keys.
+ * @param <V> the type of the cached values.
+ * @author Thanasis Chousiadas
+ */
+public class ReferenceDataCache<K, V> {
+    private final int maxSize;
+    private final long ttlMillis;
+    private final LongSupplier clock;
+    private final LinkedHashMap<K, Entry<V>> entries;
+
+    private long generation;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Overloaded constructor, with the system clock.
+     *
+     * @param maxSize   the maximum number of entries.
+     * @param ttlMillis the time to live of an entry in milliseconds.
+     */
+    public ReferenceDataCache(int maxSize, long ttlMillis) {
+        this(maxSize, ttlMillis, System::currentTimeMillis);
+    }
+
+    /**
+     * Overloaded constructor.
+     *
+     * @param maxSize   the maximum number of entries.
+     * @param ttlMillis the time to live of an entry in milliseconds.
+     * @param clock     the clock of the cache, in milliseconds.
+     */
+    public ReferenceDataCache(int maxSize, long ttlMillis, LongSupplier clock) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Cache size must be positive: " + maxSize);
+        }
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Returns the value of a key, or null if the key is not cached
+     * or its entry has expired.
+     *
+     * @param key the key.
+     * @return the cached value or null.
+     */
+    public synchronized V get(K key) {
+        Entry<V> entry = entries.get(key);
+
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        if (entry.expiresAt <= clock.getAsLong()) {
+            entries.remove(key);
+            evictions++;
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.value;
+    }
+
+    /**
+     * Caches a value. If the cache is full, the least
+     * recently used entry is evicted. Null values are not cached.
+     *
+     * @param key   the key.
+     * @param value the value.
+     */
+    public synchronized void put(K key, V value) {
+        if (value == null) {
+            return;
+        }
+        entries.put(key, new Entry<>(value, clock.getAsLong() + ttlMillis));
+
+        Iterator<Map.Entry<K, Entry<V>>> it = entries.entrySet().iterator();
+        while (entries.size() > maxSize && it.hasNext()) {
+            it.next();
+            it.remove();
+            evictions++;
+        }
+    }
+
+    /**
+     * Caches a value which was loaded at a generation of the cache, only
+     * if the cache has not been invalidated since.
+     *
+     * @param key        the key.
+     * @param value      the value.
+     * @param generation the {@link #getGeneration() generation} read before the value was loaded.
+     * @return true if the value is cached, false if it is null or stale.
+     */
+    public synchronized boolean putIfCurrent(K key, V value, long generation) {
+        if (value == null || generation != this.generation) {
+            return false;
+        }
+        put(key, value);
+        return true;
+    }
+
+    /**
+     * Returns the generation of the cache, which every invalidation increases.
+     *
+     * @return the generation of the cache.
+     */
+    public synchronized long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Removes the entry of a key.
+     *
+     * @param key the key.
+     */
+    public synchronized void invalidate(K key) {
+        entries.remove(key);
+        generation++;
+    }
+
+    /**
+     * Removes all the entries.
+     */
+    public synchronized void invalidateAll() {
+        entries.clear();
+        generation++;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getHitCount() {
+        return hits;
+    }
+
+    public synchronized long getMissCount() {
+        return misses;
+    }
+
+    public synchronized long getEvictionCount() {
+        return evictions;
+    }
+
+    private static class Entry<V> {
+        private final V value;
+        private final long expiresAt;
+
+        private Entry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
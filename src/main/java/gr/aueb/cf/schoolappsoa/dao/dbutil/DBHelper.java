@@ -10,6 +10,7 @@ import java.util.List;
 
 /**
  * This is a utility class which clears the database.
+ * An {@link EmbeddedDatabase} is cleared with its own, faster reset.
  *
  * @author Thanasis Chousiadas
  */
@@ -27,6 +28,10 @@ public class DBHelper {
 
         try {
             conn = DBUtil.getConnection();
+            if (EmbeddedDatabase.isEmbedded(conn)) {
+                EmbeddedDatabase.reset(conn);
+                return;
+            }
             conn.prepareStatement("SET @@foreign_key_checks = 0").executeUpdate();
 
             rs = conn.prepareStatement("SELECT TABLE_NAME FROM information_schema.tables WHERE TABLE_SCHEMA = 'schooldbpro'").executeQuery();
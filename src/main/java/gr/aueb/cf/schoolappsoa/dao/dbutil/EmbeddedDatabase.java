@@ -0,0 +1,115 @@
+package gr.aueb.cf.schoolappsoa.dao.dbutil;
+
+import gr.aueb.cf.schoolappsoa.service.util.DBUtil;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This is a utility class for an in-memory H2 database in MySQL mode,
+ * built from the same SQL scripts as the MySQL database, so the DAOs
+ * run without a database server, e.g. in the tests of the
+ * {@code embedded-db} profile and in the benchmarks. The H2 driver is
+ * only on the test classpath.
+ * <p>
+ * The tables are created at the first use of the database in the JVM.
+ * {@link #reset(Connection)} brings it back to the empty schema, with
+ * one truncate per table, instead of the deletes and the
+ * {@code ALTER TABLE} statements of a MySQL database.
+ *
+ * @author Thanasis Chousiadas
+ */
+public class EmbeddedDatabase {
+    public static final String URL = "jdbc:h2:mem:schooldbpro;MODE=MySQL;DB_CLOSE_DELAY=-1";
+    public static final String PRODUCT_NAME = "H2";
+
+    private static final String[] SCRIPTS = {
+            "/sql/schema.sql", "/sql/indexes.sql", "/sql/meetings.sql", "/sql/meeting_series.sql"
+    };
+
+    private static List<String> tables;
+
+    /**
+     * Private constructor. No instances of this class should not be allowed.
+     */
+    private EmbeddedDatabase() {
+    }
+
+    /**
+     * Sets the settings of {@link DBUtil} to the embedded database and
+     * creates its tables, once per JVM. It must be called before the
+     * first use of {@link DBUtil} in the JVM, since the settings of the
+     * connection pool are read once.
+     *
+     * @throws SQLException if a script cannot be run.
+     */
+    public static synchronized void start() throws SQLException {
+        if (tables != null) {
+            return;
+        }
+        System.setProperty("db.url", URL);
+        System.setProperty("db.username", "sa");
+        System.setProperty("db.password", "sa");
+
+        try (Connection conn = DBUtil.getDedicatedConnection()) {
+            createTables(conn);
+        }
+    }
+
+    /**
+     * Returns if a connection belongs to an embedded database.
+     *
+     * @param conn the {@link Connection}.
+     * @return true if the database is H2, otherwise false.
+     * @throws SQLException if the metadata of the connection cannot be read.
+     */
+    public static boolean isEmbedded(Connection conn) throws SQLException {
+        return PRODUCT_NAME.equals(conn.getMetaData().getDatabaseProductName());
+    }
+
+    /**
+     * Deletes all the records of the embedded database and restarts
+     * the ids of its tables. The tables are created first, if they do
+     * not exist yet.
+     *
+     * @param conn a {@link Connection} with the embedded database.
+     * @throws SQLException if a table cannot be truncated.
+     */
+    public static synchronized void reset(Connection conn) throws SQLException {
+        createTables(conn);
+
+        try (Statement statement = conn.createStatement()) {
+            statement.addBatch("SET REFERENTIAL_INTEGRITY FALSE");
+            for (String table : tables) {
+                statement.addBatch("TRUNCATE TABLE " + table + " RESTART IDENTITY");
+            }
+            statement.addBatch("SET REFERENTIAL_INTEGRITY TRUE");
+            statement.executeBatch();
+        }
+    }
+
+    private static void createTables(Connection conn) throws SQLException {
+        if (tables != null) {
+            return;
+        }
+
+        try (Statement statement = conn.createStatement()) {
+            for (String script : SCRIPTS) {
+                statement.execute("RUNSCRIPT FROM 'classpath:" + script + "'");
+            }
+
+            List<String> list = new ArrayList<>();
+            try (ResultSet rs = statement.executeQuery("SELECT TABLE_NAME FROM INFORMATION_SCHEMA.TABLES "
+                    + "WHERE TABLE_SCHEMA = 'PUBLIC' AND TABLE_TYPE = 'BASE TABLE'")) {
+                while (rs.next()) {
+                    list.add(rs.getString("TABLE_NAME"));
+                }
+            }
+            tables = list;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package gr.aueb.cf.schoolappsoa.dao.exceptions;
+
+import java.sql.SQLException;
+
+/**
+ * This exception is an unchecked wrapper exception to
+ * the {@link SQLException} class. It is used when errors
+ * occurred while a {@link java.util.stream.Stream} of the
+ * Data Access Object Layer reads its rows, because the
+ * operations of a stream cannot throw checked exceptions.
+ *
+ * @author Thanasis Chousiadas
+ */
+public class StreamDAOException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * It provides a custom message and the cause when
+     * error is occurred.
+     *
+     * @param s     a custom message
+     * @param cause the {@link SQLException}
+     */
+    public StreamDAOException(String s, SQLException cause) {
+        super(s, cause);
+    }
+}
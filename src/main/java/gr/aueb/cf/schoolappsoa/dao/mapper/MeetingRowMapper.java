@@ -0,0 +1,52 @@
+package gr.aueb.cf.schoolappsoa.dao.mapper;
+
+import gr.aueb.cf.schoolappsoa.model.Meeting;
+import gr.aueb.cf.schoolappsoa.model.Student;
+import gr.aueb.cf.schoolappsoa.model.Teacher;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Date;
+
+/**
+ * This class maps a row of the Meetings table to a {@link Meeting}
+ * object. The {@link Student} and the {@link Teacher} of the meeting
+ * carry only their ids, so the range queries of the meetings read
+ * a single table. The query must select the columns of
+ * {@link #SELECT_COLUMNS} with the alias M.
+ *
+ * @author Thanasis Chousiadas
+ */
+public class MeetingRowMapper implements RowMapper<Meeting> {
+
+    /**
+     * The select list, which is expected by this mapper.
+     */
+    public static final String SELECT_COLUMNS = "SELECT M.ID, M.STUDENT_ID, M.TEACHER_ID, M.MEETING_ROOM, "
+            + "M.MEETING_DATE, M.MEETING_END "
+            + "FROM MEETINGS M";
+
+    /**
+     * This method maps the current row to a {@link Meeting} object.
+     *
+     * @param rs the {@link ResultSet} positioned at a row.
+     * @return a {@link Meeting} object with an id-only {@link Student} and {@link Teacher}.
+     * @throws SQLException if a column is not found in the row.
+     */
+    @Override
+    public Meeting mapRow(ResultSet rs) throws SQLException {
+        Student student = new Student();
+        student.setId(rs.getLong("STUDENT_ID"));
+        Teacher teacher = new Teacher();
+        teacher.setId(rs.getLong("TEACHER_ID"));
+
+        return new Meeting(
+                rs.getLong("ID"),
+                student,
+                teacher,
+                rs.getString("MEETING_ROOM"),
+                new Date(rs.getTimestamp("MEETING_DATE").getTime()),
+                new Date(rs.getTimestamp("MEETING_END").getTime())
+        );
+    }
+}
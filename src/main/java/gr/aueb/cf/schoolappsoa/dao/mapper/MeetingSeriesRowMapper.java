@@ -0,0 +1,57 @@
+package gr.aueb.cf.schoolappsoa.dao.mapper;
+
+import gr.aueb.cf.schoolappsoa.model.MeetingSeries;
+import gr.aueb.cf.schoolappsoa.model.Student;
+import gr.aueb.cf.schoolappsoa.model.Teacher;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Date;
+
+/**
+ * This class maps a row of the Meeting Series table to a {@link MeetingSeries}
+ * object. The {@link Student} and the {@link Teacher} of the series carry only
+ * their ids. The query must select the columns of {@link #SELECT_COLUMNS}, where
+ * every series is left joined to its cancelled meetings, one row for each; the
+ * cancelled dates are collected by the DAO, not by this mapper.
+ *
+ * @author Thanasis Chousiadas
+ */
+public class MeetingSeriesRowMapper implements RowMapper<MeetingSeries> {
+
+    /**
+     * The select list, which is expected by this mapper.
+     */
+    public static final String SELECT_COLUMNS = "SELECT S.ID, S.STUDENT_ID, S.TEACHER_ID, S.MEETING_ROOM, "
+            + "S.FIRST_DATE, S.FIRST_END, S.INTERVAL_WEEKS, S.UNTIL_DATE, C.CANCELLED_DATE "
+            + "FROM MEETING_SERIES S LEFT JOIN MEETING_SERIES_CANCELLATIONS C ON C.SERIES_ID = S.ID";
+
+    /**
+     * This method maps the current row to a {@link MeetingSeries} object.
+     *
+     * @param rs the {@link ResultSet} positioned at a row.
+     * @return a {@link MeetingSeries} object with an id-only {@link Student}
+     * and {@link Teacher}, and no cancelled meetings.
+     * @throws SQLException if a column is not found in the row.
+     */
+    @Override
+    public MeetingSeries mapRow(ResultSet rs) throws SQLException {
+        Student student = new Student();
+        student.setId(rs.getLong("STUDENT_ID"));
+        Teacher teacher = new Teacher();
+        teacher.setId(rs.getLong("TEACHER_ID"));
+        Timestamp until = rs.getTimestamp("UNTIL_DATE");
+
+        return new MeetingSeries(
+                rs.getLong("ID"),
+                student,
+                teacher,
+                rs.getString("MEETING_ROOM"),
+                new Date(rs.getTimestamp("FIRST_DATE").getTime()),
+                new Date(rs.getTimestamp("FIRST_END").getTime()),
+                rs.getInt("INTERVAL_WEEKS"),
+                until == null ? null : new Date(until.getTime())
+        );
+    }
+}
@@ -0,0 +1,16 @@
+package gr.aueb.cf.schoolappsoa.dao.mapper;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * This interface declares the binding of the fields of an
+ * Entity of the model to the parameters of a {@link PreparedStatement}.
+ *
+ * @param <T> the type of the Entity.
+ * @author Thanasis Chousiadas
+ */
+@FunctionalInterface
+public interface ParameterBinder<T> {
+    void bind(PreparedStatement ps, T entity) throws SQLException;
+}
@@ -0,0 +1,18 @@
+package gr.aueb.cf.schoolappsoa.dao.mapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * This interface declares the mapping of the current row
+ * of a {@link ResultSet} to an Entity of the model.
+ * Implementations never move the cursor, the caller
+ * is responsible for calling {@link ResultSet#next()}.
+ *
+ * @param <T> the type of the Entity.
+ * @author Thanasis Chousiadas
+ */
+@FunctionalInterface
+public interface RowMapper<T> {
+    T mapRow(ResultSet rs) throws SQLException;
+}
@@ -0,0 +1,63 @@
+package gr.aueb.cf.schoolappsoa.dao.mapper;
+
+import gr.aueb.cf.schoolappsoa.model.City;
+import gr.aueb.cf.schoolappsoa.model.Student;
+import gr.aueb.cf.schoolappsoa.model.User;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * This class maps a row of the Students table, joined
+ * with the Cities and Users tables, to a fully hydrated
+ * {@link Student} object with its {@link City} and {@link User}.
+ * The query must select the columns of {@link #SELECT_COLUMNS}
+ * and join the tables with the aliases S, C and U.
+ *
+ * @author Thanasis Chousiadas
+ */
+public class StudentRowMapper implements RowMapper<Student> {
+
+    /**
+     * The select list and the joins, which are expected by this mapper.
+     * Cities and Users are left joined, so a dangling foreign key
+     * is mapped to a null {@link City} or {@link User}.
+     */
+    public static final String SELECT_COLUMNS = "SELECT S.ID, S.FIRSTNAME, S.LASTNAME, S.GENDER, S.BIRTH_DATE, "
+            + "C.ID AS C_ID, C.CITY, U.ID AS U_ID, U.USERNAME, U.PASSWORD "
+            + "FROM STUDENTS S "
+            + "LEFT JOIN CITIES C ON C.ID = S.CITY_ID "
+            + "LEFT JOIN USERS U ON U.ID = S.USER_ID";
+
+    /**
+     * This method maps the current row to a {@link Student} object.
+     *
+     * @param rs the {@link ResultSet} positioned at a row.
+     * @return a {@link Student} object with its {@link City} and {@link User}.
+     * @throws SQLException if a column is not found in the row.
+     */
+    @Override
+    public Student mapRow(ResultSet rs) throws SQLException {
+        City city = null;
+        long cityId = rs.getLong("C_ID");
+        if (!rs.wasNull()) {
+            city = new City(cityId, rs.getString("CITY"));
+        }
+
+        User user = null;
+        long userId = rs.getLong("U_ID");
+        if (!rs.wasNull()) {
+            user = new User(userId, rs.getString("USERNAME"), rs.getString("PASSWORD"));
+        }
+
+        return new Student(
+                rs.getLong("ID"),
+                rs.getString("FIRSTNAME"),
+                rs.getString("LASTNAME"),
+                rs.getString("GENDER").charAt(0),
+                rs.getDate("BIRTH_DATE"),
+                city,
+                user
+        );
+    }
+}
@@ -0,0 +1,115 @@
+package gr.aueb.cf.schoolappsoa.dao.mapper;
+
+import gr.aueb.cf.schoolappsoa.dao.FetchPlan;
+import gr.aueb.cf.schoolappsoa.model.Speciality;
+import gr.aueb.cf.schoolappsoa.model.Teacher;
+import gr.aueb.cf.schoolappsoa.model.User;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * This class maps a row of the Teachers table to a {@link Teacher}
+ * object, according to a {@link FetchPlan}. With {@link FetchPlan#EAGER_JOIN}
+ * the row is joined with the Specialities and Users tables and the
+ * {@link Speciality} and {@link User} are fully hydrated. With
+ * {@link FetchPlan#LAZY_ID} they carry only their ids.
+ * The query must start with {@link #getSelectClause()}.
+ *
+ * @author Thanasis Chousiadas
+ */
+public class TeacherRowMapper implements RowMapper<Teacher> {
+
+    private static final String SELECT_JOINED = "SELECT T.ID, T.SSN, T.FIRSTNAME, T.LASTNAME, "
+            + "T.SPECIALITY_ID, T.USER_ID, SP.ID AS SP_ID, SP.SPECIALITY, U.ID AS U_ID, U.USERNAME, U.PASSWORD "
+            + "FROM TEACHERS T "
+            + "LEFT JOIN SPECIALITIES SP ON SP.ID = T.SPECIALITY_ID "
+            + "LEFT JOIN USERS U ON U.ID = T.USER_ID";
+
+    private static final String SELECT_IDS = "SELECT T.ID, T.SSN, T.FIRSTNAME, T.LASTNAME, "
+            + "T.SPECIALITY_ID, T.USER_ID "
+            + "FROM TEACHERS T";
+
+    private final FetchPlan plan;
+
+    /**
+     * Overloaded constructor.
+     *
+     * @param plan the {@link FetchPlan} of the queries.
+     */
+    public TeacherRowMapper(FetchPlan plan) {
+        this.plan = plan;
+    }
+
+    /**
+     * Returns the select list and the joins, which are expected by this mapper.
+     * The Teachers table has the alias T.
+     *
+     * @return the beginning of the query, without the WHERE clause.
+     */
+    public String getSelectClause() {
+        return plan == FetchPlan.EAGER_JOIN ? SELECT_JOINED : SELECT_IDS;
+    }
+
+    /**
+     * This method maps the current row to a {@link Teacher} object.
+     *
+     * @param rs the {@link ResultSet} positioned at a row.
+     * @return a {@link Teacher} object.
+     * @throws SQLException if a column is not found in the row.
+     */
+    @Override
+    public Teacher mapRow(ResultSet rs) throws SQLException {
+        Speciality speciality;
+        User user;
+
+        if (plan == FetchPlan.EAGER_JOIN) {
+            speciality = mapSpeciality(rs);
+            user = mapUser(rs);
+        } else {
+            speciality = mapSpecialityId(rs);
+            user = mapUserId(rs);
+        }
+
+        return new Teacher(
+                rs.getLong("ID"),
+                rs.getLong("SSN"),
+                rs.getString("FIRSTNAME"),
+                rs.getString("LASTNAME"),
+                speciality,
+                user
+        );
+    }
+
+    private Speciality mapSpeciality(ResultSet rs) throws SQLException {
+        long specialityId = rs.getLong("SP_ID");
+        if (rs.wasNull()) {
+            return null;
+        }
+        return new Speciality(specialityId, rs.getString("SPECIALITY"));
+    }
+
+    private Speciality mapSpecialityId(ResultSet rs) throws SQLException {
+        long specialityId = rs.getLong("SPECIALITY_ID");
+        if (rs.wasNull()) {
+            return null;
+        }
+        return new Speciality(specialityId, null);
+    }
+
+    private User mapUserId(ResultSet rs) throws SQLException {
+        long userId = rs.getLong("USER_ID");
+        if (rs.wasNull()) {
+            return null;
+        }
+        return new User(userId, null, null);
+    }
+
+    private User mapUser(ResultSet rs) throws SQLException {
+        long userId = rs.getLong("U_ID");
+        if (rs.wasNull()) {
+            return null;
+        }
+        return new User(userId, rs.getString("USERNAME"), rs.getString("PASSWORD"));
+    }
+}
@@ -0,0 +1,98 @@
+package gr.aueb.cf.schoolappsoa.dao.mapper;
+
+import gr.aueb.cf.schoolappsoa.model.City;
+import gr.aueb.cf.schoolappsoa.model.Speciality;
+import gr.aueb.cf.schoolappsoa.model.Student;
+import gr.aueb.cf.schoolappsoa.model.Teacher;
+import gr.aueb.cf.schoolappsoa.model.User;
+import gr.aueb.cf.schoolappsoa.model.UserProfile;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * This class maps a row of the Users table, left joined with the
+ * Students and Teachers tables and their Cities and Specialities,
+ * to a {@link UserProfile}. The query must select the columns of
+ * {@link #SELECT_COLUMNS}. The {@link User} of the {@link Student}
+ * and the {@link Teacher} carries no password.
+ *
+ * @author Thanasis Chousiadas
+ */
+public class UserProfileRowMapper implements RowMapper<UserProfile> {
+
+    /**
+     * The select list and the joins, which are expected by this mapper.
+     * The Users table has the alias U.
+     */
+    public static final String SELECT_COLUMNS = "SELECT U.ID, U.USERNAME, U.PASSWORD, "
+            + "S.ID AS S_ID, S.FIRSTNAME AS S_FIRSTNAME, S.LASTNAME AS S_LASTNAME, S.GENDER, S.BIRTH_DATE, "
+            + "C.ID AS C_ID, C.CITY, "
+            + "T.ID AS T_ID, T.SSN, T.FIRSTNAME AS T_FIRSTNAME, T.LASTNAME AS T_LASTNAME, "
+            + "SP.ID AS SP_ID, SP.SPECIALITY "
+            + "FROM USERS U "
+            + "LEFT JOIN STUDENTS S ON S.USER_ID = U.ID "
+            + "LEFT JOIN CITIES C ON C.ID = S.CITY_ID "
+            + "LEFT JOIN TEACHERS T ON T.USER_ID = U.ID "
+            + "LEFT JOIN SPECIALITIES SP ON SP.ID = T.SPECIALITY_ID";
+
+    /**
+     * This method maps the current row to a {@link UserProfile} object.
+     *
+     * @param rs the {@link ResultSet} positioned at a row.
+     * @return a {@link UserProfile} object.
+     * @throws SQLException if a column is not found in the row.
+     */
+    @Override
+    public UserProfile mapRow(ResultSet rs) throws SQLException {
+        User user = new User(rs.getLong("ID"), rs.getString("USERNAME"), rs.getString("PASSWORD"));
+        User profileUser = new User(user.getId(), user.getUsername(), null);
+
+        return new UserProfile(user, mapStudent(rs, profileUser), mapTeacher(rs, profileUser));
+    }
+
+    private Student mapStudent(ResultSet rs, User user) throws SQLException {
+        long studentId = rs.getLong("S_ID");
+        if (rs.wasNull()) {
+            return null;
+        }
+
+        City city = null;
+        long cityId = rs.getLong("C_ID");
+        if (!rs.wasNull()) {
+            city = new City(cityId, rs.getString("CITY"));
+        }
+
+        return new Student(
+                studentId,
+                rs.getString("S_FIRSTNAME"),
+                rs.getString("S_LASTNAME"),
+                rs.getString("GENDER").charAt(0),
+                rs.getDate("BIRTH_DATE"),
+                city,
+                user
+        );
+    }
+
+    private Teacher mapTeacher(ResultSet rs, User user) throws SQLException {
+        long teacherId = rs.getLong("T_ID");
+        if (rs.wasNull()) {
+            return null;
+        }
+
+        Speciality speciality = null;
+        long specialityId = rs.getLong("SP_ID");
+        if (!rs.wasNull()) {
+            speciality = new Speciality(specialityId, rs.getString("SPECIALITY"));
+        }
+
+        return new Teacher(
+                teacherId,
+                rs.getLong("SSN"),
+                rs.getString("T_FIRSTNAME"),
+                rs.getString("T_LASTNAME"),
+                speciality,
+                user
+        );
+    }
+}
@@ -0,0 +1,158 @@
+package gr.aueb.cf.schoolappsoa.dto;
+
+import java.util.Date;
+
+/**
+ * The Data Transfer Object for data needed in
+ * insert operation of a {@link gr.aueb.cf.schoolappsoa.model.Meeting}
+ *
+ * @author Thanasis Chousiadas
+ */
+public class MeetingInsertDTO {
+    private Long id;
+    private Long studentId;
+    private Long teacherId;
+    private String meetingRoom;
+    private Date meetingDate;
+    private Date meetingEnd;
+
+    /**
+     * Default constructor.
+     */
+    public MeetingInsertDTO() {
+    }
+
+    /**
+     * Overloaded constructor.
+     *
+     * @param id          it is ignored, database provides the primary key.
+     * @param studentId   the id of the student, foreign key in the Students table.
+     * @param teacherId   the id of the teacher, foreign key in the Teachers table.
+     * @param meetingRoom the room of the meeting.
+     * @param meetingDate the start of the meeting.
+     * @param meetingEnd  the end of the meeting.
+     */
+    public MeetingInsertDTO(
+            Long id,
+            Long studentId,
+            Long teacherId,
+            String meetingRoom,
+            Date meetingDate,
+            Date meetingEnd
+    ) {
+        this.id = id;
+        this.studentId = studentId;
+        this.teacherId = teacherId;
+        this.meetingRoom = meetingRoom;
+        this.meetingDate = meetingDate;
+        this.meetingEnd = meetingEnd;
+    }
+
+    /**
+     * Getter for the id.
+     *
+     * @return the id.
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Setter for the id.
+     *
+     * @param id the id.
+     */
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    /**
+     * Getter for the id of the student.
+     *
+     * @return the id of the student.
+     */
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    /**
+     * Setter for the id of the student.
+     *
+     * @param studentId the id of the student.
+     */
+    public void setStudentId(Long studentId) {
+        this.studentId = studentId;
+    }
+
+    /**
+     * Getter for the id of the teacher.
+     *
+     * @return the id of the teacher.
+     */
+    public Long getTeacherId() {
+        return teacherId;
+    }
+
+    /**
+     * Setter for the id of the teacher.
+     *
+     * @param teacherId the id of the teacher.
+     */
+    public void setTeacherId(Long teacherId) {
+        this.teacherId = teacherId;
+    }
+
+    /**
+     * Getter for the room of the meeting.
+     *
+     * @return the room of the meeting.
+     */
+    public String getMeetingRoom() {
+        return meetingRoom;
+    }
+
+    /**
+     * Setter for the room of the meeting.
+     *
+     * @param meetingRoom the room of the meeting.
+     */
+    public void setMeetingRoom(String meetingRoom) {
+        this.meetingRoom = meetingRoom;
+    }
+
+    /**
+     * Getter for the start of the meeting.
+     *
+     * @return the start of the meeting.
+     */
+    public Date getMeetingDate() {
+        return meetingDate;
+    }
+
+    /**
+     * Setter for the start of the meeting.
+     *
+     * @param meetingDate the start of the meeting.
+     */
+    public void setMeetingDate(Date meetingDate) {
+        this.meetingDate = meetingDate;
+    }
+
+    /**
+     * Getter for the end of the meeting.
+     *
+     * @return the end of the meeting.
+     */
+    public Date getMeetingEnd() {
+        return meetingEnd;
+    }
+
+    /**
+     * Setter for the end of the meeting.
+     *
+     * @param meetingEnd the end of the meeting.
+     */
+    public void setMeetingEnd(Date meetingEnd) {
+        this.meetingEnd = meetingEnd;
+    }
+}
@@ -0,0 +1,180 @@
+package gr.aueb.cf.schoolappsoa.dto;
+
+import java.util.Date;
+
+/**
+ * The Data Transfer Object for data needed in
+ * insert operation of a {@link gr.aueb.cf.schoolappsoa.model.MeetingSeries}
+ *
+ * @author Thanasis Chousiadas
+ */
+public class MeetingSeriesInsertDTO {
+    private Long studentId;
+    private Long teacherId;
+    private String meetingRoom;
+    private Date firstDate;
+    private Date firstEnd;
+    private int intervalWeeks = 1;
+    private Date untilDate;
+
+    /**
+     * Default constructor.
+     */
+    public MeetingSeriesInsertDTO() {
+    }
+
+    /**
+     * Overloaded constructor.
+     *
+     * @param studentId     the id of the student, foreign key in the Students table.
+     * @param teacherId     the id of the teacher, foreign key in the Teachers table.
+     * @param meetingRoom   the room of the meetings.
+     * @param firstDate     the start of the first meeting.
+     * @param firstEnd      the end of the first meeting.
+     * @param intervalWeeks the weeks between two meetings.
+     * @param untilDate     the end of the series, exclusive, or null for an open-ended series.
+     */
+    public MeetingSeriesInsertDTO(
+            Long studentId,
+            Long teacherId,
+            String meetingRoom,
+            Date firstDate,
+            Date firstEnd,
+            int intervalWeeks,
+            Date untilDate
+    ) {
+        this.studentId = studentId;
+        this.teacherId = teacherId;
+        this.meetingRoom = meetingRoom;
+        this.firstDate = firstDate;
+        this.firstEnd = firstEnd;
+        this.intervalWeeks = intervalWeeks;
+        this.untilDate = untilDate;
+    }
+
+    /**
+     * Getter for the id of the student.
+     *
+     * @return the id of the student.
+     */
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    /**
+     * Setter for the id of the student.
+     *
+     * @param studentId the id of the student.
+     */
+    public void setStudentId(Long studentId) {
+        this.studentId = studentId;
+    }
+
+    /**
+     * Getter for the id of the teacher.
+     *
+     * @return the id of the teacher.
+     */
+    public Long getTeacherId() {
+        return teacherId;
+    }
+
+    /**
+     * Setter for the id of the teacher.
+     *
+     * @param teacherId the id of the teacher.
+     */
+    public void setTeacherId(Long teacherId) {
+        this.teacherId = teacherId;
+    }
+
+    /**
+     * Getter for the room of the meetings.
+     *
+     * @return the room of the meetings.
+     */
+    public String getMeetingRoom() {
+        return meetingRoom;
+    }
+
+    /**
+     * Setter for the room of the meetings.
+     *
+     * @param meetingRoom the room of the meetings.
+     */
+    public void setMeetingRoom(String meetingRoom) {
+        this.meetingRoom = meetingRoom;
+    }
+
+    /**
+     * Getter for the start of the first meeting.
+     *
+     * @return the start of the first meeting.
+     */
+    public Date getFirstDate() {
+        return firstDate;
+    }
+
+    /**
+     * Setter for the start of the first meeting.
+     *
+     * @param firstDate the start of the first meeting.
+     */
+    public void setFirstDate(Date firstDate) {
+        this.firstDate = firstDate;
+    }
+
+    /**
+     * Getter for the end of the first meeting.
+     *
+     * @return the end of the first meeting.
+     */
+    public Date getFirstEnd() {
+        return firstEnd;
+    }
+
+    /**
+     * Setter for the end of the first meeting.
+     *
+     * @param firstEnd the end of the first meeting.
+     */
+    public void setFirstEnd(Date firstEnd) {
+        this.firstEnd = firstEnd;
+    }
+
+    /**
+     * Getter for the weeks between two meetings.
+     *
+     * @return the weeks between two meetings.
+     */
+    public int getIntervalWeeks() {
+        return intervalWeeks;
+    }
+
+    /**
+     * Setter for the weeks between two meetings.
+     *
+     * @param intervalWeeks the weeks between two meetings.
+     */
+    public void setIntervalWeeks(int intervalWeeks) {
+        this.intervalWeeks = intervalWeeks;
+    }
+
+    /**
+     * Getter for the end of the series.
+     *
+     * @return the end of the series, or null for an open-ended series.
+     */
+    public Date getUntilDate() {
+        return untilDate;
+    }
+
+    /**
+     * Setter for the end of the series.
+     *
+     * @param untilDate the end of the series, or null for an open-ended series.
+     */
+    public void setUntilDate(Date untilDate) {
+        this.untilDate = untilDate;
+    }
+}
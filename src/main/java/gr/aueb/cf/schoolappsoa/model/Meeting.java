@@ -2,13 +2,26 @@ package gr.aueb.cf.schoolappsoa.model;
 
 import java.util.Date;
 
+/**
+ * It declares the Meeting Entity which represents
+ * the Meetings table in the database. A meeting of a
+ * {@link Student} with a {@link Teacher} takes place
+ * in a room, from the meeting date (inclusive) to the
+ * meeting end (exclusive).
+ *
+ * @author Thanasis Chousiadas
+ */
 public class Meeting {
     private Long id;
     private Student student;
     private Teacher teacher;
     private String meetingRoom;
     private Date meetingDate;
+    private Date meetingEnd;
 
+    /**
+     * Default constructor.
+     */
     public Meeting() {
     }
 
@@ -20,10 +33,32 @@ public class Meeting {
         this.meetingDate = meetingDate;
     }
 
+    /**
+     * Overloaded constructor.
+     *
+     * @param id          the primary key of the Entity.
+     * @param student     dependency injection of {@link Student} Entity.
+     * @param teacher     dependency injection of {@link Teacher} Entity.
+     * @param meetingRoom the room of the meeting.
+     * @param meetingDate the start of the meeting.
+     * @param meetingEnd  the end of the meeting.
+     */
+    public Meeting(Long id, Student student, Teacher teacher, String meetingRoom, Date meetingDate, Date meetingEnd) {
+        this(id, student, teacher, meetingRoom, meetingDate);
+        this.meetingEnd = meetingEnd;
+    }
+
     public Long getId() {
         return id;
     }
 
+    /**
+     * @param id the id of the meeting
+     */
+    public void setId(Long id) {
+        this.id = id;
+    }
+
     public Student getStudent() {
         return student;
     }
@@ -55,4 +90,24 @@ public class Meeting {
     public void setMeetingDate(Date meetingDate) {
         this.meetingDate = meetingDate;
     }
+
+    public Date getMeetingEnd() {
+        return meetingEnd;
+    }
+
+    public void setMeetingEnd(Date meetingEnd) {
+        this.meetingEnd = meetingEnd;
+    }
+
+    @Override
+    public String toString() {
+        return "Meeting{" +
+                "id=" + id +
+                ", studentId=" + (student == null ? null : student.getId()) +
+                ", teacherId=" + (teacher == null ? null : teacher.getId()) +
+                ", meetingRoom='" + meetingRoom + '\'' +
+                ", meetingDate=" + meetingDate +
+                ", meetingEnd=" + meetingEnd +
+                '}';
+    }
 }
@@ -0,0 +1,47 @@
+package gr.aueb.cf.schoolappsoa.model;
+
+import java.util.Date;
+
+/**
+ * It declares a meeting of a {@link MeetingSeries}. An occurrence
+ * is not a row of the Meetings table, so it has no id; it is expanded
+ * from the rule of its series, and it is known by its series and its
+ * index, the number of intervals after the first meeting.
+ *
+ * @author Thanasis Chousiadas
+ */
+public class MeetingOccurrence extends Meeting {
+    private final MeetingSeries series;
+    private final long index;
+
+    /**
+     * Overloaded constructor.
+     *
+     * @param series      the series of the meeting.
+     * @param index       the number of intervals after the first meeting.
+     * @param meetingDate the start of the meeting.
+     * @param meetingEnd  the end of the meeting.
+     */
+    public MeetingOccurrence(MeetingSeries series, long index, Date meetingDate, Date meetingEnd) {
+        super(null, series.getStudent(), series.getTeacher(), series.getMeetingRoom(), meetingDate, meetingEnd);
+        this.series = series;
+        this.index = index;
+    }
+
+    public MeetingSeries getSeries() {
+        return series;
+    }
+
+    public long getIndex() {
+        return index;
+    }
+
+    @Override
+    public String toString() {
+        return "MeetingOccurrence{" +
+                "seriesId=" + series.getId() +
+                ", index=" + index +
+                ", meeting=" + super.toString() +
+                '}';
+    }
+}
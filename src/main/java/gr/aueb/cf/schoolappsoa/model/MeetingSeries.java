@@ -0,0 +1,149 @@
+package gr.aueb.cf.schoolappsoa.model;
+
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * It declares the MeetingSeries Entity which represents
+ * the Meeting Series table in the database. A series is the
+ * rule of recurring meetings of a {@link Student} with a
+ * {@link Teacher} in a room: the first meeting, from the first
+ * date (inclusive) to the first end (exclusive), repeats every
+ * interval weeks at the same local time, until the until date.
+ * The cancelled occurrences are kept by their start.
+ *
+ * @author Thanasis Chousiadas
+ */
+public class MeetingSeries {
+    private Long id;
+    private Student student;
+    private Teacher teacher;
+    private String meetingRoom;
+    private Date firstDate;
+    private Date firstEnd;
+    private int intervalWeeks = 1;
+    private Date untilDate;
+    private Set<Date> cancelledDates = new HashSet<>();
+
+    /**
+     * Default constructor.
+     */
+    public MeetingSeries() {
+    }
+
+    /**
+     * Overloaded constructor.
+     *
+     * @param id            the primary key of the Entity.
+     * @param student       dependency injection of {@link Student} Entity.
+     * @param teacher       dependency injection of {@link Teacher} Entity.
+     * @param meetingRoom   the room of the meetings.
+     * @param firstDate     the start of the first meeting.
+     * @param firstEnd      the end of the first meeting.
+     * @param intervalWeeks the weeks between two meetings.
+     * @param untilDate     the end of the series, exclusive: no meeting
+     *                      ends after it; null for an open-ended series.
+     */
+    public MeetingSeries(Long id, Student student, Teacher teacher, String meetingRoom, Date firstDate,
+                         Date firstEnd, int intervalWeeks, Date untilDate) {
+        this.id = id;
+        this.student = student;
+        this.teacher = teacher;
+        this.meetingRoom = meetingRoom;
+        this.firstDate = firstDate;
+        this.firstEnd = firstEnd;
+        this.intervalWeeks = intervalWeeks;
+        this.untilDate = untilDate;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Student getStudent() {
+        return student;
+    }
+
+    public void setStudent(Student student) {
+        this.student = student;
+    }
+
+    public Teacher getTeacher() {
+        return teacher;
+    }
+
+    public void setTeacher(Teacher teacher) {
+        this.teacher = teacher;
+    }
+
+    public String getMeetingRoom() {
+        return meetingRoom;
+    }
+
+    public void setMeetingRoom(String meetingRoom) {
+        this.meetingRoom = meetingRoom;
+    }
+
+    public Date getFirstDate() {
+        return firstDate;
+    }
+
+    public void setFirstDate(Date firstDate) {
+        this.firstDate = firstDate;
+    }
+
+    public Date getFirstEnd() {
+        return firstEnd;
+    }
+
+    public void setFirstEnd(Date firstEnd) {
+        this.firstEnd = firstEnd;
+    }
+
+    public int getIntervalWeeks() {
+        return intervalWeeks;
+    }
+
+    public void setIntervalWeeks(int intervalWeeks) {
+        this.intervalWeeks = intervalWeeks;
+    }
+
+    public Date getUntilDate() {
+        return untilDate;
+    }
+
+    public void setUntilDate(Date untilDate) {
+        this.untilDate = untilDate;
+    }
+
+    /**
+     * @return the starts of the cancelled meetings of the series.
+     */
+    public Set<Date> getCancelledDates() {
+        return cancelledDates;
+    }
+
+    public void setCancelledDates(Set<Date> cancelledDates) {
+        this.cancelledDates = cancelledDates;
+    }
+
+    @Override
+    public String toString() {
+        return "MeetingSeries{" +
+                "id=" + id +
+                ", studentId=" + (student == null ? null : student.getId()) +
+                ", teacherId=" + (teacher == null ? null : teacher.getId()) +
+                ", meetingRoom='" + meetingRoom + '\'' +
+                ", firstDate=" + firstDate +
+                ", firstEnd=" + firstEnd +
+                ", intervalWeeks=" + intervalWeeks +
+                ", untilDate=" + untilDate +
+                ", cancelled=" + cancelledDates.size() +
+                '}';
+    }
+}
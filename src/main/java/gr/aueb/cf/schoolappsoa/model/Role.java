@@ -0,0 +1,13 @@
+package gr.aueb.cf.schoolappsoa.model;
+
+/**
+ * The role of a {@link User} in the school: a user is linked
+ * to a {@link Student}, to a {@link Teacher} or to none of them.
+ *
+ * @author Thanasis Chousiadas
+ */
+public enum Role {
+    STUDENT,
+    TEACHER,
+    NONE
+}
@@ -0,0 +1,52 @@
+package gr.aueb.cf.schoolappsoa.model;
+
+/**
+ * It declares a {@link User} together with its {@link Role} and
+ * the {@link Student} or {@link Teacher} profile linked to it,
+ * as they are read from the database in one query.
+ *
+ * @author Thanasis Chousiadas
+ */
+public class UserProfile {
+    private final User user;
+    private final Student student;
+    private final Teacher teacher;
+
+    /**
+     * Overloaded constructor.
+     *
+     * @param user    the {@link User}.
+     * @param student the {@link Student} of the user, or null.
+     * @param teacher the {@link Teacher} of the user, or null.
+     */
+    public UserProfile(User user, Student student, Teacher teacher) {
+        this.user = user;
+        this.student = student;
+        this.teacher = teacher;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public Student getStudent() {
+        return student;
+    }
+
+    public Teacher getTeacher() {
+        return teacher;
+    }
+
+    /**
+     * Returns the role of the user. A user linked both to a
+     * student and to a teacher is a {@link Role#STUDENT}.
+     *
+     * @return the {@link Role} of the user.
+     */
+    public Role getRole() {
+        if (student != null) {
+            return Role.STUDENT;
+        }
+        return teacher != null ? Role.TEACHER : Role.NONE;
+    }
+}
@@ -7,6 +7,8 @@ import gr.aueb.cf.schoolappsoa.dto.CityUpdateDTO;
 import gr.aueb.cf.schoolappsoa.model.City;
 import gr.aueb.cf.schoolappsoa.service.exceptions.CityAlreadyExistsException;
 import gr.aueb.cf.schoolappsoa.service.exceptions.CityNotFoundException;
+import gr.aueb.cf.schoolappsoa.service.util.ConnectionScope;
+import gr.aueb.cf.schoolappsoa.service.util.DBUtil;
 
 import java.util.List;
 
@@ -41,17 +43,20 @@ public class CityServiceImpl implements ICityService {
      *                                    already exists.
      */
     @Override
+    @SuppressWarnings("try")
     public City insertCity(CityInsertDTO dto) throws CityDAOException, CityAlreadyExistsException {
-        City city = map(dto);
+        try (ConnectionScope ignored = DBUtil.openScope()) {
+            City city = map(dto);
 
-        // checks if the city is already exists
-        City storedCity = cityDAO.getByName(city.getCity());
+            // checks if the city is already exists
+            City storedCity = cityDAO.getByName(city.getCity());
 
-        if (storedCity != null) {
-            throw new CityAlreadyExistsException(city);
-        }
+            if (storedCity != null) {
+                throw new CityAlreadyExistsException(city);
+            }
 
-        return cityDAO.insert(city);
+            return cityDAO.insert(city);
+        }
     }
 
     /**
@@ -64,14 +69,17 @@ public class CityServiceImpl implements ICityService {
      *                               does not exist.
      */
     @Override
+    @SuppressWarnings("try")
     public City updateCity(CityUpdateDTO dto) throws CityDAOException, CityNotFoundException {
-        City city = map(dto);
+        try (ConnectionScope ignored = DBUtil.openScope()) {
+            City city = map(dto);
 
-        if (cityDAO.getById(city.getId()) == null) {
-            throw new CityNotFoundException(city);
-        }
+            if (cityDAO.getById(city.getId()) == null) {
+                throw new CityNotFoundException(city);
+            }
 
-        return cityDAO.update(city);
+            return cityDAO.update(city);
+        }
     }
 
     /**
@@ -83,14 +91,17 @@ public class CityServiceImpl implements ICityService {
      *                               does not exist.
      */
     @Override
+    @SuppressWarnings("try")
     public void deleteCity(long id) throws CityDAOException, CityNotFoundException {
-        City city = cityDAO.getById(id);
+        try (ConnectionScope ignored = DBUtil.openScope()) {
+            City city = cityDAO.getById(id);
 
-        if (city == null) {
-            throw new CityNotFoundException("Delete city with id = " + id + " was not found");
-        }
+            if (city == null) {
+                throw new CityNotFoundException("Delete city with id = " + id + " was not found");
+            }
 
-        cityDAO.delete(id);
+            cityDAO.delete(id);
+        }
     }
 
     /**
@@ -104,6 +115,21 @@ public class CityServiceImpl implements ICityService {
         return cityDAO.getAll();
     }
 
+    /**
+     * This method returns a page of the cities where their names
+     * begin with the name given by the client, for type-ahead search.
+     *
+     * @param name      the beginning of the names.
+     * @param afterName the last name of the previous page, or null for the first page.
+     * @param limit     the maximum number of cities.
+     * @return an {@link java.util.ArrayList} with {@link City} objects.
+     * @throws CityDAOException handles errors propagated from DAO layer.
+     */
+    @Override
+    public List<City> getCitiesByNameLike(String name, String afterName, int limit) throws CityDAOException {
+        return cityDAO.getByNameLike(name, afterName, limit);
+    }
+
     /**
      * This method searches for a specific city with an id given
      * by the user and returns this city.
@@ -25,6 +25,7 @@ public interface ICityService {
     void deleteCity(long id) throws CityDAOException, CityNotFoundException;
 
     List<City> getAllCities() throws CityDAOException;
+    List<City> getCitiesByNameLike(String name, String afterName, int limit) throws CityDAOException;
 
     City getCityById(long id) throws CityDAOException, CityNotFoundException;
 }
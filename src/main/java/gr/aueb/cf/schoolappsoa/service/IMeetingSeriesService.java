@@ -0,0 +1,36 @@
+package gr.aueb.cf.schoolappsoa.service;
+
+import gr.aueb.cf.schoolappsoa.dao.exceptions.MeetingDAOException;
+import gr.aueb.cf.schoolappsoa.dao.exceptions.MeetingSeriesDAOException;
+import gr.aueb.cf.schoolappsoa.dto.MeetingSeriesInsertDTO;
+import gr.aueb.cf.schoolappsoa.model.MeetingOccurrence;
+import gr.aueb.cf.schoolappsoa.model.MeetingSeries;
+import gr.aueb.cf.schoolappsoa.service.exceptions.MeetingConflictException;
+import gr.aueb.cf.schoolappsoa.service.exceptions.MeetingSeriesNotFoundException;
+
+import java.util.Date;
+import java.util.Iterator;
+
+/**
+ * This interface declares the Public API for
+ * the Service Layer of this application.
+ * It declares services for {@link MeetingSeries} objects
+ * and the time-range searches of their meetings.
+ *
+ * @author Thanasis Chousiadas
+ */
+public interface IMeetingSeriesService {
+    MeetingSeries insertSeries(MeetingSeriesInsertDTO dto) throws MeetingSeriesDAOException, MeetingDAOException, MeetingConflictException;
+
+    boolean cancelOccurrence(long seriesId, Date meetingDate) throws MeetingSeriesDAOException, MeetingSeriesNotFoundException;
+
+    boolean deleteSeries(long id) throws MeetingSeriesDAOException, MeetingSeriesNotFoundException;
+
+    MeetingSeries getSeriesById(long id) throws MeetingSeriesDAOException;
+
+    Iterator<MeetingOccurrence> getOccurrencesByTeacher(long teacherId, Date from, Date to) throws MeetingSeriesDAOException;
+
+    Iterator<MeetingOccurrence> getOccurrencesByStudent(long studentId, Date from, Date to) throws MeetingSeriesDAOException;
+
+    Iterator<MeetingOccurrence> getOccurrencesByRoom(String meetingRoom, Date from, Date to) throws MeetingSeriesDAOException;
+}
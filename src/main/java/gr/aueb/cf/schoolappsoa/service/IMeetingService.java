@@ -0,0 +1,47 @@
+package gr.aueb.cf.schoolappsoa.service;
+
+import gr.aueb.cf.schoolappsoa.dao.BatchResult;
+import gr.aueb.cf.schoolappsoa.dao.Page;
+import gr.aueb.cf.schoolappsoa.dao.exceptions.MeetingDAOException;
+import gr.aueb.cf.schoolappsoa.dao.exceptions.MeetingSeriesDAOException;
+import gr.aueb.cf.schoolappsoa.dto.MeetingInsertDTO;
+import gr.aueb.cf.schoolappsoa.dto.MeetingUpdateDTO;
+import gr.aueb.cf.schoolappsoa.model.Meeting;
+import gr.aueb.cf.schoolappsoa.service.exceptions.MeetingConflictException;
+import gr.aueb.cf.schoolappsoa.service.exceptions.MeetingNotFoundException;
+import gr.aueb.cf.schoolappsoa.service.scheduling.FreeSlot;
+import gr.aueb.cf.schoolappsoa.service.scheduling.RoomAllocation;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * This interface declares the Public API for
+ * the Service Layer of this application.
+ * It declares services for CRUD operations and
+ * time-range searches in {@link Meeting} objects.
+ *
+ * @author Thanasis Chousiadas
+ */
+public interface IMeetingService {
+    Meeting insertMeeting(MeetingInsertDTO dto) throws MeetingDAOException, MeetingSeriesDAOException, MeetingConflictException;
+
+    BatchResult<Meeting> insertMeetings(List<MeetingInsertDTO> dtos) throws MeetingDAOException, MeetingSeriesDAOException, MeetingConflictException;
+
+    RoomAllocation insertMeetingsWithRooms(List<MeetingInsertDTO> dtos, List<String> rooms) throws MeetingDAOException, MeetingSeriesDAOException, MeetingConflictException;
+
+    Meeting updateMeeting(MeetingUpdateDTO dto) throws MeetingDAOException, MeetingSeriesDAOException, MeetingNotFoundException, MeetingConflictException;
+
+    boolean deleteMeeting(long id) throws MeetingDAOException, MeetingNotFoundException;
+
+    Meeting getMeetingById(long id) throws MeetingDAOException;
+
+    Page<Meeting> getMeetingsByTeacher(long teacherId, Date from, Date to, int pageSize, String pageToken) throws MeetingDAOException;
+
+    Page<Meeting> getMeetingsByStudent(long studentId, Date from, Date to, int pageSize, String pageToken) throws MeetingDAOException;
+
+    Page<Meeting> getMeetingsByRoom(String meetingRoom, Date from, Date to, int pageSize, String pageToken) throws MeetingDAOException;
+
+    List<FreeSlot> findFreeSlots(long teacherId, long studentId, List<String> rooms, Duration duration, Date from, Date to, int limit) throws MeetingDAOException, MeetingSeriesDAOException;
+}
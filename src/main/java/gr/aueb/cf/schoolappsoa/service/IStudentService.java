@@ -1,5 +1,7 @@
 package gr.aueb.cf.schoolappsoa.service;
 
+import gr.aueb.cf.schoolappsoa.dao.BatchResult;
+import gr.aueb.cf.schoolappsoa.dao.Page;
 import gr.aueb.cf.schoolappsoa.dao.exceptions.CityDAOException;
 import gr.aueb.cf.schoolappsoa.dao.exceptions.StudentDAOException;
 import gr.aueb.cf.schoolappsoa.dao.exceptions.UserDAOException;
@@ -21,11 +23,15 @@ import java.util.List;
 public interface IStudentService {
     Student insertStudent(StudentInsertDTO dto) throws StudentDAOException, CityDAOException, UserDAOException;
 
+    BatchResult<Student> insertStudents(List<StudentInsertDTO> dtos) throws StudentDAOException;
+
     Student updateStudent(StudentUpdateDTO dto) throws StudentDAOException, StudentNotFoundException, CityDAOException, UserDAOException;
 
     boolean deleteStudent(long id) throws StudentDAOException, StudentNotFoundException, CityDAOException, UserDAOException;
 
     List<Student> getStudentByLastname(String lastname) throws StudentDAOException, CityDAOException, UserDAOException;
 
+    Page<Student> getStudentByLastname(String lastname, int pageSize, String pageToken) throws StudentDAOException;
+
     Student getStudentById(long id) throws StudentDAOException, CityDAOException, UserDAOException;
 }
@@ -1,5 +1,8 @@
 package gr.aueb.cf.schoolappsoa.service;
 
+import gr.aueb.cf.schoolappsoa.dao.BatchResult;
+import gr.aueb.cf.schoolappsoa.dao.FetchPlan;
+import gr.aueb.cf.schoolappsoa.dao.Page;
 import gr.aueb.cf.schoolappsoa.dao.exceptions.SpecialityDAOException;
 import gr.aueb.cf.schoolappsoa.dao.exceptions.TeacherDAOException;
 import gr.aueb.cf.schoolappsoa.dao.exceptions.UserDAOException;
@@ -13,11 +16,17 @@ import java.util.List;
 public interface ITeacherService {
     Teacher insertTeacher(TeacherInsertDTO dto) throws TeacherDAOException, UserDAOException, SpecialityDAOException;
 
+    BatchResult<Teacher> insertTeachers(List<TeacherInsertDTO> dtos) throws TeacherDAOException;
+
     Teacher updateTeacher(TeacherUpdateDTO dto) throws TeacherDAOException, TeacherNotFoundException, UserDAOException, SpecialityDAOException;
 
     boolean deleteTeacher(long id) throws TeacherDAOException, TeacherNotFoundException, SpecialityDAOException, UserDAOException;
 
     List<Teacher> getTeacherByLastname(String lastname) throws TeacherDAOException, UserDAOException, SpecialityDAOException;
 
+    List<Teacher> getTeacherByLastname(String lastname, FetchPlan plan) throws TeacherDAOException;
+
+    Page<Teacher> getTeacherByLastname(String lastname, FetchPlan plan, int pageSize, String pageToken) throws TeacherDAOException;
+
     Teacher getTeacherById(long id) throws TeacherDAOException, UserDAOException, SpecialityDAOException;
 }
@@ -1,6 +1,8 @@
 package gr.aueb.cf.schoolappsoa.service;
 
 
+import gr.aueb.cf.schoolappsoa.dao.BatchResult;
+import gr.aueb.cf.schoolappsoa.dao.Page;
 import gr.aueb.cf.schoolappsoa.dao.exceptions.*;
 import gr.aueb.cf.schoolappsoa.dto.LoginDTO;
 import gr.aueb.cf.schoolappsoa.dto.UserInsertDTO;
@@ -8,12 +10,18 @@ import gr.aueb.cf.schoolappsoa.dto.UserUpdateDTO;
 import gr.aueb.cf.schoolappsoa.model.User;
 import gr.aueb.cf.schoolappsoa.service.exceptions.UserAlreadyExistsException;
 import gr.aueb.cf.schoolappsoa.service.exceptions.UserNotFoundException;
+import gr.aueb.cf.schoolappsoa.service.provisioning.ProvisioningReport;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public interface IUserService {
     User insertUser(UserInsertDTO dto) throws UserAlreadyExistsException, UserDAOException;
 
+    BatchResult<User> insertUsers(List<UserInsertDTO> dtos) throws UserAlreadyExistsException, UserDAOException;
+
+    ProvisioningReport provisionUsers(List<UserInsertDTO> dtos) throws UserAlreadyExistsException, UserDAOException;
+
     User updateUser(UserUpdateDTO dto) throws UserNotFoundException, UserDAOException;
 
     void deleteUser(long id) throws UserNotFoundException, UserDAOException, StudentDAOException, CityDAOException, TeacherDAOException, SpecialityDAOException;
@@ -25,7 +33,17 @@ public interface IUserService {
 
     List<User> getAllUsers() throws UserDAOException;
 
+    Page<User> getAllUsers(int pageSize, String pageToken) throws UserDAOException;
+
     List<User> getUsersByUsernameLike(String username) throws UserDAOException;
 
+    List<User> getUsersByUsernameLike(String username, String afterUsername, int limit) throws UserDAOException;
+
     boolean login(LoginDTO dto) throws UserDAOException;
+
+    CompletableFuture<Boolean> loginAsync(LoginDTO dto);
+
+    void logout();
+
+    CompletableFuture<User> insertUserAsync(UserInsertDTO dto);
 }
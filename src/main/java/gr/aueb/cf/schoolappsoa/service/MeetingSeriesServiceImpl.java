@@ -0,0 +1,321 @@
+package gr.aueb.cf.schoolappsoa.service;
+
+import gr.aueb.cf.schoolappsoa.dao.IMeetingSeriesDAO;
+import gr.aueb.cf.schoolappsoa.dao.exceptions.MeetingDAOException;
+import gr.aueb.cf.schoolappsoa.dao.exceptions.MeetingSeriesDAOException;
+import gr.aueb.cf.schoolappsoa.dto.MeetingSeriesInsertDTO;
+import gr.aueb.cf.schoolappsoa.model.MeetingOccurrence;
+import gr.aueb.cf.schoolappsoa.model.MeetingSeries;
+import gr.aueb.cf.schoolappsoa.model.Student;
+import gr.aueb.cf.schoolappsoa.model.Teacher;
+import gr.aueb.cf.schoolappsoa.service.exceptions.MeetingConflictException;
+import gr.aueb.cf.schoolappsoa.service.exceptions.MeetingSeriesNotFoundException;
+import gr.aueb.cf.schoolappsoa.service.reminder.ReminderScheduler;
+import gr.aueb.cf.schoolappsoa.service.scheduling.MeetingConflict;
+import gr.aueb.cf.schoolappsoa.service.scheduling.MeetingConflict.Resource;
+import gr.aueb.cf.schoolappsoa.service.scheduling.MeetingIndex;
+import gr.aueb.cf.schoolappsoa.service.scheduling.Recurrence;
+import gr.aueb.cf.schoolappsoa.service.scheduling.SeriesCalendar;
+import gr.aueb.cf.schoolappsoa.service.scheduling.SeriesConflictFinder;
+import gr.aueb.cf.schoolappsoa.service.scheduling.SeriesIndex;
+
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class implements the Public API
+ * of the {@link IMeetingSeriesService} interface, for
+ * the Service Layer of this application.
+ * A series of recurring meetings is saved once, as a rule, and its
+ * meetings are expanded lazily by a {@link Recurrence}, for the window
+ * of a query. A series is saved only if none of its meetings double
+ * books its teacher, student or room, with a single meeting of the
+ * {@link MeetingIndex} or with a meeting of another series of the
+ * {@link SeriesIndex}. The check and the save run in one
+ * {@link MeetingIndex.Booking}, the same as the bookings of the single
+ * meetings, so no overlapping meeting or series can be saved in between.
+ * Every insert, cancellation and delete of a series is passed to the
+ * {@link SeriesIndex}, which the single meetings are checked against,
+ * and to the {@link ReminderScheduler} of the meetings, if there is one.
+ *
+ * @author Thanasis Chousiadas
+ */
+public class MeetingSeriesServiceImpl implements IMeetingSeriesService {
+    private static final long WEEK = TimeUnit.DAYS.toMillis(7);
+
+    private final IMeetingSeriesDAO seriesDAO;
+    private final MeetingIndex meetingIndex;
+    private final SeriesIndex seriesIndex;
+    private final Recurrence recurrence;
+    private final SeriesCalendar seriesCalendar;
+    private final SeriesConflictFinder conflictFinder;
+    private final ReminderScheduler reminderScheduler;
+
+    /**
+     * Dependencies injection of {@link IMeetingSeriesDAO} type
+     * implementation in Data Access Object Layer, of the {@link MeetingIndex}
+     * and of the {@link SeriesIndex}. The meetings repeat at the local time
+     * of the default time zone.
+     *
+     * @param seriesDAO    an implementation of {@link IMeetingSeriesDAO} interface.
+     * @param meetingIndex the index of the single meetings.
+     * @param seriesIndex  the index of the series of seriesDAO.
+     */
+    public MeetingSeriesServiceImpl(IMeetingSeriesDAO seriesDAO, MeetingIndex meetingIndex, SeriesIndex seriesIndex) {
+        this(seriesDAO, meetingIndex, seriesIndex, ZoneId.systemDefault());
+    }
+
+    /**
+     * Dependencies injection of {@link IMeetingSeriesDAO} type
+     * implementation in Data Access Object Layer, of the {@link MeetingIndex}
+     * and of the {@link SeriesIndex}.
+     *
+     * @param seriesDAO    an implementation of {@link IMeetingSeriesDAO} interface.
+     * @param meetingIndex the index of the single meetings.
+     * @param seriesIndex  the index of the series of seriesDAO.
+     * @param zone         the time zone of the local time of the meetings.
+     */
+    public MeetingSeriesServiceImpl(IMeetingSeriesDAO seriesDAO, MeetingIndex meetingIndex, SeriesIndex seriesIndex,
+                                    ZoneId zone) {
+        this(seriesDAO, meetingIndex, seriesIndex, zone, null);
+    }
+
+    /**
+     * Dependencies injection of {@link IMeetingSeriesDAO} type
+     * implementation in Data Access Object Layer, of the {@link MeetingIndex},
+     * of the {@link SeriesIndex} and of the {@link ReminderScheduler} of the meetings.
+     *
+     * @param seriesDAO         an implementation of {@link IMeetingSeriesDAO} interface.
+     * @param meetingIndex      the index of the single meetings.
+     * @param seriesIndex       the index of the series of seriesDAO.
+     * @param zone              the time zone of the local time of the meetings.
+     * @param reminderScheduler the scheduler of the reminders of the meetings of the series,
+     *                          or null if no reminders are sent.
+     */
+    public MeetingSeriesServiceImpl(IMeetingSeriesDAO seriesDAO, MeetingIndex meetingIndex, SeriesIndex seriesIndex,
+                                    ZoneId zone, ReminderScheduler reminderScheduler) {
+        this.seriesDAO = seriesDAO;
+        this.meetingIndex = meetingIndex;
+        this.seriesIndex = seriesIndex;
+        this.recurrence = new Recurrence(zone);
+        this.seriesCalendar = new SeriesCalendar(seriesIndex, recurrence);
+        this.conflictFinder = new SeriesConflictFinder(meetingIndex, recurrence);
+        this.reminderScheduler = reminderScheduler;
+    }
+
+    /**
+     * This method inserts a new series of meetings in the database,
+     * as one record, after its meetings are checked for double bookings.
+     *
+     * @param dto the Data Transfer Object with the data for insert the record.
+     * @return the inserted {@link MeetingSeries} entity.
+     * @throws MeetingSeriesDAOException handles errors propagated from DAO layer
+     *                                   related with {@link gr.aueb.cf.schoolappsoa.dao.MeetingSeriesDAOImpl}.
+     * @throws MeetingDAOException       handles errors propagated from DAO layer
+     *                                   related with {@link gr.aueb.cf.schoolappsoa.dao.MeetingDAOImpl}.
+     * @throws MeetingConflictException  if a meeting of the series overlaps another
+     *                                   meeting of its teacher, student or room.
+     * @throws IllegalArgumentException  if the first meeting does not end after its
+     *                                   start, or it is longer than the interval, or the
+     *                                   series ends before its first meeting.
+     */
+    @Override
+    @SuppressWarnings("try")
+    public MeetingSeries insertSeries(MeetingSeriesInsertDTO dto)
+            throws MeetingSeriesDAOException, MeetingDAOException, MeetingConflictException {
+        MeetingSeries series = map(dto);
+        Date from = series.getFirstDate();
+        // an open-ended series can overlap every later series, however late it starts
+        Date to = SeriesConflictFinder.spanEndOf(series);
+
+        try (MeetingIndex.Booking ignored = meetingIndex.beginBooking()) {
+            Map<Long, MeetingSeries> others = new LinkedHashMap<>();
+            for (Resource resource : Resource.values()) {
+                for (MeetingSeries other : seriesIndex.getSeries(resource, ownerOf(series, resource), from, to)) {
+                    others.put(other.getId(), other);
+                }
+            }
+
+            List<MeetingConflict> conflicts = conflictFinder.getConflicts(series, new ArrayList<>(others.values()));
+            if (!conflicts.isEmpty()) {
+                throw new MeetingConflictException(conflicts);
+            }
+
+            MeetingSeries inserted = seriesDAO.insert(series);
+            if (inserted != null) {
+                seriesIndex.put(inserted);
+                if (reminderScheduler != null) {
+                    reminderScheduler.putSeries(inserted);
+                }
+            }
+            return inserted;
+        }
+    }
+
+    /**
+     * This method cancels one meeting of a series.
+     *
+     * @param seriesId    the id of the series.
+     * @param meetingDate the start of the meeting to be cancelled.
+     * @return true if the meeting is cancelled, false if it was already cancelled.
+     * @throws MeetingSeriesDAOException      handles errors propagated from DAO layer
+     *                                        related with {@link gr.aueb.cf.schoolappsoa.dao.MeetingSeriesDAOImpl}.
+     * @throws MeetingSeriesNotFoundException if the series does not exist.
+     * @throws IllegalArgumentException       if no meeting of the series starts at the date.
+     */
+    @Override
+    public boolean cancelOccurrence(long seriesId, Date meetingDate)
+            throws MeetingSeriesDAOException, MeetingSeriesNotFoundException {
+        MeetingSeries series = seriesDAO.getById(seriesId);
+
+        if (series == null) {
+            throw new MeetingSeriesNotFoundException("Meeting series with id = " + seriesId + " was not found");
+        }
+        if (!recurrence.isOccurrence(series, meetingDate)) {
+            throw new IllegalArgumentException("No meeting of series " + seriesId + " starts at " + meetingDate);
+        }
+        boolean cancelled = seriesDAO.cancel(seriesId, meetingDate);
+        seriesIndex.cancel(seriesId, meetingDate);
+        if (reminderScheduler != null) {
+            reminderScheduler.cancelOccurrence(seriesId, meetingDate);
+        }
+        return cancelled;
+    }
+
+    /**
+     * This method deletes a series, with all its meetings.
+     *
+     * @param id the id of the series.
+     * @return true if the series is deleted successfully.
+     * @throws MeetingSeriesDAOException      handles errors propagated from DAO layer
+     *                                        related with {@link gr.aueb.cf.schoolappsoa.dao.MeetingSeriesDAOImpl}.
+     * @throws MeetingSeriesNotFoundException if the series does not exist.
+     */
+    @Override
+    public boolean deleteSeries(long id) throws MeetingSeriesDAOException, MeetingSeriesNotFoundException {
+        if (!seriesDAO.delete(id)) {
+            throw new MeetingSeriesNotFoundException("Meeting series with id = " + id + " was not found");
+        }
+        seriesIndex.remove(id);
+        if (reminderScheduler != null) {
+            reminderScheduler.removeSeries(id);
+        }
+        return true;
+    }
+
+    /**
+     * This method returns a series with a certain id (primary key).
+     *
+     * @param id the id of the series.
+     * @return a {@link MeetingSeries} object, or null if it does not exist.
+     * @throws MeetingSeriesDAOException handles errors propagated from DAO layer
+     *                                   related with {@link gr.aueb.cf.schoolappsoa.dao.MeetingSeriesDAOImpl}.
+     */
+    @Override
+    public MeetingSeries getSeriesById(long id) throws MeetingSeriesDAOException {
+        return seriesDAO.getById(id);
+    }
+
+    /**
+     * This method returns the meetings of the series of a teacher which
+     * overlap the time window [from, to), in the order of their start.
+     * The meetings are expanded while the iterator is read.
+     *
+     * @param teacherId the id of the teacher.
+     * @param from      the start of the window, inclusive.
+     * @param to        the end of the window, exclusive.
+     * @return a lazy {@link Iterator} of {@link MeetingOccurrence} objects.
+     * @throws MeetingSeriesDAOException handles errors propagated from DAO layer
+     *                                   related with {@link gr.aueb.cf.schoolappsoa.dao.MeetingSeriesDAOImpl}.
+     */
+    @Override
+    public Iterator<MeetingOccurrence> getOccurrencesByTeacher(long teacherId, Date from, Date to)
+            throws MeetingSeriesDAOException {
+        return seriesCalendar.getOccurrences(Resource.TEACHER, teacherId, from, to);
+    }
+
+    /**
+     * This method returns the meetings of the series of a student which
+     * overlap the time window [from, to), in the order of their start.
+     * The meetings are expanded while the iterator is read.
+     *
+     * @param studentId the id of the student.
+     * @param from      the start of the window, inclusive.
+     * @param to        the end of the window, exclusive.
+     * @return a lazy {@link Iterator} of {@link MeetingOccurrence} objects.
+     * @throws MeetingSeriesDAOException handles errors propagated from DAO layer
+     *                                   related with {@link gr.aueb.cf.schoolappsoa.dao.MeetingSeriesDAOImpl}.
+     */
+    @Override
+    public Iterator<MeetingOccurrence> getOccurrencesByStudent(long studentId, Date from, Date to)
+            throws MeetingSeriesDAOException {
+        return seriesCalendar.getOccurrences(Resource.STUDENT, studentId, from, to);
+    }
+
+    /**
+     * This method returns the meetings of the series in a room which
+     * overlap the time window [from, to), in the order of their start.
+     * The meetings are expanded while the iterator is read.
+     *
+     * @param meetingRoom the room.
+     * @param from        the start of the window, inclusive.
+     * @param to          the end of the window, exclusive.
+     * @return a lazy {@link Iterator} of {@link MeetingOccurrence} objects.
+     * @throws MeetingSeriesDAOException handles errors propagated from DAO layer
+     *                                   related with {@link gr.aueb.cf.schoolappsoa.dao.MeetingSeriesDAOImpl}.
+     */
+    @Override
+    public Iterator<MeetingOccurrence> getOccurrencesByRoom(String meetingRoom, Date from, Date to)
+            throws MeetingSeriesDAOException {
+        return seriesCalendar.getOccurrences(Resource.ROOM, meetingRoom, from, to);
+    }
+
+    private static Object ownerOf(MeetingSeries series, Resource resource) {
+        switch (resource) {
+            case TEACHER:
+                return series.getTeacher().getId();
+            case STUDENT:
+                return series.getStudent().getId();
+            default:
+                return series.getMeetingRoom();
+        }
+    }
+
+    /**
+     * This method maps the data of a Data Transfer Object to a
+     * {@link MeetingSeries} object, with an id-only {@link Student} and {@link Teacher}.
+     *
+     * @param dto the Data Transfer Object of the series.
+     * @return a {@link MeetingSeries} object.
+     * @throws IllegalArgumentException if the series is not valid.
+     */
+    private MeetingSeries map(MeetingSeriesInsertDTO dto) {
+        long length = dto.getFirstEnd().getTime() - dto.getFirstDate().getTime();
+
+        if (length <= 0) {
+            throw new IllegalArgumentException("Meeting must end after its start: "
+                    + dto.getFirstDate() + " - " + dto.getFirstEnd());
+        }
+        if (dto.getIntervalWeeks() < 1 || length > dto.getIntervalWeeks() * WEEK) {
+            throw new IllegalArgumentException("Invalid interval of " + dto.getIntervalWeeks()
+                    + " week(s) for meetings of " + length + " ms");
+        }
+        if (dto.getUntilDate() != null && dto.getUntilDate().before(dto.getFirstEnd())) {
+            throw new IllegalArgumentException("Series must end after its first meeting: " + dto.getUntilDate());
+        }
+
+        Student student = new Student();
+        student.setId(dto.getStudentId());
+        Teacher teacher = new Teacher();
+        teacher.setId(dto.getTeacherId());
+
+        return new MeetingSeries(null, student, teacher, dto.getMeetingRoom(), dto.getFirstDate(), dto.getFirstEnd(),
+                dto.getIntervalWeeks(), dto.getUntilDate());
+    }
+}
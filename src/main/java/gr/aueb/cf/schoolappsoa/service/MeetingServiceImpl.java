@@ -0,0 +1,450 @@
+package gr.aueb.cf.schoolappsoa.service;
+
+import gr.aueb.cf.schoolappsoa.dao.BatchResult;
+import gr.aueb.cf.schoolappsoa.dao.IMeetingDAO;
+import gr.aueb.cf.schoolappsoa.dao.IMeetingSeriesDAO;
+import gr.aueb.cf.schoolappsoa.dao.Page;
+import gr.aueb.cf.schoolappsoa.dao.exceptions.MeetingDAOException;
+import gr.aueb.cf.schoolappsoa.dao.exceptions.MeetingSeriesDAOException;
+import gr.aueb.cf.schoolappsoa.dto.MeetingInsertDTO;
+import gr.aueb.cf.schoolappsoa.dto.MeetingUpdateDTO;
+import gr.aueb.cf.schoolappsoa.model.Meeting;
+import gr.aueb.cf.schoolappsoa.model.Student;
+import gr.aueb.cf.schoolappsoa.model.Teacher;
+import gr.aueb.cf.schoolappsoa.service.exceptions.MeetingConflictException;
+import gr.aueb.cf.schoolappsoa.service.exceptions.MeetingNotFoundException;
+import gr.aueb.cf.schoolappsoa.service.reminder.ReminderScheduler;
+import gr.aueb.cf.schoolappsoa.service.scheduling.FreeSlot;
+import gr.aueb.cf.schoolappsoa.service.scheduling.FreeSlotFinder;
+import gr.aueb.cf.schoolappsoa.service.scheduling.MeetingConflict;
+import gr.aueb.cf.schoolappsoa.service.scheduling.MeetingIndex;
+import gr.aueb.cf.schoolappsoa.service.scheduling.Recurrence;
+import gr.aueb.cf.schoolappsoa.service.scheduling.RoomAllocation;
+import gr.aueb.cf.schoolappsoa.service.scheduling.RoomAllocator;
+import gr.aueb.cf.schoolappsoa.service.scheduling.SeriesCalendar;
+import gr.aueb.cf.schoolappsoa.service.scheduling.SeriesIndex;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * This class implements the Public API
+ * of the {@link IMeetingService} interface, for
+ * the Service Layer of this application.
+ * It implements services for CRUD operations and
+ * time-range searches in {@link Meeting} objects.
+ * The {@link Student} and the {@link Teacher} of a meeting
+ * carry only their ids; the foreign keys are checked by the database.
+ * A meeting is saved only if it does not double book its teacher,
+ * student or room, which is checked in a {@link MeetingIndex} and in the
+ * meetings of the saved series of a {@link SeriesIndex}, both in memory, so
+ * no query runs while a booking holds the lock of the index. The check,
+ * the save and the update of the index run in one {@link MeetingIndex.Booking},
+ * so two concurrent calls cannot both book the same slot. The reminders of
+ * the saved, moved and deleted meetings are passed to a {@link ReminderScheduler},
+ * if there is one.
+ *
+ * @author Thanasis Chousiadas
+ */
+public class MeetingServiceImpl implements IMeetingService {
+    private final IMeetingDAO meetingDAO;
+    private final MeetingIndex meetingIndex;
+    private final SeriesCalendar seriesCalendar;
+    private final RoomAllocator roomAllocator;
+    private final FreeSlotFinder freeSlotFinder;
+    private final ReminderScheduler reminderScheduler;
+
+    /**
+     * Dependencies injection of {@link IMeetingDAO} and {@link IMeetingSeriesDAO}
+     * type implementations in Data Access Object Layer. The meetings and the
+     * series are checked in a new {@link MeetingIndex} and a new {@link SeriesIndex},
+     * built at their first use, and the meetings of the series repeat at the
+     * local time of the default time zone.
+     *
+     * @param meetingDAO an implementation of {@link IMeetingDAO} interface.
+     * @param seriesDAO  an implementation of {@link IMeetingSeriesDAO} interface.
+     */
+    public MeetingServiceImpl(IMeetingDAO meetingDAO, IMeetingSeriesDAO seriesDAO) {
+        this(meetingDAO, new MeetingIndex(meetingDAO), new SeriesIndex(seriesDAO));
+    }
+
+    /**
+     * Dependencies injection of {@link IMeetingDAO} type implementation in
+     * Data Access Object Layer, of the {@link MeetingIndex} and of the {@link SeriesIndex}.
+     * The meetings of the series repeat at the local time of the default time zone.
+     *
+     * @param meetingDAO   an implementation of {@link IMeetingDAO} interface.
+     * @param meetingIndex the index of the meetings of meetingDAO.
+     * @param seriesIndex  the index of the saved series.
+     */
+    public MeetingServiceImpl(IMeetingDAO meetingDAO, MeetingIndex meetingIndex, SeriesIndex seriesIndex) {
+        this(meetingDAO, meetingIndex, seriesIndex, ZoneId.systemDefault());
+    }
+
+    /**
+     * Dependencies injection of {@link IMeetingDAO} type implementation in
+     * Data Access Object Layer, of the {@link MeetingIndex} and of the {@link SeriesIndex}.
+     *
+     * @param meetingDAO   an implementation of {@link IMeetingDAO} interface.
+     * @param meetingIndex the index of the meetings of meetingDAO.
+     * @param seriesIndex  the index of the saved series.
+     * @param zone         the time zone of the local time of the meetings of the series.
+     */
+    public MeetingServiceImpl(IMeetingDAO meetingDAO, MeetingIndex meetingIndex, SeriesIndex seriesIndex,
+                              ZoneId zone) {
+        this(meetingDAO, meetingIndex, seriesIndex, zone, null);
+    }
+
+    /**
+     * Dependencies injection of {@link IMeetingDAO} type implementation in
+     * Data Access Object Layer, of the {@link MeetingIndex}, of the {@link SeriesIndex}
+     * and of the {@link ReminderScheduler} of the meetings.
+     *
+     * @param meetingDAO        an implementation of {@link IMeetingDAO} interface.
+     * @param meetingIndex      the index of the meetings of meetingDAO.
+     * @param seriesIndex       the index of the saved series.
+     * @param zone              the time zone of the local time of the meetings of the series.
+     * @param reminderScheduler the scheduler of the reminders of the meetings of meetingDAO,
+     *                          or null if no reminders are sent.
+     */
+    public MeetingServiceImpl(IMeetingDAO meetingDAO, MeetingIndex meetingIndex, SeriesIndex seriesIndex,
+                              ZoneId zone, ReminderScheduler reminderScheduler) {
+        this.meetingDAO = meetingDAO;
+        this.meetingIndex = meetingIndex;
+        this.seriesCalendar = new SeriesCalendar(seriesIndex, new Recurrence(zone));
+        this.roomAllocator = new RoomAllocator(meetingIndex, seriesCalendar, zone);
+        this.freeSlotFinder = new FreeSlotFinder(meetingIndex, seriesCalendar);
+        this.reminderScheduler = reminderScheduler;
+    }
+
+    /**
+     * This method inserts a new meeting in the database.
+     *
+     * @param dto the Data Transfer Object with the data for insert the record.
+     * @return the inserted {@link Meeting} entity.
+     * @throws MeetingDAOException handles errors propagated from DAO layer
+     *                             related with {@link gr.aueb.cf.schoolappsoa.dao.MeetingDAOImpl}.
+     * @throws MeetingSeriesDAOException handles errors propagated from DAO layer
+     *                                   related with {@link gr.aueb.cf.schoolappsoa.dao.MeetingSeriesDAOImpl}.
+     * @throws MeetingConflictException if the meeting overlaps another meeting
+     *                                   of its teacher, student or room.
+     * @throws IllegalArgumentException  if the meeting does not end after its start.
+     */
+    @Override
+    @SuppressWarnings("try")
+    public Meeting insertMeeting(MeetingInsertDTO dto)
+            throws MeetingDAOException, MeetingSeriesDAOException, MeetingConflictException {
+        Meeting meeting = map(null, dto.getStudentId(), dto.getTeacherId(), dto.getMeetingRoom(),
+                dto.getMeetingDate(), dto.getMeetingEnd());
+
+        try (MeetingIndex.Booking ignored = meetingIndex.beginBooking()) {
+            List<MeetingConflict> conflicts = meetingIndex.getConflicts(meeting);
+            conflicts.addAll(seriesCalendar.getConflicts(meeting));
+            checkConflicts(conflicts);
+
+            Meeting inserted = meetingDAO.insert(meeting);
+            if (inserted != null) {
+                saved(inserted);
+            }
+            return inserted;
+        }
+    }
+
+    /**
+     * This method inserts new meetings in the database with
+     * batch inserts, one round trip for every batch of rows. The
+     * meetings are checked, with each other and with the saved
+     * meetings, in a single sweep before the insert.
+     *
+     * @param dtos the Data Transfer Objects with the data for insert the records.
+     * @return a {@link BatchResult} with the inserted {@link Meeting} entities.
+     * @throws MeetingDAOException handles errors propagated from DAO layer
+     *                             related with {@link gr.aueb.cf.schoolappsoa.dao.MeetingDAOImpl}.
+     * @throws MeetingSeriesDAOException handles errors propagated from DAO layer
+     *                                   related with {@link gr.aueb.cf.schoolappsoa.dao.MeetingSeriesDAOImpl}.
+     * @throws MeetingConflictException if a meeting overlaps another meeting
+     *                                   of its teacher, student or room. No
+     *                                   meeting is inserted.
+     * @throws IllegalArgumentException  if a meeting does not end after its start.
+     */
+    @Override
+    public BatchResult<Meeting> insertMeetings(List<MeetingInsertDTO> dtos)
+            throws MeetingDAOException, MeetingSeriesDAOException, MeetingConflictException {
+        List<Meeting> meetings = new ArrayList<>(dtos.size());
+
+        for (MeetingInsertDTO dto : dtos) {
+            meetings.add(map(null, dto.getStudentId(), dto.getTeacherId(), dto.getMeetingRoom(),
+                    dto.getMeetingDate(), dto.getMeetingEnd()));
+        }
+        return insertAll(meetings);
+    }
+
+    /**
+     * This method gives rooms to new meetings, from a pool of rooms, with
+     * the fewest rooms possible, and inserts the meetings which got a room
+     * with batch inserts. The room of each Data Transfer Object is ignored.
+     *
+     * @param dtos  the Data Transfer Objects with the data for insert the records.
+     * @param rooms the pool of the rooms, in the order of preference.
+     * @return the {@link RoomAllocation}, with the inserted {@link Meeting} entities
+     * and the meetings for which no room was free, which are not inserted.
+     * @throws MeetingDAOException      handles errors propagated from DAO layer
+     *                                  related with {@link gr.aueb.cf.schoolappsoa.dao.MeetingDAOImpl}.
+     * @throws MeetingSeriesDAOException handles errors propagated from DAO layer
+     *                                   related with {@link gr.aueb.cf.schoolappsoa.dao.MeetingSeriesDAOImpl}.
+     * @throws MeetingConflictException if a meeting overlaps another meeting
+     *                                  of its teacher or student. No meeting is inserted.
+     * @throws IllegalArgumentException if a meeting does not end after its start.
+     */
+    @Override
+    public RoomAllocation insertMeetingsWithRooms(List<MeetingInsertDTO> dtos, List<String> rooms)
+            throws MeetingDAOException, MeetingSeriesDAOException, MeetingConflictException {
+        List<Meeting> meetings = new ArrayList<>(dtos.size());
+
+        for (MeetingInsertDTO dto : dtos) {
+            meetings.add(map(null, dto.getStudentId(), dto.getTeacherId(), null,
+                    dto.getMeetingDate(), dto.getMeetingEnd()));
+        }
+
+        RoomAllocation allocation = roomAllocator.allocate(meetings, rooms);
+        insertAll(allocation.getAllocated());
+        return allocation;
+    }
+
+    /**
+     * This method updates an old meeting record with a new one.
+     *
+     * @param dto the Data Transfer Object with the data for update the record.
+     * @return the updated {@link Meeting} object.
+     * @throws MeetingDAOException      handles errors propagated from DAO layer
+     *                                  related with {@link gr.aueb.cf.schoolappsoa.dao.MeetingDAOImpl}.
+     * @throws MeetingSeriesDAOException handles errors propagated from DAO layer
+     *                                   related with {@link gr.aueb.cf.schoolappsoa.dao.MeetingSeriesDAOImpl}.
+     * @throws MeetingNotFoundException handles update errors when the meeting
+     *                                  does not exist.
+     * @throws MeetingConflictException handles update errors when the meeting
+     *                                  overlaps another meeting of its teacher,
+     *                                  student or room.
+     * @throws IllegalArgumentException if the meeting does not end after its start.
+     */
+    @Override
+    @SuppressWarnings("try")
+    public Meeting updateMeeting(MeetingUpdateDTO dto)
+            throws MeetingDAOException, MeetingSeriesDAOException, MeetingNotFoundException, MeetingConflictException {
+        Meeting meeting = map(dto.getId(), dto.getStudentId(), dto.getTeacherId(), dto.getMeetingRoom(),
+                dto.getMeetingDate(), dto.getMeetingEnd());
+
+        try (MeetingIndex.Booking ignored = meetingIndex.beginBooking()) {
+            List<MeetingConflict> conflicts = meetingIndex.getConflicts(meeting);
+            conflicts.addAll(seriesCalendar.getConflicts(meeting));
+            checkConflicts(conflicts);
+            Meeting updated = meetingDAO.update(meeting);
+
+            if (updated == null) {
+                throw new MeetingNotFoundException(meeting);
+            }
+            saved(updated);
+            return updated;
+        }
+    }
+
+    /**
+     * This method deletes a meeting with an id given
+     * by the user.
+     *
+     * @param id the id given by the user.
+     * @return true if the meeting is deleted successfully.
+     * @throws MeetingDAOException      handles errors propagated from DAO layer
+     *                                  related with {@link gr.aueb.cf.schoolappsoa.dao.MeetingDAOImpl}.
+     * @throws MeetingNotFoundException handles delete errors when the meeting
+     *                                  does not exist.
+     */
+    @Override
+    public boolean deleteMeeting(long id) throws MeetingDAOException, MeetingNotFoundException {
+        if (!meetingDAO.delete(id)) {
+            throw new MeetingNotFoundException("Meeting with id = " + id + " was not found");
+        }
+        meetingIndex.remove(id);
+        if (reminderScheduler != null) {
+            reminderScheduler.remove(id);
+        }
+        return true;
+    }
+
+    /**
+     * This method returns a meeting with a certain id (primary key).
+     *
+     * @param id the id of the meeting.
+     * @return a {@link Meeting} object, or null if it does not exist.
+     * @throws MeetingDAOException handles errors propagated from DAO layer
+     *                             related with {@link gr.aueb.cf.schoolappsoa.dao.MeetingDAOImpl}.
+     */
+    @Override
+    public Meeting getMeetingById(long id) throws MeetingDAOException {
+        return meetingDAO.getById(id);
+    }
+
+    /**
+     * This method returns one page of the meetings of a teacher which
+     * start in the time window [from, to), ordered by their start.
+     *
+     * @param teacherId the id of the teacher.
+     * @param from      the start of the window, inclusive.
+     * @param to        the end of the window, exclusive.
+     * @param pageSize  the maximum number of meetings of the page.
+     * @param pageToken the continuation token of the previous page,
+     *                  or null for the first page.
+     * @return a {@link Page} with {@link Meeting} objects.
+     * @throws MeetingDAOException handles errors propagated from DAO layer
+     *                             related with {@link gr.aueb.cf.schoolappsoa.dao.MeetingDAOImpl}.
+     */
+    @Override
+    public Page<Meeting> getMeetingsByTeacher(long teacherId, Date from, Date to, int pageSize, String pageToken)
+            throws MeetingDAOException {
+        return meetingDAO.getByTeacher(teacherId, from, to, pageSize, pageToken);
+    }
+
+    /**
+     * This method returns one page of the meetings of a student which
+     * start in the time window [from, to), ordered by their start.
+     *
+     * @param studentId the id of the student.
+     * @param from      the start of the window, inclusive.
+     * @param to        the end of the window, exclusive.
+     * @param pageSize  the maximum number of meetings of the page.
+     * @param pageToken the continuation token of the previous page,
+     *                  or null for the first page.
+     * @return a {@link Page} with {@link Meeting} objects.
+     * @throws MeetingDAOException handles errors propagated from DAO layer
+     *                             related with {@link gr.aueb.cf.schoolappsoa.dao.MeetingDAOImpl}.
+     */
+    @Override
+    public Page<Meeting> getMeetingsByStudent(long studentId, Date from, Date to, int pageSize, String pageToken)
+            throws MeetingDAOException {
+        return meetingDAO.getByStudent(studentId, from, to, pageSize, pageToken);
+    }
+
+    /**
+     * This method returns one page of the meetings in a room which
+     * start in the time window [from, to), ordered by their start.
+     *
+     * @param meetingRoom the room.
+     * @param from        the start of the window, inclusive.
+     * @param to          the end of the window, exclusive.
+     * @param pageSize    the maximum number of meetings of the page.
+     * @param pageToken   the continuation token of the previous page,
+     *                    or null for the first page.
+     * @return a {@link Page} with {@link Meeting} objects.
+     * @throws MeetingDAOException handles errors propagated from DAO layer
+     *                             related with {@link gr.aueb.cf.schoolappsoa.dao.MeetingDAOImpl}.
+     */
+    @Override
+    public Page<Meeting> getMeetingsByRoom(String meetingRoom, Date from, Date to, int pageSize, String pageToken)
+            throws MeetingDAOException {
+        return meetingDAO.getByRoom(meetingRoom, from, to, pageSize, pageToken);
+    }
+
+    /**
+     * This method returns the earliest slots of a duration in a horizon,
+     * where a teacher, a student and a room of a pool are all free,
+     * from the meetings in memory, without a query per slot.
+     *
+     * @param teacherId the id of the teacher.
+     * @param studentId the id of the student.
+     * @param rooms     the pool of the rooms, in the order of preference.
+     * @param duration  the duration of a slot.
+     * @param from      the start of the horizon, inclusive.
+     * @param to        the end of the horizon, exclusive.
+     * @param limit     the maximum number of the slots.
+     * @return a {@link List} of {@link FreeSlot} objects, in the order of their start.
+     * @throws MeetingDAOException handles errors propagated from DAO layer
+     *                             related with {@link gr.aueb.cf.schoolappsoa.dao.MeetingDAOImpl}.
+     * @throws MeetingSeriesDAOException handles errors propagated from DAO layer
+     *                                   related with {@link gr.aueb.cf.schoolappsoa.dao.MeetingSeriesDAOImpl}.
+     */
+    @Override
+    public List<FreeSlot> findFreeSlots(long teacherId, long studentId, List<String> rooms, Duration duration,
+                                        Date from, Date to, int limit)
+            throws MeetingDAOException, MeetingSeriesDAOException {
+        return freeSlotFinder.findEarliest(teacherId, studentId, rooms, duration, from, to, limit);
+    }
+
+    /**
+     * This method checks new meetings in a single sweep and inserts
+     * them with batch inserts, then adds them to the index, all in
+     * one {@link MeetingIndex.Booking}.
+     *
+     * @param meetings the {@link Meeting} objects to be inserted.
+     * @return a {@link BatchResult} with the inserted {@link Meeting} entities.
+     * @throws MeetingDAOException      handles errors propagated from DAO layer
+     *                                  related with {@link gr.aueb.cf.schoolappsoa.dao.MeetingDAOImpl}.
+     * @throws MeetingSeriesDAOException handles errors propagated from DAO layer
+     *                                   related with {@link gr.aueb.cf.schoolappsoa.dao.MeetingSeriesDAOImpl}.
+     * @throws MeetingConflictException if a meeting overlaps another meeting.
+     */
+    @SuppressWarnings("try")
+    private BatchResult<Meeting> insertAll(List<Meeting> meetings)
+            throws MeetingDAOException, MeetingSeriesDAOException, MeetingConflictException {
+        try (MeetingIndex.Booking ignored = meetingIndex.beginBooking()) {
+            List<MeetingConflict> conflicts = meetingIndex.getConflicts(meetings);
+            conflicts.addAll(seriesCalendar.getConflicts(meetings));
+            checkConflicts(conflicts);
+
+            BatchResult<Meeting> result = meetingDAO.insertAll(meetings);
+            for (int i = 0; i < result.size(); i++) {
+                if (result.isInserted(i)) {
+                    saved(result.getEntities().get(i));
+                }
+            }
+            return result;
+        }
+    }
+
+    /**
+     * This method adds a saved meeting to the index, and adds or moves
+     * its reminder.
+     *
+     * @param meeting the inserted or updated {@link Meeting}.
+     */
+    private void saved(Meeting meeting) {
+        meetingIndex.put(meeting);
+        if (reminderScheduler != null) {
+            reminderScheduler.put(meeting);
+        }
+    }
+
+    private static void checkConflicts(List<MeetingConflict> conflicts) throws MeetingConflictException {
+        if (!conflicts.isEmpty()) {
+            throw new MeetingConflictException(conflicts);
+        }
+    }
+
+    /**
+     * This method maps the data of a Data Transfer Object to a
+     * {@link Meeting} object, with an id-only {@link Student} and {@link Teacher}.
+     *
+     * @param id          the id of the meeting, or null for an insert.
+     * @param studentId   the id of the student.
+     * @param teacherId   the id of the teacher.
+     * @param meetingRoom the room of the meeting.
+     * @param meetingDate the start of the meeting.
+     * @param meetingEnd  the end of the meeting.
+     * @return a {@link Meeting} object.
+     * @throws IllegalArgumentException if the meeting does not end after its start.
+     */
+    private Meeting map(Long id, Long studentId, Long teacherId, String meetingRoom, Date meetingDate, Date meetingEnd) {
+        if (!meetingEnd.after(meetingDate)) {
+            throw new IllegalArgumentException("Meeting must end after its start: " + meetingDate + " - " + meetingEnd);
+        }
+
+        Student student = new Student();
+        student.setId(studentId);
+        Teacher teacher = new Teacher();
+        teacher.setId(teacherId);
+
+        return new Meeting(id, student, teacher, meetingRoom, meetingDate, meetingEnd);
+    }
+}
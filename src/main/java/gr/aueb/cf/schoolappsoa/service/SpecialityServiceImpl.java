@@ -6,6 +6,8 @@ import gr.aueb.cf.schoolappsoa.dto.SpecialityInsertDTO;
 import gr.aueb.cf.schoolappsoa.dto.SpecialityUpdateDTO;
 import gr.aueb.cf.schoolappsoa.model.Speciality;
 import gr.aueb.cf.schoolappsoa.service.exceptions.SpecialityNotFoundException;
+import gr.aueb.cf.schoolappsoa.service.util.ConnectionScope;
+import gr.aueb.cf.schoolappsoa.service.util.DBUtil;
 
 import java.util.List;
 
@@ -57,14 +59,17 @@ public class SpecialityServiceImpl implements ISpecialityService {
      *                                     does not exist.
      */
     @Override
+    @SuppressWarnings("try")
     public Speciality updateSpecialty(SpecialityUpdateDTO dto) throws SpecialityDAOException, SpecialityNotFoundException {
-        Speciality speciality = map(dto);
+        try (ConnectionScope ignored = DBUtil.openScope()) {
+            Speciality speciality = map(dto);
 
-        if (specialtyDAO.getById(speciality.getId()) == null) {
-            throw new SpecialityNotFoundException(speciality.getId());
-        }
+            if (specialtyDAO.getById(speciality.getId()) == null) {
+                throw new SpecialityNotFoundException(speciality.getId());
+            }
 
-        return specialtyDAO.update(speciality);
+            return specialtyDAO.update(speciality);
+        }
     }
 
     /**
@@ -78,15 +83,18 @@ public class SpecialityServiceImpl implements ISpecialityService {
      *                                     does not exist.
      */
     @Override
+    @SuppressWarnings("try")
     public void deleteSpecialty(long id) throws SpecialityDAOException, SpecialityNotFoundException {
-        Speciality speciality = specialtyDAO.getById(id);
+        try (ConnectionScope ignored = DBUtil.openScope()) {
+            Speciality speciality = specialtyDAO.getById(id);
 
-        if (speciality == null) {
-            throw new SpecialityNotFoundException("Specialty not found");
-        }
+            if (speciality == null) {
+                throw new SpecialityNotFoundException("Specialty not found");
+            }
 
-        // TODO: Delete a Teacher if exists and after Specialty to avoid foreign key constraint violation
-        specialtyDAO.delete(id);
+            // TODO: Delete a Teacher if exists and after Specialty to avoid foreign key constraint violation
+            specialtyDAO.delete(id);
+        }
     }
 
     /**
@@ -1,8 +1,10 @@
 package gr.aueb.cf.schoolappsoa.service;
 
+import gr.aueb.cf.schoolappsoa.dao.BatchResult;
 import gr.aueb.cf.schoolappsoa.dao.ICityDAO;
 import gr.aueb.cf.schoolappsoa.dao.IStudentDAO;
 import gr.aueb.cf.schoolappsoa.dao.IUserDAO;
+import gr.aueb.cf.schoolappsoa.dao.Page;
 import gr.aueb.cf.schoolappsoa.dao.exceptions.CityDAOException;
 import gr.aueb.cf.schoolappsoa.dao.exceptions.StudentDAOException;
 import gr.aueb.cf.schoolappsoa.dao.exceptions.UserDAOException;
@@ -12,8 +14,11 @@ import gr.aueb.cf.schoolappsoa.model.City;
 import gr.aueb.cf.schoolappsoa.model.Student;
 import gr.aueb.cf.schoolappsoa.model.User;
 import gr.aueb.cf.schoolappsoa.service.exceptions.StudentNotFoundException;
+import gr.aueb.cf.schoolappsoa.service.util.ConnectionScope;
+import gr.aueb.cf.schoolappsoa.service.util.DBUtil;
 import gr.aueb.cf.schoolappsoa.service.util.DateUtil;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -57,10 +62,37 @@ public class StudentServiceImpl implements IStudentService {
      *                             related with {@link gr.aueb.cf.schoolappsoa.dao.UserDAOImpl}.
      */
     @Override
+    @SuppressWarnings("try")
     public Student insertStudent(StudentInsertDTO dto) throws StudentDAOException, CityDAOException, UserDAOException {
-        Student student = map(dto);
+        try (ConnectionScope ignored = DBUtil.openScope()) {
+            Student student = map(dto);
 
-        return studentDAO.insert(student);
+            return studentDAO.insert(student);
+        }
+    }
+
+    /**
+     * This method inserts new students in the database with
+     * batch inserts. The {@link City} and the {@link User} of each
+     * inserted student carry only their ids, as with
+     * {@link gr.aueb.cf.schoolappsoa.dao.FetchPlan#LAZY_ID}, so no
+     * query is made per student; the foreign keys are checked by the database.
+     *
+     * @param dtos the Data Transfer Objects with the data for insert the records.
+     * @return a {@link BatchResult} with the inserted {@link Student} entities.
+     * @throws StudentDAOException handles errors propagated from DAO layer
+     *                             related with {@link gr.aueb.cf.schoolappsoa.dao.StudentDAOImpl}.
+     */
+    @Override
+    public BatchResult<Student> insertStudents(List<StudentInsertDTO> dtos) throws StudentDAOException {
+        List<Student> students = new ArrayList<>(dtos.size());
+
+        for (StudentInsertDTO dto : dtos) {
+            students.add(new Student(null, dto.getFirstname(), dto.getLastname(), dto.getGender(),
+                    DateUtil.toSQLDate(dto.getBirthDate()), new City(dto.getCityId(), null),
+                    new User(dto.getUserId(), null, null)));
+        }
+        return studentDAO.insertAll(students);
     }
 
     /**
@@ -78,14 +110,17 @@ public class StudentServiceImpl implements IStudentService {
      *                                  related with {@link gr.aueb.cf.schoolappsoa.dao.UserDAOImpl}.
      */
     @Override
+    @SuppressWarnings("try")
     public Student updateStudent(StudentUpdateDTO dto) throws StudentDAOException, StudentNotFoundException, CityDAOException, UserDAOException {
-        Student student = map(dto);
+        try (ConnectionScope ignored = DBUtil.openScope()) {
+            Student student = map(dto);
 
-        if (studentDAO.getById(student.getId()) == null) {
-            throw new StudentNotFoundException(student);
-        }
+            if (studentDAO.getById(student.getId()) == null) {
+                throw new StudentNotFoundException(student);
+            }
 
-        return studentDAO.update(student);
+            return studentDAO.update(student);
+        }
     }
 
     /**
@@ -105,21 +140,24 @@ public class StudentServiceImpl implements IStudentService {
      *                                  related with {@link gr.aueb.cf.schoolappsoa.dao.UserDAOImpl}.
      */
     @Override
+    @SuppressWarnings("try")
     public boolean deleteStudent(long id) throws StudentDAOException, StudentNotFoundException, CityDAOException, UserDAOException {
-        Student student;
-        boolean studentIsDeleted = false;
+        try (ConnectionScope ignored = DBUtil.openScope()) {
+            Student student;
+            boolean studentIsDeleted = false;
 
-        student = studentDAO.getById(id);
+            student = studentDAO.getById(id);
 
-        if (student == null) {
-            throw new StudentNotFoundException("Student with id = " + id + " was not found");
-        }
+            if (student == null) {
+                throw new StudentNotFoundException("Student with id = " + id + " was not found");
+            }
 
-        if (studentDAO.delete(id)) {
-            studentIsDeleted = true;
-        }
+            if (studentDAO.delete(id)) {
+                studentIsDeleted = true;
+            }
 
-        return studentIsDeleted;
+            return studentIsDeleted;
+        }
     }
 
     /**
@@ -140,6 +178,23 @@ public class StudentServiceImpl implements IStudentService {
         return studentDAO.getByLastname(lastname);
     }
 
+    /**
+     * This method returns one page of the students where their lastname
+     * begins with the lastname given by the client, ordered by lastname.
+     *
+     * @param lastname  the lastname given by the client.
+     * @param pageSize  the maximum number of students of the page.
+     * @param pageToken the continuation token of the previous page,
+     *                  or null for the first page.
+     * @return a {@link Page} with {@link Student} objects.
+     * @throws StudentDAOException handles errors propagated from DAO layer
+     *                             related with {@link gr.aueb.cf.schoolappsoa.dao.StudentDAOImpl}.
+     */
+    @Override
+    public Page<Student> getStudentByLastname(String lastname, int pageSize, String pageToken) throws StudentDAOException {
+        return studentDAO.getByLastname(lastname, pageSize, pageToken);
+    }
+
     /**
      * This method returns a student with a certain id (primary key).
      *
@@ -1,9 +1,12 @@
 package gr.aueb.cf.schoolappsoa.service;
 
+import gr.aueb.cf.schoolappsoa.dao.BatchResult;
+import gr.aueb.cf.schoolappsoa.dao.FetchPlan;
 import gr.aueb.cf.schoolappsoa.dao.ICityDAO;
 import gr.aueb.cf.schoolappsoa.dao.ISpecialityDAO;
 import gr.aueb.cf.schoolappsoa.dao.ITeacherDAO;
 import gr.aueb.cf.schoolappsoa.dao.IUserDAO;
+import gr.aueb.cf.schoolappsoa.dao.Page;
 import gr.aueb.cf.schoolappsoa.dao.exceptions.SpecialityDAOException;
 import gr.aueb.cf.schoolappsoa.dao.exceptions.TeacherDAOException;
 import gr.aueb.cf.schoolappsoa.dao.exceptions.UserDAOException;
@@ -13,7 +16,10 @@ import gr.aueb.cf.schoolappsoa.model.Speciality;
 import gr.aueb.cf.schoolappsoa.model.Teacher;
 import gr.aueb.cf.schoolappsoa.model.User;
 import gr.aueb.cf.schoolappsoa.service.exceptions.TeacherNotFoundException;
+import gr.aueb.cf.schoolappsoa.service.util.ConnectionScope;
+import gr.aueb.cf.schoolappsoa.service.util.DBUtil;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -57,10 +63,36 @@ public class TeacherServiceImpl implements ITeacherService {
      *                                related with {@link gr.aueb.cf.schoolappsoa.dao.SpecialityDAOImpl}.
      */
     @Override
+    @SuppressWarnings("try")
     public Teacher insertTeacher(TeacherInsertDTO dto) throws TeacherDAOException, UserDAOException, SpecialityDAOException {
-        Teacher teacher = map(dto);
+        try (ConnectionScope ignored = DBUtil.openScope()) {
+            Teacher teacher = map(dto);
 
-        return teacherDAO.insert(teacher);
+            return teacherDAO.insert(teacher);
+        }
+    }
+
+    /**
+     * This method inserts new teachers in the database with
+     * batch inserts. The {@link Speciality} and the {@link User} of each
+     * inserted teacher carry only their ids, as with
+     * {@link FetchPlan#LAZY_ID}, so no query is made per teacher;
+     * the foreign keys are checked by the database.
+     *
+     * @param dtos the Data Transfer Objects with the data for insert the records.
+     * @return a {@link BatchResult} with the inserted {@link Teacher} entities.
+     * @throws TeacherDAOException handles errors propagated from DAO layer
+     *                             related with {@link gr.aueb.cf.schoolappsoa.dao.TeacherDAOImpl}.
+     */
+    @Override
+    public BatchResult<Teacher> insertTeachers(List<TeacherInsertDTO> dtos) throws TeacherDAOException {
+        List<Teacher> teachers = new ArrayList<>(dtos.size());
+
+        for (TeacherInsertDTO dto : dtos) {
+            teachers.add(new Teacher(null, dto.getSsn(), dto.getFirstname(), dto.getLastname(),
+                    new Speciality(dto.getSpecialityId(), null), new User(dto.getUserId(), null, null)));
+        }
+        return teacherDAO.insertAll(teachers);
     }
 
     /**
@@ -78,14 +110,17 @@ public class TeacherServiceImpl implements ITeacherService {
      *                                  related with {@link gr.aueb.cf.schoolappsoa.dao.SpecialityDAOImpl}.
      */
     @Override
+    @SuppressWarnings("try")
     public Teacher updateTeacher(TeacherUpdateDTO dto) throws TeacherDAOException, TeacherNotFoundException, UserDAOException, SpecialityDAOException {
-        Teacher teacher = map(dto);
+        try (ConnectionScope ignored = DBUtil.openScope()) {
+            Teacher teacher = map(dto);
 
-        if (teacherDAO.getById(teacher.getId()) == null) {
-            throw new TeacherNotFoundException(teacher);
-        }
+            if (teacherDAO.getById(teacher.getId()) == null) {
+                throw new TeacherNotFoundException(teacher);
+            }
 
-        return teacherDAO.update(teacher);
+            return teacherDAO.update(teacher);
+        }
     }
 
     /**
@@ -105,19 +140,22 @@ public class TeacherServiceImpl implements ITeacherService {
      *                                  related with {@link gr.aueb.cf.schoolappsoa.dao.UserDAOImpl}.
      */
     @Override
+    @SuppressWarnings("try")
     public boolean deleteTeacher(long id) throws TeacherDAOException, TeacherNotFoundException, SpecialityDAOException, UserDAOException {
-        Teacher teacher;
-        boolean teacherIsDeleted = false;
+        try (ConnectionScope ignored = DBUtil.openScope()) {
+            Teacher teacher;
+            boolean teacherIsDeleted = false;
 
-        teacher = teacherDAO.getById(id);
-        if (teacher == null) {
-            throw new TeacherNotFoundException("Teacher with id = " + id + " was not found");
-        }
-        if (teacherDAO.delete(id)) {
-            teacherIsDeleted = true;
-        }
+            teacher = teacherDAO.getById(id);
+            if (teacher == null) {
+                throw new TeacherNotFoundException("Teacher with id = " + id + " was not found");
+            }
+            if (teacherDAO.delete(id)) {
+                teacherIsDeleted = true;
+            }
 
-        return teacherIsDeleted;
+            return teacherIsDeleted;
+        }
     }
 
     /**
@@ -138,6 +176,43 @@ public class TeacherServiceImpl implements ITeacherService {
         return teacherDAO.getByLastname(lastname);
     }
 
+    /**
+     * This method returns the teachers where their lastname
+     * begins with the parameter given by the client, loaded
+     * according to a {@link FetchPlan}. List screens which already
+     * hold the specialities and the usernames can use
+     * {@link FetchPlan#LAZY_ID} and skip the joins.
+     *
+     * @param lastname the lastname for searching the teachers' lastname.
+     * @param plan     the {@link FetchPlan} of the query.
+     * @return an {@link java.util.ArrayList} with {@link Teacher} objects.
+     * @throws TeacherDAOException handles errors propagated from DAO layer
+     *                             related with {@link gr.aueb.cf.schoolappsoa.dao.TeacherDAOImpl}.
+     */
+    @Override
+    public List<Teacher> getTeacherByLastname(String lastname, FetchPlan plan) throws TeacherDAOException {
+        return teacherDAO.getByLastname(lastname, plan);
+    }
+
+    /**
+     * This method returns one page of the teachers where their lastname
+     * begins with the lastname given by the client, ordered by lastname
+     * and loaded according to a {@link FetchPlan}.
+     *
+     * @param lastname  the lastname given by the client.
+     * @param plan      the {@link FetchPlan} of the query.
+     * @param pageSize  the maximum number of teachers of the page.
+     * @param pageToken the continuation token of the previous page,
+     *                  or null for the first page.
+     * @return a {@link Page} with {@link Teacher} objects.
+     * @throws TeacherDAOException handles errors propagated from DAO layer
+     *                             related with {@link gr.aueb.cf.schoolappsoa.dao.TeacherDAOImpl}.
+     */
+    @Override
+    public Page<Teacher> getTeacherByLastname(String lastname, FetchPlan plan, int pageSize, String pageToken) throws TeacherDAOException {
+        return teacherDAO.getByLastname(lastname, plan, pageSize, pageToken);
+    }
+
     /**
      * This method returns a teacher with a certain id (primary key).
      *
@@ -1,20 +1,34 @@
 package gr.aueb.cf.schoolappsoa.service;
 
+import gr.aueb.cf.schoolappsoa.dao.BatchResult;
 import gr.aueb.cf.schoolappsoa.dao.IStudentDAO;
 import gr.aueb.cf.schoolappsoa.dao.ITeacherDAO;
 import gr.aueb.cf.schoolappsoa.dao.IUserDAO;
+import gr.aueb.cf.schoolappsoa.dao.Page;
 import gr.aueb.cf.schoolappsoa.dao.exceptions.*;
 import gr.aueb.cf.schoolappsoa.dto.LoginDTO;
 import gr.aueb.cf.schoolappsoa.dto.UserInsertDTO;
 import gr.aueb.cf.schoolappsoa.dto.UserUpdateDTO;
-import gr.aueb.cf.schoolappsoa.model.Student;
-import gr.aueb.cf.schoolappsoa.model.Teacher;
 import gr.aueb.cf.schoolappsoa.model.User;
+import gr.aueb.cf.schoolappsoa.model.UserProfile;
 import gr.aueb.cf.schoolappsoa.service.exceptions.UserAlreadyExistsException;
 import gr.aueb.cf.schoolappsoa.service.exceptions.UserNotFoundException;
+import gr.aueb.cf.schoolappsoa.service.provisioning.ProvisioningReport;
+import gr.aueb.cf.schoolappsoa.service.provisioning.UserProvisioningPipeline;
+import gr.aueb.cf.schoolappsoa.service.security.HashingExecutor;
 import gr.aueb.cf.schoolappsoa.service.security.SecUtil;
+import gr.aueb.cf.schoolappsoa.service.session.SessionContext;
+import gr.aueb.cf.schoolappsoa.service.session.UserSession;
+import gr.aueb.cf.schoolappsoa.service.util.ConnectionScope;
+import gr.aueb.cf.schoolappsoa.service.util.DBUtil;
+import gr.aueb.cf.schoolappsoa.service.util.UnitOfWork;
 
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * This interface implements the Public API
@@ -29,19 +43,36 @@ public class UserServiceImpl implements IUserService {
     private final IUserDAO userDAO;
     private final IStudentDAO studentDAO;
     private final ITeacherDAO teacherDAO;
+    private final HashingExecutor hasher;
 
     /**
      * Dependencies injection of {@link IUserDAO}, {@link IStudentDAO} and {@link ITeacherDAO} type
-     * implementations in Data Access Object Layer.
+     * implementations in Data Access Object Layer. The asynchronous services
+     * run on the shared {@link HashingExecutor}.
      *
      * @param userDAO    an implementation of {@link IUserDAO} interface.
      * @param studentDAO an implementation of {@link IStudentDAO} interface.
      * @param teacherDAO an implementation of {@link ITeacherDAO} interface.
      */
     public UserServiceImpl(IUserDAO userDAO, IStudentDAO studentDAO, ITeacherDAO teacherDAO) {
+        this(userDAO, studentDAO, teacherDAO, HashingExecutor.getDefault());
+    }
+
+    /**
+     * Dependencies injection of {@link IUserDAO}, {@link IStudentDAO} and {@link ITeacherDAO} type
+     * implementations in Data Access Object Layer and of the {@link HashingExecutor}
+     * of the asynchronous services.
+     *
+     * @param userDAO    an implementation of {@link IUserDAO} interface.
+     * @param studentDAO an implementation of {@link IStudentDAO} interface.
+     * @param teacherDAO an implementation of {@link ITeacherDAO} interface.
+     * @param hasher     the executor of the password hashing.
+     */
+    public UserServiceImpl(IUserDAO userDAO, IStudentDAO studentDAO, ITeacherDAO teacherDAO, HashingExecutor hasher) {
         this.userDAO = userDAO;
         this.studentDAO = studentDAO;
         this.teacherDAO = teacherDAO;
+        this.hasher = hasher;
     }
 
     /**
@@ -55,17 +86,91 @@ public class UserServiceImpl implements IUserService {
      *                                    related with {@link gr.aueb.cf.schoolappsoa.dao.UserDAOImpl}.
      */
     @Override
+    @SuppressWarnings("try")
     public User insertUser(UserInsertDTO dto) throws UserAlreadyExistsException, UserDAOException {
-        User user;
-        user = map(dto);
+        try (ConnectionScope ignored = DBUtil.openScope()) {
+            User user;
+            user = map(dto);
+
+            // checks is the user is already exists
+            User storedUser = userDAO.getByUsername(user.getUsername());
+            if (storedUser != null) {
+                throw new UserAlreadyExistsException(user);
+            }
+
+            return userDAO.insert(user);
+        }
+    }
+
+    /**
+     * This method inserts new users in the database with batch inserts.
+     * The usernames are checked first, so a taken or repeated username
+     * fails before any password is hashed; then the passwords are hashed,
+     * before a connection is checked out for the inserts.
+     *
+     * @param dtos the Data Transfer Objects with the data for insert the records.
+     * @return a {@link BatchResult} with the inserted {@link User} entities.
+     * @throws UserAlreadyExistsException handles exceptions where a username already
+     *                                    exists in the DB or appears twice in the dtos.
+     * @throws UserDAOException           handles errors propagated from DAO layer
+     *                                    related with {@link gr.aueb.cf.schoolappsoa.dao.UserDAOImpl}.
+     */
+    @Override
+    public BatchResult<User> insertUsers(List<UserInsertDTO> dtos) throws UserAlreadyExistsException, UserDAOException {
+        checkUsernames(dtos);
+        List<User> users = new ArrayList<>(dtos.size());
+
+        for (UserInsertDTO dto : dtos) {
+            users.add(new User(null, dto.getUsername(), SecUtil.hashPassword(dto.getPassword())));
+        }
+        return userDAO.insertAll(users);
+    }
 
-        // checks is the user is already exists
-        User storedUser = userDAO.getByUsername(user.getUsername());
-        if (storedUser != null) {
-            throw new UserAlreadyExistsException(user);
+    /**
+     * This method provisions users in bulk. The passwords are hashed in parallel
+     * on all the cores and the hashed users are inserted in batches while the rest
+     * are still being hashed, by a {@link UserProvisioningPipeline}. The users are
+     * inserted in one {@link UnitOfWork}, so either all the users are inserted or none.
+     * The unit of work begins at the first insert, after the usernames are checked.
+     *
+     * @param dtos the Data Transfer Objects with the data for insert the records.
+     * @return a {@link ProvisioningReport} with the inserted {@link User} entities
+     * and the throughput of every stage.
+     * @throws UserAlreadyExistsException handles exceptions where a username already
+     *                                    exists in the DB or appears twice in the dtos.
+     * @throws UserDAOException           handles errors propagated from DAO layer
+     *                                    related with {@link gr.aueb.cf.schoolappsoa.dao.UserDAOImpl}.
+     */
+    @Override
+    public ProvisioningReport provisionUsers(List<UserInsertDTO> dtos) throws UserAlreadyExistsException, UserDAOException {
+        checkUsernames(dtos);
+        return new UserProvisioningPipeline(userDAO).run(dtos);
+    }
+
+    /**
+     * Checks that no username of the dtos exists in the database
+     * or appears twice in the dtos. The database is searched with
+     * one {@link IUserDAO#getExistingUsernames} call.
+     *
+     * @param dtos the Data Transfer Objects with the data for insert the records.
+     * @throws UserAlreadyExistsException if a username is taken.
+     * @throws UserDAOException           handles errors propagated from DAO layer.
+     */
+    private void checkUsernames(List<UserInsertDTO> dtos) throws UserAlreadyExistsException, UserDAOException {
+        Set<String> usernames = new LinkedHashSet<>();
+
+        for (UserInsertDTO dto : dtos) {
+            if (!usernames.add(dto.getUsername())) {
+                throw new UserAlreadyExistsException(new User(null, dto.getUsername(), null));
+            }
         }
 
-        return userDAO.insert(user);
+        Set<String> existing = userDAO.getExistingUsernames(usernames);
+        for (String username : usernames) {
+            if (existing.contains(username)) {
+                throw new UserAlreadyExistsException(new User(null, username, null));
+            }
+        }
     }
 
     /**
@@ -78,22 +183,27 @@ public class UserServiceImpl implements IUserService {
      *                               related with {@link gr.aueb.cf.schoolappsoa.dao.UserDAOImpl}.
      */
     @Override
+    @SuppressWarnings("try")
     public User updateUser(UserUpdateDTO dto) throws UserNotFoundException, UserDAOException {
-        User user;
-        user = map(dto);
+        try (ConnectionScope ignored = DBUtil.openScope()) {
+            User user;
+            user = map(dto);
 
-        if (userDAO.getById(user.getId()) == null) {
-            throw new UserNotFoundException(user.getId());
-        }
+            if (userDAO.getById(user.getId()) == null) {
+                throw new UserNotFoundException(user.getId());
+            }
 
-        return userDAO.update(user);
+            return userDAO.update(user);
+        }
     }
 
     /**
-     * This method deletes a teacher with an id given by the user.
+     * This method deletes a user with an id given by the client.
      * If a user has a foreign key constraint with either a Student or
      * a Teacher, then this method cascades the deletion and deletes
      * the record from the corresponding table. After it deletes the user.
+     * The cascade runs in one {@link UnitOfWork}, so either all the
+     * records are deleted or none.
      *
      * @param id the id given by the client.
      * @throws UserNotFoundException  handles errors when the user does not exist.
@@ -110,27 +220,20 @@ public class UserServiceImpl implements IUserService {
      */
     @Override
     public void deleteUser(long id) throws UserNotFoundException, UserDAOException, StudentDAOException, CityDAOException, TeacherDAOException, SpecialityDAOException {
-        User user;
-        user = userDAO.getById(id);
+        try (UnitOfWork uow = DBUtil.beginUnitOfWork()) {
+            // deleting the Student or Teacher with user_id -> id, if exists
+            studentDAO.deleteByUserId(id);
+            teacherDAO.deleteByUserId(id);
 
-        if (user == null) {
-            throw new UserNotFoundException(id);
-        }
-
-        // Search if there is Student with user_id -> id
-        Student student = studentDAO.getByUserId(id);
-        if (student != null) {
-            studentDAO.delete(student.getId());
+            // the whole cascade is rolled back if there is no such user
+            if (!userDAO.delete(id)) {
+                throw new UserNotFoundException(id);
+            }
+            uow.commit();
+        } catch (SQLException e) {
+            e.printStackTrace();
+            throw new UserDAOException("SQL Error in User delete with id " + id);
         }
-
-        // Search if there is teacher with user_id -> id
-        Teacher teacher = teacherDAO.getByUserId(id);
-        if (teacher != null) {
-            teacherDAO.delete(teacher.getId());
-        }
-
-        // deleting user after deleting the Student or Teacher if exists
-        userDAO.delete(id);
     }
 
     /**
@@ -179,6 +282,21 @@ public class UserServiceImpl implements IUserService {
         return userDAO.getAll();
     }
 
+    /**
+     * This method returns one page of the users in the DB, ordered by id.
+     *
+     * @param pageSize  the maximum number of users of the page.
+     * @param pageToken the continuation token of the previous page,
+     *                  or null for the first page.
+     * @return a {@link Page} with {@link User} objects.
+     * @throws UserDAOException handles errors propagated from DAO layer
+     *                          related with {@link gr.aueb.cf.schoolappsoa.dao.UserDAOImpl}.
+     */
+    @Override
+    public Page<User> getAllUsers(int pageSize, String pageToken) throws UserDAOException {
+        return userDAO.getAll(pageSize, pageToken);
+    }
+
     /**
      * This method returns the users where their username begins
      * with the username parameter given by the client.
@@ -193,9 +311,30 @@ public class UserServiceImpl implements IUserService {
         return userDAO.getByUsernameLike(username);
     }
 
+    /**
+     * This method returns a page of the users where their username begins
+     * with the username parameter given by the client, for type-ahead search.
+     * The users carry no password hash.
+     *
+     * @param username      the username given by the client.
+     * @param afterUsername the last username of the previous page, or null for the first page.
+     * @param limit         the maximum number of users.
+     * @return an {@link java.util.ArrayList} with {@link User} objects.
+     * @throws UserDAOException handles errors propagated from DAO layer
+     *                          related with {@link gr.aueb.cf.schoolappsoa.dao.UserDAOImpl}.
+     */
+    @Override
+    public List<User> getUsersByUsernameLike(String username, String afterUsername, int limit) throws UserDAOException {
+        return userDAO.getByUsernameLike(username, afterUsername, limit);
+    }
+
     /**
      * This method checks if a {@link User} object exists in the database and authorize
-     * the user to continue in the application.
+     * the user to continue in the application. The user, its role and its student or
+     * teacher profile are read in one query and kept in the {@link SessionContext}.
+     * A failed login ends the session of the previous user.
+     * If the password of the user was hashed with a bcrypt cost other than the
+     * current one, it is hashed again.
      *
      * @param dto a {@link LoginDTO dto} object.
      * @return true if the user is authorized,
@@ -206,15 +345,82 @@ public class UserServiceImpl implements IUserService {
     @Override
     public boolean login(LoginDTO dto) throws UserDAOException {
         String hashedPasswd;
-        User user;
+        UserProfile profile;
 
-        user = userDAO.getByUsername(dto.getUsername());
-        if (user == null) {
+        profile = userDAO.getProfileByUsername(dto.getUsername());
+        if (profile == null) {
+            SessionContext.end();
+            return false;
+        }
+        hashedPasswd = profile.getUser().getPassword();
+
+        if (!SecUtil.checkPassword(dto.getPassword(), hashedPasswd)) {
+            SessionContext.end();
             return false;
         }
-        hashedPasswd = user.getPassword();
+        if (SecUtil.needsRehash(hashedPasswd)) {
+            rehash(profile.getUser(), dto.getPassword());
+        }
+        SessionContext.start(new UserSession(profile));
+        return true;
+    }
 
-        return SecUtil.checkPassword(dto.getPassword(), hashedPasswd);
+    /**
+     * This method logs out the logged in user and
+     * ends its session in the {@link SessionContext}.
+     */
+    @Override
+    public void logout() {
+        SessionContext.end();
+    }
+
+    /**
+     * Hashes again, with the current bcrypt cost, the password of a user
+     * that has just logged in. The plain password is only known at login,
+     * so the stored hashes move to a new cost as the users log in.
+     * A failed update does not fail the login; the next login retries.
+     *
+     * @param user        the {@link User} that logged in.
+     * @param inputPasswd the plain password given by the user.
+     */
+    private void rehash(User user, String inputPasswd) {
+        try {
+            user.setPassword(SecUtil.hashPassword(inputPasswd));
+            userDAO.update(user);
+        } catch (UserDAOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * This method checks a {@link User} like {@link #login(LoginDTO)}, on a
+     * thread of the {@link HashingExecutor}, so the caller, e.g. the Swing
+     * event dispatch thread, is never blocked by the bcrypt verification.
+     *
+     * @param dto a {@link LoginDTO dto} object.
+     * @return a {@link CompletableFuture} with true if the user is authorized,
+     * otherwise false. It completes exceptionally with a {@link UserDAOException}
+     * for errors propagated from DAO layer, or with a
+     * {@link java.util.concurrent.RejectedExecutionException} if the executor is saturated.
+     */
+    @Override
+    public CompletableFuture<Boolean> loginAsync(LoginDTO dto) {
+        return hasher.submit(() -> login(dto));
+    }
+
+    /**
+     * This method inserts a new user like {@link #insertUser(UserInsertDTO)}, on a
+     * thread of the {@link HashingExecutor}, so the caller is never blocked by the
+     * bcrypt hashing.
+     *
+     * @param dto the Data Transfer Object with the data for insert the record.
+     * @return a {@link CompletableFuture} with the inserted {@link User} entity. It completes
+     * exceptionally with a {@link UserAlreadyExistsException}, a {@link UserDAOException}, or a
+     * {@link java.util.concurrent.RejectedExecutionException} if the executor is saturated.
+     */
+    @Override
+    public CompletableFuture<User> insertUserAsync(UserInsertDTO dto) {
+        return hasher.submit(() -> insertUser(dto));
     }
 
     /**
@@ -0,0 +1,34 @@
+package gr.aueb.cf.schoolappsoa.service.exceptions;
+
+import gr.aueb.cf.schoolappsoa.service.scheduling.MeetingConflict;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * This exception class handles exceptions
+ * for insert or update operations. If the meeting
+ * to be saved overlaps another meeting of the same
+ * teacher, student or room.
+ *
+ * @author Thanasis Chousiadas
+ */
+public class MeetingConflictException extends Exception {
+    private static final long serialVersionUID = 1L;
+
+    private final transient List<MeetingConflict> conflicts;
+
+    /**
+     * Overloaded constructor. It receives the double bookings found.
+     *
+     * @param conflicts the {@link MeetingConflict} objects, at least one.
+     */
+    public MeetingConflictException(List<MeetingConflict> conflicts) {
+        super(conflicts.size() + " meeting conflict(s), first: " + conflicts.get(0));
+        this.conflicts = Collections.unmodifiableList(conflicts);
+    }
+
+    public List<MeetingConflict> getConflicts() {
+        return conflicts;
+    }
+}
@@ -0,0 +1,33 @@
+package gr.aueb.cf.schoolappsoa.service.exceptions;
+
+import gr.aueb.cf.schoolappsoa.model.Meeting;
+
+/**
+ * This exception class handles exceptions
+ * for update or delete operations. If the
+ * record to be updated  or the
+ * record to be deleted does not exist.
+ *
+ * @author Thanasis Chousiadas
+ */
+public class MeetingNotFoundException extends Exception {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Overloaded constructor. It receives the object {@link Meeting} to be updated of deleted.
+     *
+     * @param meeting
+     */
+    public MeetingNotFoundException(Meeting meeting) {
+        super("Meeting with id = " + meeting.getId() + " was not found");
+    }
+
+    /**
+     * Overloaded constructor that receives a custom message.
+     *
+     * @param s the message given by the client.
+     */
+    public MeetingNotFoundException(String s) {
+        super(s);
+    }
+}
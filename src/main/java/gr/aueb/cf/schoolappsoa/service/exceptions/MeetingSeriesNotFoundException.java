@@ -0,0 +1,32 @@
+package gr.aueb.cf.schoolappsoa.service.exceptions;
+
+import gr.aueb.cf.schoolappsoa.model.MeetingSeries;
+
+/**
+ * This exception class handles exceptions
+ * for cancel or delete operations. If the
+ * series of meetings does not exist.
+ *
+ * @author Thanasis Chousiadas
+ */
+public class MeetingSeriesNotFoundException extends Exception {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Overloaded constructor. It receives the object {@link MeetingSeries} which is not found.
+     *
+     * @param series the series of meetings.
+     */
+    public MeetingSeriesNotFoundException(MeetingSeries series) {
+        super("Meeting series with id = " + series.getId() + " was not found");
+    }
+
+    /**
+     * Overloaded constructor that receives a custom message.
+     *
+     * @param s the message given by the client.
+     */
+    public MeetingSeriesNotFoundException(String s) {
+        super(s);
+    }
+}
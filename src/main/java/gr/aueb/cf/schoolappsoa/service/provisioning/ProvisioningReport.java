@@ -0,0 +1,79 @@
+package gr.aueb.cf.schoolappsoa.service.provisioning;
+
+import gr.aueb.cf.schoolappsoa.model.User;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * This class holds the result of a bulk provisioning of users:
+ * the inserted users, with their generated ids, and the throughput
+ * of the hashing and the insert stages of the {@link UserProvisioningPipeline}.
+ *
+ * @author Thanasis Chousiadas
+ */
+public class ProvisioningReport {
+    private final List<User> users;
+    private final StageReport hashing;
+    private final StageReport inserting;
+    private final StageReport total;
+    private final int parallelism;
+    private final int batches;
+    private final long backpressureNanos;
+
+    /**
+     * Overloaded constructor.
+     *
+     * @param users             the inserted users.
+     * @param hashing           the report of the hashing stage.
+     * @param inserting         the report of the insert stage.
+     * @param total             the report of the whole pipeline.
+     * @param parallelism       the number of hashing threads.
+     * @param batches           the number of batch inserts.
+     * @param backpressureNanos the time the hashing threads waited for the insert stage.
+     */
+    public ProvisioningReport(List<User> users, StageReport hashing, StageReport inserting, StageReport total,
+                              int parallelism, int batches, long backpressureNanos) {
+        this.users = Collections.unmodifiableList(users);
+        this.hashing = hashing;
+        this.inserting = inserting;
+        this.total = total;
+        this.parallelism = parallelism;
+        this.batches = batches;
+        this.backpressureNanos = backpressureNanos;
+    }
+
+    public List<User> getUsers() {
+        return users;
+    }
+
+    public StageReport getHashing() {
+        return hashing;
+    }
+
+    public StageReport getInserting() {
+        return inserting;
+    }
+
+    public StageReport getTotal() {
+        return total;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public int getBatches() {
+        return batches;
+    }
+
+    public double getBackpressureMillis() {
+        return backpressureNanos / 1_000_000.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s%n%s (%d batches)%n%s (%d threads, %.1f ms backpressure)",
+                hashing, inserting, batches, total, parallelism, getBackpressureMillis());
+    }
+}
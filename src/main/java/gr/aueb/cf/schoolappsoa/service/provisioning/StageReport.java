@@ -0,0 +1,57 @@
+package gr.aueb.cf.schoolappsoa.service.provisioning;
+
+/**
+ * The throughput of one stage of the {@link UserProvisioningPipeline}:
+ * the number of items the stage processed and the time it took.
+ *
+ * @author Thanasis Chousiadas
+ */
+public class StageReport {
+    private final String name;
+    private final int items;
+    private final long elapsedNanos;
+
+    /**
+     * Overloaded constructor.
+     *
+     * @param name         the name of the stage.
+     * @param items        the number of processed items.
+     * @param elapsedNanos the time of the stage in nanoseconds.
+     */
+    public StageReport(String name, int items, long elapsedNanos) {
+        this.name = name;
+        this.items = items;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getItems() {
+        return items;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public double getElapsedMillis() {
+        return elapsedNanos / 1_000_000.0;
+    }
+
+    /**
+     * Returns the throughput of the stage.
+     *
+     * @return the items per second, or 0 if the stage took no time.
+     */
+    public double getItemsPerSecond() {
+        return elapsedNanos == 0 ? 0.0 : items * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d items in %.1f ms (%.1f/s)",
+                name, items, getElapsedMillis(), getItemsPerSecond());
+    }
+}
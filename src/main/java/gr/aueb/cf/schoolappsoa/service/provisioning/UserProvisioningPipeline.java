@@ -0,0 +1,226 @@
+package gr.aueb.cf.schoolappsoa.service.provisioning;
+
+import gr.aueb.cf.schoolappsoa.dao.BatchResult;
+import gr.aueb.cf.schoolappsoa.dao.IUserDAO;
+import gr.aueb.cf.schoolappsoa.dao.exceptions.UserDAOException;
+import gr.aueb.cf.schoolappsoa.dto.UserInsertDTO;
+import gr.aueb.cf.schoolappsoa.model.User;
+import gr.aueb.cf.schoolappsoa.service.security.SecUtil;
+import gr.aueb.cf.schoolappsoa.service.util.DBUtil;
+import gr.aueb.cf.schoolappsoa.service.util.UnitOfWork;
+import gr.aueb.cf.schoolappsoa.service.util.UnitOfWorkFactory;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class provisions users in bulk, in two stages. The passwords
+ * are hashed in parallel on a work-stealing {@link ForkJoinPool}, with
+ * one thread for every core. The hashed users pass through a bounded
+ * queue to the calling thread, which inserts them in the Users table
+ * in batches, while the rest are still being hashed. When the queue is
+ * full, the hashing threads wait for the inserts, so the users held in
+ * memory are bounded by the queue capacity.
+ * <p>
+ * The inserts run on the calling thread in one {@link UnitOfWork}, which
+ * begins at the first batch insert, so no transaction is held while the
+ * first users are hashed. Without a {@link UnitOfWorkFactory} the inserts
+ * join the unit of work of the calling thread, if any.
+ *
+ * @author Thanasis Chousiadas
+ */
+public class UserProvisioningPipeline {
+    public static final int DEFAULT_QUEUE_CAPACITY = 1024;
+    private static final long POLL_MILLIS = 100;
+
+    private final IUserDAO userDAO;
+    private final int parallelism;
+    private final int queueCapacity;
+    private final int batchSize;
+    private final UnitOfWorkFactory unitOfWorkFactory;
+
+    /**
+     * Creates a pipeline with one hashing thread for every core, the
+     * batch size of the settings of {@link DBUtil} and the inserts in
+     * a unit of work of {@link DBUtil#beginUnitOfWork()}.
+     *
+     * @param userDAO an implementation of {@link IUserDAO} interface.
+     */
+    public UserProvisioningPipeline(IUserDAO userDAO) {
+        this(userDAO, Runtime.getRuntime().availableProcessors(), DEFAULT_QUEUE_CAPACITY,
+                DBUtil.getConfig().getBatchSize(), DBUtil::beginUnitOfWork);
+    }
+
+    /**
+     * Overloaded constructor, where the inserts join the unit
+     * of work of the calling thread, if any.
+     *
+     * @param userDAO       an implementation of {@link IUserDAO} interface.
+     * @param parallelism   the number of hashing threads.
+     * @param queueCapacity the number of hashed users waiting to be inserted.
+     * @param batchSize     the number of rows of every batch insert.
+     */
+    public UserProvisioningPipeline(IUserDAO userDAO, int parallelism, int queueCapacity, int batchSize) {
+        this(userDAO, parallelism, queueCapacity, batchSize, null);
+    }
+
+    /**
+     * Overloaded constructor.
+     *
+     * @param userDAO           an implementation of {@link IUserDAO} interface.
+     * @param parallelism       the number of hashing threads.
+     * @param queueCapacity     the number of hashed users waiting to be inserted.
+     * @param batchSize         the number of rows of every batch insert.
+     * @param unitOfWorkFactory begins the unit of work of the inserts,
+     *                          or null to join the one of the calling thread.
+     */
+    public UserProvisioningPipeline(IUserDAO userDAO, int parallelism, int queueCapacity, int batchSize,
+                                    UnitOfWorkFactory unitOfWorkFactory) {
+        if (parallelism < 1 || queueCapacity < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("Parallelism, queue capacity and batch size must be positive");
+        }
+        this.userDAO = userDAO;
+        this.parallelism = parallelism;
+        this.queueCapacity = queueCapacity;
+        this.batchSize = batchSize;
+        this.unitOfWorkFactory = unitOfWorkFactory;
+    }
+
+    /**
+     * Hashes the passwords and inserts the users. The usernames
+     * are expected to be checked by the caller.
+     *
+     * @param dtos the Data Transfer Objects with the data for insert the records.
+     * @return a {@link ProvisioningReport} with the inserted users, in the order
+     * they were hashed, and the throughput of the stages.
+     * @throws UserDAOException if a batch cannot be inserted, a password cannot be
+     *                          hashed, the transaction fails or the calling thread
+     *                          is interrupted. The hashing threads are stopped and
+     *                          the inserts are rolled back.
+     */
+    public ProvisioningReport run(List<UserInsertDTO> dtos) throws UserDAOException {
+        BlockingQueue<User> hashed = new ArrayBlockingQueue<>(queueCapacity);
+        LongAccumulator lastHashed = new LongAccumulator(Math::max, 0);
+        LongAdder backpressure = new LongAdder();
+        List<User> inserted = new ArrayList<>(dtos.size());
+        List<User> batch = new ArrayList<>(batchSize);
+        long insertNanos = 0;
+        int batches = 0;
+
+        long start = System.nanoTime();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        ForkJoinTask<Void> hashing = pool.submit(
+                new HashTask(dtos, 0, dtos.size(), hashed, lastHashed, backpressure));
+        UnitOfWork uow = null;
+
+        try {
+            while (inserted.size() < dtos.size()) {
+                User user = hashed.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (user == null) {
+                    if (hashing.isCompletedAbnormally()) {
+                        hashing.getException().printStackTrace();
+                        throw new UserDAOException("Password hashing failed in user provisioning");
+                    }
+                    continue;
+                }
+
+                batch.add(user);
+                if (batch.size() == batchSize || inserted.size() + batch.size() == dtos.size()) {
+                    if (uow == null && unitOfWorkFactory != null) {
+                        uow = unitOfWorkFactory.begin();
+                    }
+                    long batchStart = System.nanoTime();
+                    BatchResult<User> result = userDAO.insertAll(batch, batchSize);
+                    insertNanos += System.nanoTime() - batchStart;
+                    inserted.addAll(result.getEntities());
+                    batches++;
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (uow != null) {
+                uow.commit();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UserDAOException("User provisioning interrupted after " + inserted.size() + " users");
+        } catch (SQLException e) {
+            e.printStackTrace();
+            throw new UserDAOException("SQL Error in the transaction of user provisioning of " + dtos.size() + " users");
+        } finally {
+            pool.shutdownNow();
+            if (uow != null) {
+                uow.close();
+            }
+        }
+
+        long end = System.nanoTime();
+        long hashEnd = dtos.isEmpty() ? start : lastHashed.get();
+        return new ProvisioningReport(inserted,
+                new StageReport("hash", dtos.size(), hashEnd - start),
+                new StageReport("insert", inserted.size(), insertNanos),
+                new StageReport("total", inserted.size(), end - start),
+                parallelism, batches, backpressure.sum());
+    }
+
+    /**
+     * Hashes the passwords of a range of the dtos, splitting the range
+     * in halves, so idle threads steal the halves of busy ones.
+     */
+    private static final class HashTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final transient List<UserInsertDTO> dtos;
+        private final int from;
+        private final int to;
+        private final transient BlockingQueue<User> hashed;
+        private final transient LongAccumulator lastHashed;
+        private final transient LongAdder backpressure;
+
+        HashTask(List<UserInsertDTO> dtos, int from, int to, BlockingQueue<User> hashed,
+                 LongAccumulator lastHashed, LongAdder backpressure) {
+            this.dtos = dtos;
+            this.from = from;
+            this.to = to;
+            this.hashed = hashed;
+            this.lastHashed = lastHashed;
+            this.backpressure = backpressure;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new HashTask(dtos, from, mid, hashed, lastHashed, backpressure),
+                        new HashTask(dtos, mid, to, hashed, lastHashed, backpressure));
+                return;
+            }
+            if (to == from) {
+                return;
+            }
+
+            UserInsertDTO dto = dtos.get(from);
+            User user = new User(null, dto.getUsername(), SecUtil.hashPassword(dto.getPassword()));
+            lastHashed.accumulate(System.nanoTime());
+
+            long offered = System.nanoTime();
+            try {
+                hashed.put(user);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                // the user is not queued, so the provisioning must fail instead of missing it
+                completeExceptionally(e);
+            } finally {
+                backpressure.add(System.nanoTime() - offered);
+            }
+        }
+    }
+}
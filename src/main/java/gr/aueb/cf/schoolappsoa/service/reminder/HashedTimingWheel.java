@@ -0,0 +1,186 @@
+package gr.aueb.cf.schoolappsoa.service.reminder;
+
+import java.util.function.Consumer;
+
+/**
+ * This class is a hashed timing wheel: a ring of buckets, one for every
+ * tick, where a task is kept in the bucket of the tick of its deadline,
+ * modulo the size of the ring. A task is added and cancelled in constant
+ * time, and a tick visits only its own bucket. A task more than one turn
+ * of the wheel ahead waits its remaining turns in its bucket; a task which
+ * is added at most one turn ahead, e.g. by a loader which reads a window
+ * of the tasks at a time, is visited only once, when it expires.
+ * <p>
+ * The wheel is not thread safe; its user serializes the calls.
+ *
+ * @param <T> the type of the tasks.
+ * @author Thanasis Chousiadas
+ */
+public class HashedTimingWheel<T> {
+    private final long tickMillis;
+    private final long startMillis;
+    private final int mask;
+    private final Timeout<T>[] buckets;
+    private long tick;
+    private int size;
+
+    /**
+     * Overloaded constructor.
+     *
+     * @param tickMillis  the duration of a tick.
+     * @param wheelSize   the number of the buckets, rounded up to a power of two.
+     * @param startMillis the time of the first tick.
+     * @throws IllegalArgumentException if the tick or the size is not positive.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public HashedTimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis <= 0 || wheelSize <= 0 || wheelSize > (1 << 30)) {
+            throw new IllegalArgumentException("Invalid timing wheel: tick = " + tickMillis + ", size = " + wheelSize);
+        }
+
+        int buckets = Integer.highestOneBit(wheelSize);
+        if (buckets < wheelSize) {
+            buckets <<= 1;
+        }
+        this.tickMillis = tickMillis;
+        this.startMillis = startMillis;
+        this.mask = buckets - 1;
+        this.buckets = (Timeout<T>[]) new Timeout[buckets];
+    }
+
+    /**
+     * This method adds a task, which expires at the first tick at or
+     * after its deadline. A deadline in the past expires at the next tick.
+     *
+     * @param deadline the time of the task.
+     * @param task     the task.
+     * @return the {@link Timeout} of the task, which cancels it.
+     */
+    public Timeout<T> schedule(long deadline, T task) {
+        long due = Math.max(tick, Math.floorDiv(deadline - startMillis + tickMillis - 1, tickMillis));
+        Timeout<T> timeout = new Timeout<>(this, task, deadline, (due - tick) / buckets.length);
+
+        int bucket = (int) (due & mask);
+        timeout.next = buckets[bucket];
+        if (timeout.next != null) {
+            timeout.next.previous = timeout;
+        }
+        timeout.bucket = bucket;
+        buckets[bucket] = timeout;
+        size++;
+        return timeout;
+    }
+
+    /**
+     * This method runs the ticks up to a time, and hands the expired
+     * tasks to a consumer, in the order of their ticks.
+     *
+     * @param now     the current time.
+     * @param expired the consumer of the expired tasks.
+     * @return the number of the expired tasks.
+     */
+    public int advance(long now, Consumer<T> expired) {
+        int count = 0;
+
+        while (timeOf(tick) <= now) {
+            Timeout<T> timeout = buckets[(int) (tick & mask)];
+            while (timeout != null) {
+                Timeout<T> next = timeout.next;
+                if (timeout.rounds == 0) {
+                    unlink(timeout);
+                    expired.accept(timeout.task);
+                    count++;
+                } else {
+                    timeout.rounds--;
+                }
+                timeout = next;
+            }
+            tick++;
+        }
+        return count;
+    }
+
+    /**
+     * @return the time of the next tick.
+     */
+    public long nextTickTime() {
+        return timeOf(tick);
+    }
+
+    /**
+     * @return the time of one turn of the wheel.
+     */
+    public long turnMillis() {
+        return tickMillis * buckets.length;
+    }
+
+    /**
+     * @return the number of the tasks which have not expired or been cancelled.
+     */
+    public int size() {
+        return size;
+    }
+
+    private long timeOf(long tick) {
+        return startMillis + tick * tickMillis;
+    }
+
+    private void unlink(Timeout<T> timeout) {
+        if (timeout.previous != null) {
+            timeout.previous.next = timeout.next;
+        } else {
+            buckets[timeout.bucket] = timeout.next;
+        }
+        if (timeout.next != null) {
+            timeout.next.previous = timeout.previous;
+        }
+        timeout.previous = null;
+        timeout.next = null;
+        timeout.bucket = -1;
+        size--;
+    }
+
+    /**
+     * The handle of a task in the wheel, a node of the list of its bucket.
+     *
+     * @param <T> the type of the task.
+     */
+    public static final class Timeout<T> {
+        private final HashedTimingWheel<T> wheel;
+        private final T task;
+        private final long deadline;
+        private long rounds;
+        private int bucket = -1;
+        private Timeout<T> previous;
+        private Timeout<T> next;
+
+        private Timeout(HashedTimingWheel<T> wheel, T task, long deadline, long rounds) {
+            this.wheel = wheel;
+            this.task = task;
+            this.deadline = deadline;
+            this.rounds = rounds;
+        }
+
+        public T getTask() {
+            return task;
+        }
+
+        public long getDeadline() {
+            return deadline;
+        }
+
+        /**
+         * This method removes the task from the wheel.
+         *
+         * @return true if the task is removed, false if it has
+         * already expired or been cancelled.
+         */
+        public boolean cancel() {
+            if (bucket < 0) {
+                return false;
+            }
+            wheel.unlink(this);
+            return true;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package gr.aueb.cf.schoolappsoa.service.reminder;
+
+import gr.aueb.cf.schoolappsoa.model.Meeting;
+
+/**
+ * This interface declares the callback of a {@link ReminderScheduler},
+ * which is called on the thread of the scheduler when a reminder of
+ * a meeting is due, so it should hand slow work to another thread.
+ *
+ * @author Thanasis Chousiadas
+ */
+@FunctionalInterface
+public interface ReminderListener {
+    void remind(Meeting meeting);
+}
@@ -0,0 +1,397 @@
+package gr.aueb.cf.schoolappsoa.service.reminder;
+
+import gr.aueb.cf.schoolappsoa.dao.IMeetingDAO;
+import gr.aueb.cf.schoolappsoa.dao.Page;
+import gr.aueb.cf.schoolappsoa.dao.exceptions.MeetingDAOException;
+import gr.aueb.cf.schoolappsoa.dao.exceptions.MeetingSeriesDAOException;
+import gr.aueb.cf.schoolappsoa.model.Meeting;
+import gr.aueb.cf.schoolappsoa.model.MeetingOccurrence;
+import gr.aueb.cf.schoolappsoa.model.MeetingSeries;
+import gr.aueb.cf.schoolappsoa.service.reminder.HashedTimingWheel.Timeout;
+import gr.aueb.cf.schoolappsoa.service.scheduling.SeriesCalendar;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class sends the reminders of the upcoming meetings, a lead time
+ * before their start, with one thread and a {@link HashedTimingWheel},
+ * instead of a scheduled task per meeting. The meetings are read from
+ * the Meetings table one window at a time, by their start: when less
+ * than half a turn of the wheel is loaded ahead, the next meetings up to
+ * one turn ahead are read, page by page, so every reminder in the wheel
+ * is due in less than one turn and a tick only visits the reminders
+ * which expire. The meetings of the saved series, which are not rows of
+ * the Meetings table, are expanded for every window by a {@link SeriesCalendar},
+ * if there is one, and get reminders as well.
+ * <p>
+ * The wheel is not saved; {@link #start()} derives it from the table.
+ * A reminder which was due while the application was down is sent at
+ * the start, if its meeting has not started yet. Which reminders were
+ * already sent is not saved either, so a restart sends again the
+ * reminders of the meetings which start within the lead time: a
+ * reminder can be duplicated on a restart, but it is never lost.
+ * If the first window cannot be read, e.g. the tables do not exist yet,
+ * the ticks start anyway and the load is tried again at the next tick.
+ * The meetings which are saved or deleted after they are loaded are
+ * passed to {@link #put(Meeting)} and {@link #remove(long)}, e.g. by the
+ * {@link gr.aueb.cf.schoolappsoa.service.MeetingServiceImpl} which saves them,
+ * and the series to {@link #putSeries(MeetingSeries)}, {@link #cancelOccurrence(long, Date)}
+ * and {@link #removeSeries(long)}, by the
+ * {@link gr.aueb.cf.schoolappsoa.service.MeetingSeriesServiceImpl}.
+ *
+ * @author Thanasis Chousiadas
+ */
+public class ReminderScheduler implements AutoCloseable {
+
+    /**
+     * The number of the meetings of a page of a load.
+     */
+    public static final int PAGE_SIZE = 500;
+
+    private final IMeetingDAO meetingDAO;
+    private final SeriesCalendar seriesCalendar;
+    private final ReminderListener listener;
+    private final long leadMillis;
+    private final long tickMillis;
+    private final Clock clock;
+    private final HashedTimingWheel<Meeting> wheel;
+    private final Map<Long, Timeout<Meeting>> timeouts = new HashMap<>();
+    // the reminders of the meetings of a series, which have no id, by the start of the meeting
+    private final Map<Long, Map<Long, Timeout<Meeting>>> occurrenceTimeouts = new HashMap<>();
+    private long loadedUntil;
+    private boolean started;
+    private ScheduledExecutorService executor;
+
+    /**
+     * Dependencies injection of {@link IMeetingDAO} type implementation
+     * in Data Access Object Layer and of the {@link ReminderListener}.
+     * The wheel ticks every second and turns in about an hour.
+     *
+     * @param meetingDAO an implementation of {@link IMeetingDAO} interface.
+     * @param lead       the time of the reminder before the start of a meeting.
+     * @param listener   the callback of the reminders.
+     */
+    public ReminderScheduler(IMeetingDAO meetingDAO, Duration lead, ReminderListener listener) {
+        this(meetingDAO, null, lead, listener);
+    }
+
+    /**
+     * Dependencies injection of {@link IMeetingDAO} type implementation
+     * in Data Access Object Layer, of the {@link SeriesCalendar} and of the
+     * {@link ReminderListener}. The wheel ticks every second and turns in
+     * about an hour.
+     *
+     * @param meetingDAO     an implementation of {@link IMeetingDAO} interface.
+     * @param seriesCalendar the meetings of the saved series, or null if
+     *                       only the meetings of meetingDAO get reminders.
+     * @param lead           the time of the reminder before the start of a meeting.
+     * @param listener       the callback of the reminders.
+     */
+    public ReminderScheduler(IMeetingDAO meetingDAO, SeriesCalendar seriesCalendar, Duration lead,
+                             ReminderListener listener) {
+        this(meetingDAO, seriesCalendar, lead, listener, Duration.ofSeconds(1), 4096, Clock.systemUTC());
+    }
+
+    /**
+     * Dependencies injection of {@link IMeetingDAO} type implementation
+     * in Data Access Object Layer, of the {@link ReminderListener} and of
+     * the {@link Clock}.
+     *
+     * @param meetingDAO an implementation of {@link IMeetingDAO} interface.
+     * @param lead       the time of the reminder before the start of a meeting.
+     * @param listener   the callback of the reminders.
+     * @param tick       the duration of a tick of the wheel.
+     * @param wheelSize  the number of the ticks of a turn of the wheel.
+     * @param clock      the clock of the reminders.
+     */
+    public ReminderScheduler(IMeetingDAO meetingDAO, Duration lead, ReminderListener listener, Duration tick,
+                             int wheelSize, Clock clock) {
+        this(meetingDAO, null, lead, listener, tick, wheelSize, clock);
+    }
+
+    /**
+     * Dependencies injection of {@link IMeetingDAO} type implementation
+     * in Data Access Object Layer, of the {@link SeriesCalendar}, of the
+     * {@link ReminderListener} and of the {@link Clock}.
+     *
+     * @param meetingDAO     an implementation of {@link IMeetingDAO} interface.
+     * @param seriesCalendar the meetings of the saved series, or null if
+     *                       only the meetings of meetingDAO get reminders.
+     * @param lead           the time of the reminder before the start of a meeting.
+     * @param listener       the callback of the reminders.
+     * @param tick           the duration of a tick of the wheel.
+     * @param wheelSize      the number of the ticks of a turn of the wheel.
+     * @param clock          the clock of the reminders.
+     */
+    public ReminderScheduler(IMeetingDAO meetingDAO, SeriesCalendar seriesCalendar, Duration lead,
+                             ReminderListener listener, Duration tick, int wheelSize, Clock clock) {
+        this.meetingDAO = meetingDAO;
+        this.seriesCalendar = seriesCalendar;
+        this.listener = listener;
+        this.leadMillis = lead.toMillis();
+        this.tickMillis = tick.toMillis();
+        this.clock = clock;
+        this.wheel = new HashedTimingWheel<>(tickMillis, wheelSize, clock.millis());
+    }
+
+    /**
+     * This method starts the thread of the ticks and loads the meetings
+     * which start from now up to one turn of the wheel after their lead
+     * time. If the load fails, the ticks go on and try it again.
+     *
+     * @throws MeetingDAOException       handles errors propagated from DAO layer
+     *                                   related with {@link gr.aueb.cf.schoolappsoa.dao.MeetingDAOImpl}.
+     * @throws MeetingSeriesDAOException handles errors propagated from DAO layer
+     *                                   related with {@link gr.aueb.cf.schoolappsoa.dao.MeetingSeriesDAOImpl}.
+     * @throws IllegalStateException     if the scheduler is already started.
+     */
+    public synchronized void start() throws MeetingDAOException, MeetingSeriesDAOException {
+        begin();
+
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "meeting-reminders");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleAtFixedRate(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+        load(loadedUntil + leadMillis + wheel.turnMillis());
+    }
+
+    /**
+     * This method adds or moves the reminder of a saved meeting, if its
+     * window is already loaded; otherwise it is read with its window.
+     *
+     * @param meeting the saved {@link Meeting}.
+     */
+    public synchronized void put(Meeting meeting) {
+        remove(meeting.getId());
+        long start = meeting.getMeetingDate().getTime();
+
+        if (started && start < loadedUntil && start > clock.millis()) {
+            schedule(meeting);
+        }
+    }
+
+    /**
+     * This method cancels the reminder of a meeting, if it is not sent yet.
+     *
+     * @param id the id of the meeting.
+     */
+    public synchronized void remove(long id) {
+        Timeout<Meeting> timeout = timeouts.remove(id);
+        if (timeout != null) {
+            timeout.cancel();
+        }
+    }
+
+    /**
+     * This method adds the reminders of the meetings of a saved series
+     * in the loaded window; the later ones are read with their windows.
+     *
+     * @param series the saved {@link MeetingSeries}.
+     */
+    public synchronized void putSeries(MeetingSeries series) {
+        removeSeries(series.getId());
+        long now = clock.millis();
+
+        if (started && seriesCalendar != null && now < loadedUntil) {
+            Iterator<MeetingOccurrence> occurrences =
+                    seriesCalendar.getOccurrences(series, new Date(now), new Date(loadedUntil));
+            while (occurrences.hasNext()) {
+                MeetingOccurrence occurrence = occurrences.next();
+                if (occurrence.getMeetingDate().getTime() > now) {
+                    scheduleOccurrence(occurrence);
+                }
+            }
+        }
+    }
+
+    /**
+     * This method cancels the reminder of a cancelled meeting of a series,
+     * if it is not sent yet.
+     *
+     * @param seriesId    the id of the series.
+     * @param meetingDate the start of the cancelled meeting.
+     */
+    public synchronized void cancelOccurrence(long seriesId, Date meetingDate) {
+        Map<Long, Timeout<Meeting>> bySeries = occurrenceTimeouts.get(seriesId);
+        if (bySeries == null) {
+            return;
+        }
+
+        Timeout<Meeting> timeout = bySeries.remove(meetingDate.getTime());
+        if (timeout != null) {
+            timeout.cancel();
+        }
+        if (bySeries.isEmpty()) {
+            occurrenceTimeouts.remove(seriesId);
+        }
+    }
+
+    /**
+     * This method cancels the reminders of the meetings of a series,
+     * which are not sent yet.
+     *
+     * @param seriesId the id of the series.
+     */
+    public synchronized void removeSeries(long seriesId) {
+        Map<Long, Timeout<Meeting>> bySeries = occurrenceTimeouts.remove(seriesId);
+        if (bySeries != null) {
+            for (Timeout<Meeting> timeout : bySeries.values()) {
+                timeout.cancel();
+            }
+        }
+    }
+
+    /**
+     * @return the number of the reminders which are waiting in the wheel.
+     */
+    public synchronized int pending() {
+        return wheel.size();
+    }
+
+    /**
+     * This method stops the thread of the ticks. The waiting reminders are not sent.
+     */
+    @Override
+    public synchronized void close() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * This method loads the first window of the meetings, without the
+     * thread of the ticks. The meetings which start within the lead time
+     * are due at once, even if their reminders were sent before a restart.
+     *
+     * @throws MeetingDAOException       if the meetings cannot be read.
+     * @throws MeetingSeriesDAOException if the series cannot be read.
+     * @throws IllegalStateException     if the scheduler is already started.
+     */
+    synchronized void startLoading() throws MeetingDAOException, MeetingSeriesDAOException {
+        begin();
+        load(loadedUntil + leadMillis + wheel.turnMillis());
+    }
+
+    /**
+     * This method marks the scheduler as started, with an empty window
+     * which ends now, so a failed first load is tried again by a tick.
+     */
+    private void begin() {
+        if (started) {
+            throw new IllegalStateException("Reminder scheduler is already started");
+        }
+
+        loadedUntil = clock.millis();
+        started = true;
+    }
+
+    /**
+     * This method runs the ticks which are due, then sends the expired
+     * reminders out of the lock, and reads the next window of the meetings
+     * when less than half a turn is loaded. An error does not stop the
+     * ticks: a failed load is tried again at the next tick.
+     */
+    void tick() {
+        List<Meeting> due = new ArrayList<>();
+
+        synchronized (this) {
+            long now = clock.millis();
+            wheel.advance(now, meeting -> {
+                if (meeting instanceof MeetingOccurrence) {
+                    expired((MeetingOccurrence) meeting);
+                } else {
+                    timeouts.remove(meeting.getId());
+                }
+                due.add(meeting);
+            });
+
+            if (loadedUntil - leadMillis - now <= wheel.turnMillis() / 2) {
+                try {
+                    load(now + leadMillis + wheel.turnMillis());
+                } catch (MeetingDAOException | MeetingSeriesDAOException e) {
+                    e.printStackTrace();
+                }
+            }
+        }
+
+        for (Meeting meeting : due) {
+            try {
+                listener.remind(meeting);
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * This method reads the meetings which start from the end of the
+     * loaded window up to a time, page by page, and the meetings of the
+     * series which start in the same window, and adds their reminders.
+     * The window is moved only after all of them are read.
+     */
+    private void load(long until) throws MeetingDAOException, MeetingSeriesDAOException {
+        String pageToken = null;
+
+        do {
+            Page<Meeting> page = meetingDAO.getByDate(new Date(loadedUntil), new Date(until), PAGE_SIZE, pageToken);
+            for (Meeting meeting : page.getItems()) {
+                remove(meeting.getId());
+                schedule(meeting);
+            }
+            pageToken = page.getNextPageToken();
+        } while (pageToken != null);
+
+        if (seriesCalendar != null) {
+            Iterator<MeetingOccurrence> occurrences =
+                    seriesCalendar.getOccurrences(new Date(loadedUntil), new Date(until));
+            while (occurrences.hasNext()) {
+                MeetingOccurrence occurrence = occurrences.next();
+                // a meeting which started before the window was read with the previous one
+                if (occurrence.getMeetingDate().getTime() >= loadedUntil) {
+                    scheduleOccurrence(occurrence);
+                }
+            }
+        }
+
+        loadedUntil = until;
+    }
+
+    private void schedule(Meeting meeting) {
+        timeouts.put(meeting.getId(), wheel.schedule(meeting.getMeetingDate().getTime() - leadMillis, meeting));
+    }
+
+    private void scheduleOccurrence(MeetingOccurrence occurrence) {
+        long start = occurrence.getMeetingDate().getTime();
+        Map<Long, Timeout<Meeting>> bySeries =
+                occurrenceTimeouts.computeIfAbsent(occurrence.getSeries().getId(), id -> new HashMap<>());
+
+        Timeout<Meeting> old = bySeries.put(start, wheel.schedule(start - leadMillis, occurrence));
+        if (old != null) {
+            old.cancel();
+        }
+    }
+
+    private void expired(MeetingOccurrence occurrence) {
+        Long seriesId = occurrence.getSeries().getId();
+        Map<Long, Timeout<Meeting>> bySeries = occurrenceTimeouts.get(seriesId);
+
+        if (bySeries != null) {
+            bySeries.remove(occurrence.getMeetingDate().getTime());
+            if (bySeries.isEmpty()) {
+                occurrenceTimeouts.remove(seriesId);
+            }
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package gr.aueb.cf.schoolappsoa.service.scheduling;
+
+import java.util.Date;
+
+/**
+ * This class holds a time slot where a teacher, a student
+ * and a room are all free.
+ *
+ * @author Thanasis Chousiadas
+ */
+public class FreeSlot {
+    private final Date start;
+    private final Date end;
+    private final String meetingRoom;
+
+    /**
+     * Overloaded constructor.
+     *
+     * @param start       the start of the slot, inclusive.
+     * @param end         the end of the slot, exclusive.
+     * @param meetingRoom the free room.
+     */
+    public FreeSlot(Date start, Date end, String meetingRoom) {
+        this.start = start;
+        this.end = end;
+        this.meetingRoom = meetingRoom;
+    }
+
+    public Date getStart() {
+        return start;
+    }
+
+    public Date getEnd() {
+        return end;
+    }
+
+    public String getMeetingRoom() {
+        return meetingRoom;
+    }
+
+    @Override
+    public String toString() {
+        return "FreeSlot{" +
+                "start=" + start +
+                ", end=" + end +
+                ", meetingRoom='" + meetingRoom + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,196 @@
+package gr.aueb.cf.schoolappsoa.service.scheduling;
+
+import gr.aueb.cf.schoolappsoa.dao.exceptions.MeetingDAOException;
+import gr.aueb.cf.schoolappsoa.dao.exceptions.MeetingSeriesDAOException;
+import gr.aueb.cf.schoolappsoa.model.Meeting;
+import gr.aueb.cf.schoolappsoa.model.MeetingOccurrence;
+import gr.aueb.cf.schoolappsoa.service.scheduling.MeetingConflict.Resource;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * This class finds the earliest slots where a teacher, a student and
+ * a room of a pool are all free, without a query per slot. The busy
+ * intervals of the teacher, the student and every room in the horizon
+ * are read from a {@link MeetingIndex} and merged with the meetings of
+ * their series from a {@link SeriesCalendar}, both sorted by start. The
+ * busy lists of the teacher and the student are merged and turned into
+ * their common free intervals, which are intersected with the free
+ * intervals of every room; all in linear passes over the sorted lists.
+ *
+ * @author Thanasis Chousiadas
+ */
+public class FreeSlotFinder {
+    private final MeetingIndex meetingIndex;
+    private final SeriesCalendar seriesCalendar;
+
+    /**
+     * Dependencies injection of the {@link MeetingIndex} and the {@link SeriesCalendar}.
+     *
+     * @param meetingIndex   the index of the saved meetings.
+     * @param seriesCalendar the meetings of the saved series.
+     */
+    public FreeSlotFinder(MeetingIndex meetingIndex, SeriesCalendar seriesCalendar) {
+        this.meetingIndex = meetingIndex;
+        this.seriesCalendar = seriesCalendar;
+    }
+
+    /**
+     * This method returns the earliest slots of a duration in a horizon,
+     * where the teacher, the student and a room are all free. The slots
+     * do not overlap each other; each one starts as early as possible
+     * after the end of the previous one. The rooms are preferred in their order.
+     *
+     * @param teacherId the id of the teacher.
+     * @param studentId the id of the student.
+     * @param rooms     the pool of the rooms.
+     * @param duration  the duration of a slot.
+     * @param from      the start of the horizon, inclusive.
+     * @param to        the end of the horizon, exclusive.
+     * @param limit     the maximum number of the slots.
+     * @return a {@link List} of at most limit {@link FreeSlot} objects, in the order of their start.
+     * @throws MeetingDAOException handles errors propagated from DAO layer
+     *                             related with {@link gr.aueb.cf.schoolappsoa.dao.MeetingDAOImpl},
+     *                             if the index is built at this call.
+     * @throws MeetingSeriesDAOException handles errors propagated from DAO layer
+     *                                   related with {@link gr.aueb.cf.schoolappsoa.dao.MeetingSeriesDAOImpl}.
+     * @throws IllegalArgumentException if the duration is not positive.
+     */
+    public List<FreeSlot> findEarliest(long teacherId, long studentId, List<String> rooms, Duration duration,
+                                       Date from, Date to, int limit)
+            throws MeetingDAOException, MeetingSeriesDAOException {
+        long length = duration.toMillis();
+        if (length <= 0) {
+            throw new IllegalArgumentException("Duration must be positive: " + duration);
+        }
+
+        List<long[]> people = free(merge(
+                busy(Resource.TEACHER, teacherId, from, to),
+                busy(Resource.STUDENT, studentId, from, to)), from.getTime(), to.getTime());
+
+        List<List<long[]>> windows = new ArrayList<>(rooms.size());
+        for (String room : rooms) {
+            List<long[]> roomFree = free(busy(Resource.ROOM, room, from, to), from.getTime(), to.getTime());
+            windows.add(intersect(people, roomFree));
+        }
+
+        List<FreeSlot> slots = new ArrayList<>();
+        int[] next = new int[rooms.size()];
+        long after = from.getTime();
+
+        while (slots.size() < limit) {
+            long best = Long.MAX_VALUE;
+            int bestRoom = -1;
+
+            for (int r = 0; r < windows.size(); r++) {
+                List<long[]> roomWindows = windows.get(r);
+                // the windows of a room which end too early for a slot are never needed again
+                while (next[r] < roomWindows.size()
+                        && Math.max(roomWindows.get(next[r])[0], after) + length > roomWindows.get(next[r])[1]) {
+                    next[r]++;
+                }
+                if (next[r] < roomWindows.size()) {
+                    long start = Math.max(roomWindows.get(next[r])[0], after);
+                    if (start < best) {
+                        best = start;
+                        bestRoom = r;
+                    }
+                }
+            }
+
+            if (bestRoom < 0) {
+                break;
+            }
+            slots.add(new FreeSlot(new Date(best), new Date(best + length), rooms.get(bestRoom)));
+            after = best + length;
+        }
+        return slots;
+    }
+
+    private List<long[]> busy(Resource resource, Object owner, Date from, Date to)
+            throws MeetingDAOException, MeetingSeriesDAOException {
+        List<Meeting> meetings = meetingIndex.getMeetings(resource, owner, from, to);
+        List<long[]> busy = new ArrayList<>(meetings.size());
+
+        for (Meeting meeting : meetings) {
+            busy.add(new long[]{meeting.getMeetingDate().getTime(), meeting.getMeetingEnd().getTime()});
+        }
+
+        List<long[]> series = new ArrayList<>();
+        Iterator<MeetingOccurrence> occurrences = seriesCalendar.getOccurrences(resource, owner, from, to);
+        while (occurrences.hasNext()) {
+            MeetingOccurrence occurrence = occurrences.next();
+            series.add(new long[]{occurrence.getMeetingDate().getTime(), occurrence.getMeetingEnd().getTime()});
+        }
+        return merge(busy, series);
+    }
+
+    /**
+     * Merges two lists of intervals, sorted by start, to one sorted list.
+     */
+    static List<long[]> merge(List<long[]> a, List<long[]> b) {
+        List<long[]> merged = new ArrayList<>(a.size() + b.size());
+        int i = 0;
+        int j = 0;
+
+        while (i < a.size() || j < b.size()) {
+            if (j == b.size() || (i < a.size() && a.get(i)[0] <= b.get(j)[0])) {
+                merged.add(a.get(i++));
+            } else {
+                merged.add(b.get(j++));
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Returns the free intervals of [from, to) outside busy intervals
+     * sorted by start, which may overlap each other.
+     */
+    static List<long[]> free(List<long[]> busy, long from, long to) {
+        List<long[]> free = new ArrayList<>();
+        long cursor = from;
+
+        for (long[] interval : busy) {
+            if (interval[0] > cursor) {
+                free.add(new long[]{cursor, Math.min(interval[0], to)});
+            }
+            cursor = Math.max(cursor, interval[1]);
+            if (cursor >= to) {
+                return free;
+            }
+        }
+        if (cursor < to) {
+            free.add(new long[]{cursor, to});
+        }
+        return free;
+    }
+
+    /**
+     * Returns the intersection of two lists of disjoint intervals sorted by start.
+     */
+    static List<long[]> intersect(List<long[]> a, List<long[]> b) {
+        List<long[]> common = new ArrayList<>();
+        int i = 0;
+        int j = 0;
+
+        while (i < a.size() && j < b.size()) {
+            long start = Math.max(a.get(i)[0], b.get(j)[0]);
+            long end = Math.min(a.get(i)[1], b.get(j)[1]);
+            if (start < end) {
+                common.add(new long[]{start, end});
+            }
+
+            if (a.get(i)[1] < b.get(j)[1]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return common;
+    }
+}
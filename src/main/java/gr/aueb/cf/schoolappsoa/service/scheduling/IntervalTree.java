@@ -0,0 +1,252 @@
+package gr.aueb.cf.schoolappsoa.service.scheduling;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class is an interval tree: an AVL tree of half-open intervals
+ * [start, end), ordered by start and id, where every node keeps the
+ * maximum end of its subtree. Inserts and removes take O(log n); an
+ * overlap query takes O(log n) to find one overlapping interval and
+ * O(log n + k) to find all the k overlapping intervals.
+ * <p>
+ * This class is not thread safe.
+ *
+ * @param <T> the type of the values of the intervals.
+ * @author Thanasis Chousiadas
+ */
+public class IntervalTree<T> {
+    private Node<T> root;
+    private int size;
+
+    /**
+     * Inserts an interval, or replaces the interval with the same
+     * start and id.
+     *
+     * @param start the start of the interval, inclusive.
+     * @param end   the end of the interval, exclusive.
+     * @param id    the id of the interval, which orders intervals with the same start.
+     * @param value the value of the interval.
+     * @throws IllegalArgumentException if the interval does not end after its start.
+     */
+    public void insert(long start, long end, long id, T value) {
+        if (end <= start) {
+            throw new IllegalArgumentException("Interval must end after its start: [" + start + ", " + end + ")");
+        }
+        root = insert(root, new Node<>(start, end, id, value));
+    }
+
+    /**
+     * Removes an interval.
+     *
+     * @param start the start of the interval.
+     * @param id    the id of the interval.
+     * @return true if the interval was in the tree, otherwise false.
+     */
+    public boolean remove(long start, long id) {
+        int before = size;
+        root = remove(root, start, id);
+        return size < before;
+    }
+
+    /**
+     * Finds one interval which overlaps [start, end), with one
+     * walk from the root to a leaf.
+     *
+     * @param start the start of the query, inclusive.
+     * @param end   the end of the query, exclusive.
+     * @return the value of an overlapping interval, or null if there is none.
+     */
+    public T findAnyOverlap(long start, long end) {
+        Node<T> node = root;
+
+        while (node != null) {
+            if (node.start < end && start < node.end) {
+                return node.value;
+            }
+            // if an interval of the left subtree ends after the start but does not
+            // overlap, it starts after the end, and so does every interval on the right
+            node = node.left != null && node.left.maxEnd > start ? node.left : node.right;
+        }
+        return null;
+    }
+
+    /**
+     * Finds all the intervals which overlap [start, end), in the
+     * order of their start.
+     *
+     * @param start the start of the query, inclusive.
+     * @param end   the end of the query, exclusive.
+     * @return a {@link List} with the values of the overlapping intervals.
+     */
+    public List<T> findOverlaps(long start, long end) {
+        List<T> values = new ArrayList<>();
+        collect(root, start, end, values);
+        return values;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the height of the tree, which is at most
+     * 1.44 log2(n + 2).
+     *
+     * @return the height of the tree, 0 if it is empty.
+     */
+    public int height() {
+        return height(root);
+    }
+
+    private void collect(Node<T> node, long start, long end, List<T> values) {
+        // no interval of this subtree ends after the start
+        if (node == null || node.maxEnd <= start) {
+            return;
+        }
+
+        collect(node.left, start, end, values);
+        if (node.start < end) {
+            if (start < node.end) {
+                values.add(node.value);
+            }
+            collect(node.right, start, end, values);
+        }
+    }
+
+    private Node<T> insert(Node<T> node, Node<T> added) {
+        if (node == null) {
+            size++;
+            return added;
+        }
+
+        int c = compare(added.start, added.id, node);
+        if (c < 0) {
+            node.left = insert(node.left, added);
+        } else if (c > 0) {
+            node.right = insert(node.right, added);
+        } else {
+            node.end = added.end;
+            node.value = added.value;
+        }
+        return balance(node);
+    }
+
+    private Node<T> remove(Node<T> node, long start, long id) {
+        if (node == null) {
+            return null;
+        }
+
+        int c = compare(start, id, node);
+        if (c < 0) {
+            node.left = remove(node.left, start, id);
+        } else if (c > 0) {
+            node.right = remove(node.right, start, id);
+        } else {
+            size--;
+            if (node.left == null) {
+                return node.right;
+            }
+            if (node.right == null) {
+                return node.left;
+            }
+
+            Node<T> successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            successor.right = removeMin(node.right);
+            successor.left = node.left;
+            node = successor;
+        }
+        return balance(node);
+    }
+
+    private Node<T> removeMin(Node<T> node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        node.left = removeMin(node.left);
+        return balance(node);
+    }
+
+    private Node<T> balance(Node<T> node) {
+        update(node);
+        int factor = height(node.left) - height(node.right);
+
+        if (factor > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (factor < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private Node<T> rotateRight(Node<T> node) {
+        Node<T> left = node.left;
+        node.left = left.right;
+        left.right = node;
+        update(node);
+        update(left);
+        return left;
+    }
+
+    private Node<T> rotateLeft(Node<T> node) {
+        Node<T> right = node.right;
+        node.right = right.left;
+        right.left = node;
+        update(node);
+        update(right);
+        return right;
+    }
+
+    private static void update(Node<?> node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        node.maxEnd = node.end;
+        if (node.left != null) {
+            node.maxEnd = Math.max(node.maxEnd, node.left.maxEnd);
+        }
+        if (node.right != null) {
+            node.maxEnd = Math.max(node.maxEnd, node.right.maxEnd);
+        }
+    }
+
+    private static int height(Node<?> node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static int compare(long start, long id, Node<?> node) {
+        int c = Long.compare(start, node.start);
+        return c != 0 ? c : Long.compare(id, node.id);
+    }
+
+    private static final class Node<T> {
+        private final long start;
+        private final long id;
+        private long end;
+        private long maxEnd;
+        private T value;
+        private int height = 1;
+        private Node<T> left;
+        private Node<T> right;
+
+        private Node(long start, long end, long id, T value) {
+            this.start = start;
+            this.end = end;
+            this.maxEnd = end;
+            this.id = id;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package gr.aueb.cf.schoolappsoa.service.scheduling;
+
+import gr.aueb.cf.schoolappsoa.model.Meeting;
+
+/**
+ * This class holds a double booking: a meeting which overlaps
+ * another meeting of the same teacher, student or room.
+ *
+ * @author Thanasis Chousiadas
+ */
+public class MeetingConflict {
+
+    /**
+     * The resource which is booked by both meetings.
+     */
+    public enum Resource {
+        TEACHER, STUDENT, ROOM
+    }
+
+    private final Meeting meeting;
+    private final Meeting other;
+    private final Resource resource;
+
+    /**
+     * Overloaded constructor.
+     *
+     * @param meeting  the meeting which is checked.
+     * @param other    the meeting it overlaps.
+     * @param resource the resource booked by both meetings.
+     */
+    public MeetingConflict(Meeting meeting, Meeting other, Resource resource) {
+        this.meeting = meeting;
+        this.other = other;
+        this.resource = resource;
+    }
+
+    public Meeting getMeeting() {
+        return meeting;
+    }
+
+    public Meeting getOther() {
+        return other;
+    }
+
+    public Resource getResource() {
+        return resource;
+    }
+
+    @Override
+    public String toString() {
+        return "MeetingConflict{" +
+                "resource=" + resource +
+                ", meeting=" + meeting +
+                ", other=" + other +
+                '}';
+    }
+}
@@ -0,0 +1,423 @@
+package gr.aueb.cf.schoolappsoa.service.scheduling;
+
+import gr.aueb.cf.schoolappsoa.dao.IMeetingDAO;
+import gr.aueb.cf.schoolappsoa.dao.exceptions.MeetingDAOException;
+import gr.aueb.cf.schoolappsoa.dao.exceptions.StreamDAOException;
+import gr.aueb.cf.schoolappsoa.model.Meeting;
+import gr.aueb.cf.schoolappsoa.model.Student;
+import gr.aueb.cf.schoolappsoa.model.Teacher;
+import gr.aueb.cf.schoolappsoa.service.scheduling.MeetingConflict.Resource;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * This class keeps the meetings of the Meetings table in memory, in an
+ * {@link IntervalTree} per teacher, per student and per room, so a
+ * double booking is found without a query. The index is built from the
+ * table at its first use, or by {@link #load()}, and then it is kept up
+ * to date by {@link #put(Meeting)} and {@link #remove(long)} after every
+ * insert, update and delete of a meeting.
+ * <p>
+ * A meeting is checked with one overlap query per resource. A batch of
+ * meetings is checked with a single sweep over the batch and the indexed
+ * meetings of the same resources in the span of the batch.
+ * <p>
+ * A check and the save of the checked meetings are atomic only inside a
+ * {@link Booking}, which holds the write lock of the index, so no other
+ * booking can save an overlapping meeting in between.
+ * <pre>{@code
+ * try (MeetingIndex.Booking booking = meetingIndex.beginBooking()) {
+ *     // check the conflicts, save the meeting and put it in the index
+ * }
+ * }</pre>
+ *
+ * @author Thanasis Chousiadas
+ */
+public class MeetingIndex {
+    private static final Comparator<Meeting> BY_START =
+            Comparator.comparingLong(MeetingIndex::startOf).thenComparingLong(MeetingIndex::endOf);
+    private static final Comparator<Meeting> BY_END = Comparator.comparingLong(MeetingIndex::endOf);
+
+    private final IMeetingDAO meetingDAO;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Resource, Map<Object, IntervalTree<Meeting>>> trees = new EnumMap<>(Resource.class);
+    private final Map<Long, Meeting> meetings = new HashMap<>();
+    private volatile boolean loaded;
+
+    /**
+     * Dependency injection of {@link IMeetingDAO} type
+     * implementation in Data Access Object Layer.
+     *
+     * @param meetingDAO an implementation of {@link IMeetingDAO} interface,
+     *                   which the index is built from.
+     */
+    public MeetingIndex(IMeetingDAO meetingDAO) {
+        this.meetingDAO = meetingDAO;
+        for (Resource resource : Resource.values()) {
+            trees.put(resource, new HashMap<>());
+        }
+    }
+
+    /**
+     * This method builds the index again from all the records
+     * of the Meetings table.
+     *
+     * @throws MeetingDAOException handles errors propagated from DAO layer
+     *                             related with {@link gr.aueb.cf.schoolappsoa.dao.MeetingDAOImpl}.
+     */
+    public void load() throws MeetingDAOException {
+        lock.writeLock().lock();
+        try (Stream<Meeting> stream = meetingDAO.streamAll()) {
+            clear();
+            stream.forEach(this::add);
+            loaded = true;
+        } catch (StreamDAOException e) {
+            e.printStackTrace();
+            clear();
+            throw new MeetingDAOException("SQL Error in Meetings index load");
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * This method begins a booking: until it is closed, the calling thread
+     * holds the write lock of the index, so the conflicts it finds cannot
+     * change before it saves its meetings and puts them in the index. The
+     * other bookings wait, and so do the readers of the index.
+     *
+     * @return a {@link Booking}, which must be closed by the same thread.
+     * @throws MeetingDAOException handles errors propagated from DAO layer
+     *                             related with {@link gr.aueb.cf.schoolappsoa.dao.MeetingDAOImpl},
+     *                             if the index is built at this call.
+     */
+    public Booking beginBooking() throws MeetingDAOException {
+        ensureLoaded();
+        lock.writeLock().lock();
+        return new Booking();
+    }
+
+    /**
+     * This method adds a meeting which is inserted in the database, or
+     * replaces it if it is updated. Before the index is built it does
+     * nothing, since the meeting is read from the table then.
+     *
+     * @param meeting the inserted or updated {@link Meeting}, with its id.
+     */
+    public void put(Meeting meeting) {
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                removeEntry(meeting.getId());
+                add(meeting);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * This method removes a meeting which is deleted from the database.
+     *
+     * @param id the id of the deleted meeting.
+     */
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeEntry(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * This method finds the meetings which overlap a meeting and have the
+     * same teacher, student or room. A meeting which is updated does not
+     * conflict with its old version, which has the same id.
+     *
+     * @param meeting the {@link Meeting} to be checked.
+     * @return a {@link List} of {@link MeetingConflict}, empty if there is none.
+     * @throws MeetingDAOException handles errors propagated from DAO layer
+     *                             related with {@link gr.aueb.cf.schoolappsoa.dao.MeetingDAOImpl},
+     *                             if the index is built at this call.
+     */
+    public List<MeetingConflict> getConflicts(Meeting meeting) throws MeetingDAOException {
+        ensureLoaded();
+        List<MeetingConflict> conflicts = new ArrayList<>();
+        long start = startOf(meeting);
+        long end = endOf(meeting);
+
+        lock.readLock().lock();
+        try {
+            for (Resource resource : Resource.values()) {
+                IntervalTree<Meeting> tree = trees.get(resource).get(ownerOf(meeting, resource));
+                if (tree == null) {
+                    continue;
+                }
+
+                if (meeting.getId() == null) {
+                    // a new meeting: one walk down the tree tells if there is a conflict
+                    if (tree.findAnyOverlap(start, end) == null) {
+                        continue;
+                    }
+                }
+                for (Meeting other : tree.findOverlaps(start, end)) {
+                    if (!other.getId().equals(meeting.getId())) {
+                        conflicts.add(new MeetingConflict(meeting, other, resource));
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return conflicts;
+    }
+
+    /**
+     * This method finds the conflicts of a batch of meetings, with each
+     * other and with the meetings of the index, in a single sweep. The
+     * batch and the indexed meetings of the same teachers, students and
+     * rooms in the span of the batch are sorted by start once; then every
+     * meeting is compared only with the meetings of its resources which
+     * have not ended when it starts. Conflicts among the indexed meetings
+     * themselves are not reported.
+     *
+     * @param batch the {@link Meeting} objects to be checked.
+     * @return a {@link List} of {@link MeetingConflict}, empty if there is none.
+     * @throws MeetingDAOException handles errors propagated from DAO layer
+     *                             related with {@link gr.aueb.cf.schoolappsoa.dao.MeetingDAOImpl},
+     *                             if the index is built at this call.
+     */
+    public List<MeetingConflict> getConflicts(List<Meeting> batch) throws MeetingDAOException {
+        ensureLoaded();
+        if (batch.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Set<Meeting> candidates = Collections.newSetFromMap(new IdentityHashMap<>());
+        Set<Long> ids = new HashSet<>();
+        long from = Long.MAX_VALUE;
+        long to = Long.MIN_VALUE;
+        for (Meeting meeting : batch) {
+            candidates.add(meeting);
+            if (meeting.getId() != null) {
+                ids.add(meeting.getId());
+            }
+            from = Math.min(from, startOf(meeting));
+            to = Math.max(to, endOf(meeting));
+        }
+
+        List<Meeting> events = new ArrayList<>(batch);
+        lock.readLock().lock();
+        try {
+            for (Resource resource : Resource.values()) {
+                Set<Object> owners = new HashSet<>();
+                for (Meeting meeting : batch) {
+                    owners.add(ownerOf(meeting, resource));
+                }
+                for (Object owner : owners) {
+                    IntervalTree<Meeting> tree = trees.get(resource).get(owner);
+                    if (tree == null) {
+                        continue;
+                    }
+                    for (Meeting other : tree.findOverlaps(from, to)) {
+                        // the old versions of updated meetings are replaced by the batch
+                        if (ids.add(other.getId())) {
+                            events.add(other);
+                        }
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        events.sort(BY_START);
+        List<MeetingConflict> conflicts = new ArrayList<>();
+        Map<Resource, Map<Object, PriorityQueue<Meeting>>> active = new EnumMap<>(Resource.class);
+        for (Resource resource : Resource.values()) {
+            active.put(resource, new HashMap<>());
+        }
+
+        for (Meeting meeting : events) {
+            boolean candidate = candidates.contains(meeting);
+            for (Resource resource : Resource.values()) {
+                PriorityQueue<Meeting> running = active.get(resource)
+                        .computeIfAbsent(ownerOf(meeting, resource), owner -> new PriorityQueue<>(BY_END));
+                while (!running.isEmpty() && endOf(running.peek()) <= startOf(meeting)) {
+                    running.poll();
+                }
+                for (Meeting other : running) {
+                    if (candidate) {
+                        conflicts.add(new MeetingConflict(meeting, other, resource));
+                    } else if (candidates.contains(other)) {
+                        conflicts.add(new MeetingConflict(other, meeting, resource));
+                    }
+                }
+                running.add(meeting);
+            }
+        }
+        return conflicts;
+    }
+
+    /**
+     * This method returns the meetings of a teacher, a student or a room
+     * which overlap a time window, in the order of their start.
+     *
+     * @param resource the kind of the owner.
+     * @param owner    the id of the teacher or the student, or the room.
+     * @param from     the start of the window, inclusive.
+     * @param to       the end of the window, exclusive.
+     * @return a {@link List} of the indexed {@link Meeting} objects, which must not be changed.
+     * @throws MeetingDAOException handles errors propagated from DAO layer
+     *                             related with {@link gr.aueb.cf.schoolappsoa.dao.MeetingDAOImpl},
+     *                             if the index is built at this call.
+     */
+    public List<Meeting> getMeetings(Resource resource, Object owner, Date from, Date to) throws MeetingDAOException {
+        ensureLoaded();
+
+        lock.readLock().lock();
+        try {
+            IntervalTree<Meeting> tree = trees.get(resource).get(owner);
+            return tree == null ? new ArrayList<>() : tree.findOverlaps(from.getTime(), to.getTime());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of the indexed meetings.
+     *
+     * @return the number of the meetings.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return meetings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * This class is a check-and-save of meetings, which holds the write
+     * lock of its {@link MeetingIndex} until it is closed.
+     */
+    public final class Booking implements AutoCloseable {
+        private boolean closed;
+
+        private Booking() {
+        }
+
+        /**
+         * Releases the write lock of the index.
+         */
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private void ensureLoaded() throws MeetingDAOException {
+        if (!loaded) {
+            lock.writeLock().lock();
+            try {
+                if (!loaded) {
+                    load();
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private void add(Meeting meeting) {
+        Meeting copy = copyOf(meeting);
+        meetings.put(copy.getId(), copy);
+
+        for (Resource resource : Resource.values()) {
+            trees.get(resource)
+                    .computeIfAbsent(ownerOf(copy, resource), owner -> new IntervalTree<>())
+                    .insert(startOf(copy), endOf(copy), copy.getId(), copy);
+        }
+    }
+
+    private void removeEntry(long id) {
+        Meeting old = meetings.remove(id);
+        if (old == null) {
+            return;
+        }
+
+        for (Resource resource : Resource.values()) {
+            Map<Object, IntervalTree<Meeting>> owners = trees.get(resource);
+            Object owner = ownerOf(old, resource);
+            IntervalTree<Meeting> tree = owners.get(owner);
+            tree.remove(startOf(old), id);
+            if (tree.isEmpty()) {
+                owners.remove(owner);
+            }
+        }
+    }
+
+    private void clear() {
+        meetings.clear();
+        for (Map<Object, IntervalTree<Meeting>> owners : trees.values()) {
+            owners.clear();
+        }
+        loaded = false;
+    }
+
+    /**
+     * The index keeps its own copy of a meeting, so a change of the
+     * caller's object cannot move it out of place in the trees.
+     */
+    private static Meeting copyOf(Meeting meeting) {
+        Student student = new Student();
+        student.setId(meeting.getStudent().getId());
+        Teacher teacher = new Teacher();
+        teacher.setId(meeting.getTeacher().getId());
+
+        return new Meeting(meeting.getId(), student, teacher, meeting.getMeetingRoom(),
+                new Date(startOf(meeting)), new Date(endOf(meeting)));
+    }
+
+    private static Object ownerOf(Meeting meeting, Resource resource) {
+        switch (resource) {
+            case TEACHER:
+                return meeting.getTeacher().getId();
+            case STUDENT:
+                return meeting.getStudent().getId();
+            default:
+                return meeting.getMeetingRoom();
+        }
+    }
+
+    private static long startOf(Meeting meeting) {
+        return meeting.getMeetingDate().getTime();
+    }
+
+    private static long endOf(Meeting meeting) {
+        return meeting.getMeetingEnd().getTime();
+    }
+}
@@ -0,0 +1,242 @@
+package gr.aueb.cf.schoolappsoa.service.scheduling;
+
+import gr.aueb.cf.schoolappsoa.model.MeetingOccurrence;
+import gr.aueb.cf.schoolappsoa.model.MeetingSeries;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * This class expands the rule of a {@link MeetingSeries} to its meetings,
+ * lazily: an iterator of a window computes one {@link MeetingOccurrence}
+ * at a time, so a window of a year of an open-ended series costs the
+ * meetings which are read, not the length of the series. The iterator
+ * jumps to the first meeting of the window in constant time.
+ * <p>
+ * The meetings repeat at the same local time in a time zone, so a
+ * weekly meeting at 17:00 stays at 17:00 after a change of the
+ * daylight saving time; the duration is the one of the first meeting.
+ *
+ * @author Thanasis Chousiadas
+ */
+public class Recurrence {
+    private static final Comparator<PeekingIterator> BY_NEXT =
+            Comparator.comparingLong(it -> it.peek().getMeetingDate().getTime());
+
+    private final ZoneId zone;
+
+    /**
+     * Overloaded constructor.
+     *
+     * @param zone the time zone of the local time of the meetings.
+     */
+    public Recurrence(ZoneId zone) {
+        this.zone = zone;
+    }
+
+    /**
+     * This method returns the meetings of a series which overlap the
+     * time window [from, to), in the order of their start, without
+     * the cancelled meetings.
+     *
+     * @param series the {@link MeetingSeries}.
+     * @param from   the start of the window, inclusive.
+     * @param to     the end of the window, exclusive.
+     * @return a lazy {@link Iterator} of {@link MeetingOccurrence} objects.
+     */
+    public Iterator<MeetingOccurrence> iterator(MeetingSeries series, Date from, Date to) {
+        return new OccurrenceIterator(series, from.getTime(), to.getTime());
+    }
+
+    /**
+     * This method returns the meetings of a series which overlap the
+     * time window [from, to) as a lazy {@link Stream}.
+     *
+     * @param series the {@link MeetingSeries}.
+     * @param from   the start of the window, inclusive.
+     * @param to     the end of the window, exclusive.
+     * @return a {@link Stream} of {@link MeetingOccurrence} objects, in the order of their start.
+     */
+    public Stream<MeetingOccurrence> stream(MeetingSeries series, Date from, Date to) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator(series, from, to),
+                Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * This method returns if a meeting of a series, cancelled
+     * or not, starts at a date.
+     *
+     * @param series the {@link MeetingSeries}.
+     * @param date   the date.
+     * @return true if a meeting of the series starts at the date, otherwise false.
+     */
+    public boolean isOccurrence(MeetingSeries series, Date date) {
+        ZonedDateTime first = ZonedDateTime.ofInstant(series.getFirstDate().toInstant(), zone);
+        // the first meeting which ends after date + length - 1 is the first one which starts at or after date
+        long index = firstIndex(series, first, date.getTime() + length(series) - 1);
+        long start = startOf(series, first, index);
+
+        return start == date.getTime()
+                && (series.getUntilDate() == null || start + length(series) <= series.getUntilDate().getTime());
+    }
+
+    /**
+     * This method merges lazy iterators of meetings, each one in the
+     * order of the start of its meetings, to one lazy iterator in
+     * the order of the start, with a heap of their next meetings.
+     *
+     * @param iterators the {@link Iterator} objects to be merged.
+     * @return an {@link Iterator} of all their {@link MeetingOccurrence} objects.
+     */
+    public static Iterator<MeetingOccurrence> merge(List<Iterator<MeetingOccurrence>> iterators) {
+        PriorityQueue<PeekingIterator> heap = new PriorityQueue<>(Math.max(1, iterators.size()), BY_NEXT);
+        for (Iterator<MeetingOccurrence> it : iterators) {
+            if (it.hasNext()) {
+                heap.add(new PeekingIterator(it));
+            }
+        }
+
+        return new Iterator<MeetingOccurrence>() {
+            @Override
+            public boolean hasNext() {
+                return !heap.isEmpty();
+            }
+
+            @Override
+            public MeetingOccurrence next() {
+                PeekingIterator it = heap.poll();
+                if (it == null) {
+                    throw new NoSuchElementException();
+                }
+                MeetingOccurrence occurrence = it.next();
+                if (it.hasNext()) {
+                    heap.add(it);
+                }
+                return occurrence;
+            }
+        };
+    }
+
+    /**
+     * This method returns the index of the first meeting of a series
+     * which ends after a time. The weeks from the first meeting give
+     * the index, up to a change of the daylight saving time, which the
+     * few steps of the loop correct.
+     */
+    private long firstIndex(MeetingSeries series, ZonedDateTime first, long after) {
+        long length = length(series);
+        ZonedDateTime target = ZonedDateTime.ofInstant(Instant.ofEpochMilli(after - length), zone);
+        long index = Math.max(0, ChronoUnit.WEEKS.between(first, target) / series.getIntervalWeeks() - 1);
+
+        while (startOf(series, first, index) + length <= after) {
+            index++;
+        }
+        return index;
+    }
+
+    private static long startOf(MeetingSeries series, ZonedDateTime first, long index) {
+        return first.plusWeeks(index * series.getIntervalWeeks()).toInstant().toEpochMilli();
+    }
+
+    private static long length(MeetingSeries series) {
+        return series.getFirstEnd().getTime() - series.getFirstDate().getTime();
+    }
+
+    /**
+     * The lazy iterator of the meetings of a series in a window.
+     */
+    private class OccurrenceIterator implements Iterator<MeetingOccurrence> {
+        private final MeetingSeries series;
+        private final ZonedDateTime first;
+        private final long length;
+        private final long to;
+        private final long until;
+        private long index;
+        private MeetingOccurrence next;
+
+        OccurrenceIterator(MeetingSeries series, long from, long to) {
+            this.series = series;
+            this.first = ZonedDateTime.ofInstant(series.getFirstDate().toInstant(), zone);
+            this.length = length(series);
+            this.to = to;
+            this.until = series.getUntilDate() == null ? Long.MAX_VALUE : series.getUntilDate().getTime();
+            this.index = firstIndex(series, first, from);
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public MeetingOccurrence next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            MeetingOccurrence occurrence = next;
+            advance();
+            return occurrence;
+        }
+
+        private void advance() {
+            next = null;
+            while (true) {
+                long start = startOf(series, first, index);
+                if (start >= to || start + length > until) {
+                    return;
+                }
+
+                Date meetingDate = new Date(start);
+                long current = index++;
+                if (!series.getCancelledDates().contains(meetingDate)) {
+                    next = new MeetingOccurrence(series, current, meetingDate, new Date(start + length));
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * An iterator which shows its next element without reading it.
+     */
+    private static class PeekingIterator implements Iterator<MeetingOccurrence> {
+        private final Iterator<MeetingOccurrence> iterator;
+        private MeetingOccurrence peeked;
+
+        PeekingIterator(Iterator<MeetingOccurrence> iterator) {
+            this.iterator = iterator;
+        }
+
+        MeetingOccurrence peek() {
+            if (peeked == null) {
+                peeked = iterator.next();
+            }
+            return peeked;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return peeked != null || iterator.hasNext();
+        }
+
+        @Override
+        public MeetingOccurrence next() {
+            MeetingOccurrence occurrence = peek();
+            peeked = null;
+            return occurrence;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package gr.aueb.cf.schoolappsoa.service.scheduling;
+
+import gr.aueb.cf.schoolappsoa.model.Meeting;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * This class holds the result of a room allocation: the meetings
+ * which were given a room, the meetings for which no room of the
+ * pool was free, and the number of the rooms used.
+ *
+ * @author Thanasis Chousiadas
+ */
+public class RoomAllocation {
+    private final List<Meeting> allocated;
+    private final List<Meeting> unallocated;
+    private final int roomsUsed;
+    private final int days;
+    private final long elapsedNanos;
+
+    /**
+     * Overloaded constructor.
+     *
+     * @param allocated    the meetings with a room, in the order of their start.
+     * @param unallocated  the meetings without a room, in the order of their start.
+     * @param roomsUsed    the number of the distinct rooms given to the meetings.
+     * @param days         the number of the independent days which were allocated.
+     * @param elapsedNanos the duration of the allocation.
+     */
+    public RoomAllocation(List<Meeting> allocated, List<Meeting> unallocated, int roomsUsed, int days,
+                          long elapsedNanos) {
+        this.allocated = Collections.unmodifiableList(allocated);
+        this.unallocated = Collections.unmodifiableList(unallocated);
+        this.roomsUsed = roomsUsed;
+        this.days = days;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public List<Meeting> getAllocated() {
+        return allocated;
+    }
+
+    public List<Meeting> getUnallocated() {
+        return unallocated;
+    }
+
+    public boolean isComplete() {
+        return unallocated.isEmpty();
+    }
+
+    public int getRoomsUsed() {
+        return roomsUsed;
+    }
+
+    public int getDays() {
+        return days;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "RoomAllocation{" +
+                "allocated=" + allocated.size() +
+                ", unallocated=" + unallocated.size() +
+                ", roomsUsed=" + roomsUsed +
+                ", days=" + days +
+                ", elapsedMillis=" + elapsedNanos / 1_000_000 +
+                '}';
+    }
+}
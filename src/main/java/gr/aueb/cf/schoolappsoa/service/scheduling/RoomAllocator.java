@@ -0,0 +1,255 @@
+package gr.aueb.cf.schoolappsoa.service.scheduling;
+
+import gr.aueb.cf.schoolappsoa.dao.exceptions.MeetingDAOException;
+import gr.aueb.cf.schoolappsoa.dao.exceptions.MeetingSeriesDAOException;
+import gr.aueb.cf.schoolappsoa.model.Meeting;
+import gr.aueb.cf.schoolappsoa.model.MeetingOccurrence;
+import gr.aueb.cf.schoolappsoa.service.scheduling.MeetingConflict.Resource;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * This class gives rooms to meetings which have none, with the fewest
+ * rooms possible. The meetings are sorted by start and each one takes
+ * the first room of the pool which is free at its start; a room is
+ * free again when its last meeting ends. This greedy partitioning of
+ * the intervals uses as many rooms as the most meetings which run at
+ * the same time, which is the minimum, in O(n log n).
+ * <p>
+ * The rooms are also kept free for the meetings which are already saved
+ * in them, as read from a {@link MeetingIndex}, and for the meetings of
+ * the series in them, as read from a {@link SeriesCalendar}. Days without a meeting
+ * across midnight are independent, so they are allocated in parallel,
+ * on the {@link ForkJoinPool#commonPool()} or on one pool of the allocator
+ * with a given parallelism. The pool is not created per allocation; its
+ * idle threads end by themselves.
+ *
+ * @author Thanasis Chousiadas
+ */
+public class RoomAllocator {
+    private static final Comparator<Meeting> BY_START = Comparator
+            .comparingLong((Meeting m) -> m.getMeetingDate().getTime())
+            .thenComparingLong(m -> m.getMeetingEnd().getTime());
+
+    private final MeetingIndex meetingIndex;
+    private final SeriesCalendar seriesCalendar;
+    private final ForkJoinPool pool;
+    private final ZoneId zone;
+
+    /**
+     * Overloaded constructor, on the common pool
+     * and with the days of the default time zone.
+     *
+     * @param meetingIndex   the index of the saved meetings.
+     * @param seriesCalendar the meetings of the saved series.
+     */
+    public RoomAllocator(MeetingIndex meetingIndex, SeriesCalendar seriesCalendar) {
+        this(meetingIndex, seriesCalendar, ZoneId.systemDefault());
+    }
+
+    /**
+     * Overloaded constructor, on the common pool.
+     *
+     * @param meetingIndex   the index of the saved meetings.
+     * @param seriesCalendar the meetings of the saved series.
+     * @param zone           the time zone of the days.
+     */
+    public RoomAllocator(MeetingIndex meetingIndex, SeriesCalendar seriesCalendar, ZoneId zone) {
+        this(meetingIndex, seriesCalendar, ForkJoinPool.commonPool(), zone);
+    }
+
+    /**
+     * Overloaded constructor, on a pool of this allocator.
+     *
+     * @param meetingIndex   the index of the saved meetings.
+     * @param seriesCalendar the meetings of the saved series.
+     * @param parallelism    the number of the threads.
+     * @param zone           the time zone of the days.
+     */
+    public RoomAllocator(MeetingIndex meetingIndex, SeriesCalendar seriesCalendar, int parallelism, ZoneId zone) {
+        this(meetingIndex, seriesCalendar, new ForkJoinPool(parallelism), zone);
+    }
+
+    private RoomAllocator(MeetingIndex meetingIndex, SeriesCalendar seriesCalendar, ForkJoinPool pool, ZoneId zone) {
+        this.meetingIndex = meetingIndex;
+        this.seriesCalendar = seriesCalendar;
+        this.pool = pool;
+        this.zone = zone;
+    }
+
+    /**
+     * This method sets the room of the meetings, from a pool of rooms.
+     * The rooms of the pool are preferred in their order. A meeting for
+     * which no room is free keeps no room and is reported as unallocated.
+     *
+     * @param meetings the {@link Meeting} objects, whose rooms are set.
+     * @param rooms    the pool of the rooms.
+     * @return the {@link RoomAllocation}.
+     * @throws MeetingDAOException handles errors propagated from DAO layer
+     *                             related with {@link gr.aueb.cf.schoolappsoa.dao.MeetingDAOImpl},
+     *                             if the index is built at this call.
+     * @throws MeetingSeriesDAOException handles errors propagated from DAO layer
+     *                                   related with {@link gr.aueb.cf.schoolappsoa.dao.MeetingSeriesDAOImpl}.
+     */
+    public RoomAllocation allocate(List<Meeting> meetings, List<String> rooms)
+            throws MeetingDAOException, MeetingSeriesDAOException {
+        long started = System.nanoTime();
+        if (meetings.isEmpty()) {
+            return new RoomAllocation(new ArrayList<>(), new ArrayList<>(), 0, 0, System.nanoTime() - started);
+        }
+
+        List<Meeting> sorted = new ArrayList<>(meetings);
+        sorted.sort(BY_START);
+        List<List<Meeting>> days = splitDays(sorted);
+
+        Date from = sorted.get(0).getMeetingDate();
+        Date to = new Date(sorted.stream().mapToLong(m -> m.getMeetingEnd().getTime()).max().getAsLong());
+        List<IntervalTree<Meeting>> booked = new ArrayList<>(rooms.size());
+        for (String room : rooms) {
+            IntervalTree<Meeting> tree = new IntervalTree<>();
+            for (Meeting saved : meetingIndex.getMeetings(Resource.ROOM, room, from, to)) {
+                tree.insert(saved.getMeetingDate().getTime(), saved.getMeetingEnd().getTime(), saved.getId(), saved);
+            }
+            // the meetings of a series have no id; negative keys cannot clash with the saved ones
+            long key = -1L;
+            Iterator<MeetingOccurrence> occurrences = seriesCalendar.getOccurrences(Resource.ROOM, room, from, to);
+            while (occurrences.hasNext()) {
+                MeetingOccurrence occurrence = occurrences.next();
+                tree.insert(occurrence.getMeetingDate().getTime(), occurrence.getMeetingEnd().getTime(), key--, occurrence);
+            }
+            booked.add(tree);
+        }
+
+        DayResult result = pool.invoke(new DaysTask(days, 0, days.size(), rooms, booked));
+        return new RoomAllocation(result.allocated, result.unallocated, result.roomsUsed.cardinality(),
+                days.size(), System.nanoTime() - started);
+    }
+
+    /**
+     * Splits the sorted meetings in days, where a day starts with the
+     * first meeting of a date which starts after all the meetings of
+     * the previous days have ended.
+     */
+    private List<List<Meeting>> splitDays(List<Meeting> sorted) {
+        List<List<Meeting>> days = new ArrayList<>();
+        List<Meeting> day = new ArrayList<>();
+        LocalDate date = null;
+        long lastEnd = Long.MIN_VALUE;
+
+        for (Meeting meeting : sorted) {
+            long start = meeting.getMeetingDate().getTime();
+            LocalDate startDate = Instant.ofEpochMilli(start).atZone(zone).toLocalDate();
+            if (!day.isEmpty() && !startDate.equals(date) && start >= lastEnd) {
+                days.add(day);
+                day = new ArrayList<>();
+            }
+            day.add(meeting);
+            date = startDate;
+            lastEnd = Math.max(lastEnd, meeting.getMeetingEnd().getTime());
+        }
+        days.add(day);
+        return days;
+    }
+
+    /**
+     * Allocates the rooms of one day, whose meetings are sorted by start.
+     */
+    private static DayResult allocateDay(List<Meeting> day, List<String> rooms, List<IntervalTree<Meeting>> booked) {
+        DayResult result = new DayResult();
+        TreeSet<Integer> free = new TreeSet<>();
+        for (int i = 0; i < rooms.size(); i++) {
+            free.add(i);
+        }
+        // the end of the last meeting of every room in use, and the room
+        PriorityQueue<long[]> inUse = new PriorityQueue<>(Comparator.comparingLong((long[] e) -> e[0]));
+
+        for (Meeting meeting : day) {
+            long start = meeting.getMeetingDate().getTime();
+            long end = meeting.getMeetingEnd().getTime();
+            while (!inUse.isEmpty() && inUse.peek()[0] <= start) {
+                free.add((int) inUse.poll()[1]);
+            }
+
+            Integer room = null;
+            for (Integer candidate : free) {
+                if (booked.get(candidate).findAnyOverlap(start, end) == null) {
+                    room = candidate;
+                    break;
+                }
+            }
+
+            if (room == null) {
+                meeting.setMeetingRoom(null);
+                result.unallocated.add(meeting);
+                continue;
+            }
+            free.remove(room);
+            inUse.add(new long[]{end, room});
+            meeting.setMeetingRoom(rooms.get(room));
+            result.roomsUsed.set(room);
+            result.allocated.add(meeting);
+        }
+        return result;
+    }
+
+    private static final class DayResult {
+        private final List<Meeting> allocated = new ArrayList<>();
+        private final List<Meeting> unallocated = new ArrayList<>();
+        private final BitSet roomsUsed = new BitSet();
+
+        private DayResult merge(DayResult other) {
+            allocated.addAll(other.allocated);
+            unallocated.addAll(other.unallocated);
+            roomsUsed.or(other.roomsUsed);
+            return this;
+        }
+    }
+
+    /**
+     * This task allocates a range of days, and splits it in
+     * halves until every task has one day.
+     */
+    private static final class DaysTask extends RecursiveTask<DayResult> {
+        private static final long serialVersionUID = 1L;
+
+        private final transient List<List<Meeting>> days;
+        private final int from;
+        private final int to;
+        private final transient List<String> rooms;
+        private final transient List<IntervalTree<Meeting>> booked;
+
+        private DaysTask(List<List<Meeting>> days, int from, int to, List<String> rooms,
+                         List<IntervalTree<Meeting>> booked) {
+            this.days = days;
+            this.from = from;
+            this.to = to;
+            this.rooms = rooms;
+            this.booked = booked;
+        }
+
+        @Override
+        protected DayResult compute() {
+            if (to - from == 1) {
+                return allocateDay(days.get(from), rooms, booked);
+            }
+
+            int mid = (from + to) >>> 1;
+            DaysTask left = new DaysTask(days, from, mid, rooms, booked);
+            left.fork();
+            DayResult right = new DaysTask(days, mid, to, rooms, booked).compute();
+            return left.join().merge(right);
+        }
+    }
+}
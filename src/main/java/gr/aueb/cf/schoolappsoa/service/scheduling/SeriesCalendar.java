@@ -0,0 +1,193 @@
+package gr.aueb.cf.schoolappsoa.service.scheduling;
+
+import gr.aueb.cf.schoolappsoa.dao.exceptions.MeetingSeriesDAOException;
+import gr.aueb.cf.schoolappsoa.model.Meeting;
+import gr.aueb.cf.schoolappsoa.model.MeetingOccurrence;
+import gr.aueb.cf.schoolappsoa.model.MeetingSeries;
+import gr.aueb.cf.schoolappsoa.service.scheduling.MeetingConflict.Resource;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * This class reads the meetings of the saved series of a teacher, a
+ * student or a room, for the checks and the searches of the single
+ * meetings. The series which are active in a window are read from a
+ * {@link SeriesIndex} in memory, without a query, and their meetings are
+ * expanded lazily by a {@link Recurrence} and merged in the order of their
+ * start, so the meetings of a series are never saved one by one.
+ *
+ * @author Thanasis Chousiadas
+ */
+public class SeriesCalendar {
+    private static final Comparator<Meeting> BY_START =
+            Comparator.comparingLong(SeriesCalendar::startOf).thenComparingLong(SeriesCalendar::endOf);
+    private static final Comparator<Meeting> BY_END = Comparator.comparingLong(SeriesCalendar::endOf);
+
+    private final SeriesIndex seriesIndex;
+    private final Recurrence recurrence;
+
+    /**
+     * Dependencies injection of the {@link SeriesIndex} and
+     * of the {@link Recurrence} of the series.
+     *
+     * @param seriesIndex the index of the saved series.
+     * @param recurrence  the expansion of the series to their meetings.
+     */
+    public SeriesCalendar(SeriesIndex seriesIndex, Recurrence recurrence) {
+        this.seriesIndex = seriesIndex;
+        this.recurrence = recurrence;
+    }
+
+    /**
+     * This method returns the meetings of the series of a teacher, a
+     * student or a room which overlap a time window, in the order of their start.
+     *
+     * @param resource the kind of the owner.
+     * @param owner    the id of the teacher or the student, or the room.
+     * @param from     the start of the window, inclusive.
+     * @param to       the end of the window, exclusive.
+     * @return a lazy {@link Iterator} of {@link MeetingOccurrence} objects.
+     * @throws MeetingSeriesDAOException handles errors propagated from DAO layer
+     *                                   related with {@link gr.aueb.cf.schoolappsoa.dao.MeetingSeriesDAOImpl},
+     *                                   if the index is built at this call.
+     */
+    public Iterator<MeetingOccurrence> getOccurrences(Resource resource, Object owner, Date from, Date to)
+            throws MeetingSeriesDAOException {
+        return merge(seriesIndex.getSeries(resource, owner, from, to), from, to);
+    }
+
+    /**
+     * This method returns the meetings of the series of all the owners
+     * which overlap a time window, in the order of their start.
+     *
+     * @param from the start of the window, inclusive.
+     * @param to   the end of the window, exclusive.
+     * @return a lazy {@link Iterator} of {@link MeetingOccurrence} objects.
+     * @throws MeetingSeriesDAOException handles errors propagated from DAO layer
+     *                                   related with {@link gr.aueb.cf.schoolappsoa.dao.MeetingSeriesDAOImpl},
+     *                                   if the index is built at this call.
+     */
+    public Iterator<MeetingOccurrence> getOccurrences(Date from, Date to) throws MeetingSeriesDAOException {
+        return merge(seriesIndex.getSeries(from, to), from, to);
+    }
+
+    /**
+     * This method returns the meetings of one series which overlap
+     * a time window, in the order of their start.
+     *
+     * @param series the {@link MeetingSeries}.
+     * @param from   the start of the window, inclusive.
+     * @param to     the end of the window, exclusive.
+     * @return a lazy {@link Iterator} of {@link MeetingOccurrence} objects.
+     */
+    public Iterator<MeetingOccurrence> getOccurrences(MeetingSeries series, Date from, Date to) {
+        return recurrence.iterator(series, from, to);
+    }
+
+    /**
+     * This method finds the meetings of the series which overlap a meeting
+     * of the same teacher, student or room.
+     *
+     * @param meeting the {@link Meeting} to be checked.
+     * @return a {@link List} of {@link MeetingConflict}, empty if there is none.
+     * @throws MeetingSeriesDAOException handles errors propagated from DAO layer
+     *                                   related with {@link gr.aueb.cf.schoolappsoa.dao.MeetingSeriesDAOImpl},
+     *                                   if the index is built at this call.
+     */
+    public List<MeetingConflict> getConflicts(Meeting meeting) throws MeetingSeriesDAOException {
+        return getConflicts(Collections.singletonList(meeting));
+    }
+
+    /**
+     * This method finds the meetings of the series which overlap a meeting
+     * of a batch. The series of every teacher, student and room of the batch
+     * are looked up once, for the span of its meetings, and their meetings are
+     * swept together with the meetings of the batch, sorted by start.
+     * Conflicts of the batch with itself are not reported.
+     *
+     * @param batch the {@link Meeting} objects to be checked.
+     * @return a {@link List} of {@link MeetingConflict}, empty if there is none.
+     * @throws MeetingSeriesDAOException handles errors propagated from DAO layer
+     *                                   related with {@link gr.aueb.cf.schoolappsoa.dao.MeetingSeriesDAOImpl},
+     *                                   if the index is built at this call.
+     */
+    public List<MeetingConflict> getConflicts(List<Meeting> batch) throws MeetingSeriesDAOException {
+        List<MeetingConflict> conflicts = new ArrayList<>();
+
+        for (Resource resource : Resource.values()) {
+            Map<Object, List<Meeting>> byOwner = new HashMap<>();
+            for (Meeting meeting : batch) {
+                Object owner = ownerOf(meeting, resource);
+                // a meeting without a room cannot double book one
+                if (owner != null) {
+                    byOwner.computeIfAbsent(owner, o -> new ArrayList<>()).add(meeting);
+                }
+            }
+
+            for (Map.Entry<Object, List<Meeting>> entry : byOwner.entrySet()) {
+                List<Meeting> meetings = entry.getValue();
+                meetings.sort(BY_START);
+                long from = startOf(meetings.get(0));
+                long to = meetings.stream().mapToLong(SeriesCalendar::endOf).max().getAsLong();
+
+                Iterator<MeetingOccurrence> occurrences =
+                        getOccurrences(resource, entry.getKey(), new Date(from), new Date(to));
+                PriorityQueue<MeetingOccurrence> running = new PriorityQueue<>(BY_END);
+                MeetingOccurrence next = occurrences.hasNext() ? occurrences.next() : null;
+
+                for (Meeting meeting : meetings) {
+                    while (next != null && startOf(next) < endOf(meeting)) {
+                        running.add(next);
+                        next = occurrences.hasNext() ? occurrences.next() : null;
+                    }
+                    // the starts of the batch only grow, so an ended meeting of a series is never needed again
+                    while (!running.isEmpty() && endOf(running.peek()) <= startOf(meeting)) {
+                        running.poll();
+                    }
+                    for (MeetingOccurrence occurrence : running) {
+                        if (startOf(occurrence) < endOf(meeting)) {
+                            conflicts.add(new MeetingConflict(meeting, occurrence, resource));
+                        }
+                    }
+                }
+            }
+        }
+        return conflicts;
+    }
+
+    private Iterator<MeetingOccurrence> merge(List<MeetingSeries> series, Date from, Date to) {
+        List<Iterator<MeetingOccurrence>> iterators = new ArrayList<>(series.size());
+
+        for (MeetingSeries s : series) {
+            iterators.add(recurrence.iterator(s, from, to));
+        }
+        return Recurrence.merge(iterators);
+    }
+
+    private static Object ownerOf(Meeting meeting, Resource resource) {
+        switch (resource) {
+            case TEACHER:
+                return meeting.getTeacher().getId();
+            case STUDENT:
+                return meeting.getStudent().getId();
+            default:
+                return meeting.getMeetingRoom();
+        }
+    }
+
+    private static long startOf(Meeting meeting) {
+        return meeting.getMeetingDate().getTime();
+    }
+
+    private static long endOf(Meeting meeting) {
+        return meeting.getMeetingEnd().getTime();
+    }
+}
@@ -0,0 +1,201 @@
+package gr.aueb.cf.schoolappsoa.service.scheduling;
+
+import gr.aueb.cf.schoolappsoa.dao.exceptions.MeetingDAOException;
+import gr.aueb.cf.schoolappsoa.model.Meeting;
+import gr.aueb.cf.schoolappsoa.model.MeetingOccurrence;
+import gr.aueb.cf.schoolappsoa.model.MeetingSeries;
+import gr.aueb.cf.schoolappsoa.service.scheduling.MeetingConflict.Resource;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class finds the double bookings of a new {@link MeetingSeries},
+ * by reading the lazy iterator of its meetings, without saving them.
+ * Every meeting of the series is checked in the {@link MeetingIndex} of
+ * the single meetings. The series is checked with another series of the
+ * same teacher, student or room in one merge pass over the two iterators,
+ * which are both in the order of the start, so the cost is the number of
+ * their meetings in the span of the new series.
+ * <p>
+ * An open-ended series is checked with the single meetings up to the end
+ * of the last one of its teacher, student or room. Two open-ended series
+ * repeat together, once both have started, every least common multiple
+ * of their intervals, so they are checked up to one such period after
+ * the later first meeting; a series which ends is checked up to its end.
+ *
+ * @author Thanasis Chousiadas
+ */
+public class SeriesConflictFinder {
+
+    /**
+     * The end of the span of an open-ended series, when the series of
+     * a window are read; it is within the range of a DATETIME column.
+     */
+    public static final Date OPEN_END = Date.from(Instant.parse("9999-01-01T00:00:00Z"));
+
+    private static final long WEEK = TimeUnit.DAYS.toMillis(7);
+
+    private final MeetingIndex meetingIndex;
+    private final Recurrence recurrence;
+
+    /**
+     * Dependencies injection of the {@link MeetingIndex} and
+     * the {@link Recurrence} of the series.
+     *
+     * @param meetingIndex the index of the saved meetings.
+     * @param recurrence   the expansion of the series to their meetings.
+     */
+    public SeriesConflictFinder(MeetingIndex meetingIndex, Recurrence recurrence) {
+        this.meetingIndex = meetingIndex;
+        this.recurrence = recurrence;
+    }
+
+    /**
+     * This method finds the meetings of a series which overlap a saved
+     * meeting, or a meeting of another series, of the same teacher,
+     * student or room.
+     *
+     * @param series the {@link MeetingSeries} to be checked.
+     * @param others the saved series of the same teacher, student or room;
+     *               the series itself is ignored, if it is included.
+     * @return a {@link List} of {@link MeetingConflict}, empty if there is none.
+     * @throws MeetingDAOException handles errors propagated from DAO layer
+     *                             related with {@link gr.aueb.cf.schoolappsoa.dao.MeetingDAOImpl},
+     *                             if the index is built at this call.
+     */
+    public List<MeetingConflict> getConflicts(MeetingSeries series, List<MeetingSeries> others)
+            throws MeetingDAOException {
+        List<MeetingConflict> conflicts = new ArrayList<>();
+        Date from = series.getFirstDate();
+        Date to = series.getUntilDate() != null ? series.getUntilDate() : lastMeetingEnd(series);
+
+        Iterator<MeetingOccurrence> occurrences = recurrence.iterator(series, from, to);
+        while (occurrences.hasNext()) {
+            conflicts.addAll(meetingIndex.getConflicts(occurrences.next()));
+        }
+
+        for (MeetingSeries other : others) {
+            List<Resource> shared = sharedResources(series, other);
+            if (shared.isEmpty() || (other.getId() != null && other.getId().equals(series.getId()))) {
+                continue;
+            }
+
+            Date end = pairEnd(series, other);
+            Iterator<MeetingOccurrence> mine = recurrence.iterator(series, from, end);
+            Iterator<MeetingOccurrence> theirs = recurrence.iterator(other, from, end);
+            MeetingOccurrence a = mine.hasNext() ? mine.next() : null;
+            MeetingOccurrence b = theirs.hasNext() ? theirs.next() : null;
+
+            while (a != null && b != null) {
+                if (startOf(a) < endOf(b) && startOf(b) < endOf(a)) {
+                    for (Resource resource : shared) {
+                        conflicts.add(new MeetingConflict(a, b, resource));
+                    }
+                }
+
+                // the meeting which ends first cannot overlap a later meeting of the other series
+                if (endOf(a) <= endOf(b)) {
+                    a = mine.hasNext() ? mine.next() : null;
+                } else {
+                    b = theirs.hasNext() ? theirs.next() : null;
+                }
+            }
+        }
+        return conflicts;
+    }
+
+    /**
+     * This method returns the end of the span of a series: its until
+     * date, or {@link #OPEN_END} for an open-ended series. Every other
+     * series which can overlap it is active before this end.
+     *
+     * @param series the {@link MeetingSeries}.
+     * @return the end of the span, exclusive.
+     */
+    public static Date spanEndOf(MeetingSeries series) {
+        return series.getUntilDate() != null ? series.getUntilDate() : OPEN_END;
+    }
+
+    /**
+     * Returns the end of the last single meeting of the teacher, the
+     * student or the room of an open-ended series, after its first meeting,
+     * or its first meeting if there is none.
+     */
+    private Date lastMeetingEnd(MeetingSeries series) throws MeetingDAOException {
+        long last = series.getFirstEnd().getTime();
+
+        for (Resource resource : Resource.values()) {
+            List<Meeting> meetings = meetingIndex.getMeetings(resource, ownerOf(series, resource),
+                    series.getFirstDate(), OPEN_END);
+            for (Meeting meeting : meetings) {
+                last = Math.max(last, meeting.getMeetingEnd().getTime());
+            }
+        }
+        return new Date(last);
+    }
+
+    /**
+     * Returns the end of the span where two series can overlap: the earlier
+     * until date, or for two open-ended series one period of their common
+     * pattern, the least common multiple of their intervals, after the later
+     * first meeting, and one more interval for the meetings across its end.
+     */
+    private static Date pairEnd(MeetingSeries series, MeetingSeries other) {
+        if (series.getUntilDate() != null && other.getUntilDate() != null) {
+            return series.getUntilDate().before(other.getUntilDate()) ? series.getUntilDate() : other.getUntilDate();
+        }
+        if (series.getUntilDate() != null || other.getUntilDate() != null) {
+            return series.getUntilDate() != null ? series.getUntilDate() : other.getUntilDate();
+        }
+
+        long a = series.getIntervalWeeks();
+        long b = other.getIntervalWeeks();
+        long period = a / gcd(a, b) * b;
+        long later = Math.max(series.getFirstDate().getTime(), other.getFirstDate().getTime());
+        return new Date(later + (period + Math.max(a, b)) * WEEK);
+    }
+
+    private static long gcd(long a, long b) {
+        return b == 0 ? a : gcd(b, a % b);
+    }
+
+    private static Object ownerOf(MeetingSeries series, Resource resource) {
+        switch (resource) {
+            case TEACHER:
+                return series.getTeacher().getId();
+            case STUDENT:
+                return series.getStudent().getId();
+            default:
+                return series.getMeetingRoom();
+        }
+    }
+
+    private static List<Resource> sharedResources(MeetingSeries series, MeetingSeries other) {
+        List<Resource> shared = new ArrayList<>(Resource.values().length);
+
+        if (Objects.equals(series.getTeacher().getId(), other.getTeacher().getId())) {
+            shared.add(Resource.TEACHER);
+        }
+        if (Objects.equals(series.getStudent().getId(), other.getStudent().getId())) {
+            shared.add(Resource.STUDENT);
+        }
+        if (Objects.equals(series.getMeetingRoom(), other.getMeetingRoom())) {
+            shared.add(Resource.ROOM);
+        }
+        return shared;
+    }
+
+    private static long startOf(MeetingOccurrence occurrence) {
+        return occurrence.getMeetingDate().getTime();
+    }
+
+    private static long endOf(MeetingOccurrence occurrence) {
+        return occurrence.getMeetingEnd().getTime();
+    }
+}
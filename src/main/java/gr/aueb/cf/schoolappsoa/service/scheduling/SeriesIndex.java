@@ -0,0 +1,304 @@
+package gr.aueb.cf.schoolappsoa.service.scheduling;
+
+import gr.aueb.cf.schoolappsoa.dao.IMeetingSeriesDAO;
+import gr.aueb.cf.schoolappsoa.dao.exceptions.MeetingSeriesDAOException;
+import gr.aueb.cf.schoolappsoa.model.MeetingSeries;
+import gr.aueb.cf.schoolappsoa.model.Student;
+import gr.aueb.cf.schoolappsoa.model.Teacher;
+import gr.aueb.cf.schoolappsoa.service.scheduling.MeetingConflict.Resource;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * This class keeps the series of the Meeting Series table in memory, by
+ * teacher, by student and by room, next to the {@link MeetingIndex} of the
+ * single meetings, so the checks of a {@link MeetingIndex.Booking} read the
+ * series without a query. A series is one row, however many meetings it
+ * has, so the whole table is read once, at the first use of the index or
+ * by {@link #load()}; then the index is kept up to date by
+ * {@link #put(MeetingSeries)}, {@link #cancel(long, Date)} and
+ * {@link #remove(long)} after every insert, cancellation and delete.
+ * <p>
+ * The index keeps its own copy of a series and replaces it on a
+ * cancellation, so the series it returns are never changed and can be
+ * expanded lazily while the index is updated.
+ *
+ * @author Thanasis Chousiadas
+ */
+public class SeriesIndex {
+    private final IMeetingSeriesDAO seriesDAO;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Resource, Map<Object, Set<Long>>> owners = new EnumMap<>(Resource.class);
+    private final Map<Long, MeetingSeries> series = new HashMap<>();
+    private volatile boolean loaded;
+
+    /**
+     * Dependency injection of {@link IMeetingSeriesDAO} type
+     * implementation in Data Access Object Layer.
+     *
+     * @param seriesDAO an implementation of {@link IMeetingSeriesDAO} interface,
+     *                  which the index is built from.
+     */
+    public SeriesIndex(IMeetingSeriesDAO seriesDAO) {
+        this.seriesDAO = seriesDAO;
+        for (Resource resource : Resource.values()) {
+            owners.put(resource, new HashMap<>());
+        }
+    }
+
+    /**
+     * This method builds the index again from all the records
+     * of the Meeting Series table.
+     *
+     * @throws MeetingSeriesDAOException handles errors propagated from DAO layer
+     *                                   related with {@link gr.aueb.cf.schoolappsoa.dao.MeetingSeriesDAOImpl}.
+     */
+    public void load() throws MeetingSeriesDAOException {
+        lock.writeLock().lock();
+        try {
+            clear();
+            for (MeetingSeries s : seriesDAO.getAll()) {
+                add(s);
+            }
+            loaded = true;
+        } catch (MeetingSeriesDAOException e) {
+            clear();
+            throw e;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * This method adds a series which is inserted in the database. Before
+     * the index is built it does nothing, since the series is read from
+     * the table then.
+     *
+     * @param inserted the inserted {@link MeetingSeries}, with its id.
+     */
+    public void put(MeetingSeries inserted) {
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                removeEntry(inserted.getId());
+                add(inserted);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * This method adds a cancelled meeting to a series of the index.
+     *
+     * @param seriesId      the id of the series.
+     * @param cancelledDate the start of the cancelled meeting.
+     */
+    public void cancel(long seriesId, Date cancelledDate) {
+        lock.writeLock().lock();
+        try {
+            MeetingSeries old = series.get(seriesId);
+            if (old != null) {
+                MeetingSeries copy = copyOf(old);
+                copy.getCancelledDates().add(new Date(cancelledDate.getTime()));
+                series.put(seriesId, copy);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * This method removes a series which is deleted from the database.
+     *
+     * @param id the id of the deleted series.
+     */
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeEntry(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * This method returns the series of a teacher, a student or a room
+     * whose span overlaps a time window.
+     *
+     * @param resource the kind of the owner.
+     * @param owner    the id of the teacher or the student, or the room.
+     * @param from     the start of the window, inclusive.
+     * @param to       the end of the window, exclusive.
+     * @return a {@link List} of the indexed {@link MeetingSeries} objects, ordered
+     * by id, which must not be changed.
+     * @throws MeetingSeriesDAOException handles errors propagated from DAO layer
+     *                                   related with {@link gr.aueb.cf.schoolappsoa.dao.MeetingSeriesDAOImpl},
+     *                                   if the index is built at this call.
+     */
+    public List<MeetingSeries> getSeries(Resource resource, Object owner, Date from, Date to)
+            throws MeetingSeriesDAOException {
+        ensureLoaded();
+        List<MeetingSeries> active = new ArrayList<>();
+
+        lock.readLock().lock();
+        try {
+            Set<Long> ids = owners.get(resource).get(owner);
+            if (ids == null) {
+                return active;
+            }
+            for (Long id : ids) {
+                MeetingSeries s = series.get(id);
+                if (isActive(s, from, to)) {
+                    active.add(s);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return active;
+    }
+
+    /**
+     * This method returns the series of all the owners whose span
+     * overlaps a time window.
+     *
+     * @param from the start of the window, inclusive.
+     * @param to   the end of the window, exclusive.
+     * @return a {@link List} of the indexed {@link MeetingSeries} objects, ordered
+     * by id, which must not be changed.
+     * @throws MeetingSeriesDAOException handles errors propagated from DAO layer
+     *                                   related with {@link gr.aueb.cf.schoolappsoa.dao.MeetingSeriesDAOImpl},
+     *                                   if the index is built at this call.
+     */
+    public List<MeetingSeries> getSeries(Date from, Date to) throws MeetingSeriesDAOException {
+        ensureLoaded();
+        List<MeetingSeries> active = new ArrayList<>();
+
+        lock.readLock().lock();
+        try {
+            for (MeetingSeries s : series.values()) {
+                if (isActive(s, from, to)) {
+                    active.add(s);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        active.sort(Comparator.comparing(MeetingSeries::getId));
+        return active;
+    }
+
+    /**
+     * Returns the number of the indexed series.
+     *
+     * @return the number of the series.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return series.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * A series is active in a window if its span [first date, until date)
+     * overlaps it, the same as in the queries of the DAO.
+     */
+    private static boolean isActive(MeetingSeries s, Date from, Date to) {
+        return s.getFirstDate().before(to) && (s.getUntilDate() == null || s.getUntilDate().after(from));
+    }
+
+    private void ensureLoaded() throws MeetingSeriesDAOException {
+        if (!loaded) {
+            lock.writeLock().lock();
+            try {
+                if (!loaded) {
+                    load();
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private void add(MeetingSeries s) {
+        MeetingSeries copy = copyOf(s);
+        series.put(copy.getId(), copy);
+
+        for (Resource resource : Resource.values()) {
+            owners.get(resource)
+                    .computeIfAbsent(ownerOf(copy, resource), owner -> new TreeSet<>())
+                    .add(copy.getId());
+        }
+    }
+
+    private void removeEntry(long id) {
+        MeetingSeries old = series.remove(id);
+        if (old == null) {
+            return;
+        }
+
+        for (Resource resource : Resource.values()) {
+            Map<Object, Set<Long>> byOwner = owners.get(resource);
+            Object owner = ownerOf(old, resource);
+            Set<Long> ids = byOwner.get(owner);
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                byOwner.remove(owner);
+            }
+        }
+    }
+
+    private void clear() {
+        series.clear();
+        for (Map<Object, Set<Long>> byOwner : owners.values()) {
+            byOwner.clear();
+        }
+        loaded = false;
+    }
+
+    /**
+     * The index keeps its own copy of a series, so a change of the
+     * caller's object cannot move it to another owner.
+     */
+    private static MeetingSeries copyOf(MeetingSeries s) {
+        Student student = new Student();
+        student.setId(s.getStudent().getId());
+        Teacher teacher = new Teacher();
+        teacher.setId(s.getTeacher().getId());
+
+        MeetingSeries copy = new MeetingSeries(s.getId(), student, teacher, s.getMeetingRoom(),
+                new Date(s.getFirstDate().getTime()), new Date(s.getFirstEnd().getTime()), s.getIntervalWeeks(),
+                s.getUntilDate() == null ? null : new Date(s.getUntilDate().getTime()));
+        copy.getCancelledDates().addAll(s.getCancelledDates());
+        return copy;
+    }
+
+    private static Object ownerOf(MeetingSeries s, Resource resource) {
+        switch (resource) {
+            case TEACHER:
+                return s.getTeacher().getId();
+            case STUDENT:
+                return s.getStudent().getId();
+            default:
+                return s.getMeetingRoom();
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package gr.aueb.cf.schoolappsoa.service.security;
+
+import org.mindrot.jbcrypt.BCrypt;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntToLongFunction;
+
+/**
+ * This class picks the bcrypt cost for the hardware the application
+ * runs on: the highest cost where hashing a password does not take
+ * longer than a latency target. Every step of the cost doubles the
+ * time of a hash, so the costs are measured from the lowest one up
+ * and the measurement stops at the first cost above the target.
+ * <p>
+ * The hashes are measured on all the cores at once, as the
+ * {@link HashingExecutor} runs them under load, because a core
+ * hashes slower when the other cores are busy too.
+ *
+ * @author Thanasis Chousiadas
+ */
+public final class BcryptCalibrator {
+    public static final int MIN_COST = 10;
+    public static final int MAX_COST = 16;
+    private static final int SAMPLES = 3;
+
+    /**
+     * No instances of this class should be available.
+     */
+    private BcryptCalibrator() {
+    }
+
+    /**
+     * Measures bcrypt on this machine and returns the highest cost,
+     * between {@value #MIN_COST} and {@value #MAX_COST}, which meets the target
+     * while every core hashes.
+     *
+     * @param targetMillis the maximum time of a hash in milliseconds.
+     * @return the cost, or {@value #MIN_COST} if no cost meets the target.
+     */
+    public static int calibrate(long targetMillis) {
+        return calibrate(targetMillis, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Measures bcrypt on this machine with a number of concurrent hashes
+     * and returns the highest cost, between {@value #MIN_COST} and
+     * {@value #MAX_COST}, which meets the target.
+     *
+     * @param targetMillis the maximum time of a hash in milliseconds.
+     * @param threads      the number of hashes which run at once.
+     * @return the cost, or {@value #MIN_COST} if no cost meets the target.
+     */
+    public static int calibrate(long targetMillis, int threads) {
+        ExecutorService executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "bcrypt-calibration");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try {
+            return calibrate(targetMillis, MIN_COST, MAX_COST, cost -> measureMillis(cost, executor, threads));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Returns the highest cost between minCost and maxCost,
+     * whose measured time meets the target.
+     *
+     * @param targetMillis the maximum time of a hash in milliseconds.
+     * @param minCost      the lowest cost.
+     * @param maxCost      the highest cost.
+     * @param measure      returns the time of a hash of a cost in milliseconds.
+     * @return the cost, or minCost if no cost meets the target.
+     */
+    static int calibrate(long targetMillis, int minCost, int maxCost, IntToLongFunction measure) {
+        int best = minCost;
+
+        for (int cost = minCost; cost <= maxCost; cost++) {
+            if (measure.applyAsLong(cost) > targetMillis) {
+                break;
+            }
+            best = cost;
+        }
+        return best;
+    }
+
+    /**
+     * Returns the median time of a few hashes of a cost, which
+     * every thread of the executor runs at the same time.
+     *
+     * @param cost     the bcrypt cost.
+     * @param executor the executor of the hashes.
+     * @param threads  the number of threads of the executor.
+     * @return the time of a hash in milliseconds.
+     */
+    private static long measureMillis(int cost, ExecutorService executor, int threads) {
+        CountDownLatch ready = new CountDownLatch(threads);
+        List<Callable<long[]>> tasks = new ArrayList<>(threads);
+
+        for (int t = 0; t < threads; t++) {
+            tasks.add(() -> {
+                ready.countDown();
+                ready.await();
+                long[] samples = new long[SAMPLES];
+                for (int i = 0; i < SAMPLES; i++) {
+                    long start = System.nanoTime();
+                    BCrypt.hashpw("calibration", BCrypt.gensalt(cost));
+                    samples[i] = (System.nanoTime() - start) / 1_000_000;
+                }
+                return samples;
+            });
+        }
+
+        long[] all = new long[threads * SAMPLES];
+        try {
+            List<Future<long[]>> results = executor.invokeAll(tasks);
+            for (int t = 0; t < threads; t++) {
+                System.arraycopy(results.get(t).get(), 0, all, t * SAMPLES, SAMPLES);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("bcrypt calibration interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("bcrypt calibration failed", e.getCause());
+        }
+        Arrays.sort(all);
+        return all[all.length / 2];
+    }
+}
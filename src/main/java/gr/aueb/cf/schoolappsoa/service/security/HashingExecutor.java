@@ -0,0 +1,205 @@
+package gr.aueb.cf.schoolappsoa.service.security;
+
+import gr.aueb.cf.schoolappsoa.service.util.LatencyHistogram;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class runs the bcrypt hashing and verification of the passwords,
+ * which takes hundreds of milliseconds each, on a pool with one thread
+ * per CPU core, so they never run on the Swing event dispatch thread and
+ * never oversubscribe the CPU. The queue of the pool is bounded; when it
+ * is full a task fails with a {@link RejectedExecutionException} instead
+ * of waiting behind an unbounded backlog. The time every task waits in
+ * the queue and the time it runs are recorded.
+ *
+ * @author Thanasis Chousiadas
+ */
+public class HashingExecutor implements HashingExecutorMXBean {
+    public static final String OBJECT_NAME = "gr.aueb.cf.schoolappsoa:type=PasswordHashing";
+    public static final int DEFAULT_QUEUE_CAPACITY = 256;
+
+    private final ThreadPoolExecutor executor;
+    private final int queueCapacity;
+    private final LatencyHistogram queueWait = new LatencyHistogram();
+    private final LatencyHistogram run = new LatencyHistogram();
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * Overloaded constructor.
+     *
+     * @param threads       the number of threads of the pool.
+     * @param queueCapacity the maximum number of waiting tasks.
+     */
+    public HashingExecutor(int threads, int queueCapacity) {
+        AtomicInteger count = new AtomicInteger();
+        this.queueCapacity = queueCapacity;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+                    Thread thread = new Thread(r, "bcrypt-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Returns the executor shared by the application, with one thread
+     * per CPU core, which is registered in JMX at its first use.
+     *
+     * @return the shared {@link HashingExecutor}.
+     */
+    public static HashingExecutor getDefault() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Runs a task on the pool.
+     *
+     * @param task the task.
+     * @param <T>  the type of the result.
+     * @return a {@link CompletableFuture} with the result of the task; it
+     * completes exceptionally with the exception of the task or with a
+     * {@link RejectedExecutionException} if the queue is full.
+     */
+    public <T> CompletableFuture<T> submit(Callable<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        long submitted = System.nanoTime();
+
+        try {
+            executor.execute(() -> {
+                long started = System.nanoTime();
+                queueWait.record(started - submitted);
+                T result;
+                try {
+                    result = task.call();
+                } catch (Throwable e) {
+                    run.recordSince(started);
+                    future.completeExceptionally(e);
+                    return;
+                }
+                run.recordSince(started);
+                future.complete(result);
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * Hashes a password on the pool.
+     *
+     * @param inputPasswd the password given by the user.
+     * @return a {@link CompletableFuture} with the hashed password.
+     */
+    public CompletableFuture<String> hash(String inputPasswd) {
+        return submit(() -> SecUtil.hashPassword(inputPasswd));
+    }
+
+    /**
+     * Checks a password against a hash on the pool.
+     *
+     * @param inputPasswd  the password given by the user.
+     * @param hashedPasswd the stored hash.
+     * @return a {@link CompletableFuture} with true if the password matches.
+     */
+    public CompletableFuture<Boolean> check(String inputPasswd, String hashedPasswd) {
+        return submit(() -> SecUtil.checkPassword(inputPasswd, hashedPasswd));
+    }
+
+    /**
+     * Stops the pool after the submitted tasks.
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    @Override
+    public int getPoolSize() {
+        return executor.getCorePoolSize();
+    }
+
+    @Override
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    @Override
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    @Override
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    @Override
+    public long getCompletedCount() {
+        return run.getCount();
+    }
+
+    @Override
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    @Override
+    public double getMeanQueueWaitMillis() {
+        return queueWait.getMeanMillis();
+    }
+
+    @Override
+    public double getP99QueueWaitMillis() {
+        return queueWait.getPercentileMillis(99);
+    }
+
+    @Override
+    public double getMeanRunMillis() {
+        return run.getMeanMillis();
+    }
+
+    @Override
+    public double getP99RunMillis() {
+        return run.getPercentileMillis(99);
+    }
+
+    public LatencyHistogram getQueueWait() {
+        return queueWait;
+    }
+
+    public LatencyHistogram getRun() {
+        return run;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("threads=%d, active=%d, queue=%d/%d, rejected=%d, wait=[%s], run=[%s]",
+                getPoolSize(), getActiveCount(), getQueueDepth(), queueCapacity, getRejectedCount(), queueWait, run);
+    }
+
+    private static final class Holder {
+        private static final HashingExecutor INSTANCE =
+                new HashingExecutor(Runtime.getRuntime().availableProcessors(), DEFAULT_QUEUE_CAPACITY);
+
+        static {
+            try {
+                ManagementFactory.getPlatformMBeanServer()
+                        .registerMBean(INSTANCE, new ObjectName(OBJECT_NAME));
+            } catch (JMException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package gr.aueb.cf.schoolappsoa.service.security;
+
+/**
+ * The live gauges of the {@link HashingExecutor}, as exported through
+ * JMX under the name {@value HashingExecutor#OBJECT_NAME}.
+ *
+ * @author Thanasis Chousiadas
+ */
+public interface HashingExecutorMXBean {
+    int getPoolSize();
+    int getActiveCount();
+    int getQueueDepth();
+    int getQueueCapacity();
+    long getCompletedCount();
+    long getRejectedCount();
+    double getMeanQueueWaitMillis();
+    double getP99QueueWaitMillis();
+    double getMeanRunMillis();
+    double getP99RunMillis();
+}
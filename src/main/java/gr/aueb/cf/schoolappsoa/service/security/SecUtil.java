@@ -4,11 +4,18 @@ import org.mindrot.jbcrypt.BCrypt;
 
 /**
  * This utility class hashes the password
- * using jBCrypt library.
+ * using jBCrypt library. The bcrypt cost (workload)
+ * is read from the {@value #COST_PROPERTY} system property,
+ * or it is set by {@link #calibrate(long)}. Each hash keeps
+ * the cost it was made with, in its {@code $2a$NN$} prefix.
  *
  * @author Thanasis Chousiadas
  */
 public class SecUtil {
+    public static final String COST_PROPERTY = "security.bcrypt.cost";
+    public static final int DEFAULT_WORKLOAD = 12;
+
+    private static volatile int workload = Integer.getInteger(COST_PROPERTY, DEFAULT_WORKLOAD);
 
     /**
      * No instances of this class should be available.
@@ -23,7 +30,6 @@ public class SecUtil {
      * @return a hashed String.
      */
     public static String hashPassword(String inputPasswd) {
-        int workload = 12;
         String salt = BCrypt.gensalt(workload);
         return BCrypt.hashpw(inputPasswd, salt);
     }
@@ -40,4 +46,66 @@ public class SecUtil {
     public static boolean checkPassword(String inputPasswd, String hashedPasswd) {
         return BCrypt.checkpw(inputPasswd, hashedPasswd);
     }
+
+    /**
+     * This utility method returns the cost a hash was made with.
+     *
+     * @param hashedPasswd a bcrypt hash, e.g. {@code $2a$12$...}.
+     * @return the cost of the hash.
+     * @throws IllegalArgumentException if the hash is not a bcrypt hash.
+     */
+    public static int costOf(String hashedPasswd) {
+        if (hashedPasswd == null || hashedPasswd.length() < 7 || hashedPasswd.charAt(0) != '$') {
+            throw new IllegalArgumentException("Not a bcrypt hash");
+        }
+
+        int start = hashedPasswd.indexOf('$', 1) + 1;
+        try {
+            return Integer.parseInt(hashedPasswd.substring(start, start + 2));
+        } catch (NumberFormatException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Not a bcrypt hash");
+        }
+    }
+
+    /**
+     * This utility method checks if a hash was made with a cost
+     * other than the current one, so it should be made again.
+     *
+     * @param hashedPasswd a bcrypt hash.
+     * @return true if the cost of the hash is not the current cost,
+     * otherwise false.
+     */
+    public static boolean needsRehash(String hashedPasswd) {
+        return costOf(hashedPasswd) != workload;
+    }
+
+    /**
+     * This utility method measures bcrypt on this machine and sets
+     * the cost to the highest one that meets a latency target.
+     *
+     * @param targetMillis the maximum time of a hash in milliseconds.
+     * @return the new cost.
+     * @see BcryptCalibrator
+     */
+    public static int calibrate(long targetMillis) {
+        workload = BcryptCalibrator.calibrate(targetMillis);
+        return workload;
+    }
+
+    public static int getWorkload() {
+        return workload;
+    }
+
+    /**
+     * This utility method sets the bcrypt cost of the new hashes.
+     *
+     * @param workload the cost, between 4 and 31.
+     * @throws IllegalArgumentException if the cost is out of range.
+     */
+    public static void setWorkload(int workload) {
+        if (workload < 4 || workload > 31) {
+            throw new IllegalArgumentException("Invalid bcrypt cost: " + workload);
+        }
+        SecUtil.workload = workload;
+    }
 }
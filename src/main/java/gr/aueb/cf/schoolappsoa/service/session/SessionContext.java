@@ -0,0 +1,48 @@
+package gr.aueb.cf.schoolappsoa.service.session;
+
+/**
+ * This class holds the {@link UserSession} of the user logged in the
+ * application. It is set by the login of
+ * {@link gr.aueb.cf.schoolappsoa.service.UserServiceImpl} and read
+ * by the menus, which never query the database for the current user.
+ *
+ * @author Thanasis Chousiadas
+ */
+public final class SessionContext {
+    private static volatile UserSession current;
+
+    /**
+     * No instances of this class should be available.
+     */
+    private SessionContext() {
+    }
+
+    /**
+     * Returns the session of the logged in user.
+     *
+     * @return the {@link UserSession}, or null if no user is logged in.
+     */
+    public static UserSession getCurrent() {
+        return current;
+    }
+
+    public static boolean isAuthenticated() {
+        return current != null;
+    }
+
+    /**
+     * Starts the session of a user, replacing the previous one.
+     *
+     * @param session the {@link UserSession} of the user.
+     */
+    public static void start(UserSession session) {
+        current = session;
+    }
+
+    /**
+     * Ends the session of the logged in user.
+     */
+    public static void end() {
+        current = null;
+    }
+}
@@ -0,0 +1,74 @@
+package gr.aueb.cf.schoolappsoa.service.session;
+
+import gr.aueb.cf.schoolappsoa.model.Role;
+import gr.aueb.cf.schoolappsoa.model.Student;
+import gr.aueb.cf.schoolappsoa.model.Teacher;
+import gr.aueb.cf.schoolappsoa.model.UserProfile;
+
+import java.time.Instant;
+
+/**
+ * This class holds the authenticated user of the application:
+ * its id, username, {@link Role} and the {@link Student} or
+ * {@link Teacher} profile, as they were read at login. It keeps
+ * no password hash. The current session is held by {@link SessionContext}.
+ *
+ * @author Thanasis Chousiadas
+ */
+public final class UserSession {
+    private final long userId;
+    private final String username;
+    private final Role role;
+    private final Student student;
+    private final Teacher teacher;
+    private final Instant loginTime;
+
+    /**
+     * Creates the session of a user that has just logged in.
+     *
+     * @param profile the {@link UserProfile} of the user.
+     */
+    public UserSession(UserProfile profile) {
+        this.userId = profile.getUser().getId();
+        this.username = profile.getUser().getUsername();
+        this.role = profile.getRole();
+        this.student = profile.getStudent();
+        this.teacher = profile.getTeacher();
+        this.loginTime = Instant.now();
+    }
+
+    public long getUserId() {
+        return userId;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public Role getRole() {
+        return role;
+    }
+
+    /**
+     * @return the {@link Student} of the user, or null if the user is not a student.
+     */
+    public Student getStudent() {
+        return student;
+    }
+
+    /**
+     * @return the {@link Teacher} of the user, or null if the user is not a teacher.
+     */
+    public Teacher getTeacher() {
+        return teacher;
+    }
+
+    public Instant getLoginTime() {
+        return loginTime;
+    }
+
+    @Override
+    public String toString() {
+        return username + " (" + role + ")";
+    }
+}
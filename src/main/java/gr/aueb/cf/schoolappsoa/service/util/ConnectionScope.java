@@ -0,0 +1,187 @@
+package gr.aueb.cf.schoolappsoa.service.util;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * This class binds one {@link Connection} to the calling thread,
+ * so the nested calls of the Data Access Object Layer reuse it
+ * instead of checking out a new connection from the pool each.
+ * The connection is checked out at its first use and it is released
+ * when the outermost scope of the thread is closed. The connections
+ * handed out inside a scope ignore {@link Connection#close()}, so the
+ * DAOs keep closing them in their try-with-resources blocks.
+ * <pre>{@code
+ * try (ConnectionScope ignored = DBUtil.openScope()) {
+ *     // DAO calls share one connection
+ * }
+ * }</pre>
+ * A scope belongs to the thread which opened it and it must be
+ * closed by the same thread.
+ *
+ * @author Thanasis Chousiadas
+ */
+public final class ConnectionScope implements AutoCloseable {
+    private static final ThreadLocal<ConnectionScope> current = new ThreadLocal<>();
+
+    private final DataSource dataSource;
+    private final Thread owner;
+    private Connection connection;
+    private Connection guardedConnection;
+    private int depth = 1;
+    private boolean rollbackOnly;
+
+    private ConnectionScope(DataSource dataSource) {
+        this.dataSource = dataSource;
+        this.owner = Thread.currentThread();
+    }
+
+    /**
+     * Opens a scope for the calling thread. If the thread has
+     * already an open scope, the same scope is returned and it is
+     * released when the outermost scope is closed.
+     *
+     * @param dataSource the pool of the connections.
+     * @return the {@link ConnectionScope} of the calling thread.
+     */
+    public static ConnectionScope open(DataSource dataSource) {
+        ConnectionScope scope = current.get();
+
+        if (scope != null) {
+            scope.depth++;
+            return scope;
+        }
+        scope = new ConnectionScope(dataSource);
+        current.set(scope);
+        return scope;
+    }
+
+    /**
+     * Returns the open scope of the calling thread.
+     *
+     * @return the {@link ConnectionScope} or null, if there is none.
+     */
+    public static ConnectionScope current() {
+        return current.get();
+    }
+
+    /**
+     * Returns the connection of the calling thread's scope or,
+     * if there is no open scope, a new connection from the pool,
+     * which the caller must close.
+     *
+     * @param dataSource the pool of the connections.
+     * @return a {@link Connection} object.
+     * @throws SQLException if a connection cannot be checked out.
+     */
+    public static Connection getConnection(DataSource dataSource) throws SQLException {
+        ConnectionScope scope = current.get();
+
+        if (scope == null) {
+            return dataSource.getConnection();
+        }
+        return scope.getConnection();
+    }
+
+    /**
+     * Returns the connection of this scope, checking it out
+     * from the pool at the first call.
+     *
+     * @return a {@link Connection} object, which ignores {@link Connection#close()}.
+     * @throws SQLException if a connection cannot be checked out.
+     */
+    public Connection getConnection() throws SQLException {
+        checkOwner();
+        if (connection == null) {
+            connection = dataSource.getConnection();
+            guardedConnection = guard(connection);
+        }
+        return guardedConnection;
+    }
+
+    /**
+     * Returns if this scope has already checked out its connection.
+     *
+     * @return true if the connection is checked out, otherwise false.
+     */
+    public boolean hasConnection() {
+        return connection != null;
+    }
+
+    /**
+     * Returns if the transaction on the connection of this scope
+     * is marked rollback-only by a nested {@link UnitOfWork}.
+     *
+     * @return true if rollback-only, otherwise false.
+     */
+    boolean isRollbackOnly() {
+        return rollbackOnly;
+    }
+
+    /**
+     * Marks or unmarks the transaction on the connection
+     * of this scope as rollback-only.
+     *
+     * @param rollbackOnly true to mark, false when the transaction ends.
+     */
+    void setRollbackOnly(boolean rollbackOnly) {
+        this.rollbackOnly = rollbackOnly;
+    }
+
+    /**
+     * Closes this scope. The outermost close of the thread
+     * releases the connection back to the pool.
+     */
+    @Override
+    public void close() {
+        checkOwner();
+        if (--depth > 0) {
+            return;
+        }
+
+        current.remove();
+        if (connection != null) {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                e.printStackTrace();
+            } finally {
+                connection = null;
+                guardedConnection = null;
+            }
+        }
+    }
+
+    private void checkOwner() {
+        if (Thread.currentThread() != owner) {
+            throw new IllegalStateException("Connection scope of " + owner.getName()
+                    + " used by " + Thread.currentThread().getName());
+        }
+    }
+
+    /**
+     * Wraps a connection, so the close calls of the DAOs
+     * do not release it before the scope is closed.
+     *
+     * @param conn the connection of the scope.
+     * @return a {@link Connection} which ignores {@link Connection#close()}.
+     */
+    private static Connection guard(Connection conn) {
+        return (Connection) Proxy.newProxyInstance(
+                ConnectionScope.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("close") && method.getParameterCount() == 0) {
+                        return null;
+                    }
+                    try {
+                        return method.invoke(conn, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+}
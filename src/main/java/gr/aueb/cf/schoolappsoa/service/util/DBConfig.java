@@ -0,0 +1,97 @@
+package gr.aueb.cf.schoolappsoa.service.util;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+
+/**
+ * This class holds the settings of the database connection
+ * and of the connection pool. The settings are read, in order of
+ * precedence, from the system properties, from an external file
+ * given with the {@value #CONFIG_FILE_PROPERTY} system property
+ * and from the {@value #CLASSPATH_RESOURCE} file of the classpath.
+ *
+ * @author Thanasis Chousiadas
+ */
+public class DBConfig {
+    public static final String CONFIG_FILE_PROPERTY = "db.config";
+    public static final String CLASSPATH_RESOURCE = "/db.properties";
+    public static final String BATCH_SIZE_PROPERTY = "db.batchSize";
+    public static final int DEFAULT_BATCH_SIZE = 500;
+
+    private final Properties properties;
+
+    /**
+     * Overloaded constructor.
+     *
+     * @param properties the settings.
+     */
+    public DBConfig(Properties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Loads the settings from the classpath, the external file
+     * and the system properties.
+     *
+     * @return a {@link DBConfig} object.
+     */
+    public static DBConfig load() {
+        Properties properties = new Properties();
+
+        try (InputStream in = DBConfig.class.getResourceAsStream(CLASSPATH_RESOURCE)) {
+            if (in != null) {
+                properties.load(in);
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+
+        String file = System.getProperty(CONFIG_FILE_PROPERTY);
+        if (file != null) {
+            try (InputStream in = new FileInputStream(file)) {
+                properties.load(in);
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+
+        for (String key : System.getProperties().stringPropertyNames()) {
+            if (key.startsWith("db.")) {
+                properties.setProperty(key, System.getProperty(key));
+            }
+        }
+        return new DBConfig(properties);
+    }
+
+    public String getString(String key, String defaultValue) {
+        String value = properties.getProperty(key);
+        return value == null || value.isBlank() ? defaultValue : value.trim();
+    }
+
+    public int getInt(String key, int defaultValue) {
+        String value = getString(key, null);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+
+    public long getLong(String key, long defaultValue) {
+        String value = getString(key, null);
+        return value == null ? defaultValue : Long.parseLong(value);
+    }
+
+    public boolean getBoolean(String key, boolean defaultValue) {
+        String value = getString(key, null);
+        return value == null ? defaultValue : Boolean.parseBoolean(value);
+    }
+
+    /**
+     * Returns the number of rows of every round trip of the batch
+     * inserts ({@value #BATCH_SIZE_PROPERTY}).
+     *
+     * @return the batch size, {@value #DEFAULT_BATCH_SIZE} if it is not set.
+     */
+    public int getBatchSize() {
+        return getInt(BATCH_SIZE_PROPERTY, DEFAULT_BATCH_SIZE);
+    }
+}
@@ -1,7 +1,8 @@
 package gr.aueb.cf.schoolappsoa.service.util;
 
-import org.apache.commons.dbcp2.BasicDataSource;
-
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
 import java.sql.Connection;
 import java.sql.SQLException;
 
@@ -9,22 +10,36 @@ import java.sql.SQLException;
  * This class is a utility class and provides
  * connections with the database using
  * a JDBC implementation for MySQL database.
+ * The settings of the connection pool are read with
+ * {@link DBConfig} and its gauges are exported with
+ * {@link PoolMetrics}.
  *
  * @author Thanasis Chousiadas
  */
 public class DBUtil {
-    private static final BasicDataSource ds = new BasicDataSource();
-    private static Connection connection;
+    private static final DBConfig config = DBConfig.load();
+    private static final MeteredDataSource ds = new MeteredDataSource();
 
     static {
-        ds.setUrl("jdbc:mysql://localhost:3306/schooldbpro?serverTimezone=UTC");
-        ds.setUsername("schoolpro_user");
-        ds.setPassword(System.getenv("SCHOOL_PRO_PASSWD"));
-        ds.setInitialSize(8);
-        ds.setMaxTotal(32);
-        ds.setMinIdle(8);
-        ds.setMaxIdle(10);
-        ds.setMaxOpenPreparedStatements(100);
+        ds.setUrl(config.getString("db.url", "jdbc:mysql://localhost:3306/schooldbpro?serverTimezone=UTC&rewriteBatchedStatements=true"));
+        ds.setUsername(config.getString("db.username", "schoolpro_user"));
+        ds.setPassword(config.getString("db.password", System.getenv("SCHOOL_PRO_PASSWD")));
+        ds.setInitialSize(config.getInt("db.pool.initialSize", 8));
+        ds.setMaxTotal(config.getInt("db.pool.maxTotal", 32));
+        ds.setMinIdle(config.getInt("db.pool.minIdle", 8));
+        ds.setMaxIdle(config.getInt("db.pool.maxIdle", 10));
+        ds.setMaxWaitMillis(config.getLong("db.pool.maxWaitMillis", -1L));
+        ds.setPoolPreparedStatements(config.getBoolean("db.pool.poolPreparedStatements", true));
+        ds.setMaxOpenPreparedStatements(config.getInt("db.pool.maxOpenPreparedStatements", 100));
+        // needed to reach the statement cache of the physical connections
+        ds.setAccessToUnderlyingConnectionAllowed(true);
+
+        try {
+            ManagementFactory.getPlatformMBeanServer()
+                    .registerMBean(ds.getMetrics(), new ObjectName(PoolMetrics.OBJECT_NAME));
+        } catch (JMException e) {
+            e.printStackTrace();
+        }
     }
 
     /**
@@ -34,27 +49,81 @@ public class DBUtil {
     }
 
     /**
-     * Returns a new {@link Connection} type object with
-     * the database.
+     * Returns a {@link Connection} type object with
+     * the database. Inside a {@link ConnectionScope} of the
+     * calling thread it returns the connection of the scope,
+     * otherwise a new connection from the pool.
      *
      * @return a {@link Connection} type object.
      * @throws SQLException an exception that handles errors
      *                      with database connection.
      */
     public static Connection getConnection() throws SQLException {
-        connection = ds.getConnection();
-        return connection;
+        return ConnectionScope.getConnection(ds);
+    }
+
+    /**
+     * Returns a new connection from the pool, even inside a
+     * {@link ConnectionScope}. It is meant for long reads, like
+     * streaming result sets, which keep their connection busy.
+     * The caller must close it.
+     *
+     * @return a {@link Connection} type object.
+     * @throws SQLException an exception that handles errors
+     *                      with database connection.
+     */
+    public static Connection getDedicatedConnection() throws SQLException {
+        return ds.getConnection();
+    }
+
+    /**
+     * Opens a {@link ConnectionScope} for the calling thread, where
+     * all the calls of {@link #getConnection()} share one connection.
+     *
+     * @return the {@link ConnectionScope} of the calling thread.
+     */
+    public static ConnectionScope openScope() {
+        return ConnectionScope.open(ds);
+    }
+
+    /**
+     * Begins a {@link UnitOfWork} for the calling thread, where
+     * all the calls of {@link #getConnection()} share one connection
+     * and one transaction.
+     *
+     * @return a new {@link UnitOfWork}.
+     * @throws SQLException an exception that handles errors
+     *                      with database connection.
+     */
+    public static UnitOfWork beginUnitOfWork() throws SQLException {
+        return UnitOfWork.begin(ds);
     }
 
     /**
-     * This method closes a connection and
-     * frees up the resources.
+     * Returns the live gauges of the connection pool.
+     *
+     * @return a {@link PoolMetrics} object.
+     */
+    public static PoolMetrics getPoolMetrics() {
+        return ds.getMetrics();
+    }
+
+    /**
+     * Returns the settings of the database connection.
+     *
+     * @return a {@link DBConfig} object.
+     */
+    public static DBConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * This method closes the {@link ConnectionScope} of the
+     * calling thread, if there is one, and frees up the resources.
+     * Connections of other threads are never affected.
      */
     public static void closeConnection() {
-        try {
-            if (connection != null) connection.close();
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
+        ConnectionScope scope = ConnectionScope.current();
+        if (scope != null) scope.close();
     }
 }
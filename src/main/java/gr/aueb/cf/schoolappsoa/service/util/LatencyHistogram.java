@@ -0,0 +1,129 @@
+package gr.aueb.cf.schoolappsoa.service.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A histogram of latencies with fixed buckets in milliseconds.
+ * Recording is lock-free and safe for concurrent use.
+ *
+ * @author Thanasis Chousiadas
+ */
+public class LatencyHistogram {
+    private static final double[] BOUNDS_MILLIS = {
+            0.1, 0.5, 1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000
+    };
+
+    private final LongAdder[] buckets = new LongAdder[BOUNDS_MILLIS.length + 1];
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    /**
+     * Default constructor.
+     */
+    public LatencyHistogram() {
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Records a latency.
+     *
+     * @param nanos the latency in nanoseconds.
+     */
+    public void record(long nanos) {
+        double millis = nanos / 1_000_000.0;
+        int i = 0;
+
+        while (i < BOUNDS_MILLIS.length && millis > BOUNDS_MILLIS[i]) {
+            i++;
+        }
+        buckets[i].increment();
+        count.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public double getMeanMillis() {
+        long n = count.sum();
+        return n == 0 ? 0.0 : totalNanos.sum() / 1_000_000.0 / n;
+    }
+
+    public double getMaxMillis() {
+        return maxNanos.get() / 1_000_000.0;
+    }
+
+    /**
+     * Returns the upper bounds of the buckets in milliseconds.
+     * The last bucket, without an upper bound, is not included.
+     *
+     * @return the upper bounds of the buckets.
+     */
+    public double[] getBucketBoundsMillis() {
+        return BOUNDS_MILLIS.clone();
+    }
+
+    /**
+     * Returns the number of latencies of each bucket. The last
+     * element counts the latencies above the greatest bound.
+     *
+     * @return the counts of the buckets.
+     */
+    public long[] getBucketCounts() {
+        long[] counts = new long[buckets.length];
+        for (int i = 0; i < buckets.length; i++) {
+            counts[i] = buckets[i].sum();
+        }
+        return counts;
+    }
+
+    /**
+     * Returns the upper bound of the bucket where a percentile falls.
+     *
+     * @param percentile the percentile, between 0 and 100.
+     * @return the upper bound in milliseconds, or the maximum latency
+     * if the percentile falls in the last bucket.
+     */
+    public double getPercentileMillis(double percentile) {
+        long[] counts = getBucketCounts();
+        long total = 0;
+        for (long c : counts) {
+            total += c;
+        }
+        if (total == 0) {
+            return 0.0;
+        }
+
+        long rank = (long) Math.ceil(total * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i < BOUNDS_MILLIS.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return BOUNDS_MILLIS[i];
+            }
+        }
+        return getMaxMillis();
+    }
+
+    /**
+     * Measures the time from a start of {@link System#nanoTime()} until now
+     * and records it.
+     *
+     * @param startNanos the start of the measurement.
+     */
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("count=%d, mean=%.2fms, p99=%.1fms, max=%.2fms",
+                getCount(), getMeanMillis(), getPercentileMillis(99), getMaxMillis());
+    }
+}
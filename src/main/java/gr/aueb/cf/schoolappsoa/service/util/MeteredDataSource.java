@@ -0,0 +1,28 @@
+package gr.aueb.cf.schoolappsoa.service.util;
+
+import org.apache.commons.dbcp2.BasicDataSource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * A {@link BasicDataSource} which records the time spent waiting
+ * for every connection checked out from the pool.
+ *
+ * @author Thanasis Chousiadas
+ */
+class MeteredDataSource extends BasicDataSource {
+    private final PoolMetrics metrics = new PoolMetrics(this);
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        long start = System.nanoTime();
+        Connection conn = super.getConnection();
+        metrics.recordBorrow(System.nanoTime() - start, conn);
+        return conn;
+    }
+
+    public PoolMetrics getMetrics() {
+        return metrics;
+    }
+}
@@ -0,0 +1,178 @@
+package gr.aueb.cf.schoolappsoa.service.util;
+
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.apache.commons.dbcp2.DelegatingConnection;
+import org.apache.commons.dbcp2.PoolingConnection;
+import org.apache.commons.pool2.KeyedObjectPool;
+import org.apache.commons.pool2.impl.GenericKeyedObjectPool;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * This class provides the live gauges of the connection pool:
+ * the active and idle connections, the time spent waiting for
+ * a connection and the hit rate of the prepared statement cache.
+ * The gauges are read on every call, so they are always current.
+ *
+ * @author Thanasis Chousiadas
+ */
+public class PoolMetrics implements PoolMetricsMXBean {
+    public static final String OBJECT_NAME = "gr.aueb.cf.schoolappsoa:type=ConnectionPool";
+
+    private final BasicDataSource ds;
+    private final LatencyHistogram borrowWait = new LatencyHistogram();
+    private final Set<PoolingConnection> physicalConnections =
+            Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+
+    /**
+     * Overloaded constructor.
+     *
+     * @param ds the connection pool.
+     */
+    public PoolMetrics(BasicDataSource ds) {
+        this.ds = ds;
+    }
+
+    /**
+     * Records the checkout of a connection from the pool.
+     *
+     * @param waitNanos the time spent waiting for the connection.
+     * @param conn      the connection.
+     */
+    void recordBorrow(long waitNanos, Connection conn) {
+        borrowWait.record(waitNanos);
+        PoolingConnection pooling = findPoolingConnection(conn);
+        if (pooling != null) {
+            physicalConnections.add(pooling);
+        }
+    }
+
+    @Override
+    public int getNumActive() {
+        return ds.getNumActive();
+    }
+
+    @Override
+    public int getNumIdle() {
+        return ds.getNumIdle();
+    }
+
+    @Override
+    public int getMaxTotal() {
+        return ds.getMaxTotal();
+    }
+
+    @Override
+    public boolean isSaturated() {
+        return ds.getMaxTotal() > 0 && ds.getNumActive() >= ds.getMaxTotal();
+    }
+
+    @Override
+    public long getBorrowCount() {
+        return borrowWait.getCount();
+    }
+
+    @Override
+    public double getMeanBorrowWaitMillis() {
+        return borrowWait.getMeanMillis();
+    }
+
+    @Override
+    public double getP99BorrowWaitMillis() {
+        return borrowWait.getPercentileMillis(99);
+    }
+
+    @Override
+    public double getMaxBorrowWaitMillis() {
+        return borrowWait.getMaxMillis();
+    }
+
+    @Override
+    public double[] getBorrowWaitBucketBoundsMillis() {
+        return borrowWait.getBucketBoundsMillis();
+    }
+
+    @Override
+    public long[] getBorrowWaitBucketCounts() {
+        return borrowWait.getBucketCounts();
+    }
+
+    /**
+     * Returns the number of prepared statements requested from the
+     * statement caches of the physical connections.
+     *
+     * @return the number of requests.
+     */
+    @Override
+    public long getStatementRequests() {
+        long requests = 0;
+        for (GenericKeyedObjectPool<?, ?> pool : statementPools()) {
+            requests += pool.getBorrowedCount();
+        }
+        return requests;
+    }
+
+    /**
+     * Returns the number of prepared statements created by the
+     * database, that is the requests which missed the cache.
+     *
+     * @return the number of prepared statements.
+     */
+    @Override
+    public long getStatementsPrepared() {
+        long prepared = 0;
+        for (GenericKeyedObjectPool<?, ?> pool : statementPools()) {
+            prepared += pool.getCreatedCount();
+        }
+        return prepared;
+    }
+
+    @Override
+    public double getStatementCacheHitRate() {
+        long requests = 0;
+        long prepared = 0;
+
+        for (GenericKeyedObjectPool<?, ?> pool : statementPools()) {
+            requests += pool.getBorrowedCount();
+            prepared += pool.getCreatedCount();
+        }
+        return requests == 0 ? 0.0 : (double) (requests - prepared) / requests;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("active=%d, idle=%d, maxTotal=%d, borrowWait=[%s], statementCacheHitRate=%.3f",
+                getNumActive(), getNumIdle(), getMaxTotal(), borrowWait, getStatementCacheHitRate());
+    }
+
+    private List<GenericKeyedObjectPool<?, ?>> statementPools() {
+        List<GenericKeyedObjectPool<?, ?>> pools = new ArrayList<>();
+
+        synchronized (physicalConnections) {
+            for (PoolingConnection conn : physicalConnections) {
+                KeyedObjectPool<?, ?> pool = conn.getStatementPool();
+                if (pool instanceof GenericKeyedObjectPool) {
+                    pools.add((GenericKeyedObjectPool<?, ?>) pool);
+                }
+            }
+        }
+        return pools;
+    }
+
+    private static PoolingConnection findPoolingConnection(Connection conn) {
+        Connection current = conn;
+
+        while (current instanceof DelegatingConnection) {
+            if (current instanceof PoolingConnection) {
+                return (PoolingConnection) current;
+            }
+            current = ((DelegatingConnection<?>) current).getDelegate();
+        }
+        return null;
+    }
+}
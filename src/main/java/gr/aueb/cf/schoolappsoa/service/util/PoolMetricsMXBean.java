@@ -0,0 +1,23 @@
+package gr.aueb.cf.schoolappsoa.service.util;
+
+/**
+ * The live gauges of the connection pool, as exported through JMX
+ * under the name {@value PoolMetrics#OBJECT_NAME}.
+ *
+ * @author Thanasis Chousiadas
+ */
+public interface PoolMetricsMXBean {
+    int getNumActive();
+    int getNumIdle();
+    int getMaxTotal();
+    boolean isSaturated();
+    long getBorrowCount();
+    double getMeanBorrowWaitMillis();
+    double getP99BorrowWaitMillis();
+    double getMaxBorrowWaitMillis();
+    double[] getBorrowWaitBucketBoundsMillis();
+    long[] getBorrowWaitBucketCounts();
+    long getStatementRequests();
+    long getStatementsPrepared();
+    double getStatementCacheHitRate();
+}
@@ -0,0 +1,115 @@
+package gr.aueb.cf.schoolappsoa.service.util;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * This class runs the DAO calls of a service method in one
+ * transaction, on the connection of a {@link ConnectionScope}.
+ * The changes are saved with {@link #commit()}. If the unit of work
+ * is closed before it is committed, e.g. when an exception is thrown,
+ * the changes are rolled back.
+ * <pre>{@code
+ * try (UnitOfWork uow = DBUtil.beginUnitOfWork()) {
+ *     // DAO calls in one transaction
+ *     uow.commit();
+ * }
+ * }</pre>
+ * A unit of work begun inside another one of the same thread joins
+ * its transaction; only the outermost commits or rolls back. A nested
+ * unit of work closed before it is committed marks the transaction
+ * rollback-only, so the commit of the outermost one fails.
+ *
+ * @author Thanasis Chousiadas
+ */
+public final class UnitOfWork implements AutoCloseable {
+    private final ConnectionScope scope;
+    private final Connection connection;
+    private final boolean outermost;
+    private boolean committed;
+
+    private UnitOfWork(ConnectionScope scope, Connection connection, boolean outermost) {
+        this.scope = scope;
+        this.connection = connection;
+        this.outermost = outermost;
+    }
+
+    /**
+     * Begins a unit of work for the calling thread.
+     *
+     * @param dataSource the pool of the connections.
+     * @return a new {@link UnitOfWork}.
+     * @throws SQLException if a connection cannot be checked out
+     *                      or the transaction cannot be started.
+     */
+    public static UnitOfWork begin(DataSource dataSource) throws SQLException {
+        ConnectionScope scope = ConnectionScope.open(dataSource);
+
+        try {
+            Connection conn = scope.getConnection();
+            boolean outermost = conn.getAutoCommit();
+            if (outermost) {
+                conn.setAutoCommit(false);
+            }
+            return new UnitOfWork(scope, conn, outermost);
+        } catch (SQLException e) {
+            scope.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Commits the changes of the unit of work. Inside an outer
+     * unit of work the changes are committed by the outer one.
+     *
+     * @throws SQLException if the transaction cannot be committed or a
+     *                      nested unit of work has marked it rollback-only.
+     */
+    public void commit() throws SQLException {
+        if (scope.isRollbackOnly()) {
+            throw new SQLException("Transaction is rollback-only, a nested unit of work was not committed");
+        }
+        if (outermost) {
+            connection.commit();
+        }
+        committed = true;
+    }
+
+    /**
+     * Returns if the changes of the unit of work are committed.
+     *
+     * @return true if committed, otherwise false.
+     */
+    public boolean isCommitted() {
+        return committed;
+    }
+
+    /**
+     * Ends the unit of work, rolling back the changes if they
+     * are not committed, and closes the {@link ConnectionScope}.
+     * A nested unit of work which is not committed marks the
+     * transaction rollback-only instead.
+     */
+    @Override
+    public void close() {
+        try {
+            if (outermost) {
+                try {
+                    if (!committed) {
+                        connection.rollback();
+                    }
+                } finally {
+                    scope.setRollbackOnly(false);
+                    connection.setAutoCommit(true);
+                }
+            } else if (!committed) {
+                scope.setRollbackOnly(true);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        } finally {
+            scope.close();
+        }
+    }
+}
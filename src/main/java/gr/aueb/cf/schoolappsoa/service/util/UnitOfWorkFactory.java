@@ -0,0 +1,15 @@
+package gr.aueb.cf.schoolappsoa.service.util;
+
+import java.sql.SQLException;
+
+/**
+ * This interface declares the beginning of a {@link UnitOfWork}, so a
+ * component can begin its transaction at the stage which needs it,
+ * e.g. with {@link DBUtil#beginUnitOfWork()}.
+ *
+ * @author Thanasis Chousiadas
+ */
+@FunctionalInterface
+public interface UnitOfWorkFactory {
+    UnitOfWork begin() throws SQLException;
+}
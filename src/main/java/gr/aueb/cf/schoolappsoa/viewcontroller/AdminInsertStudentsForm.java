@@ -2,6 +2,7 @@ package gr.aueb.cf.schoolappsoa.viewcontroller;
 
 import gr.aueb.cf.schoolappsoa.Main;
 import gr.aueb.cf.schoolappsoa.dao.*;
+import gr.aueb.cf.schoolappsoa.dao.cache.CachedCityDAO;
 import gr.aueb.cf.schoolappsoa.dao.exceptions.CityDAOException;
 import gr.aueb.cf.schoolappsoa.dao.exceptions.StudentDAOException;
 import gr.aueb.cf.schoolappsoa.dao.exceptions.UserDAOException;
@@ -28,15 +29,10 @@ import javax.swing.UIManager;
 import javax.swing.JRadioButton;
 import javax.swing.JComboBox;
 import javax.swing.ButtonGroup;
-import javax.swing.DefaultComboBoxModel;
 import javax.swing.JButton;
 import java.awt.Toolkit;
-import java.awt.event.FocusAdapter;
-import java.awt.event.FocusEvent;
 import java.net.URL;
 import java.text.ParseException;
-import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.awt.event.ActionListener;
 import java.awt.event.ActionEvent;
@@ -55,15 +51,13 @@ public class AdminInsertStudentsForm extends JFrame {
 	private JTextField birthDateTxt;
 	private JComboBox<String> cityComboBox = new JComboBox<>();
 	private JComboBox<String> usernameComboBox = new JComboBox<>();
-	private DefaultComboBoxModel<String> citiesModel;
-	private Map<String, Long> citiesMap;
-	private DefaultComboBoxModel<String> usernamesModel;
-	private Map<String, Long> usernamesMap;
+	private LazyComboBoxModel<City> citiesModel;
+	private LazyComboBoxModel<User> usernamesModel;
 	private ButtonGroup buttonGroup = new ButtonGroup();
 
 	IStudentDAO studentDAO = new StudentDAOImpl();
 	IUserDAO userDAO = new UserDAOImpl();
-	ICityDAO cityDAO = new CityDAOImpl();
+	ICityDAO cityDAO = new CachedCityDAO(new CityDAOImpl());
 	ITeacherDAO teacherDAO = new TeacherDAOImpl();
 	IStudentService studentService = new StudentServiceImpl(studentDAO, cityDAO, userDAO);
 	ICityService cityService = new CityServiceImpl(cityDAO);
@@ -155,38 +149,14 @@ public class AdminInsertStudentsForm extends JFrame {
 		cityLbl.setBounds(56, 147, 90, 20);
 		contentPane.add(cityLbl);
 		
-		cityComboBox.addFocusListener(new FocusAdapter() {
-			
-			/**
-			 * This callback gets the services from Service Layer,
-			 * regarding the search for the cities.
-			 * 
-			 * @param e			an {@link FocusEvent} object, user's event.
-			 */
-			@Override
-			public void focusGained(FocusEvent e) {
-				List<City> cities;
-				citiesMap = new HashMap<>();
-				try {
-					citiesModel = new DefaultComboBoxModel<>();
-					cities = cityService.getAllCities();
-
-					for (City city : cities) {
-						citiesMap.put(city.getCity(), city.getId());
-						citiesModel.addElement(city.getCity());
-					}
-					cityComboBox.setModel(citiesModel);
-					cityComboBox.setMaximumRowCount(5);
-				} catch (CityDAOException e1) {
-					String msg = e1.getMessage();
-					JOptionPane.showMessageDialog(null, msg, "Error", JOptionPane.ERROR_MESSAGE);
-				}
-			}
-		});
 		cityComboBox.setBackground(new Color(211, 211, 211));
 		cityComboBox.setFont(new Font("Arial", Font.PLAIN, 14));
 		cityComboBox.setBounds(173, 146, 180, 21);
 		contentPane.add(cityComboBox);
+
+		// Cities are read page by page, as the admin types
+		citiesModel = new LazyComboBoxModel<>(cityService::getCitiesByNameLike, City::getCity, City::getId);
+		citiesModel.install(cityComboBox);
 		
 		JLabel usernameLbl = new JLabel("Username");
 		usernameLbl.setHorizontalAlignment(SwingConstants.RIGHT);
@@ -194,39 +164,14 @@ public class AdminInsertStudentsForm extends JFrame {
 		usernameLbl.setFont(new Font("Arial", Font.BOLD, 15));
 		usernameLbl.setBounds(56, 177, 90, 20);
 		contentPane.add(usernameLbl);
-		usernameComboBox.addFocusListener(new FocusAdapter() {
-
-			/**
-			 * This callback gets the services from Service Layer,
-			 * regarding the search for the users.
-			 *
-			 * @param e			an {@link FocusEvent} object, user's event.
-			 */
-			@Override
-			public void focusGained(FocusEvent e) {
-				usernamesMap = new HashMap<>();
-				List<User> users;
-				try {
-					usernamesModel = new DefaultComboBoxModel<>();
-					users = userService.getAllUsers();
-
-					for (User user : users) {
-						usernamesMap.put(user.getUsername(), user.getId());
-						usernamesModel.addElement(user.getUsername());
-					}
-					usernameComboBox.setModel(usernamesModel);
-					usernameComboBox.setMaximumRowCount(5);
-				} catch (UserDAOException e1) {
-					String msg = e1.getMessage();
-					JOptionPane.showMessageDialog(null, msg, "Error", JOptionPane.ERROR_MESSAGE);
-				}
-			}
-		});
-		
 		usernameComboBox.setBackground(new Color(211, 211, 211));
 		usernameComboBox.setFont(new Font("Arial", Font.PLAIN, 14));
 		usernameComboBox.setBounds(173, 178, 180, 21);
 		contentPane.add(usernameComboBox);
+
+		// Usernames are read page by page, as the admin types
+		usernamesModel = new LazyComboBoxModel<>(userService::getUsersByUsernameLike, User::getUsername, User::getId);
+		usernamesModel.install(usernameComboBox);
 		
 		JButton insertBtn = new JButton("Insert");
 		insertBtn.addActionListener(new ActionListener() {
@@ -238,8 +183,8 @@ public class AdminInsertStudentsForm extends JFrame {
 			 * @param e			an {@link ActionEvent} object, user's event.
 			 */
 			public void actionPerformed(ActionEvent e) {
-				if (buttonGroup.getSelection() == null || cityComboBox.getSelectedItem() == null
-						|| usernameComboBox.getSelectedItem() == null) {
+				if (buttonGroup.getSelection() == null || citiesModel.getSelectedId() == null
+						|| usernamesModel.getSelectedId() == null) {
 					JOptionPane.showMessageDialog(null, "Please select gender / city / username", "Gender", JOptionPane.ERROR_MESSAGE);
 					return;
 				}
@@ -247,10 +192,8 @@ public class AdminInsertStudentsForm extends JFrame {
 				String firstname = firstnameTxt.getText().trim();
 				String lastname = lastnameTxt.getText().trim();
 				String gender = buttonGroup.getSelection().getActionCommand();
-				String city = (String) cityComboBox.getSelectedItem();
-				String username = (String) usernameComboBox.getSelectedItem();
-				long cityId = citiesMap.get(city);
-				long userId = usernamesMap.get(username);
+				long cityId = citiesModel.getSelectedId();
+				long userId = usernamesModel.getSelectedId();
 				
 				java.util.Date utilBirthDate;
 				try {
@@ -6,6 +6,7 @@ import javax.swing.border.EmptyBorder;
 
 import gr.aueb.cf.schoolappsoa.Main;
 import gr.aueb.cf.schoolappsoa.dao.*;
+import gr.aueb.cf.schoolappsoa.dao.cache.CachedSpecialityDAO;
 import gr.aueb.cf.schoolappsoa.dao.exceptions.SpecialityDAOException;
 import gr.aueb.cf.schoolappsoa.dao.exceptions.TeacherDAOException;
 import gr.aueb.cf.schoolappsoa.dao.exceptions.UserDAOException;
@@ -54,11 +55,10 @@ public class AdminInsertTeachersForm extends JFrame {
 	private Map<String, Long> specialtiesMap;
 	private DefaultComboBoxModel<String> specialitiesModel;
 	private JComboBox<String> usernameComboBox = new JComboBox<String>();
-	private Map<String, Long> usernamesMap;
-	private DefaultComboBoxModel<String> usernamesModel;
+	private LazyComboBoxModel<User> usernamesModel;
 
 	ITeacherDAO teacherDAO = new TeacherDAOImpl();
-	ISpecialityDAO specialtyDAO = new SpecialityDAOImpl();
+	ISpecialityDAO specialtyDAO = new CachedSpecialityDAO(new SpecialityDAOImpl());
 	IUserDAO userDAO = new UserDAOImpl();
 	IStudentDAO studentDAO = new StudentDAOImpl();
 	ITeacherService teacherService = new TeacherServiceImpl(teacherDAO, specialtyDAO, userDAO);
@@ -169,39 +169,14 @@ public class AdminInsertTeachersForm extends JFrame {
 		usernameLbl.setBounds(43, 167, 90, 20);
 		contentPane.add(usernameLbl);
 		
-		usernameComboBox.addFocusListener(new FocusAdapter() {
-
-			/**
-			 * This callback gets the services from Service Layer,
-			 * regarding the search for users.
-			 *
-			 * @param e			an {@link FocusEvent} object, user's event.
-			 */
-			@Override
-			public void focusGained(FocusEvent e) {
-				List<User> users;
-				usernamesMap = new HashMap<>();
-				try {
-					usernamesModel = new DefaultComboBoxModel<>();
-					users = userService.getAllUsers();
-					for (User user : users) {
-
-						usernamesMap.put(user.getUsername(), user.getId());
-						usernamesModel.addElement(user.getUsername());
-					}
-					usernameComboBox.setModel(usernamesModel);
-					usernameComboBox.setMaximumRowCount(5);
-					
-				} catch (UserDAOException e1) {
-					String msg = e1.getMessage();
-					JOptionPane.showMessageDialog(null, msg, "Error", JOptionPane.ERROR_MESSAGE);
-				}
-			}
-		});
 		usernameComboBox.setFont(new Font("Arial", Font.PLAIN, 14));
 		usernameComboBox.setBackground(new Color(211, 211, 211));
 		usernameComboBox.setBounds(160, 168, 180, 21);
 		contentPane.add(usernameComboBox);
+
+		// Usernames are read page by page, as the admin types
+		usernamesModel = new LazyComboBoxModel<>(userService::getUsersByUsernameLike, User::getUsername, User::getId);
+		usernamesModel.install(usernameComboBox);
 		
 		JButton insertBtn = new JButton("Insert");
 		insertBtn.addActionListener(new ActionListener() {
@@ -218,10 +193,13 @@ public class AdminInsertTeachersForm extends JFrame {
 				String lastname = lastnameTxt.getText().trim();
 				String ssn = ssnTxt.getText().trim();
 				String speciality = (String) specialityComboBox.getSelectedItem();
-				String username = (String) usernameComboBox.getSelectedItem();
+				if (usernamesModel.getSelectedId() == null) {
+					JOptionPane.showMessageDialog(null, "Please select a username from the list", "Basic Info", JOptionPane.ERROR_MESSAGE);
+					return;
+				}
 
 				long specialityId = specialtiesMap.get(speciality);
-				long userId = usernamesMap.get(username);
+				long userId = usernamesModel.getSelectedId();
 
 				Map<String, String> teacherErrors;
 				
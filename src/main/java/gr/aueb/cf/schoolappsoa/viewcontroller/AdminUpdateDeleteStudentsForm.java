@@ -4,12 +4,11 @@ import java.awt.Color;
 import java.awt.Font;
 import java.net.URL;
 import java.text.ParseException;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import javax.swing.ButtonGroup;
-import javax.swing.DefaultComboBoxModel;
 import javax.swing.ImageIcon;
 import javax.swing.JButton;
 import javax.swing.JComboBox;
@@ -20,10 +19,12 @@ import javax.swing.JPanel;
 import javax.swing.JRadioButton;
 import javax.swing.JSeparator;
 import javax.swing.JTextField;
+import javax.swing.SwingUtilities;
 import javax.swing.border.EmptyBorder;
 
 import gr.aueb.cf.schoolappsoa.Main;
 import gr.aueb.cf.schoolappsoa.dao.*;
+import gr.aueb.cf.schoolappsoa.dao.cache.CachedCityDAO;
 import gr.aueb.cf.schoolappsoa.dao.exceptions.*;
 import gr.aueb.cf.schoolappsoa.dto.StudentUpdateDTO;
 import gr.aueb.cf.schoolappsoa.model.City;
@@ -60,10 +61,8 @@ public class AdminUpdateDeleteStudentsForm extends JFrame {
 	private JButton prevBtn;
 	private JButton nextBtn;
 	private JButton lastBtn;
-	private Map<Long, String> citiesMap;
-	private Map<Long, String> usernamesMap;
-	private DefaultComboBoxModel<String> citiesModel;
-	private DefaultComboBoxModel<String> usernamesModel;
+	private LazyComboBoxModel<City> citiesModel;
+	private LazyComboBoxModel<User> usernamesModel;
 	private JRadioButton maleRdBtn = new JRadioButton("Male");
 	private JRadioButton femaleRdBtn = new JRadioButton("Female");
 	private JPanel contentPane;
@@ -75,10 +74,11 @@ public class AdminUpdateDeleteStudentsForm extends JFrame {
 	private List<Student> students;
 	private int listSize;
 	private int listPosition;
+	private CompletableFuture<Void> loading;
 
 
 	IStudentDAO studentDAO = new StudentDAOImpl();
-	ICityDAO cityDAO = new CityDAOImpl();
+	ICityDAO cityDAO = new CachedCityDAO(new CityDAOImpl());
 	IUserDAO userDAO = new UserDAOImpl();
 	ITeacherDAO teacherDAO = new TeacherDAOImpl();
 	IStudentService studentService = new StudentServiceImpl(studentDAO, cityDAO, userDAO);
@@ -104,57 +104,25 @@ public class AdminUpdateDeleteStudentsForm extends JFrame {
 			 */
 			@Override
 			public void windowActivated(WindowEvent e) {
-				citiesMap = new HashMap<>();
-				usernamesMap = new HashMap<>();
-				List<City> cities;
-				List<User> users;
-				try {
-					students = studentService.getStudentByLastname(Main.getStudentsMenu().getLastname());
-					listSize = students.size();
-					if (listSize == 0) {
-						JOptionPane.showMessageDialog(null, "Empty, no students found", "Search", JOptionPane.INFORMATION_MESSAGE);
-						Main.getStudentsMenu().setEnabled(true);
-						Main.getAdminUpdateDeleteStudentsForm().setVisible(false);
-						return;
-					}
-					// For the Combo Boxes we need all Cities and Usernames in the DB
-					cities = cityService.getAllCities();
-					citiesModel = new DefaultComboBoxModel<>();
-					for (City city : cities) {
-						citiesMap.put(city.getId(), city.getCity());
-						citiesModel.addElement(city.getCity());
-					}
-					cityComboBox.setModel(citiesModel);
-					cityComboBox.setMaximumRowCount(5);
+				// a load is still running, e.g. the window regained focus from a dialog
+				if (loading != null && !loading.isDone()) {
+					return;
+				}
 
-					usernamesModel = new DefaultComboBoxModel<>();
-					users = userService.getAllUsers();
-					for (User user : users) {
-						usernamesMap.put(user.getId(), user.getUsername());
-						usernamesModel.addElement(user.getUsername());
-					}
-					usernameComboBox.setModel(usernamesModel);
-					usernameComboBox.setMaximumRowCount(5);
+				// the search and the first page of the cities are independent,
+				// they run at the same time off the EDT
+				String lastname = Main.getStudentsMenu().getLastname();
+				CompletableFuture<List<Student>> studentsFuture = FormQueries.submit(() -> studentService.getStudentByLastname(lastname));
+				CompletableFuture<List<City>> citiesFuture = citiesModel.reload("");
 
-					// Display Student at position 0 in the ArrayList
-					listPosition = 0;
-					Student currentStudent = students.get(listPosition);
-					idTxt.setText(Long.toString(currentStudent.getId()));
-					firstnameTxt.setText(currentStudent.getFirstname());
-					lastnameTxt.setText(currentStudent.getLastname());
-
-					if (currentStudent.getGender().equals("M")) {
-						maleRdBtn.setSelected(true);
-					} else {
-						femaleRdBtn.setSelected(true);
+				loading = CompletableFuture.allOf(studentsFuture, citiesFuture);
+				loading.whenComplete((done, error) -> SwingUtilities.invokeLater(() -> {
+					if (error != null) {
+						JOptionPane.showMessageDialog(null, FormQueries.messageOf(error), "Error", JOptionPane.INFORMATION_MESSAGE);
+						return;
 					}
-					birthdateTxt.setText(DateUtil.toString(currentStudent.getBirthDate()));
-					cityComboBox.setSelectedItem(currentStudent.getStudentCity().getCity());
-					usernameComboBox.setSelectedItem(currentStudent.getUser().getUsername());
-				} catch (StudentDAOException | CityDAOException | UserDAOException e1) {
-					String msg = e1.getMessage();
-					JOptionPane.showMessageDialog(null, msg, "Error", JOptionPane.INFORMATION_MESSAGE);
-				}
+					showStudents(studentsFuture.join());
+				}));
 			}
 		});
 		setTitle("Update - Delete Student");
@@ -192,8 +160,8 @@ public class AdminUpdateDeleteStudentsForm extends JFrame {
 						femaleRdBtn.setSelected(true);
 					}
 					birthdateTxt.setText(DateUtil.toString(currentStudent.getBirthDate()));
-					cityComboBox.setSelectedItem(currentStudent.getStudentCity().getCity());
-					usernameComboBox.setSelectedItem(currentStudent.getUser().getUsername());
+					citiesModel.setSelected(currentStudent.getStudentCity());
+					usernamesModel.setSelected(currentStudent.getUser());
 				}
 			}
 		});
@@ -224,8 +192,8 @@ public class AdminUpdateDeleteStudentsForm extends JFrame {
 						femaleRdBtn.setSelected(true);
 					}
 					birthdateTxt.setText(DateUtil.toString(currentStudent.getBirthDate()));
-					cityComboBox.setSelectedItem(currentStudent.getStudentCity().getCity());
-					usernameComboBox.setSelectedItem(currentStudent.getUser().getUsername());
+					citiesModel.setSelected(currentStudent.getStudentCity());
+					usernamesModel.setSelected(currentStudent.getUser());
 				}
 
 			}
@@ -258,8 +226,8 @@ public class AdminUpdateDeleteStudentsForm extends JFrame {
 						femaleRdBtn.setSelected(true);
 					}
 					birthdateTxt.setText(DateUtil.toString(currentStudent.getBirthDate()));
-					cityComboBox.setSelectedItem(currentStudent.getStudentCity().getCity());
-					usernameComboBox.setSelectedItem(currentStudent.getUser().getUsername());
+					citiesModel.setSelected(currentStudent.getStudentCity());
+					usernamesModel.setSelected(currentStudent.getUser());
 				}
 
 			}
@@ -292,8 +260,8 @@ public class AdminUpdateDeleteStudentsForm extends JFrame {
 						femaleRdBtn.setSelected(true);
 					}
 					birthdateTxt.setText(DateUtil.toString(currentStudent.getBirthDate()));
-					cityComboBox.setSelectedItem(currentStudent.getStudentCity().getCity());
-					usernameComboBox.setSelectedItem(currentStudent.getUser().getUsername());
+					citiesModel.setSelected(currentStudent.getStudentCity());
+					usernamesModel.setSelected(currentStudent.getUser());
 				}
 
 			}
@@ -385,6 +353,12 @@ public class AdminUpdateDeleteStudentsForm extends JFrame {
 		usernameComboBox.setBackground(new Color(211, 211, 211));
 		usernameComboBox.setBounds(134, 280, 180, 21);
 		contentPane.add(usernameComboBox);
+
+		// Cities and Usernames are read page by page, as the admin types
+		citiesModel = new LazyComboBoxModel<>(cityService::getCitiesByNameLike, City::getCity, City::getId);
+		citiesModel.install(cityComboBox);
+		usernamesModel = new LazyComboBoxModel<>(userService::getUsersByUsernameLike, User::getUsername, User::getId);
+		usernamesModel.install(usernameComboBox);
 		
 		birthdateTxt = new JTextField();
 		birthdateTxt.setFont(new Font("Arial", Font.PLAIN, 14));
@@ -420,29 +394,18 @@ public class AdminUpdateDeleteStudentsForm extends JFrame {
 				String lastname = lastnameTxt.getText().trim();
 				String gender = buttonGroup.getSelection().getActionCommand();
 				String strDate = birthdateTxt.getText();
-				String city = (String) cityComboBox.getSelectedItem();
-				String username = (String) usernameComboBox.getSelectedItem();
 
 				if (firstname == null || lastname == null) {
 					JOptionPane.showMessageDialog(null, "Please fill firstname / lastname ", "Basic Info", JOptionPane.ERROR_MESSAGE);
 					return;
 				}
-				// Found CITY_ID
-				long cityId = 0;
-				for (Map.Entry<Long, String> entry : citiesMap.entrySet()) {
-		            if (entry.getValue().equals(city)) {
-		                cityId = entry.getKey();
-		                break;
-		            }
-		        }
-				// Found USER_ID
-				long userId = 0;
-				for (Map.Entry<Long, String> entry : usernamesMap.entrySet()) {
-		            if (entry.getValue().equals(username)) {
-		                userId = entry.getKey();
-		                break;
-		            }
-		        }
+				// Found CITY_ID and USER_ID of the selected items
+				Long cityId = citiesModel.getSelectedId();
+				Long userId = usernamesModel.getSelectedId();
+				if (cityId == null || userId == null) {
+					JOptionPane.showMessageDialog(null, "Please select a city / username from the list", "Basic Info", JOptionPane.ERROR_MESSAGE);
+					return;
+				}
 				Map<String, String> teacherErrors;
 				try {
 					StudentUpdateDTO dto = new StudentUpdateDTO();
@@ -532,4 +495,36 @@ public class AdminUpdateDeleteStudentsForm extends JFrame {
 		closeBtn.setBounds(307, 418, 90, 30);
 		contentPane.add(closeBtn);
 	}
+
+	/**
+	 * Shows the students found. It runs on the EDT, when all the queries are done.
+	 * 
+	 * @param foundStudents		the students with the lastname given by the admin.
+	 */
+	private void showStudents(List<Student> foundStudents) {
+		students = foundStudents;
+		listSize = students.size();
+		if (listSize == 0) {
+			JOptionPane.showMessageDialog(null, "Empty, no students found", "Search", JOptionPane.INFORMATION_MESSAGE);
+			Main.getStudentsMenu().setEnabled(true);
+			Main.getAdminUpdateDeleteStudentsForm().setVisible(false);
+			return;
+		}
+
+		// Display Student at position 0 in the ArrayList
+		listPosition = 0;
+		Student currentStudent = students.get(listPosition);
+		idTxt.setText(Long.toString(currentStudent.getId()));
+		firstnameTxt.setText(currentStudent.getFirstname());
+		lastnameTxt.setText(currentStudent.getLastname());
+
+		if (currentStudent.getGender().equals("M")) {
+			maleRdBtn.setSelected(true);
+		} else {
+			femaleRdBtn.setSelected(true);
+		}
+		birthdateTxt.setText(DateUtil.toString(currentStudent.getBirthDate()));
+		citiesModel.setSelected(currentStudent.getStudentCity());
+		usernamesModel.setSelected(currentStudent.getUser());
+	}
 }
@@ -2,6 +2,7 @@ package gr.aueb.cf.schoolappsoa.viewcontroller;
 
 import gr.aueb.cf.schoolappsoa.Main;
 import gr.aueb.cf.schoolappsoa.dao.*;
+import gr.aueb.cf.schoolappsoa.dao.cache.CachedSpecialityDAO;
 import gr.aueb.cf.schoolappsoa.dao.exceptions.SpecialityDAOException;
 import gr.aueb.cf.schoolappsoa.dao.exceptions.TeacherDAOException;
 import gr.aueb.cf.schoolappsoa.dao.exceptions.UserDAOException;
@@ -25,6 +26,7 @@ import java.awt.Font;
 import javax.swing.UIManager;
 import javax.swing.SwingConstants;
 import javax.swing.JTextField;
+import javax.swing.SwingUtilities;
 import java.awt.Color;
 import javax.swing.JComboBox;
 import javax.swing.JButton;
@@ -37,6 +39,7 @@ import java.net.URL;
 
 import java.util.HashMap;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.Map;
 import java.awt.event.ActionListener;
 import java.awt.event.ActionEvent;
@@ -60,15 +63,15 @@ public class AdminUpdateDeleteTeachersForm extends JFrame {
 	private JComboBox<String> specialityComboBox = new JComboBox<>();
 	private JComboBox<String> usernameComboBox = new JComboBox<>();
 	private Map<Long, String> specialtiesMap;
-	private Map<Long, String> usernamesMap;
 	private DefaultComboBoxModel<String> specialitiesModel;
-	private DefaultComboBoxModel<String> usernamesModel;
+	private LazyComboBoxModel<User> usernamesModel;
 	private List<Teacher> teachers;
 	private int listSize;
 	private int listPosition;
+	private CompletableFuture<Void> loading;
 
 	ITeacherDAO teacherDAO = new TeacherDAOImpl();
-	ISpecialityDAO specialtyDAO = new SpecialityDAOImpl();
+	ISpecialityDAO specialtyDAO = new CachedSpecialityDAO(new SpecialityDAOImpl());
 	IUserDAO userDAO = new UserDAOImpl();
 	IStudentDAO studentDAO = new StudentDAOImpl();
 	ITeacherService teacherService = new TeacherServiceImpl(teacherDAO, specialtyDAO, userDAO);
@@ -91,60 +94,25 @@ public class AdminUpdateDeleteTeachersForm extends JFrame {
 			 */
 			@Override
 			public void windowActivated(WindowEvent e) {
-				List<Speciality> specialties;
-				specialtiesMap = new HashMap<>();
-				List<User> users;
-				usernamesMap = new HashMap<>();
-
-				try {
-					teachers = teacherService.getTeacherByLastname(Main.getTeachersMenu().getLastname());
-					listSize = teachers.size();
-					if (listSize == 0) {
-						JOptionPane.showMessageDialog(null, "Empty, no teachers found", "Search", JOptionPane.INFORMATION_MESSAGE);
-						Main.getTeachersMenu().setEnabled(true);
-						Main.getAdminUpdateDeleteTeachersForm().setVisible(false);
-						return;
-					}
-
-					// For the Combo Boxes we need all Specialties and Usernames in the DB
-					// Updating a Teacher, admin can update specialty and username
-					specialties = specialtyService.getAllSpecialities();
-					specialitiesModel = new DefaultComboBoxModel<>();
-
-					for (Speciality speciality : specialties) {
-						specialtiesMap.put(speciality.getId(), speciality.getSpeciality());
-						specialitiesModel.addElement(speciality.getSpeciality());
-					}
+				// a load is still running, e.g. the window regained focus from a dialog
+				if (loading != null && !loading.isDone()) {
+					return;
+				}
 
-					specialityComboBox.setModel(specialitiesModel);
-					specialityComboBox.setMaximumRowCount(5);
+				// the two queries are independent, they run at the same time off the EDT.
+				// The teachers are joined with their users, so the usernames are not read again.
+				String lastname = Main.getTeachersMenu().getLastname();
+				CompletableFuture<List<Teacher>> teachersFuture = FormQueries.submit(() -> teacherService.getTeacherByLastname(lastname, FetchPlan.EAGER_JOIN));
+				CompletableFuture<List<Speciality>> specialtiesFuture = FormQueries.submit(specialtyService::getAllSpecialities);
 
-					usernamesModel = new DefaultComboBoxModel<>();
-					users = userService.getAllUsers();
-					for (User user : users) {
-						usernamesMap.put(user.getId(), user.getUsername());
-						usernamesModel.addElement(user.getUsername());
+				loading = CompletableFuture.allOf(teachersFuture, specialtiesFuture);
+				loading.whenComplete((done, error) -> SwingUtilities.invokeLater(() -> {
+					if (error != null) {
+						JOptionPane.showMessageDialog(null, FormQueries.messageOf(error), "Error", JOptionPane.ERROR_MESSAGE);
+						return;
 					}
-					usernameComboBox.setModel(usernamesModel);
-					usernameComboBox.setMaximumRowCount(5);
-
-					listPosition = 0;
-					idTxt.setText(Long.toString(teachers.get(listPosition).getId()));
-					firstnameTxt.setText(teachers.get(listPosition).getFirstname());
-					lastnameTxt.setText(teachers.get(listPosition).getLastname());
-
-					// Display the specialty of the current Teacher in the Specialty Combo Box
-					Teacher currentTeacher = teachers.get(listPosition);
-					specialityComboBox.setSelectedItem(currentTeacher.getTeacherSpeciality().getSpeciality());
-
-					// Display the username of the current Teacher in the Username Combo Box
-					usernameComboBox.setSelectedItem(currentTeacher.getUser().getUsername());
-
-				} catch (TeacherDAOException | UserDAOException | SpecialityDAOException e1) {
-					String msg = e1.getMessage();
-					JOptionPane.showMessageDialog(null, msg, "Error", JOptionPane.ERROR_MESSAGE);
-				}
-
+					showTeachers(teachersFuture.join(), specialtiesFuture.join());
+				}));
 			}
 		});
 
@@ -227,6 +195,10 @@ public class AdminUpdateDeleteTeachersForm extends JFrame {
 		usernameComboBox.setBackground(new Color(211, 211, 211));
 		usernameComboBox.setBounds(156, 199, 180, 21);
 		contentPane.add(usernameComboBox);
+
+		// Usernames are read page by page, as the admin types
+		usernamesModel = new LazyComboBoxModel<>(userService::getUsersByUsernameLike, User::getUsername, User::getId);
+		usernamesModel.install(usernameComboBox);
 		
 		JButton firstBtn = new JButton("");
 		firstBtn.addActionListener(new ActionListener() {
@@ -246,9 +218,9 @@ public class AdminUpdateDeleteTeachersForm extends JFrame {
 					lastnameTxt.setText(teachers.get(listPosition).getLastname());
 					// Display the specialty of the current Teacher in the Specialty Combo Box
 					Teacher currentTeacher = teachers.get(listPosition);
-					specialityComboBox.setSelectedItem(currentTeacher.getTeacherSpeciality().getSpeciality());
+					specialityComboBox.setSelectedItem(specialtiesMap.get(currentTeacher.getTeacherSpeciality().getId()));
 					// Display the username of the current Teacher in the Username Combo Box
-					usernameComboBox.setSelectedItem(currentTeacher.getUser().getUsername());
+					usernamesModel.setSelected(currentTeacher.getUser());
 				}
 			}
 		});
@@ -273,9 +245,9 @@ public class AdminUpdateDeleteTeachersForm extends JFrame {
 					lastnameTxt.setText(teachers.get(listPosition).getLastname());
 					// Display the specialty of the current Teacher in the Specialty Combo Box
 					Teacher currentTeacher = teachers.get(listPosition);
-					specialityComboBox.setSelectedItem(currentTeacher.getTeacherSpeciality().getSpeciality());
+					specialityComboBox.setSelectedItem(specialtiesMap.get(currentTeacher.getTeacherSpeciality().getId()));
 					// Display the username of the current Teacher in the Username Combo Box
-					usernameComboBox.setSelectedItem(currentTeacher.getUser().getUsername());
+					usernamesModel.setSelected(currentTeacher.getUser());
 				}
 			}
 		});
@@ -301,9 +273,9 @@ public class AdminUpdateDeleteTeachersForm extends JFrame {
 					lastnameTxt.setText(teachers.get(listPosition).getLastname());
 					// Display the specialty of the current Teacher in the Specialty Combo Box
 					Teacher currentTeacher = teachers.get(listPosition);
-					specialityComboBox.setSelectedItem(currentTeacher.getTeacherSpeciality().getSpeciality());
+					specialityComboBox.setSelectedItem(specialtiesMap.get(currentTeacher.getTeacherSpeciality().getId()));
 					// Display the username of the current Teacher in the Username Combo Box
-					usernameComboBox.setSelectedItem(currentTeacher.getUser().getUsername());
+					usernamesModel.setSelected(currentTeacher.getUser());
 				}
 			}
 		});
@@ -329,9 +301,9 @@ public class AdminUpdateDeleteTeachersForm extends JFrame {
 					lastnameTxt.setText(teachers.get(listPosition).getLastname());
 					// Display the specialty of the current Teacher in the Specialty Combo Box
 					Teacher currentTeacher = teachers.get(listPosition);
-					specialityComboBox.setSelectedItem(currentTeacher.getTeacherSpeciality().getSpeciality());
+					specialityComboBox.setSelectedItem(specialtiesMap.get(currentTeacher.getTeacherSpeciality().getId()));
 					// Display the username of the current Teacher in the Username Combo Box
-					usernameComboBox.setSelectedItem(currentTeacher.getUser().getUsername());
+					usernamesModel.setSelected(currentTeacher.getUser());
 				}
 			}
 		});
@@ -355,7 +327,6 @@ public class AdminUpdateDeleteTeachersForm extends JFrame {
 				String lastname = lastnameTxt.getText().trim();
 				String ssn = ssnTxt.getText().trim();
 				String speciality = (String) specialityComboBox.getSelectedItem();
-				String username = (String) usernameComboBox.getSelectedItem();
 
 				// Found SPECIALTY_ID
 				long specialityId = 0L;
@@ -367,15 +338,12 @@ public class AdminUpdateDeleteTeachersForm extends JFrame {
 		            }
 		        }
 				
-				// Found USER_ID
-				long userId = 0L;
-				
-				for (Map.Entry<Long, String> entry : usernamesMap.entrySet()) {
-		            if (entry.getValue().equals(username)) {
-		                userId = entry.getKey();
-		                break;
-		            }
-		        }
+				// Found USER_ID of the selected username
+				Long userId = usernamesModel.getSelectedId();
+				if (userId == null) {
+					JOptionPane.showMessageDialog(null, "Please select a username from the list", "Basic Info", JOptionPane.ERROR_MESSAGE);
+					return;
+				}
 				Map<String, String> teacherErrors;
 				try {
 					TeacherUpdateDTO dto = new TeacherUpdateDTO();
@@ -478,4 +446,45 @@ public class AdminUpdateDeleteTeachersForm extends JFrame {
 		ssnTxt.setBounds(156, 131, 180, 20);
 		contentPane.add(ssnTxt);
 	}
+
+	/**
+	 * Shows the teachers found and fills the Specialty Combo Box with all
+	 * the Specialties. It runs on the EDT, when all the queries are done.
+	 * 
+	 * @param foundTeachers		the teachers with the lastname given by the admin.
+	 * @param specialties		all the specialties.
+	 */
+	private void showTeachers(List<Teacher> foundTeachers, List<Speciality> specialties) {
+		teachers = foundTeachers;
+		listSize = teachers.size();
+		if (listSize == 0) {
+			JOptionPane.showMessageDialog(null, "Empty, no teachers found", "Search", JOptionPane.INFORMATION_MESSAGE);
+			Main.getTeachersMenu().setEnabled(true);
+			Main.getAdminUpdateDeleteTeachersForm().setVisible(false);
+			return;
+		}
+
+		// For the Specialty Combo Box we need all Specialties in the DB
+		// Updating a Teacher, admin can update specialty and username
+		specialtiesMap = new HashMap<>();
+		specialitiesModel = new DefaultComboBoxModel<>();
+		for (Speciality speciality : specialties) {
+			specialtiesMap.put(speciality.getId(), speciality.getSpeciality());
+			specialitiesModel.addElement(speciality.getSpeciality());
+		}
+		specialityComboBox.setModel(specialitiesModel);
+		specialityComboBox.setMaximumRowCount(5);
+
+		listPosition = 0;
+		idTxt.setText(Long.toString(teachers.get(listPosition).getId()));
+		firstnameTxt.setText(teachers.get(listPosition).getFirstname());
+		lastnameTxt.setText(teachers.get(listPosition).getLastname());
+
+		// Display the specialty of the current Teacher in the Specialty Combo Box
+		Teacher currentTeacher = teachers.get(listPosition);
+		specialityComboBox.setSelectedItem(specialtiesMap.get(currentTeacher.getTeacherSpeciality().getId()));
+
+		// Display the username of the current Teacher in the Username Combo Box
+		usernamesModel.setSelected(currentTeacher.getUser());
+	}
 }
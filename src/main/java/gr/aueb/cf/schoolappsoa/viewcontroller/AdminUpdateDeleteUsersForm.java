@@ -30,7 +30,9 @@ import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
 import java.net.URL;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import javax.swing.JPasswordField;
+import javax.swing.SwingUtilities;
 
 /**
  * This class shows the result of the searching from 
@@ -50,6 +52,7 @@ public class AdminUpdateDeleteUsersForm extends JFrame {
 	private List<User> users;
 	private int listSize;
 	private int listPosition;
+	private CompletableFuture<?> loading;
 
 	IUserDAO userDAO = new UserDAOImpl();
 	IStudentDAO studentDAO = new StudentDAOImpl();
@@ -75,28 +78,22 @@ public class AdminUpdateDeleteUsersForm extends JFrame {
 			 */
 			@Override
 			public void windowActivated(WindowEvent e) {
-				try {
-					users = userService.getUsersByUsernameLike(Main.getUsersMenu().getUsername());
-					listSize = users.size();
-					
-					if (listSize == 0) {
-						JOptionPane.showMessageDialog(null, "Empty, no users found", "Users", JOptionPane.INFORMATION_MESSAGE);
-						Main.getUsersMenu().setEnabled(true);
-						Main.getAdminUpdateDeleteUsersForm().setVisible(false);
+				// a load is still running, e.g. the window regained focus from a dialog
+				if (loading != null && !loading.isDone()) {
+					return;
+				}
+
+				String username = Main.getUsersMenu().getUsername();
+				CompletableFuture<List<User>> usersFuture = FormQueries.submit(() -> userService.getUsersByUsernameLike(username));
+
+				loading = usersFuture;
+				usersFuture.whenComplete((found, error) -> SwingUtilities.invokeLater(() -> {
+					if (error != null) {
+						JOptionPane.showMessageDialog(null, FormQueries.messageOf(error), "Error", JOptionPane.ERROR_MESSAGE);
 						return;
 					}
-
-					listPosition = 0;
-					String username = users.get(listPosition).getUsername();
-					Long id = users.get(listPosition).getId();
-					
-					idTxt.setText(Long.toString(id));
-					usernameTxt.setText(username);
-					
-				} catch(UserDAOException e1) {
-					String msg = e1.getMessage();
-					JOptionPane.showMessageDialog(null, msg, "Error", JOptionPane.ERROR_MESSAGE);
-				}
+					showUsers(found);
+				}));
 			}
 		});
 
@@ -368,4 +365,28 @@ public class AdminUpdateDeleteUsersForm extends JFrame {
 		contentPane.add(confirmPasswdTxt);
 
 	}
+
+	/**
+	 * Shows the users found. It runs on the EDT, when the query is done.
+	 * 
+	 * @param foundUsers	the users with the username given by the admin.
+	 */
+	private void showUsers(List<User> foundUsers) {
+		users = foundUsers;
+		listSize = users.size();
+
+		if (listSize == 0) {
+			JOptionPane.showMessageDialog(null, "Empty, no users found", "Users", JOptionPane.INFORMATION_MESSAGE);
+			Main.getUsersMenu().setEnabled(true);
+			Main.getAdminUpdateDeleteUsersForm().setVisible(false);
+			return;
+		}
+
+		listPosition = 0;
+		String username = users.get(listPosition).getUsername();
+		Long id = users.get(listPosition).getId();
+
+		idTxt.setText(Long.toString(id));
+		usernameTxt.setText(username);
+	}
 }
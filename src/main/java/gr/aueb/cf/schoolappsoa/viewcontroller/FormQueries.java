@@ -0,0 +1,74 @@
+package gr.aueb.cf.schoolappsoa.viewcontroller;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class runs the queries of the forms off the event dispatch
+ * thread, so the forms are never frozen while the database answers.
+ * Independent queries of a form run at the same time, each one on its
+ * own thread; the form is updated on the event dispatch thread once
+ * all of them are done, e.g. with {@link CompletableFuture#allOf}.
+ * 
+ * @author Thanasis Chousiadas
+ */
+final class FormQueries {
+	private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+	private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(r -> {
+		Thread thread = new Thread(r, "form-query-" + THREAD_COUNT.incrementAndGet());
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	/**
+	 * A query of the Service Layer, which may throw the
+	 * checked exceptions of the DAO layer.
+	 * 
+	 * @param <T>	the type of the result.
+	 */
+	@FunctionalInterface
+	interface Query<T> {
+		T run() throws Exception;
+	}
+
+	/**
+	 * No instances of this class should be available.
+	 */
+	private FormQueries() {
+	}
+
+	/**
+	 * Runs a query in the background.
+	 * 
+	 * @param query		the query.
+	 * @param <T>		the type of the result.
+	 * @return			a {@link CompletableFuture} with the result of the query,
+	 * 					completed exceptionally with the exception of the query.
+	 */
+	static <T> CompletableFuture<T> submit(Query<T> query) {
+		return CompletableFuture.supplyAsync(() -> {
+			try {
+				return query.run();
+			} catch (Exception e) {
+				throw new CompletionException(e);
+			}
+		}, EXECUTOR);
+	}
+
+	/**
+	 * Returns the message of the exception of a failed query.
+	 * 
+	 * @param error		the exception of a {@link CompletableFuture}.
+	 * @return			the message of the underlying exception.
+	 */
+	static String messageOf(Throwable error) {
+		Throwable cause = error;
+		while (cause instanceof CompletionException && cause.getCause() != null) {
+			cause = cause.getCause();
+		}
+		return cause.getMessage();
+	}
+}
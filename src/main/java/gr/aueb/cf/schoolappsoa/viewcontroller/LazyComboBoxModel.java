@@ -0,0 +1,284 @@
+package gr.aueb.cf.schoolappsoa.viewcontroller;
+
+import java.awt.event.FocusAdapter;
+import java.awt.event.FocusEvent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import javax.swing.AbstractListModel;
+import javax.swing.ComboBoxModel;
+import javax.swing.JComboBox;
+import javax.swing.JOptionPane;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.text.JTextComponent;
+
+/**
+ * This class is a type-ahead {@link ComboBoxModel}, which never loads
+ * a whole table. It holds only the pages of items the popup has shown,
+ * read with a prefix query of the Service Layer, e.g. the users whose
+ * usernames begin with the typed text. The next page is read when the
+ * popup reaches the last item. Typing narrows the list: the query runs
+ * when the typing pauses for the debounce delay, and the result of a query
+ * still running for an older text is ignored. That query is not stopped on
+ * the database; it runs to completion on its {@link FormQueries} thread.
+ * <p>
+ * The queries run off the event dispatch thread, with {@link FormQueries};
+ * the model changes only on the event dispatch thread.
+ * 
+ * @param <T>	the type of the items, e.g. {@link gr.aueb.cf.schoolappsoa.model.User}.
+ * @author Thanasis Chousiadas
+ */
+public class LazyComboBoxModel<T> extends AbstractListModel<String> implements ComboBoxModel<String> {
+	private static final long serialVersionUID = 1L;
+	public static final int DEFAULT_PAGE_SIZE = 20;
+	public static final int DEFAULT_DEBOUNCE_MILLIS = 250;
+
+	/**
+	 * A prefix query of the Service Layer, which returns at most limit
+	 * items, whose labels begin with the prefix and follow the label
+	 * of the last item of the previous page, in the order of the labels.
+	 * 
+	 * @param <T>	the type of the items.
+	 */
+	@FunctionalInterface
+	public interface PageQuery<T> {
+		List<T> fetch(String prefix, String afterLabel, int limit) throws Exception;
+	}
+
+	private final PageQuery<T> query;
+	private final Function<T, String> labelOf;
+	private final Function<T, Long> idOf;
+	private final int pageSize;
+	private final Timer debounce;
+	private final List<T> items = new ArrayList<>();
+	private String prefix = "";
+	private String pendingPrefix = "";
+	private boolean loaded;
+	private boolean hasMore;
+	private boolean adjusting;
+	private int generation;
+	private CompletableFuture<List<T>> inFlight;
+	private Object selectedItem;
+	private T selected;
+	private JComboBox<String> comboBox;
+
+	/**
+	 * Overloaded constructor.
+	 * 
+	 * @param query				the prefix query.
+	 * @param labelOf			returns the label of an item, shown in the combo box.
+	 * @param idOf				returns the id of an item.
+	 * @param pageSize			the number of items of every query.
+	 * @param debounceMillis	the pause of the typing before a query runs.
+	 */
+	public LazyComboBoxModel(PageQuery<T> query, Function<T, String> labelOf, Function<T, Long> idOf,
+			int pageSize, int debounceMillis) {
+		this.query = query;
+		this.labelOf = labelOf;
+		this.idOf = idOf;
+		this.pageSize = pageSize;
+		this.debounce = new Timer(debounceMillis, e -> reload(pendingPrefix));
+		this.debounce.setRepeats(false);
+	}
+
+	/**
+	 * Creates a model with {@value #DEFAULT_PAGE_SIZE} items per page
+	 * and a delay of {@value #DEFAULT_DEBOUNCE_MILLIS} ms.
+	 * 
+	 * @param query		the prefix query.
+	 * @param labelOf	returns the label of an item.
+	 * @param idOf		returns the id of an item.
+	 */
+	public LazyComboBoxModel(PageQuery<T> query, Function<T, String> labelOf, Function<T, Long> idOf) {
+		this(query, labelOf, idOf, DEFAULT_PAGE_SIZE, DEFAULT_DEBOUNCE_MILLIS);
+	}
+
+	/**
+	 * Sets this model to a combo box and makes it editable, so the
+	 * typed text narrows the list. The first page is read when the
+	 * combo box gains the focus.
+	 * 
+	 * @param combo		the combo box.
+	 */
+	public void install(JComboBox<String> combo) {
+		comboBox = combo;
+		combo.setModel(this);
+		combo.setEditable(true);
+		combo.setMaximumRowCount(5);
+		// with a prototype, the popup asks only for the visible rows
+		combo.setPrototypeDisplayValue("XXXXXXXXXXXXXXXXXXXX");
+
+		JTextComponent editor = (JTextComponent) combo.getEditor().getEditorComponent();
+		editor.getDocument().addDocumentListener(new DocumentListener() {
+			@Override
+			public void insertUpdate(DocumentEvent e) {
+				typed(editor.getText());
+			}
+
+			@Override
+			public void removeUpdate(DocumentEvent e) {
+				typed(editor.getText());
+			}
+
+			@Override
+			public void changedUpdate(DocumentEvent e) {
+			}
+		});
+		editor.addFocusListener(new FocusAdapter() {
+			@Override
+			public void focusGained(FocusEvent e) {
+				if (!loaded) {
+					reload(prefix);
+				}
+			}
+		});
+	}
+
+	/**
+	 * Reads the first page of the items with a prefix. The result
+	 * of a query of an older prefix, if still running, is ignored.
+	 * 
+	 * @param newPrefix		the beginning of the labels.
+	 * @return				a {@link CompletableFuture} completed when the page is read.
+	 */
+	public CompletableFuture<List<T>> reload(String newPrefix) {
+		debounce.stop();
+		prefix = newPrefix;
+		return fetch(null);
+	}
+
+	/**
+	 * Selects an item, e.g. the city of the shown student,
+	 * without reading it from the database.
+	 * 
+	 * @param item		the item, or null.
+	 */
+	public void setSelected(T item) {
+		selected = item;
+		selectedItem = item == null ? null : labelOf.apply(item);
+		fireSelectionChanged();
+	}
+
+	/**
+	 * Returns the id of the selected item.
+	 * 
+	 * @return		the id, or null if the text of the combo box
+	 * 				is not the label of an item.
+	 */
+	public Long getSelectedId() {
+		return selected == null ? null : idOf.apply(selected);
+	}
+
+	@Override
+	public void setSelectedItem(Object anItem) {
+		if (anItem == null || selected == null || !anItem.equals(labelOf.apply(selected))) {
+			selected = null;
+			for (T item : items) {
+				if (labelOf.apply(item).equals(anItem)) {
+					selected = item;
+					break;
+				}
+			}
+		}
+		selectedItem = anItem;
+		fireSelectionChanged();
+	}
+
+	@Override
+	public Object getSelectedItem() {
+		return selectedItem;
+	}
+
+	@Override
+	public int getSize() {
+		return items.size();
+	}
+
+	@Override
+	public String getElementAt(int index) {
+		if (hasMore && index == items.size() - 1 && inFlight == null) {
+			fetch(labelOf.apply(items.get(index)));
+		}
+		return labelOf.apply(items.get(index));
+	}
+
+	private void typed(String text) {
+		if (adjusting || text.equals(pendingPrefix)) {
+			return;
+		}
+		pendingPrefix = text;
+		debounce.restart();
+	}
+
+	/**
+	 * Reads a page in the background and applies it on the event dispatch thread,
+	 * unless a newer query has started in the meantime.
+	 * 
+	 * @param afterLabel	the label of the last item, or null for the first page.
+	 * @return				a {@link CompletableFuture} with the page.
+	 */
+	private CompletableFuture<List<T>> fetch(String afterLabel) {
+		// marks the older page as stale; its JDBC statement is not cancelled
+		if (afterLabel == null && inFlight != null) {
+			inFlight.cancel(false);
+		}
+
+		int current = afterLabel == null ? ++generation : generation;
+		String currentPrefix = prefix;
+		CompletableFuture<List<T>> page = FormQueries.submit(() -> query.fetch(currentPrefix, afterLabel, pageSize));
+		inFlight = page;
+
+		page.whenComplete((found, error) -> SwingUtilities.invokeLater(() -> {
+			if (current != generation || page.isCancelled()) {
+				return;
+			}
+			inFlight = null;
+			if (error != null) {
+				JOptionPane.showMessageDialog(null, FormQueries.messageOf(error), "Error", JOptionPane.ERROR_MESSAGE);
+				return;
+			}
+			apply(afterLabel == null, found);
+		}));
+		return page;
+	}
+
+	private void apply(boolean firstPage, List<T> page) {
+		loaded = true;
+		hasMore = page.size() == pageSize;
+
+		if (firstPage) {
+			int oldSize = items.size();
+			items.clear();
+			if (oldSize > 0) {
+				fireIntervalRemoved(this, 0, oldSize - 1);
+			}
+		}
+		int from = items.size();
+		items.addAll(page);
+		if (!page.isEmpty()) {
+			fireIntervalAdded(this, from, items.size() - 1);
+		}
+
+		// the popup is resized to the new items while the user is typing
+		if (firstPage && comboBox != null && comboBox.isShowing() && comboBox.getEditor().getEditorComponent().hasFocus()) {
+			comboBox.hidePopup();
+			if (!items.isEmpty()) {
+				comboBox.showPopup();
+			}
+		}
+	}
+
+	private void fireSelectionChanged() {
+		adjusting = true;
+		try {
+			fireContentsChanged(this, -1, -1);
+		} finally {
+			adjusting = false;
+		}
+	}
+}
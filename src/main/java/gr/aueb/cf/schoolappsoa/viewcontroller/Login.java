@@ -2,13 +2,12 @@ package gr.aueb.cf.schoolappsoa.viewcontroller;
 
 import gr.aueb.cf.schoolappsoa.Main;
 import gr.aueb.cf.schoolappsoa.dao.*;
-import gr.aueb.cf.schoolappsoa.dao.exceptions.UserDAOException;
 import gr.aueb.cf.schoolappsoa.dto.LoginDTO;
 import gr.aueb.cf.schoolappsoa.dto.UserInsertDTO;
-import gr.aueb.cf.schoolappsoa.model.User;
 import gr.aueb.cf.schoolappsoa.service.IUserService;
 import gr.aueb.cf.schoolappsoa.service.UserServiceImpl;
 import gr.aueb.cf.schoolappsoa.service.exceptions.UserAlreadyExistsException;
+import gr.aueb.cf.schoolappsoa.service.session.SessionContext;
 
 import javax.swing.JFrame;
 import javax.swing.JPanel;
@@ -24,10 +23,15 @@ import javax.swing.JButton;
 import java.awt.Color;
 import javax.swing.ImageIcon;
 import javax.swing.JPasswordField;
+import javax.swing.JProgressBar;
+import javax.swing.SwingUtilities;
 import java.awt.event.ActionListener;
 import java.net.URL;
 import java.awt.event.ActionEvent;
 import java.awt.Toolkit;
+import java.awt.Cursor;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * The first JFrame object that a user interacts.
@@ -47,6 +51,8 @@ public class Login extends JFrame {
 	private JPasswordField passwordTxt;
 	private JPasswordField passwordRegTxt;
 	private JPasswordField confirmPassRegTxt;
+	private JProgressBar loginProgress;
+	private JProgressBar registerProgress;
 
 	IUserDAO userDAO = new UserDAOImpl();
 	IStudentDAO studentDAO = new StudentDAOImpl();
@@ -118,6 +124,8 @@ public class Login extends JFrame {
 				// Admin has username "admin" and the password is saved in an 
 				// env variable in the PC.
 				if (inputUsername.matches("[aA]dmin")) {
+					// the admin has no user record, so no session of a previous user is kept
+					userService.logout();
 					if (inputPasswd.equals(System.getenv("ST_ADMIN_PASSWD"))) {
 						Main.getAdminMenu().setVisible(true);
 						Main.getLoginForm().setEnabled(false);
@@ -126,12 +134,20 @@ public class Login extends JFrame {
 					}
 				}
 				else {
-					try {
-						LoginDTO dto = new LoginDTO();
-						dto.setUsername(inputUsername);
-						dto.setPassword(inputPasswd);
+					LoginDTO dto = new LoginDTO();
+					dto.setUsername(inputUsername);
+					dto.setPassword(inputPasswd);
 
-						if (userService.login(dto)) {
+					// bcrypt runs off the event dispatch thread,
+					// the form is updated back on it when the check is done
+					setBusy(loginBtn, loginProgress, true);
+					userService.loginAsync(dto).whenComplete((authorized, error) -> SwingUtilities.invokeLater(() -> {
+						setBusy(loginBtn, loginProgress, false);
+
+						if (error != null) {
+							showAsyncError(error, "Something went wrong with Login, please try again");
+						} else if (authorized) {
+							Main.getAdminMenu().setTitle("Admin Menu - " + SessionContext.getCurrent());
 							Main.getAdminMenu().setVisible(true);
 							Main.getLoginForm().setEnabled(false);
 						} else {
@@ -139,10 +155,7 @@ public class Login extends JFrame {
 							usernameTxt.setText("");
 							passwordTxt.setText("");
 						}
-					} catch (UserDAOException e1) {
-						e1.printStackTrace();
-						JOptionPane.showMessageDialog(null, "Something went wrong with Insertion, please try again", "Error", JOptionPane.WARNING_MESSAGE);
-					}
+					}));
 				}
 				
 			}
@@ -151,6 +164,12 @@ public class Login extends JFrame {
 		loginBtn.setFont(new Font("Arial", Font.BOLD, 15));
 		loginBtn.setBounds(209, 98, 85, 30);
 		login.add(loginBtn);
+
+		loginProgress = new JProgressBar();
+		loginProgress.setIndeterminate(true);
+		loginProgress.setVisible(false);
+		loginProgress.setBounds(27, 105, 170, 16);
+		login.add(loginProgress);
 		
 		passwordTxt = new JPasswordField();
 		passwordTxt.setFont(new Font("Arial", Font.PLAIN, 15));
@@ -208,31 +227,35 @@ public class Login extends JFrame {
 					JOptionPane.showMessageDialog(null, "Passwords not match", "Password Error", JOptionPane.ERROR_MESSAGE);
 				}
 
-				try {
-					UserInsertDTO dto = new UserInsertDTO(null, inputUsername, inputPasswd);
-					User user = userService.insertUser(dto);
+				UserInsertDTO dto = new UserInsertDTO(null, inputUsername, inputPasswd);
+
+				setBusy(registerBtn, registerProgress, true);
+				userService.insertUserAsync(dto).whenComplete((user, error) -> SwingUtilities.invokeLater(() -> {
+					setBusy(registerBtn, registerProgress, false);
 
-					if (user != null) {
+					if (error != null) {
+						showAsyncError(error, "Error in register");
+					} else if (user != null) {
 						JOptionPane.showMessageDialog(null, "Successful registration", "Register", JOptionPane.INFORMATION_MESSAGE);
 						usernameRegTxt.setText("");
 						passwordRegTxt.setText("");
 						confirmPassRegTxt.setText("");
-						return;
 					} else {
 						JOptionPane.showMessageDialog(null, "Error in register", "Error", JOptionPane.ERROR_MESSAGE);
 					}
-
-				} catch (UserAlreadyExistsException e1) {
-					JOptionPane.showMessageDialog(null, "Username is already exists", "Register", JOptionPane.INFORMATION_MESSAGE);
-				} catch (UserDAOException e2) {
-					e2.printStackTrace();
-				}
+				}));
 			}
 		});
 		registerBtn.setForeground(Color.BLUE);
 		registerBtn.setFont(new Font("Arial", Font.BOLD, 15));
 		registerBtn.setBounds(211, 120, 101, 30);
 		register.add(registerBtn);
+
+		registerProgress = new JProgressBar();
+		registerProgress.setIndeterminate(true);
+		registerProgress.setVisible(false);
+		registerProgress.setBounds(23, 127, 170, 16);
+		register.add(registerProgress);
 		
 		passwordRegTxt = new JPasswordField();
 		passwordRegTxt.setFont(new Font("Arial", Font.PLAIN, 15));
@@ -249,4 +272,37 @@ public class Login extends JFrame {
 		lblNewLabel.setBounds(10, 200, 416, 63);
 		contentPane.add(lblNewLabel);
 	}
+
+	/**
+	 * Shows the progress of an asynchronous operation: while it runs,
+	 * its button is disabled and its progress bar is visible.
+	 *
+	 * @param button	the button which started the operation.
+	 * @param progress	the progress bar of the operation.
+	 * @param busy		true while the operation runs.
+	 */
+	private void setBusy(JButton button, JProgressBar progress, boolean busy) {
+		button.setEnabled(!busy);
+		progress.setVisible(busy);
+		setCursor(busy ? Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR) : Cursor.getDefaultCursor());
+	}
+
+	/**
+	 * Shows the error of an asynchronous operation of the Service Layer.
+	 *
+	 * @param error		the error the operation completed with.
+	 * @param message	the message for unexpected errors.
+	 */
+	private void showAsyncError(Throwable error, String message) {
+		Throwable cause = (error instanceof CompletionException && error.getCause() != null) ? error.getCause() : error;
+
+		if (cause instanceof UserAlreadyExistsException) {
+			JOptionPane.showMessageDialog(null, "Username is already exists", "Register", JOptionPane.INFORMATION_MESSAGE);
+		} else if (cause instanceof RejectedExecutionException) {
+			JOptionPane.showMessageDialog(null, "The server is busy, please try again", "Error", JOptionPane.WARNING_MESSAGE);
+		} else {
+			cause.printStackTrace();
+			JOptionPane.showMessageDialog(null, message, "Error", JOptionPane.WARNING_MESSAGE);
+		}
+	}
 }
@@ -0,0 +1,78 @@
+package gr.aueb.cf.schoolappsoa.viewcontroller;
+
+import javax.swing.DefaultListModel;
+import javax.swing.JFrame;
+import javax.swing.JList;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.border.EmptyBorder;
+import java.awt.BorderLayout;
+import java.awt.Font;
+import java.awt.Toolkit;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.net.URL;
+
+/**
+ * This JFrame lists the reminders of the upcoming meetings of the
+ * logged in user. It is not modal: a due reminder is added to the
+ * list and the frame is shown without taking the focus, so the
+ * reminders never block the other forms. Closing the frame clears
+ * the list.
+ *
+ * @author Thanasis Chousiadas
+ */
+public class RemindersForm extends JFrame {
+	private static final long serialVersionUID = 1L;
+	private JPanel contentPane;
+	private final DefaultListModel<String> reminders = new DefaultListModel<>();
+
+	/**
+	 * The constructor of JFrame {@link RemindersForm} class.
+	 */
+	public RemindersForm() {
+		ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+		URL url = classLoader.getResource("eduv2.png");
+		setIconImage(Toolkit.getDefaultToolkit().getImage(url));
+		setTitle("Reminders");
+		setDefaultCloseOperation(JFrame.HIDE_ON_CLOSE);
+		setAutoRequestFocus(false);
+		setBounds(100, 100, 450, 250);
+		contentPane = new JPanel();
+		contentPane.setBorder(new EmptyBorder(5, 5, 5, 5));
+		setLocationRelativeTo(null);
+
+		setContentPane(contentPane);
+		contentPane.setLayout(new BorderLayout());
+
+		JList<String> remindersList = new JList<>(reminders);
+		remindersList.setFont(new Font("Arial", Font.PLAIN, 14));
+		contentPane.add(new JScrollPane(remindersList), BorderLayout.CENTER);
+
+		addWindowListener(new WindowAdapter() {
+
+			/**
+			 * This callback clears the reminders which are read.
+			 *
+			 * @param e			a {@link WindowEvent} object, user's event.
+			 */
+			@Override
+			public void windowClosing(WindowEvent e) {
+				reminders.clear();
+			}
+		});
+	}
+
+	/**
+	 * Adds a reminder to the list and shows the frame.
+	 * It must be called on the event dispatch thread.
+	 *
+	 * @param reminder	the text of the reminder.
+	 */
+	public void addReminder(String reminder) {
+		reminders.addElement(reminder);
+		if (!isVisible()) {
+			setVisible(true);
+		}
+	}
+}
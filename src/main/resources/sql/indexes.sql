@@ -0,0 +1,15 @@
+-- Indexes of the keyset-paginated searches of the DAOs.
+-- Each page is read with a seek on (LASTNAME, ID) after the last row
+-- of the previous page, instead of an OFFSET scan.
+CREATE INDEX IDX_STUDENTS_LASTNAME_ID ON STUDENTS (LASTNAME, ID);
+CREATE INDEX IDX_TEACHERS_LASTNAME_ID ON TEACHERS (LASTNAME, ID);
+
+-- Index of the login query, which finds a user by username and
+-- left joins the student and the teacher linked to it by USER_ID.
+-- The USER_ID columns are indexed by their foreign keys in InnoDB.
+CREATE INDEX IDX_USERS_USERNAME ON USERS (USERNAME);
+
+-- Indexes of the type-ahead combo boxes, which read the usernames and the
+-- cities with a prefix, page by page: USERNAME LIKE 'p%' AND USERNAME > ?
+-- ORDER BY USERNAME is a range seek on IDX_USERS_USERNAME.
+CREATE INDEX IDX_CITIES_CITY ON CITIES (CITY);
@@ -0,0 +1,35 @@
+-- Recurring meetings of a student with a teacher in a room. A series is
+-- stored once, as a rule: the first meeting, from FIRST_DATE (inclusive)
+-- to FIRST_END (exclusive), repeats every INTERVAL_WEEKS weeks at the
+-- same local time, until UNTIL_DATE (exclusive; NULL for an open-ended
+-- series). The occurrences are not rows; they are expanded in memory
+-- for the window of a query.
+CREATE TABLE IF NOT EXISTS MEETING_SERIES (
+    ID             INT          NOT NULL AUTO_INCREMENT,
+    STUDENT_ID     INT          NOT NULL,
+    TEACHER_ID     INT          NOT NULL,
+    MEETING_ROOM   VARCHAR(45)  NOT NULL,
+    FIRST_DATE     DATETIME     NOT NULL,
+    FIRST_END      DATETIME     NOT NULL,
+    INTERVAL_WEEKS INT          NOT NULL DEFAULT 1,
+    UNTIL_DATE     DATETIME     NULL,
+    PRIMARY KEY (ID),
+    CONSTRAINT FK_MEETING_SERIES_STUDENTS FOREIGN KEY (STUDENT_ID) REFERENCES STUDENTS (ID),
+    CONSTRAINT FK_MEETING_SERIES_TEACHERS FOREIGN KEY (TEACHER_ID) REFERENCES TEACHERS (ID)
+);
+
+-- The cancelled occurrences of a series, by their start.
+CREATE TABLE IF NOT EXISTS MEETING_SERIES_CANCELLATIONS (
+    SERIES_ID      INT          NOT NULL,
+    CANCELLED_DATE DATETIME     NOT NULL,
+    PRIMARY KEY (SERIES_ID, CANCELLED_DATE),
+    CONSTRAINT FK_CANCELLATIONS_MEETING_SERIES FOREIGN KEY (SERIES_ID) REFERENCES MEETING_SERIES (ID)
+        ON DELETE CASCADE
+);
+
+-- Indexes of the series of a teacher, a student or a room which are
+-- active in a window: a seek on the owner, then FIRST_DATE < the end
+-- of the window.
+CREATE INDEX IDX_MEETING_SERIES_TEACHER_DATE ON MEETING_SERIES (TEACHER_ID, FIRST_DATE);
+CREATE INDEX IDX_MEETING_SERIES_STUDENT_DATE ON MEETING_SERIES (STUDENT_ID, FIRST_DATE);
+CREATE INDEX IDX_MEETING_SERIES_ROOM_DATE ON MEETING_SERIES (MEETING_ROOM, FIRST_DATE);
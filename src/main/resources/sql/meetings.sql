@@ -0,0 +1,25 @@
+-- Meetings of a student with a teacher in a room, from MEETING_DATE
+-- (inclusive) to MEETING_END (exclusive).
+CREATE TABLE IF NOT EXISTS MEETINGS (
+    ID           INT          NOT NULL AUTO_INCREMENT,
+    STUDENT_ID   INT          NOT NULL,
+    TEACHER_ID   INT          NOT NULL,
+    MEETING_ROOM VARCHAR(45)  NOT NULL,
+    MEETING_DATE DATETIME     NOT NULL,
+    MEETING_END  DATETIME     NOT NULL,
+    PRIMARY KEY (ID),
+    CONSTRAINT FK_MEETINGS_STUDENTS FOREIGN KEY (STUDENT_ID) REFERENCES STUDENTS (ID),
+    CONSTRAINT FK_MEETINGS_TEACHERS FOREIGN KEY (TEACHER_ID) REFERENCES TEACHERS (ID)
+);
+
+-- Indexes of the range queries of the meetings. A window of a teacher,
+-- a student or a room is a seek on (owner, MEETING_DATE) and each page
+-- continues after (MEETING_DATE, ID) of the last row of the previous page,
+-- so the rows come out of the index already in order, without a filesort.
+CREATE INDEX IDX_MEETINGS_TEACHER_DATE ON MEETINGS (TEACHER_ID, MEETING_DATE, ID);
+CREATE INDEX IDX_MEETINGS_STUDENT_DATE ON MEETINGS (STUDENT_ID, MEETING_DATE, ID);
+CREATE INDEX IDX_MEETINGS_ROOM_DATE ON MEETINGS (MEETING_ROOM, MEETING_DATE, ID);
+
+-- Index of the window of all the meetings by their start, which the
+-- reminder scheduler reads ahead of the time, one window at a time.
+CREATE INDEX IDX_MEETINGS_DATE ON MEETINGS (MEETING_DATE, ID);
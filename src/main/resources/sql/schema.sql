@@ -0,0 +1,46 @@
+-- Tables of the users, the reference data, the students and the teachers.
+-- The meetings and the meeting series are in meetings.sql and in
+-- meeting_series.sql, the indexes of the searches in indexes.sql.
+CREATE TABLE IF NOT EXISTS USERS (
+    ID           INT          NOT NULL AUTO_INCREMENT,
+    USERNAME     VARCHAR(45)  NOT NULL UNIQUE,
+    PASSWORD     VARCHAR(255) NOT NULL,
+    PRIMARY KEY (ID)
+);
+
+CREATE TABLE IF NOT EXISTS CITIES (
+    ID           INT          NOT NULL AUTO_INCREMENT,
+    CITY         VARCHAR(45)  NOT NULL,
+    PRIMARY KEY (ID)
+);
+
+CREATE TABLE IF NOT EXISTS SPECIALITIES (
+    ID           INT          NOT NULL AUTO_INCREMENT,
+    SPECIALITY   VARCHAR(45)  NOT NULL,
+    PRIMARY KEY (ID)
+);
+
+CREATE TABLE IF NOT EXISTS STUDENTS (
+    ID           INT          NOT NULL AUTO_INCREMENT,
+    FIRSTNAME    VARCHAR(45)  NOT NULL,
+    LASTNAME     VARCHAR(45)  NOT NULL,
+    GENDER       CHAR(1)      NOT NULL,
+    BIRTH_DATE   DATE         NOT NULL,
+    CITY_ID      INT          NULL,
+    USER_ID      INT          NULL,
+    PRIMARY KEY (ID),
+    CONSTRAINT FK_STUDENTS_CITIES FOREIGN KEY (CITY_ID) REFERENCES CITIES (ID),
+    CONSTRAINT FK_STUDENTS_USERS FOREIGN KEY (USER_ID) REFERENCES USERS (ID)
+);
+
+CREATE TABLE IF NOT EXISTS TEACHERS (
+    ID            INT         NOT NULL AUTO_INCREMENT,
+    SSN           INT         NOT NULL,
+    FIRSTNAME     VARCHAR(45) NOT NULL,
+    LASTNAME      VARCHAR(45) NOT NULL,
+    SPECIALITY_ID INT         NULL,
+    USER_ID       INT         NULL,
+    PRIMARY KEY (ID),
+    CONSTRAINT FK_TEACHERS_SPECIALITIES FOREIGN KEY (SPECIALITY_ID) REFERENCES SPECIALITIES (ID),
+    CONSTRAINT FK_TEACHERS_USERS FOREIGN KEY (USER_ID) REFERENCES USERS (ID)
+);
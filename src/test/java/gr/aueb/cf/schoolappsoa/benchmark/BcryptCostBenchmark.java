@@ -0,0 +1,70 @@
+package gr.aueb.cf.schoolappsoa.benchmark;
+
+import gr.aueb.cf.schoolappsoa.service.security.HashingExecutor;
+import gr.aueb.cf.schoolappsoa.service.security.SecUtil;
+import org.mindrot.jbcrypt.BCrypt;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This benchmark compares the bcrypt costs under concurrent logins:
+ * every benchmark thread is a user logging in, and the password checks
+ * run either on the calling threads or on the {@link HashingExecutor},
+ * which bounds them to the number of cores. The sample time mode reports
+ * the latency percentiles a user sees at each cost.
+ * <pre>{@code
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=gr.aueb.cf.schoolappsoa.benchmark.BcryptCostBenchmark
+ * }</pre>
+ *
+ * @author Thanasis Chousiadas
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@Threads(16)
+@State(Scope.Benchmark)
+public class BcryptCostBenchmark {
+    private static final String PASSWORD = "s3cret-Passw0rd";
+
+    @Param({"10", "11", "12", "13"})
+    private int cost;
+
+    private String hashedPasswd;
+    private HashingExecutor executor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        hashedPasswd = BCrypt.hashpw(PASSWORD, BCrypt.gensalt(cost));
+        executor = new HashingExecutor(Runtime.getRuntime().availableProcessors(), 1024);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Benchmark
+    public boolean loginOnCallerThread() {
+        return SecUtil.checkPassword(PASSWORD, hashedPasswd);
+    }
+
+    @Benchmark
+    public boolean loginOnHashingExecutor() {
+        return executor.check(PASSWORD, hashedPasswd).join();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(BcryptCostBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,98 @@
+package gr.aueb.cf.schoolappsoa.benchmark;
+
+import gr.aueb.cf.schoolappsoa.dao.FetchPlan;
+import gr.aueb.cf.schoolappsoa.dao.IStudentDAO;
+import gr.aueb.cf.schoolappsoa.dao.ITeacherDAO;
+import gr.aueb.cf.schoolappsoa.dao.Page;
+import gr.aueb.cf.schoolappsoa.dao.StudentDAOImpl;
+import gr.aueb.cf.schoolappsoa.dao.TeacherDAOImpl;
+import gr.aueb.cf.schoolappsoa.dao.dbutil.EmbeddedDatabase;
+import gr.aueb.cf.schoolappsoa.model.Student;
+import gr.aueb.cf.schoolappsoa.model.Teacher;
+import gr.aueb.cf.schoolappsoa.service.security.SecUtil;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This benchmark measures the searches of the staff, the students by
+ * lastname and the teachers by id, on the DAOs over an embedded database
+ * with a {@link DatasetGenerator} dataset, so it runs without a MySQL server.
+ * The lastnames are drawn from the students, so the common ones are
+ * searched more often. It measures the cost of
+ * the DAOs, the mappers and the pool, not the one of a MySQL server.
+ * <pre>{@code
+ * mvn -Pbenchmark verify -Djmh.include=DaoBenchmark
+ * }</pre>
+ *
+ * @author Thanasis Chousiadas
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DaoBenchmark {
+
+    @Param({"10000"})
+    private int students;
+
+    @Param({"1000"})
+    private int teachers;
+
+    private IStudentDAO studentDAO;
+    private ITeacherDAO teacherDAO;
+    private String[] lastnames;
+    private long[] teacherIds;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        EmbeddedDatabase.start();
+        SecUtil.setWorkload(4);
+        DatasetGenerator generator = new DatasetGenerator(DatasetGenerator.DEFAULT_SEED);
+        teacherIds = generator.load(students, teachers, 0).getTeacherIds();
+
+        lastnames = new String[1024];
+        for (int i = 0; i < lastnames.length; i++) {
+            lastnames[i] = generator.student(i % students).getLastname();
+        }
+        studentDAO = new StudentDAOImpl();
+        teacherDAO = new TeacherDAOImpl();
+    }
+
+    @Benchmark
+    public List<Student> studentsByLastname() throws Exception {
+        return studentDAO.getByLastname(lastnames[ThreadLocalRandom.current().nextInt(lastnames.length)]);
+    }
+
+    @Benchmark
+    public Page<Student> studentsByLastnameFirstPage() throws Exception {
+        return studentDAO.getByLastname(lastnames[ThreadLocalRandom.current().nextInt(lastnames.length)], 20, null);
+    }
+
+    @Benchmark
+    public Teacher teacherById() throws Exception {
+        return teacherDAO.getById(teacherIds[ThreadLocalRandom.current().nextInt(teachers)]);
+    }
+
+    @Benchmark
+    public Teacher teacherByIdLazy() throws Exception {
+        return teacherDAO.getById(teacherIds[ThreadLocalRandom.current().nextInt(teachers)], FetchPlan.LAZY_ID);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(DaoBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
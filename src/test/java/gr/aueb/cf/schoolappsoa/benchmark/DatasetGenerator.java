@@ -0,0 +1,423 @@
+package gr.aueb.cf.schoolappsoa.benchmark;
+
+import gr.aueb.cf.schoolappsoa.dao.CityDAOImpl;
+import gr.aueb.cf.schoolappsoa.dao.ICityDAO;
+import gr.aueb.cf.schoolappsoa.dao.IMeetingDAO;
+import gr.aueb.cf.schoolappsoa.dao.ISpecialityDAO;
+import gr.aueb.cf.schoolappsoa.dao.IStudentDAO;
+import gr.aueb.cf.schoolappsoa.dao.ITeacherDAO;
+import gr.aueb.cf.schoolappsoa.dao.IUserDAO;
+import gr.aueb.cf.schoolappsoa.dao.MeetingDAOImpl;
+import gr.aueb.cf.schoolappsoa.dao.SpecialityDAOImpl;
+import gr.aueb.cf.schoolappsoa.dao.StudentDAOImpl;
+import gr.aueb.cf.schoolappsoa.dao.TeacherDAOImpl;
+import gr.aueb.cf.schoolappsoa.dao.UserDAOImpl;
+import gr.aueb.cf.schoolappsoa.dao.exceptions.CityDAOException;
+import gr.aueb.cf.schoolappsoa.dao.exceptions.MeetingDAOException;
+import gr.aueb.cf.schoolappsoa.dao.exceptions.SpecialityDAOException;
+import gr.aueb.cf.schoolappsoa.dao.exceptions.StudentDAOException;
+import gr.aueb.cf.schoolappsoa.dao.exceptions.TeacherDAOException;
+import gr.aueb.cf.schoolappsoa.dao.exceptions.UserDAOException;
+import gr.aueb.cf.schoolappsoa.model.City;
+import gr.aueb.cf.schoolappsoa.model.Meeting;
+import gr.aueb.cf.schoolappsoa.model.Speciality;
+import gr.aueb.cf.schoolappsoa.model.Student;
+import gr.aueb.cf.schoolappsoa.model.Teacher;
+import gr.aueb.cf.schoolappsoa.model.User;
+import gr.aueb.cf.schoolappsoa.service.security.SecUtil;
+import gr.aueb.cf.schoolappsoa.service.util.DateUtil;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class generates a synthetic dataset of the size of a real school
+ * network: users, students, teachers, cities, specialities and meetings,
+ * with Greek names, and loads it with the batch inserts of the DAOs.
+ * <p>
+ * The dataset is deterministic: every student and teacher is drawn from
+ * a random generator seeded with the seed of the dataset and its index,
+ * so the same seed gives the same rows, and a row is found again from
+ * its index, e.g. by a benchmark which needs an existing username,
+ * without keeping the dataset in memory. The common surnames and names
+ * are drawn more often, and the women get the female form of the surname.
+ * <p>
+ * All the users share one password, hashed once with the current bcrypt
+ * cost of {@link SecUtil}, since hashing millions of passwords takes days.
+ * A teacher has at most one meeting at a time; the students and the rooms
+ * of the meetings are drawn at random, like the meetings of a batch
+ * insert, which are not checked for double bookings.
+ * <pre>{@code
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=gr.aueb.cf.schoolappsoa.benchmark.DatasetGenerator \
+ *     -Dexec.args="1000000 50000 40" -Ddb.url=jdbc:mysql://...
+ * }</pre>
+ *
+ * @author Thanasis Chousiadas
+ */
+public class DatasetGenerator {
+    public static final long DEFAULT_SEED = 20230907L;
+    public static final String PASSWORD = "s3cret-Passw0rd";
+
+    /**
+     * The first day of the school year, the reference of the ages and of the meetings.
+     */
+    static final LocalDate SCHOOL_YEAR_START = LocalDate.of(2023, 9, 1);
+
+    static final String[] CITIES = {
+            "Athens", "Thessaloniki", "Patras", "Heraklion", "Larissa", "Volos", "Ioannina", "Chania",
+            "Chalkida", "Kalamata", "Kavala", "Serres", "Alexandroupoli", "Rhodes", "Trikala", "Lamia",
+            "Kozani", "Komotini", "Agrinio", "Katerini", "Veria", "Drama", "Corfu", "Tripoli",
+            "Xanthi", "Karditsa", "Mytilene", "Chios", "Sparti", "Nafplio"
+    };
+    static final String[] SPECIALITIES = {
+            "Mathematics", "Physics", "Chemistry", "Biology", "Greek Language", "Ancient Greek",
+            "History", "Geography", "English", "French", "German", "Computer Science",
+            "Economics", "Music", "Physical Education", "Arts"
+    };
+    static final String[] ROOMS = {
+            "A1", "A2", "A3", "A4", "B1", "B2", "B3", "B4", "C1", "C2", "C3", "C4",
+            "D1", "D2", "D3", "D4", "Lab-1", "Lab-2", "Library", "Gym"
+    };
+
+    private static final String[] MALE_FIRSTNAMES = {
+            "Georgios", "Ioannis", "Konstantinos", "Dimitrios", "Nikolaos", "Panagiotis", "Vasileios",
+            "Christos", "Athanasios", "Michail", "Evangelos", "Spyridon", "Antonios", "Anastasios",
+            "Theodoros", "Andreas", "Charalampos", "Alexandros", "Emmanouil", "Ilias", "Stavros",
+            "Petros", "Sotirios", "Stylianos"
+    };
+    private static final String[] FEMALE_FIRSTNAMES = {
+            "Maria", "Eleni", "Aikaterini", "Vasiliki", "Sofia", "Angeliki", "Georgia", "Dimitra",
+            "Konstantina", "Paraskevi", "Anastasia", "Evangelia", "Ioanna", "Christina", "Kalliopi",
+            "Panagiota", "Theodora", "Athina", "Despoina", "Eirini", "Stavroula", "Alexandra",
+            "Chrysoula", "Fotini"
+    };
+    private static final String[] SURNAMES = {
+            "Papadopoulos", "Papadakis", "Georgiou", "Dimitriou", "Nikolaou", "Ioannidis", "Konstantinidis",
+            "Papageorgiou", "Vlachos", "Oikonomou", "Makris", "Papanikolaou", "Antoniou", "Karagiannis",
+            "Vasileiou", "Christodoulou", "Pappas", "Athanasiou", "Giannopoulos", "Alexiou", "Theodorou",
+            "Angelopoulos", "Papathanasiou", "Michailidis", "Kyriakou", "Stavrou", "Panagiotopoulos",
+            "Koutsoukos", "Mavridis", "Daskalakis", "Samaras", "Kostopoulos", "Tsakalos", "Lamprou",
+            "Zervas", "Manolas", "Katsaros", "Andreou", "Petridis", "Sideris"
+    };
+
+    private static final long STUDENT = 1L;
+    private static final long TEACHER = 2L;
+    private static final long MEETING = 3L;
+    private static final long CITY = 4L;
+    private static final int CHUNKS_PER_CALL = 10;
+
+    private final long seed;
+    private final int batchSize;
+    private final ZoneId zone;
+    private final IUserDAO userDAO;
+    private final ICityDAO cityDAO;
+    private final ISpecialityDAO specialityDAO;
+    private final IStudentDAO studentDAO;
+    private final ITeacherDAO teacherDAO;
+    private final IMeetingDAO meetingDAO;
+
+    /**
+     * Overloaded constructor, with the DAOs of the database of {@link gr.aueb.cf.schoolappsoa.service.util.DBUtil}.
+     *
+     * @param seed the seed of the dataset.
+     */
+    public DatasetGenerator(long seed) {
+        this(seed, 1000, ZoneId.systemDefault(), new UserDAOImpl(), new CityDAOImpl(), new SpecialityDAOImpl(),
+                new StudentDAOImpl(), new TeacherDAOImpl(), new MeetingDAOImpl());
+    }
+
+    /**
+     * Dependencies injection of the Data Access Object Layer implementations.
+     *
+     * @param seed          the seed of the dataset.
+     * @param batchSize     the rows of a round trip of the batch inserts.
+     * @param zone          the time zone of the meetings.
+     * @param userDAO       an implementation of {@link IUserDAO} interface.
+     * @param cityDAO       an implementation of {@link ICityDAO} interface.
+     * @param specialityDAO an implementation of {@link ISpecialityDAO} interface.
+     * @param studentDAO    an implementation of {@link IStudentDAO} interface.
+     * @param teacherDAO    an implementation of {@link ITeacherDAO} interface.
+     * @param meetingDAO    an implementation of {@link IMeetingDAO} interface.
+     */
+    public DatasetGenerator(long seed, int batchSize, ZoneId zone, IUserDAO userDAO, ICityDAO cityDAO,
+                            ISpecialityDAO specialityDAO, IStudentDAO studentDAO, ITeacherDAO teacherDAO,
+                            IMeetingDAO meetingDAO) {
+        this.seed = seed;
+        this.batchSize = batchSize;
+        this.zone = zone;
+        this.userDAO = userDAO;
+        this.cityDAO = cityDAO;
+        this.specialityDAO = specialityDAO;
+        this.studentDAO = studentDAO;
+        this.teacherDAO = teacherDAO;
+        this.meetingDAO = meetingDAO;
+    }
+
+    /**
+     * This method returns the student with an index, 6 to 18 years old at
+     * the start of the school year. Its city and user are not set.
+     *
+     * @param index the index of the student in the dataset.
+     * @return a {@link Student} object without ids.
+     */
+    public Student student(long index) {
+        SplittableRandom random = random(STUDENT, index);
+        char gender = random.nextBoolean() ? 'M' : 'F';
+
+        return new Student(null, firstname(random, gender), lastname(random, gender), gender,
+                birthDate(random, 6, 18), null, null);
+    }
+
+    /**
+     * This method returns the teacher with an index. Its speciality and user are not set.
+     *
+     * @param index the index of the teacher in the dataset.
+     * @return a {@link Teacher} object without ids.
+     */
+    public Teacher teacher(long index) {
+        SplittableRandom random = random(TEACHER, index);
+        char gender = random.nextBoolean() ? 'M' : 'F';
+
+        return new Teacher(null, 100_000_000L + index, firstname(random, gender), lastname(random, gender),
+                null, null);
+    }
+
+    /**
+     * @param index the index of the student in the dataset.
+     * @return the username of the student, e.g. {@code gpapadopoulos.s42}.
+     */
+    public String studentUsername(long index) {
+        Student student = student(index);
+        return username(student.getFirstname(), student.getLastname(), "s", index);
+    }
+
+    /**
+     * @param index the index of the teacher in the dataset.
+     * @return the username of the teacher, e.g. {@code mpapadopoulou.t7}.
+     */
+    public String teacherUsername(long index) {
+        Teacher teacher = teacher(index);
+        return username(teacher.getFirstname(), teacher.getLastname(), "t", index);
+    }
+
+    /**
+     * This method inserts the cities, the specialities, a user for every
+     * student and teacher, the students, the teachers and their meetings.
+     * The rows are generated and inserted a few batches at a time, so the
+     * memory does not grow with the dataset, except for the ids.
+     *
+     * @param students           the number of the students.
+     * @param teachers           the number of the teachers.
+     * @param meetingsPerTeacher the number of the meetings of every teacher, two per school day.
+     * @return the {@link Dataset} with the ids of the inserted rows.
+     * @throws CityDAOException       handles errors propagated from DAO layer for {@link City} Entity.
+     * @throws SpecialityDAOException handles errors propagated from DAO layer for {@link Speciality} Entity.
+     * @throws UserDAOException       handles errors propagated from DAO layer for {@link User} Entity.
+     * @throws StudentDAOException    handles errors propagated from DAO layer for {@link Student} Entity.
+     * @throws TeacherDAOException    handles errors propagated from DAO layer for {@link Teacher} Entity.
+     * @throws MeetingDAOException    handles errors propagated from DAO layer for {@link Meeting} Entity.
+     * @throws IllegalArgumentException if there are meetings without students.
+     */
+    public Dataset load(int students, int teachers, int meetingsPerTeacher) throws CityDAOException,
+            SpecialityDAOException, UserDAOException, StudentDAOException, TeacherDAOException, MeetingDAOException {
+        if (meetingsPerTeacher > 0 && teachers > 0 && students == 0) {
+            throw new IllegalArgumentException("Meetings need at least one student");
+        }
+
+        String hashedPasswd = SecUtil.hashPassword(PASSWORD);
+        int chunk = batchSize * CHUNKS_PER_CALL;
+
+        long[] cityIds = new long[CITIES.length];
+        for (int i = 0; i < CITIES.length; i++) {
+            cityIds[i] = cityDAO.insert(new City(null, CITIES[i])).getId();
+        }
+        long[] specialityIds = new long[SPECIALITIES.length];
+        for (int i = 0; i < SPECIALITIES.length; i++) {
+            specialityIds[i] = specialityDAO.insert(new Speciality(null, SPECIALITIES[i])).getId();
+        }
+
+        long[] studentIds = new long[students];
+        for (int from = 0; from < students; from += chunk) {
+            int to = Math.min(from + chunk, students);
+            List<User> users = new ArrayList<>(to - from);
+            List<Student> rows = new ArrayList<>(to - from);
+
+            for (int i = from; i < to; i++) {
+                Student student = student(i);
+                student.setStudentCity(new City(cityIds[skewed(random(CITY, i), cityIds.length)], null));
+                rows.add(student);
+                users.add(new User(null, username(student.getFirstname(), student.getLastname(), "s", i), hashedPasswd));
+            }
+            userDAO.insertAll(users, batchSize);
+            for (int i = 0; i < rows.size(); i++) {
+                rows.get(i).setUser(users.get(i));
+            }
+            studentDAO.insertAll(rows, batchSize);
+            for (int i = 0; i < rows.size(); i++) {
+                studentIds[from + i] = rows.get(i).getId();
+            }
+        }
+
+        long[] teacherIds = new long[teachers];
+        for (int from = 0; from < teachers; from += chunk) {
+            int to = Math.min(from + chunk, teachers);
+            List<User> users = new ArrayList<>(to - from);
+            List<Teacher> rows = new ArrayList<>(to - from);
+
+            for (int i = from; i < to; i++) {
+                Teacher teacher = teacher(i);
+                teacher.setTeacherSpeciality(new Speciality(specialityIds[i % specialityIds.length], null));
+                rows.add(teacher);
+                users.add(new User(null, username(teacher.getFirstname(), teacher.getLastname(), "t", i), hashedPasswd));
+            }
+            userDAO.insertAll(users, batchSize);
+            for (int i = 0; i < rows.size(); i++) {
+                rows.get(i).setUser(users.get(i));
+            }
+            teacherDAO.insertAll(rows, batchSize);
+            for (int i = 0; i < rows.size(); i++) {
+                teacherIds[from + i] = rows.get(i).getId();
+            }
+        }
+
+        long meetings = 0;
+        List<Meeting> rows = new ArrayList<>(chunk);
+        for (int t = 0; t < teachers; t++) {
+            SplittableRandom random = random(MEETING, t);
+            Teacher teacher = new Teacher();
+            teacher.setId(teacherIds[t]);
+
+            for (int k = 0; k < meetingsPerTeacher; k++) {
+                Student student = new Student();
+                student.setId(studentIds[random.nextInt(students)]);
+                // two meetings per school day, at distinct hours, so a teacher is never double booked
+                Date start = Date.from(schoolDay(k / 2).atTime(9 + 2 * ((t + k) % 4), 0).atZone(zone).toInstant());
+                Date end = new Date(start.getTime() + TimeUnit.HOURS.toMillis(1));
+
+                rows.add(new Meeting(null, student, teacher, ROOMS[random.nextInt(ROOMS.length)], start, end));
+                if (rows.size() == chunk) {
+                    meetings += meetingDAO.insertAll(rows, batchSize).getInsertedCount();
+                    rows.clear();
+                }
+            }
+        }
+        if (!rows.isEmpty()) {
+            meetings += meetingDAO.insertAll(rows, batchSize).getInsertedCount();
+        }
+        return new Dataset(studentIds, teacherIds, meetings);
+    }
+
+    /**
+     * Loads a dataset in the database of {@link gr.aueb.cf.schoolappsoa.service.util.DBUtil},
+     * set with the {@code db.*} system properties.
+     *
+     * @param args the students, the teachers, the meetings per teacher and, optionally, the seed.
+     * @throws Exception if the dataset cannot be loaded.
+     */
+    public static void main(String[] args) throws Exception {
+        int students = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int teachers = args.length > 1 ? Integer.parseInt(args[1]) : 5_000;
+        int meetingsPerTeacher = args.length > 2 ? Integer.parseInt(args[2]) : 40;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : DEFAULT_SEED;
+
+        long start = System.nanoTime();
+        Dataset dataset = new DatasetGenerator(seed).load(students, teachers, meetingsPerTeacher);
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        long rows = 2L * (students + teachers) + dataset.getMeetingCount() + CITIES.length + SPECIALITIES.length;
+        System.out.printf("%d rows in %d ms (%d rows/s)%n", rows, millis, rows * 1000 / Math.max(millis, 1));
+    }
+
+    private SplittableRandom random(long kind, long index) {
+        return new SplittableRandom(seed ^ kind * 0x9E3779B97F4A7C15L ^ index * 0xBF58476D1CE4E5B9L);
+    }
+
+    /**
+     * @return an index in [0, length), skewed to the first ones, like the frequencies of the names.
+     */
+    private static int skewed(SplittableRandom random, int length) {
+        double u = random.nextDouble();
+        return (int) (length * u * u);
+    }
+
+    private static String firstname(SplittableRandom random, char gender) {
+        String[] names = gender == 'F' ? FEMALE_FIRSTNAMES : MALE_FIRSTNAMES;
+        return names[skewed(random, names.length)];
+    }
+
+    private static String lastname(SplittableRandom random, char gender) {
+        String surname = SURNAMES[skewed(random, SURNAMES.length)];
+        return gender == 'F' ? femaleForm(surname) : surname;
+    }
+
+    /**
+     * @return the female form of a Greek surname, e.g. Papadopoulou for Papadopoulos.
+     */
+    static String femaleForm(String surname) {
+        if (surname.endsWith("idis")) {
+            return surname.substring(0, surname.length() - 2) + "ou";
+        }
+        if (surname.endsWith("os")) {
+            return surname.substring(0, surname.length() - 2) + "ou";
+        }
+        if (surname.endsWith("is") || surname.endsWith("as")) {
+            return surname.substring(0, surname.length() - 1);
+        }
+        return surname;
+    }
+
+    private static java.sql.Date birthDate(SplittableRandom random, int minAge, int maxAge) {
+        LocalDate latest = SCHOOL_YEAR_START.minusYears(minAge);
+        LocalDate earliest = SCHOOL_YEAR_START.minusYears(maxAge + 1).plusDays(1);
+        LocalDate birthDate = earliest.plusDays(random.nextLong(latest.toEpochDay() - earliest.toEpochDay() + 1));
+
+        // a java.sql.Date is a day at midnight of the default time zone, like the dates of DateUtil
+        return DateUtil.toSQLDate(Date.from(birthDate.atStartOfDay(ZoneId.systemDefault()).toInstant()));
+    }
+
+    /**
+     * @return the n-th school day, Monday to Friday, from the first Monday of the school year.
+     */
+    private static LocalDate schoolDay(int n) {
+        return SCHOOL_YEAR_START.with(TemporalAdjusters.nextOrSame(DayOfWeek.MONDAY)).plusWeeks(n / 5).plusDays(n % 5);
+    }
+
+    private static String username(String firstname, String lastname, String kind, long index) {
+        return (firstname.charAt(0) + lastname).toLowerCase() + "." + kind + index;
+    }
+
+    /**
+     * The ids of the rows of a loaded dataset, by the index of their row.
+     */
+    public static final class Dataset {
+        private final long[] studentIds;
+        private final long[] teacherIds;
+        private final long meetingCount;
+
+        private Dataset(long[] studentIds, long[] teacherIds, long meetingCount) {
+            this.studentIds = studentIds;
+            this.teacherIds = teacherIds;
+            this.meetingCount = meetingCount;
+        }
+
+        public long[] getStudentIds() {
+            return studentIds;
+        }
+
+        public long[] getTeacherIds() {
+            return teacherIds;
+        }
+
+        public long getMeetingCount() {
+            return meetingCount;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package gr.aueb.cf.schoolappsoa.benchmark;
+
+import gr.aueb.cf.schoolappsoa.dao.BatchResult;
+import gr.aueb.cf.schoolappsoa.dao.ICityDAO;
+import gr.aueb.cf.schoolappsoa.dao.IMeetingDAO;
+import gr.aueb.cf.schoolappsoa.dao.ISpecialityDAO;
+import gr.aueb.cf.schoolappsoa.dao.IStudentDAO;
+import gr.aueb.cf.schoolappsoa.dao.ITeacherDAO;
+import gr.aueb.cf.schoolappsoa.dao.IUserDAO;
+import gr.aueb.cf.schoolappsoa.model.Meeting;
+import gr.aueb.cf.schoolappsoa.model.Student;
+import gr.aueb.cf.schoolappsoa.model.User;
+import gr.aueb.cf.schoolappsoa.service.security.SecUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This unit test class tests the {@link DatasetGenerator} class,
+ * with fake DAOs which give ids to the inserted entities.
+ *
+ * @author Thanasis Chousiadas
+ */
+public class DatasetGeneratorTest {
+    private static final ZoneId ZONE = ZoneId.of("Europe/Athens");
+
+    /**
+     * After each unit test, this method restores the default cost.
+     */
+    @AfterEach
+    public void tearDown() {
+        SecUtil.setWorkload(SecUtil.DEFAULT_WORKLOAD);
+    }
+
+    /**
+     * This method tests that the same seed gives the same students
+     * and another seed gives other students.
+     */
+    @Test
+    public void deterministic() {
+        DatasetGenerator generator = generator(42L, new ArrayList<>());
+        Student student = generator.student(1234);
+        Student again = generator(42L, new ArrayList<>()).student(1234);
+        Student other = generator(43L, new ArrayList<>()).student(1234);
+
+        assertEquals(student.getFirstname(), again.getFirstname());
+        assertEquals(student.getLastname(), again.getLastname());
+        assertEquals(student.getBirthDate(), again.getBirthDate());
+        assertEquals(generator.studentUsername(1234), generator(42L, new ArrayList<>()).studentUsername(1234));
+        assertNotEquals(student.getFirstname() + student.getLastname() + student.getBirthDate(),
+                other.getFirstname() + other.getLastname() + other.getBirthDate());
+    }
+
+    /**
+     * This method tests the ages of the students and the female forms of the surnames.
+     */
+    @Test
+    public void students() {
+        DatasetGenerator generator = generator(DatasetGenerator.DEFAULT_SEED, new ArrayList<>());
+
+        for (int i = 0; i < 10_000; i++) {
+            Student student = generator.student(i);
+            long age = ChronoUnit.YEARS.between(student.getBirthDate().toLocalDate(), DatasetGenerator.SCHOOL_YEAR_START);
+
+            assertTrue(age >= 6 && age <= 18, "age " + age);
+            assertTrue(student.getLastname().length() >= 3 && !student.getLastname().contains(" "));
+            if (student.getGender() == 'F') {
+                assertFalse(student.getLastname().endsWith("os") || student.getLastname().endsWith("is"),
+                        student.getLastname());
+            }
+        }
+        assertEquals("Papadopoulou", DatasetGenerator.femaleForm("Papadopoulos"));
+        assertEquals("Ioannidou", DatasetGenerator.femaleForm("Ioannidis"));
+        assertEquals("Papadaki", DatasetGenerator.femaleForm("Papadakis"));
+        assertEquals("Pappa", DatasetGenerator.femaleForm("Pappas"));
+        assertEquals("Georgiou", DatasetGenerator.femaleForm("Georgiou"));
+    }
+
+    /**
+     * This method tests that the rows are inserted in batches, with
+     * unique usernames, and that no teacher is double booked.
+     */
+    @Test
+    public void load() throws Exception {
+        SecUtil.setWorkload(4);
+        List<Object> inserted = new ArrayList<>();
+        DatasetGenerator.Dataset dataset = generator(7L, inserted).load(2_500, 150, 30);
+
+        assertEquals(2_500, dataset.getStudentIds().length);
+        assertEquals(150, dataset.getTeacherIds().length);
+        assertEquals(150 * 30, dataset.getMeetingCount());
+
+        Set<String> usernames = new HashSet<>();
+        Set<String> teacherSlots = new HashSet<>();
+        Set<Long> studentIds = new HashSet<>();
+        Arrays.stream(dataset.getStudentIds()).forEach(studentIds::add);
+
+        for (Object entity : inserted) {
+            if (entity instanceof User) {
+                assertTrue(usernames.add(((User) entity).getUsername()));
+            } else if (entity instanceof Meeting) {
+                Meeting meeting = (Meeting) entity;
+                LocalDate day = meeting.getMeetingDate().toInstant().atZone(ZONE).toLocalDate();
+
+                assertTrue(studentIds.contains(meeting.getStudent().getId()));
+                assertTrue(day.getDayOfWeek().getValue() <= 5);
+                assertTrue(teacherSlots.add(meeting.getTeacher().getId() + "@" + meeting.getMeetingDate().getTime()));
+            }
+        }
+        assertEquals(2_650, usernames.size());
+    }
+
+    private static DatasetGenerator generator(long seed, List<Object> inserted) {
+        return new DatasetGenerator(seed, 100, ZONE, fake(IUserDAO.class, inserted), fake(ICityDAO.class, inserted),
+                fake(ISpecialityDAO.class, inserted), fake(IStudentDAO.class, inserted),
+                fake(ITeacherDAO.class, inserted), fake(IMeetingDAO.class, inserted));
+    }
+
+    /**
+     * This method returns a fake DAO which gives the next id to every
+     * inserted entity and keeps the entities in a list.
+     */
+    private static <T> T fake(Class<T> type, List<Object> inserted) {
+        long[] nextId = {1L};
+
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            List<Object> entities = new ArrayList<>();
+            if (method.getName().equals("insert")) {
+                entities.add(args[0]);
+            } else if (method.getName().equals("insertAll")) {
+                entities.addAll((List<?>) args[0]);
+            } else {
+                throw new UnsupportedOperationException(method.getName());
+            }
+
+            int[] counts = new int[entities.size()];
+            for (int i = 0; i < entities.size(); i++) {
+                entities.get(i).getClass().getMethod("setId", Long.class).invoke(entities.get(i), nextId[0]++);
+                counts[i] = 1;
+            }
+            inserted.addAll(entities);
+            return method.getName().equals("insert") ? entities.get(0) : new BatchResult<>(entities, counts);
+        }));
+    }
+}
@@ -0,0 +1,95 @@
+package gr.aueb.cf.schoolappsoa.benchmark;
+
+import gr.aueb.cf.schoolappsoa.dto.StudentInsertDTO;
+import gr.aueb.cf.schoolappsoa.dto.TeacherInsertDTO;
+import gr.aueb.cf.schoolappsoa.service.util.DateUtil;
+import gr.aueb.cf.schoolappsoa.validator.StudentValidator;
+import gr.aueb.cf.schoolappsoa.validator.TeacherValidator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.text.ParseException;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This benchmark measures the conversions of {@link DateUtil} and the
+ * validators of the insert forms, which run for every row of a form or
+ * of a list of the staff. The allocation rate of the gc profiler shows
+ * the garbage of the formats and of the regular expressions.
+ * <pre>{@code
+ * mvn -Pbenchmark verify -Djmh.include=DateAndValidatorBenchmark
+ * }</pre>
+ *
+ * @author Thanasis Chousiadas
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DateAndValidatorBenchmark {
+    private static final String DATE = "17-03-2008";
+
+    private Date date;
+    private java.sql.Date sqlDate;
+    private StudentInsertDTO studentDTO;
+    private TeacherInsertDTO teacherDTO;
+
+    @Setup(Level.Trial)
+    public void setUp() throws ParseException {
+        date = DateUtil.toDate(DATE);
+        sqlDate = DateUtil.toSQLDate(date);
+        studentDTO = new StudentInsertDTO(null, "Eleni", "Papadopoulou", 'F', date, 1L, 1L);
+        teacherDTO = new TeacherInsertDTO(null, 123456789L, "Georgios", "Konstantinidis", 1L, 2L);
+    }
+
+    @Benchmark
+    public Date stringToDate() throws ParseException {
+        return DateUtil.toDate(DATE);
+    }
+
+    @Benchmark
+    public java.sql.Date stringToSqlDate() {
+        return DateUtil.stringToSqlDate(DATE);
+    }
+
+    @Benchmark
+    public java.sql.Date dateToSqlDate() {
+        return DateUtil.toSQLDate(date);
+    }
+
+    @Benchmark
+    public String dateToString() {
+        return DateUtil.toString(date);
+    }
+
+    @Benchmark
+    public String sqlDateToString() {
+        return DateUtil.toString(sqlDate);
+    }
+
+    @Benchmark
+    public Map<String, String> validateStudent() {
+        return StudentValidator.validate(studentDTO);
+    }
+
+    @Benchmark
+    public Map<String, String> validateTeacher() {
+        return TeacherValidator.validate(teacherDTO);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(DateAndValidatorBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,101 @@
+package gr.aueb.cf.schoolappsoa.benchmark;
+
+import gr.aueb.cf.schoolappsoa.dao.IMeetingDAO;
+import gr.aueb.cf.schoolappsoa.dao.IMeetingSeriesDAO;
+import gr.aueb.cf.schoolappsoa.model.Meeting;
+import gr.aueb.cf.schoolappsoa.model.Student;
+import gr.aueb.cf.schoolappsoa.model.Teacher;
+import gr.aueb.cf.schoolappsoa.service.scheduling.FreeSlot;
+import gr.aueb.cf.schoolappsoa.service.scheduling.FreeSlotFinder;
+import gr.aueb.cf.schoolappsoa.service.scheduling.MeetingIndex;
+import gr.aueb.cf.schoolappsoa.service.scheduling.Recurrence;
+import gr.aueb.cf.schoolappsoa.service.scheduling.SeriesCalendar;
+import gr.aueb.cf.schoolappsoa.service.scheduling.SeriesIndex;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This benchmark measures the latency of a search of the booking screen
+ * for the earliest free slots of a teacher, a student and a room, over a
+ * term of meetings in a {@link MeetingIndex}: 15 weeks of 5 days, 200
+ * teachers, 2000 students and 40 rooms. The target is under 10 ms.
+ * <pre>{@code
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=gr.aueb.cf.schoolappsoa.benchmark.FreeSlotBenchmark
+ * }</pre>
+ *
+ * @author Thanasis Chousiadas
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FreeSlotBenchmark {
+    private static final long MINUTE = 60 * 1000L;
+    private static final long DAY = 24 * 60 * MINUTE;
+    private static final int DAYS = 15 * 7;
+    private static final int TEACHERS = 200;
+    private static final int STUDENTS = 2000;
+
+    @Param({"30000"})
+    private int meetings;
+
+    private final List<String> rooms = new ArrayList<>();
+    private FreeSlotFinder finder;
+    private Random random;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        for (int i = 1; i <= 40; i++) {
+            rooms.add("R" + i);
+        }
+
+        List<Meeting> table = new ArrayList<>(meetings);
+        random = new Random(1);
+        for (long id = 1; id <= meetings; id++) {
+            long start = random.nextInt(DAYS) * DAY + (8 * 60 + 15 * random.nextInt(36)) * MINUTE;
+            Student student = new Student();
+            student.setId(1L + random.nextInt(STUDENTS));
+            Teacher teacher = new Teacher();
+            teacher.setId(1L + random.nextInt(TEACHERS));
+            table.add(new Meeting(id, student, teacher, rooms.get(random.nextInt(rooms.size())),
+                    new Date(start), new Date(start + 45 * MINUTE)));
+        }
+
+        IMeetingDAO meetingDAO = (IMeetingDAO) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{IMeetingDAO.class}, (proxy, method, args) -> table.stream());
+        MeetingIndex index = new MeetingIndex(meetingDAO);
+        index.load();
+        // no series: the benchmark measures the sweep over the single meetings
+        IMeetingSeriesDAO seriesDAO = (IMeetingSeriesDAO) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{IMeetingSeriesDAO.class}, (proxy, method, args) -> new ArrayList<>());
+        finder = new FreeSlotFinder(index, new SeriesCalendar(new SeriesIndex(seriesDAO), new Recurrence(ZoneOffset.UTC)));
+    }
+
+    @Benchmark
+    public List<FreeSlot> earliestSlotsOfTerm() throws Exception {
+        return finder.findEarliest(1L + random.nextInt(TEACHERS), 1L + random.nextInt(STUDENTS), rooms,
+                Duration.ofMinutes(45), new Date(0), new Date(DAYS * DAY), 5);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(FreeSlotBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
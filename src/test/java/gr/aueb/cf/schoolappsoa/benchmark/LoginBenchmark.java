@@ -0,0 +1,95 @@
+package gr.aueb.cf.schoolappsoa.benchmark;
+
+import gr.aueb.cf.schoolappsoa.dao.StudentDAOImpl;
+import gr.aueb.cf.schoolappsoa.dao.TeacherDAOImpl;
+import gr.aueb.cf.schoolappsoa.dao.UserDAOImpl;
+import gr.aueb.cf.schoolappsoa.dao.dbutil.EmbeddedDatabase;
+import gr.aueb.cf.schoolappsoa.dto.LoginDTO;
+import gr.aueb.cf.schoolappsoa.service.IUserService;
+import gr.aueb.cf.schoolappsoa.service.UserServiceImpl;
+import gr.aueb.cf.schoolappsoa.service.security.SecUtil;
+import org.mindrot.jbcrypt.BCrypt;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This benchmark measures a login of the staff, from the read of the
+ * profile of the user to the check of the password, on an embedded
+ * database with a {@link DatasetGenerator} dataset, next to the hash and the check of a password alone. The gap
+ * between a login and a check is the cost of the application around
+ * bcrypt. An unknown username is the failed login, without bcrypt.
+ * <pre>{@code
+ * mvn -Pbenchmark verify -Djmh.include=LoginBenchmark
+ * }</pre>
+ *
+ * @author Thanasis Chousiadas
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LoginBenchmark {
+
+    @Param({"4", "10"})
+    private int cost;
+
+    @Param({"1000"})
+    private int users;
+
+    private IUserService userService;
+    private String hashedPasswd;
+    private String[] usernames;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        EmbeddedDatabase.start();
+        SecUtil.setWorkload(cost);
+        DatasetGenerator generator = new DatasetGenerator(DatasetGenerator.DEFAULT_SEED);
+        generator.load(users, 0, 0);
+
+        usernames = new String[Math.min(users, 1024)];
+        for (int i = 0; i < usernames.length; i++) {
+            usernames[i] = generator.studentUsername(i);
+        }
+        userService = new UserServiceImpl(new UserDAOImpl(), new StudentDAOImpl(), new TeacherDAOImpl());
+        hashedPasswd = BCrypt.hashpw(DatasetGenerator.PASSWORD, BCrypt.gensalt(cost));
+    }
+
+    @Benchmark
+    public boolean login() throws Exception {
+        String username = usernames[ThreadLocalRandom.current().nextInt(usernames.length)];
+        return userService.login(new LoginDTO(username, DatasetGenerator.PASSWORD));
+    }
+
+    @Benchmark
+    public boolean loginUnknownUser() throws Exception {
+        return userService.login(new LoginDTO("unknown-user", DatasetGenerator.PASSWORD));
+    }
+
+    @Benchmark
+    public String hashPassword() {
+        return SecUtil.hashPassword(DatasetGenerator.PASSWORD);
+    }
+
+    @Benchmark
+    public boolean checkPassword() {
+        return SecUtil.checkPassword(DatasetGenerator.PASSWORD, hashedPasswd);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(LoginBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
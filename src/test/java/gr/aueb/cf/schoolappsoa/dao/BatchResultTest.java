@@ -0,0 +1,33 @@
+package gr.aueb.cf.schoolappsoa.dao;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This unit test class tests the {@link BatchResult} class.
+ *
+ * @author Thanasis Chousiadas
+ */
+public class BatchResultTest {
+
+    /**
+     * This method tests the results of the rows, where the rows
+     * of a rewritten batch report {@link Statement#SUCCESS_NO_INFO}.
+     */
+    @Test
+    public void rowResults() {
+        BatchResult<String> result = new BatchResult<>(List.of("a", "b", "c", "d"),
+                new int[]{1, Statement.SUCCESS_NO_INFO, 0, Statement.EXECUTE_FAILED});
+
+        assertEquals(4, result.size());
+        assertTrue(result.isInserted(0));
+        assertTrue(result.isInserted(1));
+        assertFalse(result.isInserted(2));
+        assertFalse(result.isInserted(3));
+        assertEquals(2, result.getInsertedCount());
+    }
+}
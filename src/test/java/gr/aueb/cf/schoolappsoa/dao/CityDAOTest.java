@@ -0,0 +1,116 @@
+package gr.aueb.cf.schoolappsoa.dao;
+
+import gr.aueb.cf.schoolappsoa.dao.dbutil.DBHelper;
+import gr.aueb.cf.schoolappsoa.dao.exceptions.CityDAOException;
+import gr.aueb.cf.schoolappsoa.model.City;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This unit test class tests the {@link CityDAOImpl}
+ * class at Data Access Object Layer.
+ *
+ * @author Thanasis Chousiadas
+ */
+public class CityDAOTest {
+    private static ICityDAO cityDAO;
+
+    /**
+     * Before each testing cycle this method deletes
+     * all the records from the database and initializes the
+     * dependencies.
+     *
+     * @throws SQLException handles errors for database access error
+     *                      or other errors related with the database.
+     */
+    @BeforeAll
+    public static void setupClass() throws SQLException {
+        cityDAO = new CityDAOImpl();
+        DBHelper.eraseData();
+    }
+
+    /**
+     * This method creates dummy cities in the database for
+     * testing.
+     *
+     * @throws CityDAOException is a wrapper exception to {@link SQLException}
+     *                          and handles errors for {@link City} Entity.
+     */
+    public static void createDummyCities() throws CityDAOException {
+        for (String name : List.of("Patras", "Peristeri", "Piraeus", "Preveza", "Pyrgos", "P%_Test", "Athens")) {
+            City city = new City();
+            city.setCity(name);
+            cityDAO.insert(city);
+        }
+    }
+
+    /**
+     * Before each unit test, this method sets up the database in
+     * the initial state.
+     *
+     * @throws CityDAOException is a wrapper exception to {@link SQLException}
+     *                          and handles errors for {@link City} Entity.
+     */
+    @BeforeEach
+    void setUp() throws CityDAOException {
+        createDummyCities();
+    }
+
+    /**
+     * After each unit test clear all the tables in order to
+     * the method {@link #setUp()} insert the data for the initial
+     * state.
+     *
+     * @throws SQLException an exception that provides information on
+     *                      a database access error or other errors.
+     */
+    @AfterEach
+    void tearDown() throws SQLException {
+        DBHelper.eraseData();
+    }
+
+    /**
+     * This method tests the {@link CityDAOImpl#getByNameLike(String, String, int)}
+     * method, which reads the cities page by page, in the order of the names,
+     * after the last name of the previous page.
+     *
+     * @throws CityDAOException is a wrapper exception to {@link SQLException}
+     *                          and handles errors for {@link City} Entity.
+     */
+    @Test
+    void getByNameLikePaged() throws CityDAOException {
+        List<City> firstPage = cityDAO.getByNameLike("P", null, 4);
+        List<City> secondPage = cityDAO.getByNameLike("P", firstPage.get(3).getCity(), 4);
+
+        assertEquals(List.of("P%_Test", "Patras", "Peristeri", "Piraeus"), namesOf(firstPage));
+        assertEquals(List.of("Preveza", "Pyrgos"), namesOf(secondPage));
+        assertTrue(cityDAO.getByNameLike("P", "Pyrgos", 4).isEmpty());
+    }
+
+    /**
+     * This method tests that the wildcards of the name are matched
+     * literally by {@link CityDAOImpl#getByNameLike(String, String, int)}.
+     *
+     * @throws CityDAOException is a wrapper exception to {@link SQLException}
+     *                          and handles errors for {@link City} Entity.
+     */
+    @Test
+    void getByNameLikeEscapesWildcards() throws CityDAOException {
+        assertEquals(List.of("P%_Test"), namesOf(cityDAO.getByNameLike("P%", null, 10)));
+        assertEquals(List.of("P%_Test"), namesOf(cityDAO.getByNameLike("P%_", null, 10)));
+        assertTrue(cityDAO.getByNameLike("_", null, 10).isEmpty());
+        assertTrue(cityDAO.getByNameLike("%", null, 10).isEmpty());
+    }
+
+    private static List<String> namesOf(List<City> cities) {
+        return cities.stream().map(City::getCity).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,56 @@
+package gr.aueb.cf.schoolappsoa.dao;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This unit test class tests the continuation tokens
+ * and the pages of the {@link Keyset} class.
+ *
+ * @author Thanasis Chousiadas
+ */
+public class KeysetTest {
+
+    /**
+     * This method tests that a token gives back its
+     * lastname and id, even with non-latin characters.
+     */
+    @Test
+    public void tokenRoundTrip() {
+        Keyset keyset = Keyset.of(Keyset.token("Παπαδόπουλος:Α", 42L));
+
+        assertEquals("Παπαδόπουλος:Α", keyset.getKey());
+        assertEquals(42L, keyset.getId());
+        assertNull(Keyset.of(null));
+    }
+
+    /**
+     * This method tests that a malformed token is rejected.
+     */
+    @Test
+    public void invalidToken() {
+        assertThrows(IllegalArgumentException.class, () -> Keyset.of("not a token"));
+        assertThrows(IllegalArgumentException.class, () -> Keyset.checkPageSize(0));
+    }
+
+    /**
+     * This method tests that the extra row of a query only
+     * tells that there is a next page.
+     */
+    @Test
+    public void pageOfRows() {
+        List<Long> rows = new ArrayList<>(List.of(1L, 2L, 3L));
+        Page<Long> page = Keyset.page(rows, 2, id -> Keyset.token(null, id));
+
+        assertEquals(List.of(1L, 2L), page.getItems());
+        assertTrue(page.hasNext());
+        assertEquals(2L, Keyset.of(page.getNextPageToken()).getId());
+
+        Page<Long> last = Keyset.page(new ArrayList<>(List.of(3L)), 2, id -> Keyset.token(null, id));
+        assertFalse(last.hasNext());
+    }
+}
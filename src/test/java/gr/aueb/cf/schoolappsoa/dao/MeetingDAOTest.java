@@ -0,0 +1,245 @@
+package gr.aueb.cf.schoolappsoa.dao;
+
+import gr.aueb.cf.schoolappsoa.dao.dbutil.DBHelper;
+import gr.aueb.cf.schoolappsoa.dao.exceptions.CityDAOException;
+import gr.aueb.cf.schoolappsoa.dao.exceptions.MeetingDAOException;
+import gr.aueb.cf.schoolappsoa.dao.exceptions.SpecialityDAOException;
+import gr.aueb.cf.schoolappsoa.dao.exceptions.StudentDAOException;
+import gr.aueb.cf.schoolappsoa.dao.exceptions.TeacherDAOException;
+import gr.aueb.cf.schoolappsoa.dao.exceptions.UserDAOException;
+import gr.aueb.cf.schoolappsoa.model.City;
+import gr.aueb.cf.schoolappsoa.model.Meeting;
+import gr.aueb.cf.schoolappsoa.model.Speciality;
+import gr.aueb.cf.schoolappsoa.model.Student;
+import gr.aueb.cf.schoolappsoa.model.Teacher;
+import gr.aueb.cf.schoolappsoa.model.User;
+import gr.aueb.cf.schoolappsoa.service.util.DateUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This unit test class tests the {@link MeetingDAOImpl}
+ * class at Data Access Object Layer.
+ *
+ * @author Thanasis Chousiadas
+ */
+public class MeetingDAOTest {
+    private static final long HOUR = 60 * 60 * 1000L;
+
+    private static IMeetingDAO meetingDAO;
+    private static IStudentDAO studentDAO;
+    private static ITeacherDAO teacherDAO;
+    private static ICityDAO cityDAO;
+    private static ISpecialityDAO specialityDAO;
+    private static IUserDAO userDAO;
+
+    private Date day;
+    private Student student;
+    private Teacher teacher;
+
+    /**
+     * Before each testing cycle this method deletes
+     * all the records from the database and initializes the
+     * dependencies.
+     *
+     * @throws SQLException handles errors for database access error
+     *                      or other errors related with the database.
+     */
+    @BeforeAll
+    public static void setUpClass() throws SQLException {
+        meetingDAO = new MeetingDAOImpl();
+        studentDAO = new StudentDAOImpl();
+        teacherDAO = new TeacherDAOImpl();
+        cityDAO = new CityDAOImpl();
+        specialityDAO = new SpecialityDAOImpl();
+        userDAO = new UserDAOImpl();
+        DBHelper.eraseData();
+    }
+
+    /**
+     * Before each unit test, this method inserts a student, a teacher
+     * and three meetings of them on the same day, at 09:00, 10:00
+     * and 11:00, the last one in another room.
+     *
+     * @throws Exception if an error is occurred during the insertions.
+     */
+    @BeforeEach
+    public void setUp() throws Exception {
+        createDummyEntities();
+    }
+
+    /**
+     * After each unit test clear all the tables in order to
+     * the method {@link #setUp()} insert the data for the initial
+     * state.
+     *
+     * @throws SQLException an exception that provides information on
+     *                      a database access error or other errors.
+     */
+    @AfterEach
+    public void tearDown() throws SQLException {
+        DBHelper.eraseData();
+    }
+
+    /**
+     * This method tests the {@link MeetingDAOImpl#insert(Meeting)} and the
+     * {@link MeetingDAOImpl#getById(long)} methods.
+     *
+     * @throws MeetingDAOException is a wrapper exception to {@link SQLException}
+     *                             and handles errors for {@link Meeting} Entity.
+     */
+    @Test
+    void insertAndGetById() throws MeetingDAOException {
+        Meeting meeting = meetingDAO.insert(meeting("A1", 13, 14));
+        Meeting found = meetingDAO.getById(meeting.getId());
+
+        assertEquals("A1", found.getMeetingRoom());
+        assertEquals(teacher.getId(), found.getTeacher().getId());
+        assertEquals(at(13), found.getMeetingDate());
+        assertEquals(at(14), found.getMeetingEnd());
+    }
+
+    /**
+     * This method tests the {@link MeetingDAOImpl#update(Meeting)} and
+     * the {@link MeetingDAOImpl#delete(long)} methods.
+     *
+     * @throws MeetingDAOException is a wrapper exception to {@link SQLException}
+     *                             and handles errors for {@link Meeting} Entity.
+     */
+    @Test
+    void updateAndDelete() throws MeetingDAOException {
+        Meeting meeting = meetingDAO.getById(1L);
+        meeting.setMeetingRoom("C3");
+        meetingDAO.update(meeting);
+        assertEquals("C3", meetingDAO.getById(1L).getMeetingRoom());
+
+        assertTrue(meetingDAO.delete(1L));
+        assertNull(meetingDAO.getById(1L));
+        assertFalse(meetingDAO.delete(1L));
+    }
+
+    /**
+     * This method tests the {@link MeetingDAOImpl#insertAll(List, int)} method,
+     * with batches smaller than the number of the meetings.
+     *
+     * @throws MeetingDAOException is a wrapper exception to {@link SQLException}
+     *                             and handles errors for {@link Meeting} Entity.
+     */
+    @Test
+    void insertAll() throws MeetingDAOException {
+        List<Meeting> meetings = new ArrayList<>();
+        for (int hour = 12; hour < 17; hour++) {
+            meetings.add(meeting("B2", hour, hour + 1));
+        }
+
+        BatchResult<Meeting> result = meetingDAO.insertAll(meetings, 2);
+        assertEquals(5, result.getInsertedCount());
+        assertEquals(7, meetingDAO.getByRoom("B2", at(0), at(24), 100, null).size());
+    }
+
+    /**
+     * This method tests the {@link MeetingDAOImpl#getByTeacher(long, Date, Date, int, String)}
+     * method, walking the meetings of a window one page at a time with the
+     * continuation tokens. The window is closed at its start and open at its end.
+     *
+     * @throws MeetingDAOException is a wrapper exception to {@link SQLException}
+     *                             and handles errors for {@link Meeting} Entity.
+     */
+    @Test
+    void getByTeacherPaginated() throws MeetingDAOException {
+        Page<Meeting> first = meetingDAO.getByTeacher(teacher.getId(), at(9), at(11), 1, null);
+        assertEquals(1, first.size());
+        assertEquals(at(9), first.getItems().get(0).getMeetingDate());
+        assertTrue(first.hasNext());
+
+        Page<Meeting> second = meetingDAO.getByTeacher(teacher.getId(), at(9), at(11), 1, first.getNextPageToken());
+        assertEquals(1, second.size());
+        assertEquals(at(10), second.getItems().get(0).getMeetingDate());
+        assertFalse(second.hasNext());
+    }
+
+    /**
+     * This method tests the {@link MeetingDAOImpl#getByStudent(long, Date, Date, int, String)}
+     * and the {@link MeetingDAOImpl#getByRoom(String, Date, Date, int, String)} methods.
+     *
+     * @throws MeetingDAOException is a wrapper exception to {@link SQLException}
+     *                             and handles errors for {@link Meeting} Entity.
+     */
+    @Test
+    void getByStudentAndRoom() throws MeetingDAOException {
+        assertEquals(3, meetingDAO.getByStudent(student.getId(), at(0), at(24), 10, null).size());
+        assertEquals(2, meetingDAO.getByRoom("B2", at(0), at(24), 10, null).size());
+        assertEquals(0, meetingDAO.getByRoom("B2", at(12), at(24), 10, null).size());
+    }
+
+    /**
+     * This method tests the {@link MeetingDAOImpl#getByDate(Date, Date, int, String)}
+     * method, which reads the meetings of all the owners in a window.
+     *
+     * @throws MeetingDAOException is a wrapper exception to {@link SQLException}
+     *                             and handles errors for {@link Meeting} Entity.
+     */
+    @Test
+    void getByDate() throws MeetingDAOException {
+        Page<Meeting> first = meetingDAO.getByDate(at(10), at(24), 1, null);
+        assertEquals(at(10), first.getItems().get(0).getMeetingDate());
+
+        Page<Meeting> second = meetingDAO.getByDate(at(10), at(24), 1, first.getNextPageToken());
+        assertEquals("A1", second.getItems().get(0).getMeetingRoom());
+        assertFalse(second.hasNext());
+    }
+
+    /**
+     * This method creates dummy records in the database for testing.
+     *
+     * @throws UserDAOException       is a wrapper exception to {@link SQLException}
+     *                                and handles errors for {@link User} Entity.
+     * @throws CityDAOException       is a wrapper exception to {@link SQLException}
+     *                                and handles errors for {@link City} Entity.
+     * @throws SpecialityDAOException is a wrapper exception to {@link SQLException}
+     *                                and handles errors for {@link Speciality} Entity.
+     * @throws StudentDAOException    is a wrapper exception to {@link SQLException}
+     *                                and handles errors for {@link Student} Entity.
+     * @throws TeacherDAOException    is a wrapper exception to {@link SQLException}
+     *                                and handles errors for {@link Teacher} Entity.
+     * @throws MeetingDAOException    is a wrapper exception to {@link SQLException}
+     *                                and handles errors for {@link Meeting} Entity.
+     * @throws ParseException         this exception is used if an error is occurred during date
+     *                                format process.
+     */
+    private void createDummyEntities() throws UserDAOException, CityDAOException, SpecialityDAOException,
+            StudentDAOException, TeacherDAOException, MeetingDAOException, ParseException {
+        day = DateUtil.toDate("07-09-2023");
+
+        User user01 = userDAO.insert(new User(1L, "user-01", "123456"));
+        User user02 = userDAO.insert(new User(2L, "user-02", "123456"));
+        City city = cityDAO.insert(new City(1L, "Athens"));
+        Speciality speciality = specialityDAO.insert(new Speciality(1L, "Maths"));
+
+        java.sql.Date birthDate = DateUtil.toSQLDate(DateUtil.toDate("22-04-2010"));
+        student = studentDAO.insert(new Student(null, "student-01", "std-lastname01", 'F', birthDate, city, user01));
+        teacher = teacherDAO.insert(new Teacher(null, 100L, "teacher-01", "tch-lastname01", speciality, user02));
+
+        meetingDAO.insert(meeting("B2", 9, 10));
+        meetingDAO.insert(meeting("B2", 10, 11));
+        meetingDAO.insert(meeting("A1", 11, 12));
+    }
+
+    private Meeting meeting(String room, int fromHour, int toHour) {
+        return new Meeting(null, student, teacher, room, at(fromHour), at(toHour));
+    }
+
+    private Date at(int hour) {
+        return new Date(day.getTime() + hour * HOUR);
+    }
+}
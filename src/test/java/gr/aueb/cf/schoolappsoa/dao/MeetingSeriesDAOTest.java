@@ -0,0 +1,192 @@
+package gr.aueb.cf.schoolappsoa.dao;
+
+import gr.aueb.cf.schoolappsoa.dao.dbutil.DBHelper;
+import gr.aueb.cf.schoolappsoa.dao.exceptions.CityDAOException;
+import gr.aueb.cf.schoolappsoa.dao.exceptions.MeetingSeriesDAOException;
+import gr.aueb.cf.schoolappsoa.dao.exceptions.SpecialityDAOException;
+import gr.aueb.cf.schoolappsoa.dao.exceptions.StudentDAOException;
+import gr.aueb.cf.schoolappsoa.dao.exceptions.TeacherDAOException;
+import gr.aueb.cf.schoolappsoa.dao.exceptions.UserDAOException;
+import gr.aueb.cf.schoolappsoa.model.City;
+import gr.aueb.cf.schoolappsoa.model.MeetingSeries;
+import gr.aueb.cf.schoolappsoa.model.Speciality;
+import gr.aueb.cf.schoolappsoa.model.Student;
+import gr.aueb.cf.schoolappsoa.model.Teacher;
+import gr.aueb.cf.schoolappsoa.model.User;
+import gr.aueb.cf.schoolappsoa.service.scheduling.SeriesConflictFinder;
+import gr.aueb.cf.schoolappsoa.service.util.DateUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.text.ParseException;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This unit test class tests the {@link MeetingSeriesDAOImpl}
+ * class at Data Access Object Layer.
+ *
+ * @author Thanasis Chousiadas
+ */
+public class MeetingSeriesDAOTest {
+    private static final long HOUR = 60 * 60 * 1000L;
+    private static final long WEEK = 7 * 24 * HOUR;
+
+    private static IMeetingSeriesDAO seriesDAO;
+    private static IStudentDAO studentDAO;
+    private static ITeacherDAO teacherDAO;
+    private static ICityDAO cityDAO;
+    private static ISpecialityDAO specialityDAO;
+    private static IUserDAO userDAO;
+
+    private Date day;
+    private Student student;
+    private Teacher teacher;
+
+    /**
+     * Before each testing cycle this method deletes
+     * all the records from the database and initializes the
+     * dependencies.
+     *
+     * @throws SQLException handles errors for database access error
+     *                      or other errors related with the database.
+     */
+    @BeforeAll
+    public static void setUpClass() throws SQLException {
+        seriesDAO = new MeetingSeriesDAOImpl();
+        studentDAO = new StudentDAOImpl();
+        teacherDAO = new TeacherDAOImpl();
+        cityDAO = new CityDAOImpl();
+        specialityDAO = new SpecialityDAOImpl();
+        userDAO = new UserDAOImpl();
+        DBHelper.eraseData();
+    }
+
+    /**
+     * Before each unit test, this method inserts a student, a teacher,
+     * a weekly series of ten meetings and an open-ended biweekly series.
+     *
+     * @throws Exception if an error is occurred during the insertions.
+     */
+    @BeforeEach
+    public void setUp() throws Exception {
+        createDummyEntities();
+    }
+
+    /**
+     * After each unit test clear all the tables in order to
+     * the method {@link #setUp()} insert the data for the initial
+     * state.
+     *
+     * @throws SQLException an exception that provides information on
+     *                      a database access error or other errors.
+     */
+    @AfterEach
+    public void tearDown() throws SQLException {
+        DBHelper.eraseData();
+    }
+
+    /**
+     * This method tests the {@link MeetingSeriesDAOImpl#cancel(long, Date)},
+     * the {@link MeetingSeriesDAOImpl#getById(long)} and the
+     * {@link MeetingSeriesDAOImpl#delete(long)} methods.
+     *
+     * @throws MeetingSeriesDAOException is a wrapper exception to {@link SQLException}
+     *                                   and handles errors for {@link MeetingSeries} Entity.
+     */
+    @Test
+    void cancelAndDelete() throws MeetingSeriesDAOException {
+        assertTrue(seriesDAO.cancel(1L, new Date(day.getTime() + WEEK)));
+        assertTrue(seriesDAO.cancel(1L, new Date(day.getTime() + 2 * WEEK)));
+        assertFalse(seriesDAO.cancel(1L, new Date(day.getTime() + WEEK)));
+
+        MeetingSeries series = seriesDAO.getById(1L);
+        assertEquals(2, series.getCancelledDates().size());
+        assertTrue(series.getCancelledDates().contains(new Date(day.getTime() + WEEK)));
+        assertEquals(1, series.getIntervalWeeks());
+        assertNull(seriesDAO.getById(2L).getUntilDate());
+
+        assertTrue(seriesDAO.delete(1L));
+        assertNull(seriesDAO.getById(1L));
+        assertFalse(seriesDAO.delete(1L));
+    }
+
+    /**
+     * This method tests the {@link MeetingSeriesDAOImpl#getAll()} method,
+     * with the cancelled meetings of a series.
+     *
+     * @throws MeetingSeriesDAOException is a wrapper exception to {@link SQLException}
+     *                                   and handles errors for {@link MeetingSeries} Entity.
+     */
+    @Test
+    void getAll() throws MeetingSeriesDAOException {
+        seriesDAO.cancel(2L, new Date(day.getTime() + 2 * HOUR + 2 * WEEK));
+
+        List<MeetingSeries> series = seriesDAO.getAll();
+        assertEquals(2, series.size());
+        assertEquals(1L, series.get(0).getId());
+        assertTrue(series.get(0).getCancelledDates().isEmpty());
+        assertEquals(1, series.get(1).getCancelledDates().size());
+    }
+
+    /**
+     * This method tests the {@link MeetingSeriesDAOImpl#getByTeacher(long, Date, Date)},
+     * {@link MeetingSeriesDAOImpl#getByStudent(long, Date, Date)} and
+     * {@link MeetingSeriesDAOImpl#getByRoom(String, Date, Date)} methods,
+     * with windows before, in and after the span of the first series.
+     *
+     * @throws MeetingSeriesDAOException is a wrapper exception to {@link SQLException}
+     *                                   and handles errors for {@link MeetingSeries} Entity.
+     */
+    @Test
+    void getByWindow() throws MeetingSeriesDAOException {
+        assertEquals(0, seriesDAO.getByTeacher(teacher.getId(), new Date(day.getTime() - WEEK), day).size());
+        assertEquals(2, seriesDAO.getByStudent(student.getId(), day, new Date(day.getTime() + WEEK)).size());
+        assertEquals(1, seriesDAO.getByTeacher(teacher.getId(), new Date(day.getTime() + 20 * WEEK),
+                new Date(day.getTime() + 21 * WEEK)).size());
+        assertEquals(1, seriesDAO.getByRoom("A1", day, new Date(day.getTime() + 52 * WEEK)).size());
+        assertEquals(2, seriesDAO.getByTeacher(teacher.getId(), day, SeriesConflictFinder.OPEN_END).size());
+    }
+
+    /**
+     * This method creates dummy records in the database for testing.
+     *
+     * @throws UserDAOException          is a wrapper exception to {@link SQLException}
+     *                                   and handles errors for {@link User} Entity.
+     * @throws CityDAOException          is a wrapper exception to {@link SQLException}
+     *                                   and handles errors for {@link City} Entity.
+     * @throws SpecialityDAOException    is a wrapper exception to {@link SQLException}
+     *                                   and handles errors for {@link Speciality} Entity.
+     * @throws StudentDAOException       is a wrapper exception to {@link SQLException}
+     *                                   and handles errors for {@link Student} Entity.
+     * @throws TeacherDAOException       is a wrapper exception to {@link SQLException}
+     *                                   and handles errors for {@link Teacher} Entity.
+     * @throws MeetingSeriesDAOException is a wrapper exception to {@link SQLException}
+     *                                   and handles errors for {@link MeetingSeries} Entity.
+     * @throws ParseException            this exception is used if an error is occurred during date
+     *                                   format process.
+     */
+    private void createDummyEntities() throws UserDAOException, CityDAOException, SpecialityDAOException,
+            StudentDAOException, TeacherDAOException, MeetingSeriesDAOException, ParseException {
+        day = new Date(DateUtil.toDate("07-09-2023").getTime() + 17 * HOUR);
+
+        User user01 = userDAO.insert(new User(1L, "user-01", "123456"));
+        User user02 = userDAO.insert(new User(2L, "user-02", "123456"));
+        City city = cityDAO.insert(new City(1L, "Athens"));
+        Speciality speciality = specialityDAO.insert(new Speciality(1L, "Maths"));
+
+        java.sql.Date birthDate = DateUtil.toSQLDate(DateUtil.toDate("22-04-2010"));
+        student = studentDAO.insert(new Student(null, "student-01", "std-lastname01", 'F', birthDate, city, user01));
+        teacher = teacherDAO.insert(new Teacher(null, 100L, "teacher-01", "tch-lastname01", speciality, user02));
+
+        seriesDAO.insert(new MeetingSeries(null, student, teacher, "A1", day, new Date(day.getTime() + HOUR),
+                1, new Date(day.getTime() + 10 * WEEK)));
+        seriesDAO.insert(new MeetingSeries(null, student, teacher, "B2", new Date(day.getTime() + 2 * HOUR),
+                new Date(day.getTime() + 3 * HOUR), 2, null));
+    }
+}
@@ -0,0 +1,130 @@
+package gr.aueb.cf.schoolappsoa.dao;
+
+import gr.aueb.cf.schoolappsoa.dao.exceptions.StreamDAOException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This unit test class tests the {@link ResultSetStream} class
+ * against a fake connection, which serves a number of rows and
+ * records the fetch size and the closed resources.
+ *
+ * @author Thanasis Chousiadas
+ */
+public class ResultSetStreamTest {
+    private static final int ROWS = 100_000;
+
+    private final List<String> closed = new ArrayList<>();
+    private Integer fetchSize;
+    private int failAtRow;
+
+    /**
+     * Before each unit test, this method resets the fake connection.
+     */
+    @BeforeEach
+    public void setUp() {
+        closed.clear();
+        fetchSize = null;
+        failAtRow = -1;
+    }
+
+    /**
+     * This method tests that a stream read to the end closes its
+     * resources, without closing the stream, and that the rows are
+     * streamed with the given fetch size.
+     *
+     * @throws SQLException if the query cannot be executed.
+     */
+    @Test
+    public void closesAfterLastRow() throws SQLException {
+        Stream<Long> rows = ResultSetStream.of(fakeConnection(), "SELECT", Integer.MIN_VALUE, rs -> rs.getLong(1));
+
+        assertEquals((long) ROWS * (ROWS + 1) / 2, rows.mapToLong(Long::longValue).sum());
+        assertEquals(Integer.MIN_VALUE, fetchSize);
+        assertEquals(List.of("ResultSet", "PreparedStatement", "Connection"), closed);
+    }
+
+    /**
+     * This method tests that a stream closed before the last
+     * row closes its resources.
+     *
+     * @throws SQLException if the query cannot be executed.
+     */
+    @Test
+    public void closesOnEarlyClose() throws SQLException {
+        try (Stream<Long> rows = ResultSetStream.of(fakeConnection(), "SELECT", 1000, rs -> rs.getLong(1))) {
+            assertEquals(List.of(1L, 2L, 3L), rows.limit(3).collect(Collectors.toList()));
+            assertTrue(closed.isEmpty());
+        }
+        assertEquals(List.of("ResultSet", "PreparedStatement", "Connection"), closed);
+    }
+
+    /**
+     * This method tests that an error while reading a row is thrown
+     * as {@link StreamDAOException} and the resources are closed.
+     *
+     * @throws SQLException if the query cannot be executed.
+     */
+    @Test
+    public void closesOnError() throws SQLException {
+        failAtRow = 10;
+        Stream<Long> rows = ResultSetStream.of(fakeConnection(), "SELECT", 1000, rs -> rs.getLong(1));
+
+        assertThrows(StreamDAOException.class, () -> rows.forEach(row -> { }));
+        assertEquals(List.of("ResultSet", "PreparedStatement", "Connection"), closed);
+    }
+
+    private Connection fakeConnection() {
+        long[] row = {0};
+
+        ResultSet rs = proxy(ResultSet.class, (method, args) -> {
+            switch (method) {
+                case "next":
+                    if (++row[0] == failAtRow) {
+                        throw new SQLException("Connection lost");
+                    }
+                    return row[0] <= ROWS;
+                case "getLong":
+                    return row[0];
+                default:
+                    return null;
+            }
+        });
+        PreparedStatement ps = proxy(PreparedStatement.class, (method, args) -> {
+            if (method.equals("setFetchSize")) {
+                fetchSize = (Integer) args[0];
+            }
+            return method.equals("executeQuery") ? rs : null;
+        });
+        return proxy(Connection.class, (method, args) -> method.equals("prepareStatement") ? ps : null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T proxy(Class<T> type, FakeMethod fake) {
+        return (T) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("close")) {
+                        closed.add(type.getSimpleName());
+                        return null;
+                    }
+                    return fake.invoke(method.getName(), args);
+                });
+    }
+
+    @FunctionalInterface
+    private interface FakeMethod {
+        Object invoke(String method, Object[] args) throws SQLException;
+    }
+}
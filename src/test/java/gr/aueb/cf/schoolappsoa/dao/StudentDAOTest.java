@@ -1,23 +1,30 @@
 package gr.aueb.cf.schoolappsoa.dao;
 
 import gr.aueb.cf.schoolappsoa.dao.dbutil.DBHelper;
+import gr.aueb.cf.schoolappsoa.dao.dbutil.EmbeddedDatabase;
 import gr.aueb.cf.schoolappsoa.dao.exceptions.CityDAOException;
 import gr.aueb.cf.schoolappsoa.dao.exceptions.StudentDAOException;
 import gr.aueb.cf.schoolappsoa.dao.exceptions.UserDAOException;
 import gr.aueb.cf.schoolappsoa.model.City;
 import gr.aueb.cf.schoolappsoa.model.Student;
 import gr.aueb.cf.schoolappsoa.model.User;
+import gr.aueb.cf.schoolappsoa.service.util.ConnectionScope;
+import gr.aueb.cf.schoolappsoa.service.util.DBUtil;
 import gr.aueb.cf.schoolappsoa.service.util.DateUtil;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.text.ParseException;
 import java.util.List;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.*;
 
 /**
  * This unit test class tests the {@link StudentDAOImpl}
@@ -200,6 +207,105 @@ public class StudentDAOTest {
         assertEquals(student.getFirstname(), "student-02");
     }
 
+    /**
+     * This method tests that {@link StudentDAOImpl#getByLastname(String)},
+     * {@link StudentDAOImpl#getById(long)} and {@link StudentDAOImpl#getByUserId(long)}
+     * fetch the students with their cities and users in a single statement,
+     * whatever the number of rows. The DAO calls and the counts share the
+     * connection of one scope, so only the statements of this session are counted.
+     *
+     * @throws SQLException        handles errors for database access error
+     *                             or other errors related with the database.
+     * @throws StudentDAOException is a wrapper exception to {@link SQLException}
+     *                             and handles errors for {@link Student} Entity.
+     * @throws CityDAOException    is a wrapper exception to {@link SQLException}
+     *                             and handles errors for {@link City} Entity.
+     * @throws UserDAOException    is a wrapper exception to {@link SQLException}
+     *                             and handles errors for {@link User} Entity.
+     */
+    @Test
+    @SuppressWarnings("try")
+    public void getStudentsInSingleStatement() throws SQLException, StudentDAOException, CityDAOException, UserDAOException {
+        try (ConnectionScope ignored = DBUtil.openScope()) {
+            long before = countSelectStatements();
+            List<Student> students = studentDAO.getByLastname("");
+            assertEquals(1, countSelectStatements() - before);
+            assertEquals(2, students.size());
+            assertEquals("Chalkida", students.get(0).getStudentCity().getCity());
+            assertEquals("user-01", students.get(0).getUser().getUsername());
+
+            before = countSelectStatements();
+            Student student = studentDAO.getById(2L);
+            assertEquals(1, countSelectStatements() - before);
+            assertEquals("Athens", student.getStudentCity().getCity());
+
+            before = countSelectStatements();
+            student = studentDAO.getByUserId(1L);
+            assertEquals(1, countSelectStatements() - before);
+            assertEquals("user-01", student.getUser().getUsername());
+        }
+    }
+
+    /**
+     * This method tests the {@link StudentDAOImpl#getByLastname(String, int, String)}
+     * method, walking all the students one page at a time with the
+     * continuation tokens.
+     *
+     * @throws StudentDAOException is a wrapper exception to {@link SQLException}
+     *                             and handles errors for {@link Student} Entity.
+     */
+    @Test
+    public void getByLastnamePaginated() throws StudentDAOException {
+        Page<Student> first = studentDAO.getByLastname("std-", 1, null);
+        assertEquals(1, first.size());
+        assertEquals("std-lastname01", first.getItems().get(0).getLastname());
+        assertTrue(first.hasNext());
+
+        Page<Student> second = studentDAO.getByLastname("std-", 1, first.getNextPageToken());
+        assertEquals(1, second.size());
+        assertEquals("std-lastname02", second.getItems().get(0).getLastname());
+        assertEquals("Athens", second.getItems().get(0).getStudentCity().getCity());
+        assertFalse(second.hasNext());
+    }
+
+    /**
+     * This method returns the number of SELECT statements executed by
+     * the session of the connection of the current scope, so the queries
+     * of other clients of the server are not counted. On an
+     * {@link EmbeddedDatabase} they are counted from the query statistics,
+     * since their first count.
+     *
+     * @return the value of the session Com_select status variable.
+     * @throws SQLException handles errors for database access error
+     *                      or other errors related with the database.
+     */
+    private static long countSelectStatements() throws SQLException {
+        try (Connection conn = DBUtil.getConnection()) {
+            if (EmbeddedDatabase.isEmbedded(conn)) {
+                return countEmbeddedSelectStatements(conn);
+            }
+
+            try (PreparedStatement ps = conn.prepareStatement("SHOW SESSION STATUS LIKE 'Com_select'");
+                 ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                return rs.getLong("Value");
+            }
+        }
+    }
+
+    private static long countEmbeddedSelectStatements(Connection conn) throws SQLException {
+        try (Statement statement = conn.createStatement()) {
+            statement.execute("SET QUERY_STATISTICS TRUE");
+
+            try (ResultSet rs = statement.executeQuery("SELECT COALESCE(SUM(EXECUTION_COUNT), 0) "
+                    + "FROM INFORMATION_SCHEMA.QUERY_STATISTICS "
+                    + "WHERE SQL_STATEMENT LIKE 'SELECT%' AND SQL_STATEMENT NOT LIKE '%QUERY_STATISTICS%'")) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        }
+    }
+
     /**
      * This method creates dummy records in the database for testing.
      *
@@ -7,11 +7,14 @@ import gr.aueb.cf.schoolappsoa.dao.exceptions.UserDAOException;
 import gr.aueb.cf.schoolappsoa.model.Speciality;
 import gr.aueb.cf.schoolappsoa.model.Teacher;
 import gr.aueb.cf.schoolappsoa.model.User;
+import gr.aueb.cf.schoolappsoa.service.util.DBUtil;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.util.List;
 
@@ -236,4 +239,81 @@ public class TeacherDAOTest {
 
         assertEquals(teacher.getUser().getUsername(), "user-01");
     }
-}
\ No newline at end of file
+
+    /**
+     * This method tests {@link TeacherDAOImpl#getByLastname(String, FetchPlan)} with
+     * {@link FetchPlan#LAZY_ID}, where the speciality and the user of each teacher
+     * carry only their ids.
+     *
+     * @throws TeacherDAOException is a wrapper exception to {@link SQLException}
+     *                             and handles errors for {@link Teacher} Entity.
+     */
+    @Test
+    public void getByLastnameLazy() throws TeacherDAOException {
+        List<Teacher> teachers = teacherDAO.getByLastname("Lastname-01", FetchPlan.LAZY_ID);
+        assertEquals(1, teachers.size());
+
+        Teacher teacher = teachers.get(0);
+        assertEquals(3L, teacher.getTeacherSpeciality().getId());
+        assertNull(teacher.getTeacherSpeciality().getSpeciality());
+        assertEquals(1L, teacher.getUser().getId());
+        assertNull(teacher.getUser().getUsername());
+    }
+
+    /**
+     * This method tests {@link FetchPlan#LAZY_ID} with a teacher without a
+     * speciality and a user, which has null ones, as with {@link FetchPlan#EAGER_JOIN},
+     * and needs no hydration.
+     *
+     * @throws SQLException        handles errors for database access error
+     *                             or other errors related with the database.
+     * @throws TeacherDAOException is a wrapper exception to {@link SQLException}
+     *                             and handles errors for {@link Teacher} Entity.
+     */
+    @Test
+    public void lazyTeacherWithoutSpecialityAndUser() throws SQLException, TeacherDAOException {
+        try (Connection conn = DBUtil.getConnection();
+             PreparedStatement ps = conn.prepareStatement(
+                     "UPDATE TEACHERS SET SPECIALITY_ID = NULL, USER_ID = NULL WHERE ID = 1")) {
+            ps.executeUpdate();
+        }
+
+        Teacher teacher = teacherDAO.getById(1L, FetchPlan.LAZY_ID);
+        assertNull(teacher.getTeacherSpeciality());
+        assertNull(teacher.getUser());
+        assertSame(teacher, teacherDAO.hydrate(teacher));
+        assertNull(teacher.getTeacherSpeciality());
+    }
+
+    /**
+     * This method tests {@link TeacherDAOImpl#hydrate(Teacher)} for loading the
+     * speciality and the user of a teacher retrieved with {@link FetchPlan#LAZY_ID}.
+     *
+     * @throws TeacherDAOException is a wrapper exception to {@link SQLException}
+     *                             and handles errors for {@link Teacher} Entity.
+     */
+    @Test
+    public void hydrateLazyTeacher() throws TeacherDAOException {
+        Teacher teacher = teacherDAO.getByUserId(2L, FetchPlan.LAZY_ID);
+        teacherDAO.hydrate(teacher);
+
+        assertEquals("Maths", teacher.getTeacherSpeciality().getSpeciality());
+        assertEquals("user-02", teacher.getUser().getUsername());
+    }
+
+    /**
+     * This method tests {@link TeacherDAOImpl#getById(long, FetchPlan)} with
+     * {@link FetchPlan#EAGER_JOIN}, where the speciality and the user are loaded
+     * with the teacher.
+     *
+     * @throws TeacherDAOException is a wrapper exception to {@link SQLException}
+     *                             and handles errors for {@link Teacher} Entity.
+     */
+    @Test
+    public void getByIdEager() throws TeacherDAOException {
+        Teacher teacher = teacherDAO.getById(3L, FetchPlan.EAGER_JOIN);
+
+        assertEquals("Biology", teacher.getTeacherSpeciality().getSpeciality());
+        assertEquals("user-03", teacher.getUser().getUsername());
+    }
+}
@@ -9,10 +9,11 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.*;
 
 /**
  * This unit test class tests the {@link UserDAOImpl}
@@ -110,6 +111,48 @@ public class UserDAOTest {
         assertEquals(5, users.size());
     }
 
+    /**
+     * This method tests that {@link UserDAOImpl#insert(User)} sets
+     * the id generated by the database, so the user can be retrieved
+     * without searching by username.
+     *
+     * @throws UserDAOException is a wrapper exception to {@link SQLException}
+     *                          and handles errors for {@link User} Entity.
+     */
+    @Test
+    void insertSetsGeneratedId() throws UserDAOException {
+        User user = userDAO.insert(new User(null, "generated", "123456"));
+
+        assertNotNull(user.getId());
+        assertEquals("generated", userDAO.getById(user.getId()).getUsername());
+    }
+
+    /**
+     * This method tests the {@link UserDAOImpl#insertAll(List, int)} method
+     * with more users than the batch size. Every user must be inserted
+     * and receive its generated id.
+     *
+     * @throws UserDAOException is a wrapper exception to {@link SQLException}
+     *                          and handles errors for {@link User} Entity.
+     */
+    @Test
+    void insertAllUsers() throws UserDAOException {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            users.add(new User(null, "batch-" + i, "123456"));
+        }
+
+        BatchResult<User> result = userDAO.insertAll(users, 10);
+
+        assertEquals(25, result.getInsertedCount());
+        for (int i = 0; i < users.size(); i++) {
+            assertTrue(result.isInserted(i));
+            assertNotNull(users.get(i).getId());
+            assertEquals("batch-" + i, userDAO.getById(users.get(i).getId()).getUsername());
+        }
+        assertEquals(29, userDAO.getAll().size());
+    }
+
     /**
      * This method tests the {@link UserDAOImpl#update(User)} method
      * for updating an old user.
@@ -206,6 +249,26 @@ public class UserDAOTest {
         assertEquals(user.getId(), 1);
     }
 
+    /**
+     * This method tests the {@link UserDAOImpl#getExistingUsernames(java.util.Collection)}
+     * method with more usernames than one query checks.
+     *
+     * @throws UserDAOException is a wrapper exception to {@link SQLException}
+     *                          and handles errors for {@link User} Entity.
+     */
+    @Test
+    void getExistingUsernames() throws UserDAOException {
+        List<String> usernames = new ArrayList<>();
+        for (int i = 0; i < 1200; i++) {
+            usernames.add("new-user-" + i);
+        }
+        usernames.add(0, "user-01");
+        usernames.add("user-04");
+
+        assertEquals(Set.of("user-01", "user-04"), userDAO.getExistingUsernames(usernames));
+        assertTrue(userDAO.getExistingUsernames(List.of()).isEmpty());
+    }
+
     /**
      * This method tests the {@link UserDAOImpl#getByUsername(String)}
      * method which retrieves a lis of users where their username
@@ -220,4 +283,43 @@ public class UserDAOTest {
 
         assertEquals(users.size(), 4);
     }
+
+    /**
+     * This method tests the {@link UserDAOImpl#getByUsernameLike(String, String, int)}
+     * method, which reads the users page by page, in the order of the usernames
+     * and without their passwords.
+     *
+     * @throws UserDAOException is a wrapper exception to {@link SQLException}
+     *                          and handles errors for {@link User} Entity.
+     */
+    @Test
+    void getByUsernameLikePaged() throws UserDAOException {
+        List<User> firstPage = userDAO.getByUsernameLike("user", null, 3);
+        List<User> secondPage = userDAO.getByUsernameLike("user", firstPage.get(2).getUsername(), 3);
+
+        assertEquals(3, firstPage.size());
+        assertEquals("user-01", firstPage.get(0).getUsername());
+        assertNull(firstPage.get(0).getPassword());
+        assertEquals(1, secondPage.size());
+        assertEquals("user-04", secondPage.get(0).getUsername());
+        assertTrue(userDAO.getByUsernameLike("user", "user-04", 3).isEmpty());
+    }
+
+    /**
+     * This method tests that the wildcards of the username are matched
+     * literally by {@link UserDAOImpl#getByUsernameLike(String, String, int)}.
+     *
+     * @throws UserDAOException is a wrapper exception to {@link SQLException}
+     *                          and handles errors for {@link User} Entity.
+     */
+    @Test
+    void getByUsernameLikeEscapesWildcards() throws UserDAOException {
+        userDAO.insert(new User(null, "user_%x", "123456"));
+
+        assertTrue(userDAO.getByUsernameLike("user_0", null, 10).isEmpty());
+        assertTrue(userDAO.getByUsernameLike("%", null, 10).isEmpty());
+        List<User> users = userDAO.getByUsernameLike("user_%", null, 10);
+        assertEquals(1, users.size());
+        assertEquals("user_%x", users.get(0).getUsername());
+    }
 }
@@ -0,0 +1,200 @@
+package gr.aueb.cf.schoolappsoa.dao.cache;
+
+import gr.aueb.cf.schoolappsoa.dao.ICityDAO;
+import gr.aueb.cf.schoolappsoa.dao.exceptions.CityDAOException;
+import gr.aueb.cf.schoolappsoa.model.City;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This unit test class tests the {@link CachedCityDAO}
+ * class in front of an in-memory {@link ICityDAO}, which
+ * counts the point selects.
+ *
+ * @author Thanasis Chousiadas
+ */
+public class CachedCityDAOTest {
+    private InMemoryCityDAO cityDAO;
+    private CachedCityDAO cachedCityDAO;
+
+    /**
+     * Before each unit test, this method creates two cities
+     * and a new cache.
+     */
+    @BeforeEach
+    public void setUp() {
+        cityDAO = new InMemoryCityDAO();
+        cityDAO.cities.put(1L, new City(1L, "Athens"));
+        cityDAO.cities.put(2L, new City(2L, "Volos"));
+        cachedCityDAO = new CachedCityDAO(cityDAO, new ReferenceDataCache<>(10, 60_000L));
+    }
+
+    /**
+     * This method tests that repeated lookups of a city
+     * reach the database once.
+     *
+     * @throws CityDAOException is a wrapper exception to {@link java.sql.SQLException}
+     *                          and handles errors for {@link City} Entity.
+     */
+    @Test
+    public void readThrough() throws CityDAOException {
+        for (int i = 0; i < 1000; i++) {
+            assertEquals("Athens", cachedCityDAO.getById(1L).getCity());
+        }
+        assertEquals(1, cityDAO.selects);
+        assertEquals(999L, cachedCityDAO.getCache().getHitCount());
+    }
+
+    /**
+     * This method tests that the cities of {@link CachedCityDAO#getAll()}
+     * are cached for the following lookups.
+     *
+     * @throws CityDAOException is a wrapper exception to {@link java.sql.SQLException}
+     *                          and handles errors for {@link City} Entity.
+     */
+    @Test
+    public void getAllWarmsCache() throws CityDAOException {
+        cachedCityDAO.getAll();
+        cachedCityDAO.getById(1L);
+        cachedCityDAO.getById(2L);
+
+        assertEquals(0, cityDAO.selects);
+    }
+
+    /**
+     * This method tests that an update invalidates the cache,
+     * so a stale name is never returned.
+     *
+     * @throws CityDAOException is a wrapper exception to {@link java.sql.SQLException}
+     *                          and handles errors for {@link City} Entity.
+     */
+    @Test
+    public void updateInvalidates() throws CityDAOException {
+        cachedCityDAO.getById(1L);
+        cachedCityDAO.update(new City(1L, "Athina"));
+
+        assertEquals("Athina", cachedCityDAO.getById(1L).getCity());
+        assertEquals(2, cityDAO.selects);
+    }
+
+    /**
+     * This method tests that a name which is read before a concurrent
+     * update is not cached after the update invalidates the cache.
+     *
+     * @throws CityDAOException is a wrapper exception to {@link java.sql.SQLException}
+     *                          and handles errors for {@link City} Entity.
+     */
+    @Test
+    public void updateDuringReadIsNotCached() throws CityDAOException {
+        cityDAO.duringSelect = () -> {
+            cityDAO.duringSelect = null;
+            try {
+                cachedCityDAO.update(new City(1L, "Athina"));
+            } catch (CityDAOException e) {
+                throw new IllegalStateException(e);
+            }
+        };
+
+        assertEquals("Athens", cachedCityDAO.getById(1L).getCity());
+        assertEquals("Athina", cachedCityDAO.getById(1L).getCity());
+        assertEquals(2, cityDAO.selects);
+    }
+
+    /**
+     * This method tests that a delete invalidates the cache.
+     *
+     * @throws CityDAOException is a wrapper exception to {@link java.sql.SQLException}
+     *                          and handles errors for {@link City} Entity.
+     */
+    @Test
+    public void deleteInvalidates() throws CityDAOException {
+        cachedCityDAO.getById(2L);
+        cachedCityDAO.delete(2L);
+
+        assertNull(cachedCityDAO.getById(2L));
+    }
+
+    /**
+     * This method tests that the callers cannot modify the cached cities.
+     *
+     * @throws CityDAOException is a wrapper exception to {@link java.sql.SQLException}
+     *                          and handles errors for {@link City} Entity.
+     */
+    @Test
+    public void cachedCityIsNotShared() throws CityDAOException {
+        cachedCityDAO.getById(1L).setCity("modified");
+
+        assertEquals("Athens", cachedCityDAO.getById(1L).getCity());
+    }
+
+    /**
+     * An {@link ICityDAO} implementation over a map, which counts
+     * the calls of {@link #getById(long)} and can run an action
+     * after it reads a city.
+     */
+    private static class InMemoryCityDAO implements ICityDAO {
+        private final Map<Long, City> cities = new TreeMap<>();
+        private int selects;
+        private Runnable duringSelect;
+
+        @Override
+        public City insert(City city) {
+            cities.put(city.getId(), city);
+            return city;
+        }
+
+        @Override
+        public City update(City city) {
+            cities.put(city.getId(), city);
+            return city;
+        }
+
+        @Override
+        public void delete(Long id) {
+            cities.remove(id);
+        }
+
+        @Override
+        public List<City> getAll() {
+            List<City> all = new ArrayList<>();
+            for (City city : cities.values()) {
+                all.add(new City(city.getId(), city.getCity()));
+            }
+            return all;
+        }
+
+        @Override
+        public City getById(long id) {
+            selects++;
+            City city = cities.get(id);
+            if (duringSelect != null) {
+                duringSelect.run();
+            }
+            return city == null ? null : new City(city.getId(), city.getCity());
+        }
+
+        @Override
+        public City getByName(String name) {
+            return null;
+        }
+
+        @Override
+        public List<City> getByNameLike(String name, String afterName, int limit) {
+            List<City> page = new ArrayList<>();
+            for (City city : cities.values()) {
+                if (page.size() < limit && city.getCity().startsWith(name)
+                        && (afterName == null || city.getCity().compareTo(afterName) > 0)) {
+                    page.add(new City(city.getId(), city.getCity()));
+                }
+            }
+            return page;
+        }
+    }
+}
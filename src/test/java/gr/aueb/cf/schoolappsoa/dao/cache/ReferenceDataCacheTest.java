@@ -0,0 +1,102 @@
+package gr.aueb.cf.schoolappsoa.dao.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This unit test class tests the {@link ReferenceDataCache}
+ * class, with a manual clock.
+ *
+ * @author Thanasis Chousiadas
+ */
+public class ReferenceDataCacheTest {
+    private final AtomicLong clock = new AtomicLong();
+    private ReferenceDataCache<Long, String> cache;
+
+    /**
+     * Before each unit test, this method creates a cache
+     * of three entries with a time to live of 100 milliseconds.
+     */
+    @BeforeEach
+    public void setUp() {
+        clock.set(0L);
+        cache = new ReferenceDataCache<>(3, 100L, clock::get);
+    }
+
+    /**
+     * This method tests the hit and miss counters.
+     */
+    @Test
+    public void hitsAndMisses() {
+        assertNull(cache.get(1L));
+        cache.put(1L, "Athens");
+
+        assertEquals("Athens", cache.get(1L));
+        assertEquals("Athens", cache.get(1L));
+        assertEquals(2L, cache.getHitCount());
+        assertEquals(1L, cache.getMissCount());
+    }
+
+    /**
+     * This method tests that an entry expires after its time to live.
+     */
+    @Test
+    public void expiresAfterTtl() {
+        cache.put(1L, "Athens");
+        clock.set(99L);
+        assertEquals("Athens", cache.get(1L));
+
+        clock.set(100L);
+        assertNull(cache.get(1L));
+        assertEquals(0, cache.size());
+        assertEquals(1L, cache.getEvictionCount());
+    }
+
+    /**
+     * This method tests that the least recently used entry
+     * is evicted when the cache is full.
+     */
+    @Test
+    public void evictsLeastRecentlyUsed() {
+        cache.put(1L, "Athens");
+        cache.put(2L, "Volos");
+        cache.put(3L, "Lamia");
+        cache.get(1L);
+
+        cache.put(4L, "Patras");
+
+        assertEquals(3, cache.size());
+        assertNull(cache.get(2L));
+        assertEquals("Athens", cache.get(1L));
+        assertEquals(1L, cache.getEvictionCount());
+    }
+
+    /**
+     * This method tests the invalidation of one and of all the entries.
+     */
+    @Test
+    public void invalidate() {
+        cache.put(1L, "Athens");
+        cache.put(2L, "Volos");
+
+        cache.invalidate(1L);
+        assertNull(cache.get(1L));
+        assertEquals("Volos", cache.get(2L));
+
+        cache.invalidateAll();
+        assertEquals(0, cache.size());
+    }
+
+    /**
+     * This method tests that null values are not cached.
+     */
+    @Test
+    public void nullIsNotCached() {
+        cache.put(1L, null);
+        assertEquals(0, cache.size());
+    }
+}
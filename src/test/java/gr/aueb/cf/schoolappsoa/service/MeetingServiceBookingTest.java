@@ -0,0 +1,202 @@
+package gr.aueb.cf.schoolappsoa.service;
+
+import gr.aueb.cf.schoolappsoa.dao.IMeetingDAO;
+import gr.aueb.cf.schoolappsoa.dao.IMeetingSeriesDAO;
+import gr.aueb.cf.schoolappsoa.dto.MeetingInsertDTO;
+import gr.aueb.cf.schoolappsoa.dto.MeetingSeriesInsertDTO;
+import gr.aueb.cf.schoolappsoa.model.Meeting;
+import gr.aueb.cf.schoolappsoa.model.MeetingSeries;
+import gr.aueb.cf.schoolappsoa.model.Student;
+import gr.aueb.cf.schoolappsoa.model.Teacher;
+import gr.aueb.cf.schoolappsoa.service.exceptions.MeetingConflictException;
+import gr.aueb.cf.schoolappsoa.service.scheduling.MeetingIndex;
+import gr.aueb.cf.schoolappsoa.service.scheduling.SeriesIndex;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This unit test class tests that the bookings of {@link MeetingServiceImpl}
+ * are atomic, with a fake {@link IMeetingDAO} whose inserts are slow.
+ *
+ * @author Thanasis Chousiadas
+ */
+public class MeetingServiceBookingTest {
+    private static final long HOUR = 60 * 60 * 1000L;
+    private static final long WEEK = 7 * 24 * HOUR;
+
+    private final List<Meeting> table = Collections.synchronizedList(new ArrayList<>());
+    private final List<MeetingSeries> seriesTable = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicLong ids = new AtomicLong();
+
+    /**
+     * This method books the same slot of a teacher from two threads at
+     * once. Exactly one booking must be saved and the other must conflict.
+     *
+     * @throws Exception if a thread fails.
+     */
+    @Test
+    public void concurrentBookingsOfSameSlot() throws Exception {
+        IMeetingService meetingService = new MeetingServiceImpl(fakeDAO(), fakeSeriesDAO());
+        CyclicBarrier start = new CyclicBarrier(2);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            List<Future<Boolean>> bookings = new ArrayList<>();
+            for (long studentId = 1; studentId <= 2; studentId++) {
+                MeetingInsertDTO dto = new MeetingInsertDTO(null, studentId, 1L, "A" + studentId, at(9), at(10));
+                bookings.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        meetingService.insertMeeting(dto);
+                        return true;
+                    } catch (MeetingConflictException e) {
+                        return false;
+                    }
+                }));
+            }
+
+            int booked = 0;
+            for (Future<Boolean> booking : bookings) {
+                booked += booking.get(10, TimeUnit.SECONDS) ? 1 : 0;
+            }
+            assertEquals(1, booked);
+            assertEquals(1, table.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * This method tests that a meeting which overlaps a meeting of a
+     * saved series of its teacher is not saved, even many weeks after
+     * the first meeting of the series.
+     *
+     * @throws Exception if the booking fails.
+     */
+    @Test
+    public void meetingOfSeriesIsBooked() throws Exception {
+        IMeetingService meetingService = new MeetingServiceImpl(fakeDAO(), new MeetingIndex(fakeDAO()),
+                new SeriesIndex(fakeSeriesDAO()), ZoneOffset.UTC);
+        Student student = new Student();
+        student.setId(9L);
+        Teacher teacher = new Teacher();
+        teacher.setId(1L);
+        seriesTable.add(new MeetingSeries(1L, student, teacher, "B2", at(9), at(10), 1, null));
+
+        MeetingInsertDTO overlapping = new MeetingInsertDTO(null, 1L, 1L, "A1",
+                new Date(80 * WEEK + 9 * HOUR + HOUR / 2), new Date(80 * WEEK + 11 * HOUR));
+        assertThrows(MeetingConflictException.class, () -> meetingService.insertMeeting(overlapping));
+        assertTrue(table.isEmpty());
+
+        meetingService.insertMeeting(new MeetingInsertDTO(null, 1L, 1L, "A1",
+                new Date(80 * WEEK + 10 * HOUR), new Date(80 * WEEK + 11 * HOUR)));
+        assertEquals(1, table.size());
+    }
+
+    /**
+     * This method books the same slot of a teacher from two threads at
+     * once, one with a single meeting and one with a series. Exactly one
+     * of them must be saved and the other must conflict.
+     *
+     * @throws Exception if a thread fails.
+     */
+    @Test
+    public void concurrentMeetingAndSeries() throws Exception {
+        IMeetingDAO meetingDAO = fakeDAO();
+        IMeetingSeriesDAO seriesDAO = fakeSeriesDAO();
+        MeetingIndex meetingIndex = new MeetingIndex(meetingDAO);
+        SeriesIndex seriesIndex = new SeriesIndex(seriesDAO);
+        IMeetingService meetingService = new MeetingServiceImpl(meetingDAO, meetingIndex, seriesIndex, ZoneOffset.UTC);
+        IMeetingSeriesService seriesService =
+                new MeetingSeriesServiceImpl(seriesDAO, meetingIndex, seriesIndex, ZoneOffset.UTC);
+        CyclicBarrier start = new CyclicBarrier(2);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            MeetingInsertDTO meeting = new MeetingInsertDTO(null, 1L, 1L, "A1",
+                    new Date(3 * WEEK + 9 * HOUR), new Date(3 * WEEK + 10 * HOUR));
+            MeetingSeriesInsertDTO series = new MeetingSeriesInsertDTO(2L, 1L, "A2", at(9), at(10), 1, null);
+            List<Future<Boolean>> bookings = new ArrayList<>();
+            bookings.add(executor.submit(booking(start, () -> meetingService.insertMeeting(meeting))));
+            bookings.add(executor.submit(booking(start, () -> seriesService.insertSeries(series))));
+
+            int booked = 0;
+            for (Future<Boolean> booking : bookings) {
+                booked += booking.get(10, TimeUnit.SECONDS) ? 1 : 0;
+            }
+            assertEquals(1, booked);
+            assertEquals(1, table.size() + seriesTable.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Callable<Boolean> booking(CyclicBarrier start, Callable<?> insert) {
+        return () -> {
+            start.await();
+            try {
+                insert.call();
+                return true;
+            } catch (MeetingConflictException e) {
+                return false;
+            }
+        };
+    }
+
+    private static Date at(int hour) {
+        return new Date(hour * HOUR);
+    }
+
+    private IMeetingDAO fakeDAO() {
+        return (IMeetingDAO) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{IMeetingDAO.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "streamAll":
+                            return new ArrayList<>(table).stream();
+                        case "insert":
+                            // a slow insert leaves the other thread time to check the same slot
+                            Thread.sleep(200);
+                            Meeting meeting = (Meeting) args[0];
+                            meeting.setId(ids.incrementAndGet());
+                            table.add(meeting);
+                            return meeting;
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+
+    private IMeetingSeriesDAO fakeSeriesDAO() {
+        return (IMeetingSeriesDAO) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{IMeetingSeriesDAO.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getAll":
+                            return new ArrayList<>(seriesTable);
+                        case "insert":
+                            // a slow insert leaves the other thread time to check the same slot
+                            Thread.sleep(200);
+                            MeetingSeries inserted = (MeetingSeries) args[0];
+                            inserted.setId(ids.incrementAndGet());
+                            seriesTable.add(inserted);
+                            return inserted;
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+}
@@ -0,0 +1,102 @@
+package gr.aueb.cf.schoolappsoa.service;
+
+import gr.aueb.cf.schoolappsoa.dao.IMeetingDAO;
+import gr.aueb.cf.schoolappsoa.dao.IMeetingSeriesDAO;
+import gr.aueb.cf.schoolappsoa.dao.Page;
+import gr.aueb.cf.schoolappsoa.dto.MeetingInsertDTO;
+import gr.aueb.cf.schoolappsoa.dto.MeetingUpdateDTO;
+import gr.aueb.cf.schoolappsoa.model.Meeting;
+import gr.aueb.cf.schoolappsoa.service.reminder.ReminderScheduler;
+import gr.aueb.cf.schoolappsoa.service.scheduling.MeetingIndex;
+import gr.aueb.cf.schoolappsoa.service.scheduling.SeriesIndex;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This unit test class tests that {@link MeetingServiceImpl} keeps the
+ * reminders of its {@link ReminderScheduler} up to date, with fake DAOs
+ * and a clock which stands still.
+ *
+ * @author Thanasis Chousiadas
+ */
+public class MeetingServiceReminderTest {
+    private static final long MINUTE = 60 * 1000L;
+
+    private final List<Meeting> table = new ArrayList<>();
+    private long nextId = 1L;
+
+    /**
+     * This method tests that a reminder is added for an inserted meeting,
+     * moved for an updated one and cancelled for a deleted one.
+     *
+     * @throws Exception if the scheduler or a booking fails.
+     */
+    @Test
+    public void remindersFollowMeetings() throws Exception {
+        IMeetingDAO meetingDAO = fakeDAO();
+        // a turn of about an hour, so the meetings of the next hour are loaded
+        ReminderScheduler scheduler = new ReminderScheduler(meetingDAO, Duration.ofMinutes(15), m -> { },
+                Duration.ofSeconds(1), 4096, Clock.fixed(Instant.EPOCH, ZoneOffset.UTC));
+        IMeetingService meetingService = new MeetingServiceImpl(meetingDAO, new MeetingIndex(meetingDAO),
+                new SeriesIndex(fakeSeriesDAO()), ZoneOffset.UTC, scheduler);
+
+        try {
+            scheduler.start();
+            Meeting first = meetingService.insertMeeting(new MeetingInsertDTO(null, 1L, 1L, "A1",
+                    new Date(30 * MINUTE), new Date(60 * MINUTE)));
+            meetingService.insertMeeting(new MeetingInsertDTO(null, 2L, 2L, "B2",
+                    new Date(40 * MINUTE), new Date(70 * MINUTE)));
+            assertEquals(2, scheduler.pending());
+
+            meetingService.updateMeeting(new MeetingUpdateDTO(first.getId(), 1L, 1L, "A1",
+                    new Date(45 * MINUTE), new Date(75 * MINUTE)));
+            assertEquals(2, scheduler.pending());
+
+            meetingService.deleteMeeting(first.getId());
+            assertEquals(1, scheduler.pending());
+        } finally {
+            scheduler.close();
+        }
+    }
+
+    private IMeetingDAO fakeDAO() {
+        return (IMeetingDAO) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{IMeetingDAO.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "streamAll":
+                            return new ArrayList<>(table).stream();
+                        case "getByDate":
+                            return new Page<>(new ArrayList<Meeting>(), null);
+                        case "insert":
+                            Meeting inserted = (Meeting) args[0];
+                            inserted.setId(nextId++);
+                            table.add(inserted);
+                            return inserted;
+                        case "update":
+                            Meeting updated = (Meeting) args[0];
+                            table.removeIf(m -> m.getId().equals(updated.getId()));
+                            table.add(updated);
+                            return updated;
+                        case "delete":
+                            return table.removeIf(m -> m.getId().equals(args[0]));
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+
+    private IMeetingSeriesDAO fakeSeriesDAO() {
+        return (IMeetingSeriesDAO) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{IMeetingSeriesDAO.class}, (proxy, method, args) -> new ArrayList<>());
+    }
+}
@@ -7,6 +7,8 @@ import gr.aueb.cf.schoolappsoa.dto.*;
 import gr.aueb.cf.schoolappsoa.model.*;
 import gr.aueb.cf.schoolappsoa.service.exceptions.UserAlreadyExistsException;
 import gr.aueb.cf.schoolappsoa.service.exceptions.UserNotFoundException;
+import gr.aueb.cf.schoolappsoa.service.session.SessionContext;
+import gr.aueb.cf.schoolappsoa.service.session.UserSession;
 import gr.aueb.cf.schoolappsoa.service.util.DateUtil;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
@@ -193,6 +195,25 @@ public class UserServiceTest {
         });
     }
 
+    /**
+     * This method tests that a batch with a username which already exists
+     * in the database or appears twice in the batch inserts no user.
+     *
+     * @throws UserDAOException is a wrapper exception to {@link SQLException}
+     *                          and handles errors for {@link User} Entity.
+     */
+    @Test
+    public void insertUsersWithDuplicates() throws UserDAOException {
+        List<UserInsertDTO> taken = List.of(new UserInsertDTO(null, "new-user-01", "123456"),
+                new UserInsertDTO(null, "user-03", "123456"));
+        List<UserInsertDTO> twice = List.of(new UserInsertDTO(null, "new-user-02", "123456"),
+                new UserInsertDTO(null, "new-user-02", "123456"));
+
+        assertThrows(UserAlreadyExistsException.class, () -> userService.insertUsers(taken));
+        assertThrows(UserAlreadyExistsException.class, () -> userService.insertUsers(twice));
+        assertEquals(4, userService.getAllUsers().size());
+    }
+
     /**
      * This method tests the {@link UserServiceImpl#updateUser(UserUpdateDTO)} method
      * for the service of update an old user in the database.
@@ -349,6 +370,58 @@ public class UserServiceTest {
         assertEquals(users.size(), 3);
     }
 
+    /**
+     * This method tests that a successful login starts a session with
+     * the role and the teacher profile of the user, read in one query,
+     * and that a failed login or a logout ends the session.
+     *
+     * @throws UserAlreadyExistsException if the username already exists.
+     * @throws UserDAOException           is a wrapper exception to {@link SQLException}
+     *                                    and handles errors for {@link User} Entity.
+     * @throws TeacherDAOException        is a wrapper exception to {@link SQLException}
+     *                                    and handles errors for {@link Teacher} Entity.
+     * @throws SpecialityDAOException     is a wrapper exception to {@link SQLException}
+     *                                    and handles errors for {@link Speciality} Entity.
+     */
+    @Test
+    public void loginStartsSession() throws UserAlreadyExistsException, UserDAOException, TeacherDAOException, SpecialityDAOException {
+        User user = userService.insertUser(new UserInsertDTO(null, "teacher-login", "secret"));
+
+        TeacherInsertDTO dto = new TeacherInsertDTO();
+        dto.setSsn(54321L);
+        dto.setFirstname("teacher-02");
+        dto.setLastname("teacher-lastname-02");
+        dto.setSpecialityId(1L);
+        dto.setUserId(user.getId());
+        teacherService.insertTeacher(dto);
+
+        SessionContext.end();
+        LoginDTO login = new LoginDTO();
+        login.setUsername("teacher-login");
+        login.setPassword("wrong");
+        assertFalse(userService.login(login));
+        assertFalse(SessionContext.isAuthenticated());
+
+        login.setPassword("secret");
+        assertTrue(userService.login(login));
+
+        UserSession session = SessionContext.getCurrent();
+        assertEquals(user.getId(), session.getUserId());
+        assertEquals(Role.TEACHER, session.getRole());
+        assertNull(session.getStudent());
+        assertEquals("teacher-lastname-02", session.getTeacher().getLastname());
+        assertEquals("Maths", session.getTeacher().getTeacherSpeciality().getSpeciality());
+
+        login.setPassword("wrong");
+        assertFalse(userService.login(login));
+        assertFalse(SessionContext.isAuthenticated());
+
+        login.setPassword("secret");
+        assertTrue(userService.login(login));
+        userService.logout();
+        assertFalse(SessionContext.isAuthenticated());
+    }
+
     /**
      * Tests if the {@link UserServiceImpl#getUserByUsername(String)}
      * retrieves the right user.
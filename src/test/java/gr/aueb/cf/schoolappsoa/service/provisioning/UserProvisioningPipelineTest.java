@@ -0,0 +1,194 @@
+package gr.aueb.cf.schoolappsoa.service.provisioning;
+
+import gr.aueb.cf.schoolappsoa.dao.BatchResult;
+import gr.aueb.cf.schoolappsoa.dao.IUserDAO;
+import gr.aueb.cf.schoolappsoa.dao.exceptions.UserDAOException;
+import gr.aueb.cf.schoolappsoa.dto.UserInsertDTO;
+import gr.aueb.cf.schoolappsoa.model.User;
+import gr.aueb.cf.schoolappsoa.service.security.SecUtil;
+import gr.aueb.cf.schoolappsoa.service.util.UnitOfWork;
+import gr.aueb.cf.schoolappsoa.service.util.UnitOfWorkFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This unit test class tests the {@link UserProvisioningPipeline} class,
+ * with a fake {@link IUserDAO} which records the batch inserts.
+ *
+ * @author Thanasis Chousiadas
+ */
+public class UserProvisioningPipelineTest {
+    private final List<Integer> batchSizes = new ArrayList<>();
+    private final AtomicLong ids = new AtomicLong();
+    private final List<String> transactionCalls = new ArrayList<>();
+    private boolean failInsert;
+
+    /**
+     * Before each unit test, this method lowers the bcrypt cost,
+     * so the hashing stage of the tests is fast.
+     */
+    @BeforeEach
+    public void setUp() {
+        SecUtil.setWorkload(4);
+    }
+
+    /**
+     * After each unit test, this method restores the default cost.
+     */
+    @AfterEach
+    public void tearDown() {
+        SecUtil.setWorkload(SecUtil.DEFAULT_WORKLOAD);
+    }
+
+    /**
+     * This method tests that every user is hashed and inserted
+     * in batches through a queue smaller than a batch.
+     *
+     * @throws UserDAOException if a batch cannot be inserted.
+     */
+    @Test
+    public void provisionAllUsers() throws UserDAOException {
+        UserProvisioningPipeline pipeline = new UserProvisioningPipeline(fakeDAO(), 4, 3, 8);
+
+        ProvisioningReport report = pipeline.run(dtos(50));
+
+        assertEquals(50, report.getUsers().size());
+        assertEquals(7, report.getBatches());
+        assertEquals(List.of(8, 8, 8, 8, 8, 8, 2), batchSizes);
+        assertEquals(50, report.getHashing().getItems());
+        assertEquals(50, report.getInserting().getItems());
+        assertTrue(report.getTotal().getItemsPerSecond() > 0);
+
+        Set<String> usernames = new HashSet<>();
+        for (User user : report.getUsers()) {
+            assertNotNull(user.getId());
+            assertTrue(SecUtil.checkPassword("pass-" + user.getUsername(), user.getPassword()));
+            usernames.add(user.getUsername());
+        }
+        assertEquals(50, usernames.size());
+    }
+
+    /**
+     * This method tests that a failed batch insert fails the provisioning.
+     */
+    @Test
+    public void failedInsertStopsPipeline() {
+        failInsert = true;
+        UserProvisioningPipeline pipeline = new UserProvisioningPipeline(fakeDAO(), 2, 2, 4);
+
+        assertThrows(UserDAOException.class, () -> pipeline.run(dtos(20)));
+        assertEquals(1, batchSizes.size());
+    }
+
+    /**
+     * This method tests that the inserts run in one unit of work,
+     * which is committed after the last batch.
+     *
+     * @throws UserDAOException if a batch cannot be inserted.
+     */
+    @Test
+    public void insertsInOneUnitOfWork() throws UserDAOException {
+        new UserProvisioningPipeline(fakeDAO(), 2, 2, 4, unitOfWork()).run(dtos(10));
+
+        assertEquals(3, batchSizes.size());
+        assertEquals(List.of("setAutoCommit false", "commit", "setAutoCommit true", "close"), transactionCalls);
+    }
+
+    /**
+     * This method tests that a failed batch insert rolls back the unit of work.
+     */
+    @Test
+    public void failedInsertRollsBack() {
+        failInsert = true;
+        UserProvisioningPipeline pipeline = new UserProvisioningPipeline(fakeDAO(), 2, 2, 4, unitOfWork());
+
+        assertThrows(UserDAOException.class, () -> pipeline.run(dtos(20)));
+        assertEquals(List.of("setAutoCommit false", "rollback", "setAutoCommit true", "close"), transactionCalls);
+    }
+
+    /**
+     * This method tests that an empty list provisions no users.
+     *
+     * @throws UserDAOException if a batch cannot be inserted.
+     */
+    @Test
+    public void provisionNoUsers() throws UserDAOException {
+        ProvisioningReport report = new UserProvisioningPipeline(fakeDAO(), 2, 2, 4).run(new ArrayList<>());
+
+        assertTrue(report.getUsers().isEmpty());
+        assertEquals(0, report.getBatches());
+    }
+
+    private static List<UserInsertDTO> dtos(int n) {
+        List<UserInsertDTO> dtos = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            dtos.add(new UserInsertDTO(null, "user" + i, "pass-user" + i));
+        }
+        return dtos;
+    }
+
+    /**
+     * This method returns a factory of units of work on a fake
+     * connection, which records the transaction calls.
+     */
+    private UnitOfWorkFactory unitOfWork() {
+        boolean[] autoCommit = {true};
+        Connection conn = (Connection) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getAutoCommit":
+                            return autoCommit[0];
+                        case "setAutoCommit":
+                            autoCommit[0] = (Boolean) args[0];
+                            transactionCalls.add("setAutoCommit " + args[0]);
+                            return null;
+                        case "commit":
+                        case "rollback":
+                        case "close":
+                            transactionCalls.add(method.getName());
+                            return null;
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+        DataSource dataSource = (DataSource) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{DataSource.class}, (proxy, method, args) -> {
+                    if (!method.getName().equals("getConnection")) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    return conn;
+                });
+        return () -> UnitOfWork.begin(dataSource);
+    }
+
+    @SuppressWarnings("unchecked")
+    private IUserDAO fakeDAO() {
+        return (IUserDAO) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{IUserDAO.class},
+                (proxy, method, args) -> {
+                    if (!method.getName().equals("insertAll")) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    List<User> users = new ArrayList<>((List<User>) args[0]);
+                    batchSizes.add(users.size());
+                    if (failInsert) {
+                        throw new UserDAOException("insert failed");
+                    }
+                    for (User user : users) {
+                        user.setId(ids.incrementAndGet());
+                    }
+                    return new BatchResult<>(users, new int[users.size()]);
+                });
+    }
+}
@@ -0,0 +1,60 @@
+package gr.aueb.cf.schoolappsoa.service.reminder;
+
+import gr.aueb.cf.schoolappsoa.service.reminder.HashedTimingWheel.Timeout;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This unit test class tests the {@link HashedTimingWheel} class.
+ *
+ * @author Thanasis Chousiadas
+ */
+public class HashedTimingWheelTest {
+
+    /**
+     * This method tests that random tasks, also many turns ahead and in
+     * the past, expire at the first tick at or after their deadline, and
+     * that the cancelled tasks do not expire.
+     */
+    @Test
+    public void expireAtDeadline() {
+        HashedTimingWheel<long[]> wheel = new HashedTimingWheel<>(10, 60, 1000);
+        assertEquals(640, wheel.turnMillis());
+
+        Random random = new Random(3);
+        List<Timeout<long[]>> timeouts = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            long deadline = 900 + random.nextInt(10_000);
+            timeouts.add(wheel.schedule(deadline, new long[]{deadline}));
+        }
+        int cancelled = 0;
+        for (int i = 0; i < timeouts.size(); i += 3) {
+            assertTrue(timeouts.get(i).cancel());
+            assertFalse(timeouts.get(i).cancel());
+            cancelled++;
+        }
+        assertEquals(2000 - cancelled, wheel.size());
+
+        List<Long> expired = new ArrayList<>();
+        for (long now = 1000; now <= 11_000; now += 7) {
+            long time = now;
+            wheel.advance(now, task -> {
+                assertTrue(task[0] <= time);
+                // a deadline in the past expires at the first tick
+                assertTrue(Math.max(task[0], 1000) > time - 7 - 10);
+                expired.add(task[0]);
+            });
+        }
+
+        assertEquals(2000 - cancelled, expired.size());
+        assertEquals(0, wheel.size());
+        for (int i = 1; i < expired.size(); i++) {
+            assertTrue(Math.max(expired.get(i - 1), 1000) / 10 <= (Math.max(expired.get(i), 1000) + 9) / 10);
+        }
+    }
+}
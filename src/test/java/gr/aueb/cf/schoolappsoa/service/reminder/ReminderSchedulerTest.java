@@ -0,0 +1,261 @@
+package gr.aueb.cf.schoolappsoa.service.reminder;
+
+import gr.aueb.cf.schoolappsoa.dao.IMeetingDAO;
+import gr.aueb.cf.schoolappsoa.dao.IMeetingSeriesDAO;
+import gr.aueb.cf.schoolappsoa.dao.Page;
+import gr.aueb.cf.schoolappsoa.dao.exceptions.MeetingDAOException;
+import gr.aueb.cf.schoolappsoa.dao.exceptions.MeetingSeriesDAOException;
+import gr.aueb.cf.schoolappsoa.model.Meeting;
+import gr.aueb.cf.schoolappsoa.model.MeetingOccurrence;
+import gr.aueb.cf.schoolappsoa.model.MeetingSeries;
+import gr.aueb.cf.schoolappsoa.model.Student;
+import gr.aueb.cf.schoolappsoa.model.Teacher;
+import gr.aueb.cf.schoolappsoa.service.scheduling.Recurrence;
+import gr.aueb.cf.schoolappsoa.service.scheduling.SeriesCalendar;
+import gr.aueb.cf.schoolappsoa.service.scheduling.SeriesIndex;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This unit test class tests the {@link ReminderScheduler} class,
+ * with a fake {@link IMeetingDAO}, a fake {@link IMeetingSeriesDAO}
+ * and a clock which is moved by the test.
+ *
+ * @author Thanasis Chousiadas
+ */
+public class ReminderSchedulerTest {
+    private static final long MINUTE = 60 * 1000L;
+    private static final long WEEK = 7 * 24 * 60 * MINUTE;
+
+    private final List<Meeting> table = new ArrayList<>();
+    private final List<MeetingSeries> seriesTable = new ArrayList<>();
+    private final List<Long> reminded = new ArrayList<>();
+    private final MovingClock clock = new MovingClock();
+    private int loads;
+    private int failures;
+
+    /**
+     * This method tests that every reminder is sent once, at its lead time,
+     * over a day of meetings which are read one window at a time, and that
+     * the reminder of a meeting which is moved or deleted follows it.
+     *
+     * @throws MeetingDAOException       if the meetings cannot be read.
+     * @throws MeetingSeriesDAOException if the series cannot be read.
+     */
+    @Test
+    public void remindersOfADay() throws MeetingDAOException, MeetingSeriesDAOException {
+        for (long id = 1; id <= 300; id++) {
+            table.add(meeting(id, 20 + 5 * (id - 1)));
+        }
+        // one second ticks, a turn of 128 seconds
+        ReminderScheduler scheduler = new ReminderScheduler(fakeDAO(), Duration.ofMinutes(15), m -> {
+            assertEquals(m.getMeetingDate().getTime() - 15 * MINUTE, clock.millis(), 1000);
+            reminded.add(m.getId());
+        }, Duration.ofSeconds(1), 128, clock);
+
+        scheduler.startLoading();
+        assertTrue(scheduler.pending() < 5);
+
+        for (long now = 0; now < 26 * 60 * MINUTE; now += 1000) {
+            clock.now = now;
+            if (now == 10 * MINUTE) {
+                Meeting earlier = meeting(300L, 30);
+                table.set(299, earlier);
+                scheduler.put(earlier);
+                Meeting later = meeting(3L, 45);
+                table.set(2, later);
+                scheduler.put(later);
+                table.remove(1);
+                scheduler.remove(2L);
+            }
+            scheduler.tick();
+        }
+
+        List<Long> expected = table.stream().map(Meeting::getId).collect(Collectors.toList());
+        assertEquals(expected.size(), reminded.size());
+        assertTrue(reminded.containsAll(expected));
+        assertEquals(List.of(1L, 300L, 4L, 5L), reminded.subList(0, 4));
+        assertTrue(loads > 100);
+        assertEquals(0, scheduler.pending());
+    }
+
+    /**
+     * This method tests that a scheduler which starts after a restart
+     * sends the reminders which were due while it was down, if their
+     * meetings have not started.
+     *
+     * @throws MeetingDAOException       if the meetings cannot be read.
+     * @throws MeetingSeriesDAOException if the series cannot be read.
+     */
+    @Test
+    public void restart() throws MeetingDAOException, MeetingSeriesDAOException {
+        table.add(meeting(1L, 5));
+        table.add(meeting(2L, 20));
+        table.add(meeting(3L, 40));
+        clock.now = 10 * MINUTE;
+
+        ReminderScheduler scheduler = new ReminderScheduler(fakeDAO(), Duration.ofMinutes(15), m -> reminded.add(m.getId()),
+                Duration.ofSeconds(1), 4096, clock);
+        scheduler.startLoading();
+        assertThrows(IllegalStateException.class, scheduler::startLoading);
+
+        clock.now += 1000;
+        scheduler.tick();
+        assertEquals(List.of(2L), reminded);
+
+        clock.now = 25 * MINUTE;
+        scheduler.tick();
+        assertEquals(List.of(2L, 3L), reminded);
+    }
+
+    /**
+     * This method tests that the meetings of a series get reminders, window
+     * after window, without the cancelled meeting and the meetings of a
+     * deleted series, and that a series which is saved after its window is
+     * loaded gets reminders too.
+     *
+     * @throws MeetingDAOException       if the meetings cannot be read.
+     * @throws MeetingSeriesDAOException if the series cannot be read.
+     */
+    @Test
+    public void remindersOfSeries() throws MeetingDAOException, MeetingSeriesDAOException {
+        // a meeting every week at minute 20, and one every week at minute 40, which is deleted
+        seriesTable.add(series(1L, 20));
+        seriesTable.add(series(2L, 40));
+        List<Meeting> sent = new ArrayList<>();
+        SeriesIndex seriesIndex = new SeriesIndex(fakeSeriesDAO());
+        ReminderScheduler scheduler = new ReminderScheduler(fakeDAO(),
+                new SeriesCalendar(seriesIndex, new Recurrence(ZoneOffset.UTC)),
+                Duration.ofMinutes(15), sent::add, Duration.ofSeconds(1), 4096, clock);
+
+        scheduler.startLoading();
+        assertEquals(2, scheduler.pending());
+
+        // the same order as the series service: first the index, then the scheduler
+        seriesIndex.remove(2L);
+        scheduler.removeSeries(2L);
+        seriesIndex.cancel(1L, new Date(WEEK + 20 * MINUTE));
+        scheduler.cancelOccurrence(1L, new Date(WEEK + 20 * MINUTE));
+        MeetingSeries inserted = series(3L, 30);
+        seriesIndex.put(inserted);
+        scheduler.putSeries(inserted);
+        assertEquals(2, scheduler.pending());
+
+        for (long now = 0; now < 2 * WEEK; now += 10 * MINUTE) {
+            clock.now = now;
+            scheduler.tick();
+        }
+
+        List<Long> starts = sent.stream().map(m -> m.getMeetingDate().getTime()).collect(Collectors.toList());
+        assertEquals(List.of(20 * MINUTE, 30 * MINUTE, WEEK + 30 * MINUTE), starts);
+        assertEquals(1L, ((MeetingOccurrence) sent.get(0)).getSeries().getId());
+    }
+
+    /**
+     * This method tests that a first load which fails is tried again
+     * by the next tick, so no reminder is lost.
+     *
+     * @throws MeetingDAOException       if the meetings cannot be read.
+     * @throws MeetingSeriesDAOException if the series cannot be read.
+     */
+    @Test
+    public void failedStartIsRetried() throws MeetingDAOException, MeetingSeriesDAOException {
+        table.add(meeting(1L, 20));
+        failures = 1;
+        ReminderScheduler scheduler = new ReminderScheduler(fakeDAO(), Duration.ofMinutes(15), m -> reminded.add(m.getId()),
+                Duration.ofSeconds(1), 4096, clock);
+
+        assertThrows(MeetingDAOException.class, scheduler::startLoading);
+        assertEquals(0, scheduler.pending());
+
+        clock.now += 1000;
+        scheduler.tick();
+        assertEquals(1, scheduler.pending());
+
+        clock.now = 5 * MINUTE;
+        scheduler.tick();
+        assertEquals(List.of(1L), reminded);
+    }
+
+    private static MeetingSeries series(Long id, long startMinute) {
+        Student student = new Student();
+        student.setId(1L);
+        Teacher teacher = new Teacher();
+        teacher.setId(1L);
+        return new MeetingSeries(id, student, teacher, "A1", new Date(startMinute * MINUTE),
+                new Date((startMinute + 5) * MINUTE), 1, null);
+    }
+
+    private static Meeting meeting(Long id, long startMinute) {
+        Student student = new Student();
+        student.setId(1L);
+        Teacher teacher = new Teacher();
+        teacher.setId(1L);
+        return new Meeting(id, student, teacher, "A1", new Date(startMinute * MINUTE),
+                new Date((startMinute + 30) * MINUTE));
+    }
+
+    private IMeetingDAO fakeDAO() {
+        return (IMeetingDAO) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{IMeetingDAO.class},
+                (proxy, method, args) -> {
+                    if (!method.getName().equals("getByDate")) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    loads++;
+                    if (failures > 0) {
+                        failures--;
+                        throw new MeetingDAOException("Meetings table does not exist");
+                    }
+                    Date from = (Date) args[0];
+                    Date to = (Date) args[1];
+                    List<Meeting> window = new ArrayList<>();
+                    for (Meeting meeting : table) {
+                        if (!meeting.getMeetingDate().before(from) && meeting.getMeetingDate().before(to)) {
+                            window.add(meeting);
+                        }
+                    }
+                    return new Page<>(window, null);
+                });
+    }
+
+    private IMeetingSeriesDAO fakeSeriesDAO() {
+        return (IMeetingSeriesDAO) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{IMeetingSeriesDAO.class}, (proxy, method, args) -> {
+                    if (!method.getName().equals("getAll")) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    return new ArrayList<>(seriesTable);
+                });
+    }
+
+    private static class MovingClock extends Clock {
+        private long now;
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(now);
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package gr.aueb.cf.schoolappsoa.service.scheduling;
+
+import gr.aueb.cf.schoolappsoa.dao.IMeetingDAO;
+import gr.aueb.cf.schoolappsoa.dao.IMeetingSeriesDAO;
+import gr.aueb.cf.schoolappsoa.dao.exceptions.MeetingDAOException;
+import gr.aueb.cf.schoolappsoa.dao.exceptions.MeetingSeriesDAOException;
+import gr.aueb.cf.schoolappsoa.model.Meeting;
+import gr.aueb.cf.schoolappsoa.model.MeetingSeries;
+import gr.aueb.cf.schoolappsoa.model.Student;
+import gr.aueb.cf.schoolappsoa.model.Teacher;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This unit test class tests the {@link FreeSlotFinder} class,
+ * with a {@link MeetingIndex} of a fake {@link IMeetingDAO} and a
+ * {@link SeriesCalendar} of a fake {@link IMeetingSeriesDAO}.
+ *
+ * @author Thanasis Chousiadas
+ */
+public class FreeSlotFinderTest {
+    private static final long MINUTE = 60 * 1000L;
+    private static final List<String> ROOMS = List.of("A1", "B2", "C3");
+
+    private final List<Meeting> table = new ArrayList<>();
+    private final List<MeetingSeries> seriesTable = new ArrayList<>();
+    private final FreeSlotFinder finder = new FreeSlotFinder(new MeetingIndex(fakeDAO()),
+            new SeriesCalendar(new SeriesIndex(fakeSeriesDAO()), new Recurrence(ZoneOffset.UTC)));
+
+    /**
+     * This method tests that the first slot starts after the meetings
+     * of the teacher and the student, in the first free room.
+     *
+     * @throws MeetingDAOException       if the index cannot be built.
+     * @throws MeetingSeriesDAOException if the series cannot be read.
+     */
+    @Test
+    public void earliestSlots() throws MeetingDAOException, MeetingSeriesDAOException {
+        table.add(meeting(1L, 1L, 9L, "A1", 0, 60));
+        table.add(meeting(2L, 9L, 1L, "B2", 30, 90));
+        table.add(meeting(3L, 8L, 8L, "A1", 90, 150));
+
+        List<FreeSlot> slots = finder.findEarliest(1L, 1L, ROOMS, Duration.ofMinutes(45),
+                new Date(0), new Date(300 * MINUTE), 3);
+
+        assertEquals(3, slots.size());
+        assertEquals(new Date(90 * MINUTE), slots.get(0).getStart());
+        assertEquals(new Date(135 * MINUTE), slots.get(0).getEnd());
+        assertEquals("B2", slots.get(0).getMeetingRoom());
+        assertEquals(new Date(135 * MINUTE), slots.get(1).getStart());
+        assertEquals(new Date(180 * MINUTE), slots.get(2).getStart());
+        assertEquals("A1", slots.get(2).getMeetingRoom());
+
+        assertTrue(finder.findEarliest(1L, 1L, ROOMS, Duration.ofMinutes(45),
+                new Date(0), new Date(100 * MINUTE), 3).isEmpty());
+    }
+
+    /**
+     * This method tests the slots of random meetings against a search
+     * which probes every minute of the horizon.
+     *
+     * @throws MeetingDAOException       if the index cannot be built.
+     * @throws MeetingSeriesDAOException if the series cannot be read.
+     */
+    @Test
+    public void randomAgainstProbing() throws MeetingDAOException, MeetingSeriesDAOException {
+        Random random = new Random(11);
+        for (long id = 1; id <= 400; id++) {
+            int start = random.nextInt(2000);
+            table.add(meeting(id, 1L + random.nextInt(3), 1L + random.nextInt(3),
+                    ROOMS.get(random.nextInt(ROOMS.size())), start, start + 10 + random.nextInt(50)));
+        }
+
+        for (int duration = 5; duration <= 60; duration += 11) {
+            List<FreeSlot> slots = finder.findEarliest(1L, 2L, ROOMS, Duration.ofMinutes(duration),
+                    new Date(0), new Date(2100 * MINUTE), 5);
+
+            long after = 0;
+            for (FreeSlot slot : slots) {
+                long[] expected = probe(1L, 2L, duration, after, 2100);
+                assertNotNull(expected);
+                assertEquals(expected[0] * MINUTE, slot.getStart().getTime());
+                assertEquals(ROOMS.get((int) expected[1]), slot.getMeetingRoom());
+                after = expected[0] + duration;
+            }
+            if (slots.size() < 5) {
+                assertNull(probe(1L, 2L, duration, after, 2100));
+            }
+        }
+    }
+
+    /**
+     * This method tests that the meetings of a series of the teacher
+     * and of a series in a room are busy, as the saved meetings are.
+     *
+     * @throws MeetingDAOException       if the index cannot be built.
+     * @throws MeetingSeriesDAOException if the series cannot be read.
+     */
+    @Test
+    public void seriesAreBusy() throws MeetingDAOException, MeetingSeriesDAOException {
+        Meeting teacherFirst = meeting(null, 5L, 1L, "C3", 0, 60);
+        Meeting roomFirst = meeting(null, 6L, 7L, "A1", 60, 120);
+        seriesTable.add(new MeetingSeries(1L, teacherFirst.getStudent(), teacherFirst.getTeacher(), "C3",
+                teacherFirst.getMeetingDate(), teacherFirst.getMeetingEnd(), 1, null));
+        seriesTable.add(new MeetingSeries(2L, roomFirst.getStudent(), roomFirst.getTeacher(), "A1",
+                roomFirst.getMeetingDate(), roomFirst.getMeetingEnd(), 1, null));
+
+        long week = 7 * 24 * 60;
+        List<FreeSlot> slots = finder.findEarliest(1L, 1L, ROOMS, Duration.ofMinutes(45),
+                new Date(3 * week * MINUTE), new Date((3 * week + 300) * MINUTE), 1);
+
+        assertEquals(1, slots.size());
+        assertEquals(new Date((3 * week + 60) * MINUTE), slots.get(0).getStart());
+        assertEquals("B2", slots.get(0).getMeetingRoom());
+    }
+
+    private long[] probe(long teacherId, long studentId, int duration, long after, int horizon) {
+        for (long t = after; t + duration <= horizon; t++) {
+            if (!free(t, duration, m -> m.getTeacher().getId() == teacherId)
+                    || !free(t, duration, m -> m.getStudent().getId() == studentId)) {
+                continue;
+            }
+            for (int r = 0; r < ROOMS.size(); r++) {
+                String room = ROOMS.get(r);
+                if (free(t, duration, m -> m.getMeetingRoom().equals(room))) {
+                    return new long[]{t, r};
+                }
+            }
+        }
+        return null;
+    }
+
+    private boolean free(long t, int duration, Predicate<Meeting> owner) {
+        for (Meeting meeting : table) {
+            if (owner.test(meeting)
+                    && meeting.getMeetingDate().getTime() < (t + duration) * MINUTE
+                    && t * MINUTE < meeting.getMeetingEnd().getTime()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Meeting meeting(Long id, Long studentId, Long teacherId, String room, int from, int to) {
+        Student student = new Student();
+        student.setId(studentId);
+        Teacher teacher = new Teacher();
+        teacher.setId(teacherId);
+        return new Meeting(id, student, teacher, room, new Date(from * MINUTE), new Date(to * MINUTE));
+    }
+
+    private IMeetingDAO fakeDAO() {
+        return (IMeetingDAO) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{IMeetingDAO.class},
+                (proxy, method, args) -> {
+                    if (!method.getName().equals("streamAll")) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    return new ArrayList<>(table).stream();
+                });
+    }
+
+    private IMeetingSeriesDAO fakeSeriesDAO() {
+        return (IMeetingSeriesDAO) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{IMeetingSeriesDAO.class}, (proxy, method, args) -> {
+                    if (!method.getName().equals("getAll")) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    return new ArrayList<>(seriesTable);
+                });
+    }
+}
@@ -0,0 +1,98 @@
+package gr.aueb.cf.schoolappsoa.service.scheduling;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This unit test class tests the {@link IntervalTree} class.
+ *
+ * @author Thanasis Chousiadas
+ */
+public class IntervalTreeTest {
+
+    /**
+     * This method tests that the intervals are half-open, so
+     * back-to-back intervals do not overlap.
+     */
+    @Test
+    public void halfOpenIntervals() {
+        IntervalTree<String> tree = new IntervalTree<>();
+        tree.insert(10, 20, 1, "a");
+        tree.insert(20, 30, 2, "b");
+
+        assertNull(tree.findAnyOverlap(0, 10));
+        assertNull(tree.findAnyOverlap(30, 40));
+        assertEquals("a", tree.findAnyOverlap(15, 20));
+        assertEquals(List.of("a", "b"), tree.findOverlaps(19, 21));
+        assertThrows(IllegalArgumentException.class, () -> tree.insert(5, 5, 3, "c"));
+    }
+
+    /**
+     * This method tests that an interval with the same start and id
+     * is replaced and that a removed interval is not found.
+     */
+    @Test
+    public void replaceAndRemove() {
+        IntervalTree<String> tree = new IntervalTree<>();
+        tree.insert(10, 20, 1, "a");
+        tree.insert(10, 50, 1, "a2");
+
+        assertEquals(1, tree.size());
+        assertEquals("a2", tree.findAnyOverlap(40, 45));
+        assertTrue(tree.remove(10, 1));
+        assertFalse(tree.remove(10, 1));
+        assertTrue(tree.isEmpty());
+        assertNull(tree.findAnyOverlap(0, 100));
+    }
+
+    /**
+     * This method tests the overlap queries against a linear scan, with
+     * random inserts and removes, and that the tree stays balanced.
+     */
+    @Test
+    public void randomAgainstLinearScan() {
+        Random random = new Random(42);
+        IntervalTree<long[]> tree = new IntervalTree<>();
+        List<long[]> intervals = new ArrayList<>();
+
+        for (long id = 0; id < 5000; id++) {
+            long start = random.nextInt(100_000);
+            long[] interval = {start, start + 1 + random.nextInt(200), id};
+            tree.insert(interval[0], interval[1], id, interval);
+            intervals.add(interval);
+
+            if (random.nextInt(4) == 0) {
+                long[] removed = intervals.remove(random.nextInt(intervals.size()));
+                assertTrue(tree.remove(removed[0], removed[2]));
+            }
+        }
+
+        assertEquals(intervals.size(), tree.size());
+        assertTrue(tree.height() <= 1.45 * (Math.log(tree.size() + 2) / Math.log(2)));
+
+        for (int i = 0; i < 1000; i++) {
+            long start = random.nextInt(100_000);
+            long end = start + 1 + random.nextInt(300);
+            List<long[]> expected = new ArrayList<>();
+            for (long[] interval : intervals) {
+                if (interval[0] < end && start < interval[1]) {
+                    expected.add(interval);
+                }
+            }
+
+            List<long[]> found = tree.findOverlaps(start, end);
+            assertEquals(expected.size(), found.size());
+            for (Iterator<long[]> it = found.iterator(); it.hasNext(); ) {
+                long[] interval = it.next();
+                assertTrue(interval[0] < end && start < interval[1]);
+            }
+            assertEquals(expected.isEmpty(), tree.findAnyOverlap(start, end) == null);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package gr.aueb.cf.schoolappsoa.service.scheduling;
+
+import gr.aueb.cf.schoolappsoa.dao.IMeetingDAO;
+import gr.aueb.cf.schoolappsoa.dao.exceptions.MeetingDAOException;
+import gr.aueb.cf.schoolappsoa.model.Meeting;
+import gr.aueb.cf.schoolappsoa.model.Student;
+import gr.aueb.cf.schoolappsoa.model.Teacher;
+import gr.aueb.cf.schoolappsoa.service.scheduling.MeetingConflict.Resource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This unit test class tests the {@link MeetingIndex} class,
+ * with a fake {@link IMeetingDAO} which streams a list of meetings.
+ *
+ * @author Thanasis Chousiadas
+ */
+public class MeetingIndexTest {
+    private static final long HOUR = 60 * 60 * 1000L;
+
+    private final List<Meeting> table = new ArrayList<>();
+    private int loads;
+    private MeetingIndex index;
+
+    /**
+     * Before each unit test, this method saves two meetings of
+     * teacher 1 in room A1, from 09:00 to 10:00 and from 10:00 to 11:00.
+     */
+    @BeforeEach
+    public void setUp() {
+        table.add(meeting(1L, 1L, 1L, "A1", 9, 10));
+        table.add(meeting(2L, 2L, 1L, "A1", 10, 11));
+        index = new MeetingIndex(fakeDAO());
+    }
+
+    /**
+     * This method tests that the index is built from the table at its
+     * first use and that a double booked teacher, student or room is found.
+     *
+     * @throws MeetingDAOException if the index cannot be built.
+     */
+    @Test
+    public void conflictsOfMeeting() throws MeetingDAOException {
+        assertFalse(index.isLoaded());
+        assertTrue(index.getConflicts(meeting(null, 3L, 2L, "B2", 9, 10)).isEmpty());
+        assertEquals(1, loads);
+        assertEquals(2, index.size());
+
+        List<MeetingConflict> conflicts = index.getConflicts(meeting(null, 1L, 2L, "B2", 9, 10));
+        assertEquals(1, conflicts.size());
+        assertEquals(Resource.STUDENT, conflicts.get(0).getResource());
+        assertEquals(1L, conflicts.get(0).getOther().getId());
+
+        conflicts = index.getConflicts(meeting(null, 3L, 1L, "A1", 9, 11));
+        assertEquals(4, conflicts.size());
+        assertEquals(1, loads);
+    }
+
+    /**
+     * This method tests that an updated meeting does not conflict with
+     * its old version, and that the index follows inserts, updates and deletes.
+     *
+     * @throws MeetingDAOException if the index cannot be built.
+     */
+    @Test
+    public void incrementalUpdates() throws MeetingDAOException {
+        Meeting moved = meeting(1L, 1L, 1L, "A1", 9, 10);
+        assertTrue(index.getConflicts(moved).isEmpty());
+
+        index.put(meeting(3L, 3L, 2L, "B2", 12, 13));
+        assertEquals(Resource.ROOM, index.getConflicts(meeting(null, 4L, 3L, "B2", 12, 13)).get(0).getResource());
+
+        index.put(meeting(3L, 3L, 2L, "B2", 14, 15));
+        assertTrue(index.getConflicts(meeting(null, 4L, 3L, "B2", 12, 13)).isEmpty());
+        assertEquals(3, index.size());
+
+        index.remove(1L);
+        assertTrue(index.getConflicts(meeting(null, 1L, 1L, "A1", 9, 10)).isEmpty());
+        assertEquals(2, index.size());
+    }
+
+    /**
+     * This method tests the sweep of a batch, which finds the conflicts
+     * inside the batch and with the saved meetings, but not the ones
+     * among the saved meetings.
+     *
+     * @throws MeetingDAOException if the index cannot be built.
+     */
+    @Test
+    public void conflictsOfBatch() throws MeetingDAOException {
+        table.add(meeting(3L, 5L, 5L, "C3", 9, 12));
+        table.add(meeting(4L, 6L, 6L, "C3", 10, 11));
+
+        List<Meeting> batch = new ArrayList<>();
+        batch.add(meeting(null, 7L, 7L, "D4", 12, 13));
+        batch.add(meeting(null, 8L, 7L, "D5", 12, 14));
+        batch.add(meeting(null, 9L, 8L, "A1", 10, 12));
+        batch.add(meeting(null, 10L, 9L, "C3", 13, 14));
+
+        List<MeetingConflict> conflicts = index.getConflicts(batch);
+        assertEquals(2, conflicts.size());
+        for (MeetingConflict conflict : conflicts) {
+            if (conflict.getResource() == Resource.TEACHER) {
+                assertSame(batch.get(1), conflict.getMeeting());
+                assertSame(batch.get(0), conflict.getOther());
+            } else {
+                assertEquals(Resource.ROOM, conflict.getResource());
+                assertSame(batch.get(2), conflict.getMeeting());
+                assertEquals(2L, conflict.getOther().getId());
+            }
+        }
+        assertTrue(index.getConflicts(batch.subList(3, 4)).isEmpty());
+    }
+
+    private Meeting meeting(Long id, Long studentId, Long teacherId, String room, int fromHour, int toHour) {
+        Student student = new Student();
+        student.setId(studentId);
+        Teacher teacher = new Teacher();
+        teacher.setId(teacherId);
+        return new Meeting(id, student, teacher, room, at(fromHour), at(toHour));
+    }
+
+    private static Date at(int hour) {
+        return new Date(hour * HOUR);
+    }
+
+    private IMeetingDAO fakeDAO() {
+        return (IMeetingDAO) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{IMeetingDAO.class},
+                (proxy, method, args) -> {
+                    if (!method.getName().equals("streamAll")) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    loads++;
+                    return new ArrayList<>(table).stream();
+                });
+    }
+}
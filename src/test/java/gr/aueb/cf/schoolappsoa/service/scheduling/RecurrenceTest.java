@@ -0,0 +1,111 @@
+package gr.aueb.cf.schoolappsoa.service.scheduling;
+
+import gr.aueb.cf.schoolappsoa.model.MeetingOccurrence;
+import gr.aueb.cf.schoolappsoa.model.MeetingSeries;
+import gr.aueb.cf.schoolappsoa.model.Student;
+import gr.aueb.cf.schoolappsoa.model.Teacher;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This unit test class tests the {@link Recurrence} class.
+ *
+ * @author Thanasis Chousiadas
+ */
+public class RecurrenceTest {
+    private static final ZoneId ATHENS = ZoneId.of("Europe/Athens");
+
+    private final Recurrence recurrence = new Recurrence(ATHENS);
+
+    /**
+     * This method tests that a window far from the first meeting of an
+     * open-ended weekly series gives only its meetings, at the same local
+     * time after the change of the daylight saving time.
+     */
+    @Test
+    public void windowOfOpenEndedSeries() {
+        MeetingSeries series = series(1L, at(2023, 9, 7, 17), 1, null);
+
+        List<MeetingOccurrence> meetings = recurrence.stream(series, at(2024, 4, 1, 0), at(2024, 4, 15, 0))
+                .collect(Collectors.toList());
+
+        assertEquals(2, meetings.size());
+        assertEquals(30, meetings.get(0).getIndex());
+        assertEquals(at(2024, 4, 4, 17), meetings.get(0).getMeetingDate());
+        assertEquals(at(2024, 4, 11, 18), meetings.get(1).getMeetingEnd());
+        assertNull(meetings.get(0).getId());
+        assertEquals(1L, meetings.get(0).getSeries().getId());
+    }
+
+    /**
+     * This method tests that the meeting which runs at the start of a window
+     * is included, and that the cancelled meetings and the meetings after
+     * the until date are not.
+     */
+    @Test
+    public void cancelledAndUntil() {
+        MeetingSeries series = series(1L, at(2023, 9, 7, 17), 2, at(2023, 11, 2, 18));
+        series.getCancelledDates().add(at(2023, 10, 5, 17));
+
+        List<Date> starts = new ArrayList<>();
+        recurrence.iterator(series, at(2023, 9, 7, 17, 30), at(2024, 1, 1, 0))
+                .forEachRemaining(m -> starts.add(m.getMeetingDate()));
+
+        assertEquals(List.of(at(2023, 9, 7, 17), at(2023, 9, 21, 17), at(2023, 10, 19, 17), at(2023, 11, 2, 17)),
+                starts);
+        assertTrue(recurrence.isOccurrence(series, at(2023, 10, 5, 17)));
+        assertFalse(recurrence.isOccurrence(series, at(2023, 9, 14, 17)));
+        assertFalse(recurrence.isOccurrence(series, at(2023, 11, 16, 17)));
+    }
+
+    /**
+     * This method tests that the merged meetings of many series come
+     * in the order of their start.
+     */
+    @Test
+    public void merge() {
+        List<Iterator<MeetingOccurrence>> iterators = new ArrayList<>();
+        iterators.add(recurrence.iterator(series(1L, at(2023, 9, 4, 9), 1, null), at(2023, 9, 1, 0), at(2023, 10, 1, 0)));
+        iterators.add(recurrence.iterator(series(2L, at(2023, 9, 6, 9), 2, null), at(2023, 9, 1, 0), at(2023, 10, 1, 0)));
+        iterators.add(recurrence.iterator(series(3L, at(2024, 9, 6, 9), 1, null), at(2023, 9, 1, 0), at(2023, 10, 1, 0)));
+
+        Iterator<MeetingOccurrence> merged = Recurrence.merge(iterators);
+        List<Long> seriesIds = new ArrayList<>();
+        long previous = Long.MIN_VALUE;
+        while (merged.hasNext()) {
+            MeetingOccurrence meeting = merged.next();
+            assertTrue(meeting.getMeetingDate().getTime() >= previous);
+            previous = meeting.getMeetingDate().getTime();
+            seriesIds.add(meeting.getSeries().getId());
+        }
+
+        assertEquals(List.of(1L, 2L, 1L, 1L, 2L, 1L), seriesIds);
+    }
+
+    private static MeetingSeries series(Long id, Date first, int intervalWeeks, Date until) {
+        Student student = new Student();
+        student.setId(1L);
+        Teacher teacher = new Teacher();
+        teacher.setId(1L);
+        return new MeetingSeries(id, student, teacher, "A1", first,
+                new Date(first.getTime() + 60 * 60 * 1000L), intervalWeeks, until);
+    }
+
+    private static Date at(int year, int month, int day, int hour) {
+        return at(year, month, day, hour, 0);
+    }
+
+    private static Date at(int year, int month, int day, int hour, int minute) {
+        return Date.from(ZonedDateTime.of(LocalDateTime.of(year, month, day, hour, minute), ATHENS).toInstant());
+    }
+}
@@ -0,0 +1,179 @@
+package gr.aueb.cf.schoolappsoa.service.scheduling;
+
+import gr.aueb.cf.schoolappsoa.dao.IMeetingDAO;
+import gr.aueb.cf.schoolappsoa.dao.IMeetingSeriesDAO;
+import gr.aueb.cf.schoolappsoa.dao.exceptions.MeetingDAOException;
+import gr.aueb.cf.schoolappsoa.dao.exceptions.MeetingSeriesDAOException;
+import gr.aueb.cf.schoolappsoa.model.Meeting;
+import gr.aueb.cf.schoolappsoa.model.MeetingSeries;
+import gr.aueb.cf.schoolappsoa.model.Student;
+import gr.aueb.cf.schoolappsoa.model.Teacher;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This unit test class tests the {@link RoomAllocator} class,
+ * with a {@link MeetingIndex} of a fake {@link IMeetingDAO} and a
+ * {@link SeriesCalendar} of a fake {@link IMeetingSeriesDAO}.
+ *
+ * @author Thanasis Chousiadas
+ */
+public class RoomAllocatorTest {
+    private static final long MINUTE = 60 * 1000L;
+    private static final long DAY = 24 * 60 * MINUTE;
+
+    private final List<Meeting> table = new ArrayList<>();
+    private final List<MeetingSeries> seriesTable = new ArrayList<>();
+    private final RoomAllocator allocator = new RoomAllocator(new MeetingIndex(fakeDAO()),
+            new SeriesCalendar(new SeriesIndex(fakeSeriesDAO()), new Recurrence(ZoneOffset.UTC)), 4, ZoneOffset.UTC);
+
+    /**
+     * This method tests that random meetings of many days get as
+     * many rooms as the most meetings which run at the same time,
+     * and that no room is double booked.
+     *
+     * @throws MeetingDAOException       if the index cannot be built.
+     * @throws MeetingSeriesDAOException if the series cannot be read.
+     */
+    @Test
+    public void fewestRooms() throws MeetingDAOException, MeetingSeriesDAOException {
+        Random random = new Random(7);
+        List<Meeting> meetings = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            long start = random.nextInt(30) * DAY + (8 * 60 + random.nextInt(8 * 60)) * MINUTE;
+            meetings.add(meeting(start, start + (15 + random.nextInt(60)) * MINUTE));
+        }
+
+        RoomAllocation allocation = allocator.allocate(meetings, rooms(100));
+
+        assertTrue(allocation.isComplete());
+        assertEquals(3000, allocation.getAllocated().size());
+        assertEquals(30, allocation.getDays());
+        assertEquals(maxOverlap(meetings), allocation.getRoomsUsed());
+
+        Map<String, IntervalTree<Meeting>> byRoom = new HashMap<>();
+        for (Meeting meeting : allocation.getAllocated()) {
+            IntervalTree<Meeting> tree = byRoom.computeIfAbsent(meeting.getMeetingRoom(), room -> new IntervalTree<>());
+            long start = meeting.getMeetingDate().getTime();
+            long end = meeting.getMeetingEnd().getTime();
+            assertNull(tree.findAnyOverlap(start, end));
+            tree.insert(start, end, tree.size(), meeting);
+        }
+    }
+
+    /**
+     * This method tests that a room is kept free for a saved meeting,
+     * and that a meeting without a free room is reported.
+     *
+     * @throws MeetingDAOException       if the index cannot be built.
+     * @throws MeetingSeriesDAOException if the series cannot be read.
+     */
+    @Test
+    public void savedMeetingsAndFullPool() throws MeetingDAOException, MeetingSeriesDAOException {
+        Meeting saved = meeting(10 * 60 * MINUTE, 11 * 60 * MINUTE);
+        saved.setId(1L);
+        saved.setMeetingRoom("R0");
+        table.add(saved);
+
+        List<Meeting> meetings = new ArrayList<>();
+        meetings.add(meeting(10 * 60 * MINUTE, 11 * 60 * MINUTE));
+        meetings.add(meeting(10 * 60 * MINUTE, 11 * 60 * MINUTE));
+        meetings.add(meeting(11 * 60 * MINUTE, 12 * 60 * MINUTE));
+
+        RoomAllocation allocation = allocator.allocate(meetings, rooms(2));
+
+        assertEquals(2, allocation.getAllocated().size());
+        assertEquals("R1", meetings.get(0).getMeetingRoom());
+        assertEquals("R0", meetings.get(2).getMeetingRoom());
+        assertEquals(1, allocation.getUnallocated().size());
+        assertNull(allocation.getUnallocated().get(0).getMeetingRoom());
+    }
+
+    /**
+     * This method tests that a room is kept free for the meetings of a
+     * series in it, many weeks after the first one.
+     *
+     * @throws MeetingDAOException       if the index cannot be built.
+     * @throws MeetingSeriesDAOException if the series cannot be read.
+     */
+    @Test
+    public void seriesKeepRoomsFree() throws MeetingDAOException, MeetingSeriesDAOException {
+        Meeting first = meeting(10 * 60 * MINUTE, 11 * 60 * MINUTE);
+        seriesTable.add(new MeetingSeries(1L, first.getStudent(), first.getTeacher(), "R0",
+                first.getMeetingDate(), first.getMeetingEnd(), 1, null));
+
+        List<Meeting> meetings = new ArrayList<>();
+        meetings.add(meeting(70 * DAY + 10 * 60 * MINUTE + 30 * MINUTE, 70 * DAY + 12 * 60 * MINUTE));
+        meetings.add(meeting(71 * DAY + 10 * 60 * MINUTE, 71 * DAY + 11 * 60 * MINUTE));
+
+        RoomAllocation allocation = allocator.allocate(meetings, rooms(2));
+
+        assertTrue(allocation.isComplete());
+        assertEquals("R1", meetings.get(0).getMeetingRoom());
+        assertEquals("R0", meetings.get(1).getMeetingRoom());
+    }
+
+    private static int maxOverlap(List<Meeting> meetings) {
+        List<long[]> events = new ArrayList<>();
+        for (Meeting meeting : meetings) {
+            events.add(new long[]{meeting.getMeetingDate().getTime(), 1});
+            events.add(new long[]{meeting.getMeetingEnd().getTime(), -1});
+        }
+        // at the same time, an end comes before a start
+        events.sort((a, b) -> a[0] != b[0] ? Long.compare(a[0], b[0]) : Long.compare(a[1], b[1]));
+
+        int running = 0;
+        int max = 0;
+        for (long[] event : events) {
+            running += (int) event[1];
+            max = Math.max(max, running);
+        }
+        return max;
+    }
+
+    private static List<String> rooms(int n) {
+        List<String> rooms = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            rooms.add("R" + i);
+        }
+        return rooms;
+    }
+
+    private static Meeting meeting(long start, long end) {
+        Student student = new Student();
+        student.setId(1L);
+        Teacher teacher = new Teacher();
+        teacher.setId(1L);
+        return new Meeting(null, student, teacher, null, new Date(start), new Date(end));
+    }
+
+    private IMeetingDAO fakeDAO() {
+        return (IMeetingDAO) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{IMeetingDAO.class},
+                (proxy, method, args) -> {
+                    if (!method.getName().equals("streamAll")) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    return new ArrayList<>(table).stream();
+                });
+    }
+
+    private IMeetingSeriesDAO fakeSeriesDAO() {
+        return (IMeetingSeriesDAO) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{IMeetingSeriesDAO.class}, (proxy, method, args) -> {
+                    if (!method.getName().equals("getAll")) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    return new ArrayList<>(seriesTable);
+                });
+    }
+}
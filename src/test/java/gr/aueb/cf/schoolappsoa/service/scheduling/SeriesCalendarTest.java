@@ -0,0 +1,90 @@
+package gr.aueb.cf.schoolappsoa.service.scheduling;
+
+import gr.aueb.cf.schoolappsoa.dao.IMeetingSeriesDAO;
+import gr.aueb.cf.schoolappsoa.dao.exceptions.MeetingSeriesDAOException;
+import gr.aueb.cf.schoolappsoa.model.Meeting;
+import gr.aueb.cf.schoolappsoa.model.MeetingOccurrence;
+import gr.aueb.cf.schoolappsoa.model.MeetingSeries;
+import gr.aueb.cf.schoolappsoa.model.Student;
+import gr.aueb.cf.schoolappsoa.model.Teacher;
+import gr.aueb.cf.schoolappsoa.service.scheduling.MeetingConflict.Resource;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This unit test class tests the {@link SeriesCalendar} class,
+ * with a fake {@link IMeetingSeriesDAO}.
+ *
+ * @author Thanasis Chousiadas
+ */
+public class SeriesCalendarTest {
+    private static final long HOUR = 60 * 60 * 1000L;
+    private static final long WEEK = 7 * 24 * HOUR;
+
+    private final List<MeetingSeries> seriesTable = new ArrayList<>();
+    private final SeriesCalendar calendar = new SeriesCalendar(new SeriesIndex(fakeSeriesDAO()), new Recurrence(ZoneOffset.UTC));
+
+    /**
+     * This method tests that the meetings of a batch which overlap a meeting
+     * of a series of their teacher, student or room are found, and that the
+     * meetings which only touch a meeting of a series are not.
+     *
+     * @throws MeetingSeriesDAOException if the series cannot be read.
+     */
+    @Test
+    public void batchConflicts() throws MeetingSeriesDAOException {
+        seriesTable.add(series(1L, 1L, 1L, "A1", 0, 1, null));
+        seriesTable.add(series(2L, 2L, 2L, "B2", 2 * HOUR, 2, 20 * WEEK));
+
+        List<Meeting> batch = new ArrayList<>();
+        batch.add(meeting(9L, 1L, "C3", 30 * WEEK + HOUR / 2, 30 * WEEK + 2 * HOUR));
+        batch.add(meeting(9L, 9L, "A1", 3 * WEEK + HOUR, 3 * WEEK + 2 * HOUR));
+        batch.add(meeting(9L, 9L, "B2", 4 * WEEK + 2 * HOUR, 4 * WEEK + 3 * HOUR));
+        batch.add(meeting(2L, 9L, "C3", 5 * WEEK + 2 * HOUR, 5 * WEEK + 3 * HOUR));
+        batch.add(meeting(9L, 9L, "B2", 22 * WEEK + 2 * HOUR, 22 * WEEK + 3 * HOUR));
+
+        List<MeetingConflict> conflicts = calendar.getConflicts(batch);
+
+        assertEquals(2, conflicts.size());
+        assertSame(batch.get(0), conflicts.get(0).getMeeting());
+        assertEquals(Resource.TEACHER, conflicts.get(0).getResource());
+        assertEquals(30, ((MeetingOccurrence) conflicts.get(0).getOther()).getIndex());
+        assertSame(batch.get(2), conflicts.get(1).getMeeting());
+        assertEquals(Resource.ROOM, conflicts.get(1).getResource());
+    }
+
+    private static MeetingSeries series(Long id, Long studentId, Long teacherId, String room, long first,
+                                        int intervalWeeks, Long until) {
+        Student student = new Student();
+        student.setId(studentId);
+        Teacher teacher = new Teacher();
+        teacher.setId(teacherId);
+        return new MeetingSeries(id, student, teacher, room, new Date(first), new Date(first + HOUR),
+                intervalWeeks, until == null ? null : new Date(until));
+    }
+
+    private static Meeting meeting(Long studentId, Long teacherId, String room, long start, long end) {
+        Student student = new Student();
+        student.setId(studentId);
+        Teacher teacher = new Teacher();
+        teacher.setId(teacherId);
+        return new Meeting(null, student, teacher, room, new Date(start), new Date(end));
+    }
+
+    private IMeetingSeriesDAO fakeSeriesDAO() {
+        return (IMeetingSeriesDAO) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{IMeetingSeriesDAO.class}, (proxy, method, args) -> {
+                    if (!method.getName().equals("getAll")) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    return new ArrayList<>(seriesTable);
+                });
+    }
+}
@@ -0,0 +1,135 @@
+package gr.aueb.cf.schoolappsoa.service.scheduling;
+
+import gr.aueb.cf.schoolappsoa.dao.IMeetingDAO;
+import gr.aueb.cf.schoolappsoa.dao.exceptions.MeetingDAOException;
+import gr.aueb.cf.schoolappsoa.model.Meeting;
+import gr.aueb.cf.schoolappsoa.model.MeetingOccurrence;
+import gr.aueb.cf.schoolappsoa.model.MeetingSeries;
+import gr.aueb.cf.schoolappsoa.model.Student;
+import gr.aueb.cf.schoolappsoa.model.Teacher;
+import gr.aueb.cf.schoolappsoa.service.scheduling.MeetingConflict.Resource;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This unit test class tests the {@link SeriesConflictFinder} class,
+ * with a {@link MeetingIndex} of a fake {@link IMeetingDAO}.
+ *
+ * @author Thanasis Chousiadas
+ */
+public class SeriesConflictFinderTest {
+    private static final long HOUR = 60 * 60 * 1000L;
+    private static final long WEEK = 7 * 24 * HOUR;
+
+    private final List<Meeting> table = new ArrayList<>();
+    private final SeriesConflictFinder finder =
+            new SeriesConflictFinder(new MeetingIndex(fakeDAO()), new Recurrence(ZoneOffset.UTC));
+
+    /**
+     * This method tests that a meeting of a new series which overlaps
+     * a saved meeting of its teacher is found, and a cancelled one is not.
+     *
+     * @throws MeetingDAOException if the index cannot be built.
+     */
+    @Test
+    public void savedMeetings() throws MeetingDAOException {
+        Student student = new Student();
+        student.setId(9L);
+        Teacher teacher = new Teacher();
+        teacher.setId(1L);
+        table.add(new Meeting(1L, student, teacher, "B2", new Date(5 * WEEK + HOUR / 2), new Date(5 * WEEK + 2 * HOUR)));
+        table.add(new Meeting(2L, student, teacher, "B2", new Date(7 * WEEK), new Date(7 * WEEK + HOUR)));
+
+        MeetingSeries series = series(null, 1L, 1L, "A1", 0, 1, 10 * WEEK);
+        series.getCancelledDates().add(new Date(7 * WEEK));
+        List<MeetingConflict> conflicts = finder.getConflicts(series, List.of());
+
+        assertEquals(1, conflicts.size());
+        assertEquals(Resource.TEACHER, conflicts.get(0).getResource());
+        assertEquals(5, ((MeetingOccurrence) conflicts.get(0).getMeeting()).getIndex());
+        assertEquals(1L, conflicts.get(0).getOther().getId());
+    }
+
+    /**
+     * This method tests the conflicts of a new series with saved series:
+     * a biweekly series which meets in the other weeks does not conflict,
+     * an open-ended series of the same room conflicts in every common week.
+     *
+     * @throws MeetingDAOException if the index cannot be built.
+     */
+    @Test
+    public void otherSeries() throws MeetingDAOException {
+        MeetingSeries series = series(null, 1L, 1L, "A1", 0, 2, 20 * WEEK);
+        MeetingSeries otherWeeks = series(2L, 1L, 1L, "A1", WEEK, 2, null);
+        MeetingSeries sameRoom = series(3L, 2L, 2L, "A1", 4 * WEEK + HOUR / 2, 4, null);
+        MeetingSeries otherRoom = series(4L, 3L, 3L, "B2", 0, 1, null);
+
+        List<MeetingConflict> conflicts = finder.getConflicts(series, List.of(otherWeeks, sameRoom, otherRoom));
+
+        // weeks 4, 8, 12 and 16 of the 10 meetings of the series, in weeks 0 to 18
+        assertEquals(4, conflicts.size());
+        for (MeetingConflict conflict : conflicts) {
+            assertEquals(Resource.ROOM, conflict.getResource());
+            assertEquals(3L, ((MeetingOccurrence) conflict.getOther()).getSeries().getId());
+        }
+        assertEquals(new Date(16 * WEEK), conflicts.get(3).getMeeting().getMeetingDate());
+    }
+
+    /**
+     * This method tests two open-ended series which start far apart: a
+     * series every 3 weeks from week 0 and a series every 2 weeks from
+     * week 100 in the same room meet in the same week every 6 weeks, and
+     * the check ends one such period after the later first meeting.
+     * A saved meeting of the teacher after a year is also found.
+     *
+     * @throws MeetingDAOException if the index cannot be built.
+     */
+    @Test
+    public void openEndedSeries() throws MeetingDAOException {
+        Student student = new Student();
+        student.setId(9L);
+        Teacher teacher = new Teacher();
+        teacher.setId(1L);
+        table.add(new Meeting(1L, student, teacher, "B2", new Date(81 * WEEK), new Date(81 * WEEK + HOUR)));
+
+        MeetingSeries series = series(null, 1L, 1L, "A1", 0, 3, null);
+        MeetingSeries later = series(2L, 2L, 2L, "A1", 100 * WEEK, 2, null);
+        MeetingSeries never = series(3L, 3L, 3L, "A1", 101 * WEEK, 3, null);
+
+        List<MeetingConflict> conflicts = finder.getConflicts(series, List.of(later, never));
+
+        assertEquals(3, conflicts.size());
+        assertEquals(Resource.TEACHER, conflicts.get(0).getResource());
+        assertEquals(1L, conflicts.get(0).getOther().getId());
+        assertEquals(new Date(102 * WEEK), conflicts.get(1).getMeeting().getMeetingDate());
+        assertEquals(new Date(108 * WEEK), conflicts.get(2).getMeeting().getMeetingDate());
+        assertEquals(2L, ((MeetingOccurrence) conflicts.get(2).getOther()).getSeries().getId());
+    }
+
+    private static MeetingSeries series(Long id, Long studentId, Long teacherId, String room, long first,
+                                        int intervalWeeks, Long until) {
+        Student student = new Student();
+        student.setId(studentId);
+        Teacher teacher = new Teacher();
+        teacher.setId(teacherId);
+        return new MeetingSeries(id, student, teacher, room, new Date(first), new Date(first + HOUR),
+                intervalWeeks, until == null ? null : new Date(until));
+    }
+
+    private IMeetingDAO fakeDAO() {
+        return (IMeetingDAO) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{IMeetingDAO.class},
+                (proxy, method, args) -> {
+                    if (!method.getName().equals("streamAll")) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    return new ArrayList<>(table).stream();
+                });
+    }
+}
@@ -0,0 +1,111 @@
+package gr.aueb.cf.schoolappsoa.service.scheduling;
+
+import gr.aueb.cf.schoolappsoa.dao.IMeetingSeriesDAO;
+import gr.aueb.cf.schoolappsoa.dao.exceptions.MeetingSeriesDAOException;
+import gr.aueb.cf.schoolappsoa.model.MeetingSeries;
+import gr.aueb.cf.schoolappsoa.model.Student;
+import gr.aueb.cf.schoolappsoa.model.Teacher;
+import gr.aueb.cf.schoolappsoa.service.scheduling.MeetingConflict.Resource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This unit test class tests the {@link SeriesIndex} class, with a
+ * fake {@link IMeetingSeriesDAO} which only returns all its series.
+ *
+ * @author Thanasis Chousiadas
+ */
+public class SeriesIndexTest {
+    private static final long HOUR = 60 * 60 * 1000L;
+    private static final long WEEK = 7 * 24 * HOUR;
+
+    private final List<MeetingSeries> seriesTable = new ArrayList<>();
+    private int loads;
+    private SeriesIndex index;
+
+    /**
+     * Before each unit test, this method saves an open-ended weekly series
+     * of teacher 1 in room A1 and a series of teacher 2 in room A1, which
+     * ends after 10 weeks.
+     */
+    @BeforeEach
+    public void setUp() {
+        seriesTable.add(series(1L, 1L, 1L, "A1", 0, null));
+        seriesTable.add(series(2L, 2L, 2L, "A1", HOUR, 10 * WEEK));
+        index = new SeriesIndex(fakeSeriesDAO());
+    }
+
+    /**
+     * This method tests that the index is read from the table once, at
+     * its first use, and that only the series whose span overlaps a
+     * window are returned.
+     *
+     * @throws MeetingSeriesDAOException if the index cannot be built.
+     */
+    @Test
+    public void seriesOfWindow() throws MeetingSeriesDAOException {
+        assertFalse(index.isLoaded());
+        assertEquals(2, index.getSeries(Resource.ROOM, "A1", new Date(0), new Date(WEEK)).size());
+        assertEquals(1, loads);
+        assertEquals(2, index.size());
+
+        assertEquals(1, index.getSeries(Resource.ROOM, "A1", new Date(20 * WEEK), new Date(21 * WEEK)).size());
+        assertEquals(1, index.getSeries(Resource.TEACHER, 2L, new Date(0), new Date(WEEK)).size());
+        assertTrue(index.getSeries(Resource.STUDENT, 3L, new Date(0), new Date(WEEK)).isEmpty());
+        assertEquals(1, loads);
+    }
+
+    /**
+     * This method tests that the index follows the inserts, the
+     * cancellations and the deletes of the series, without a query.
+     *
+     * @throws MeetingSeriesDAOException if the index cannot be built.
+     */
+    @Test
+    public void incrementalUpdates() throws MeetingSeriesDAOException {
+        index.load();
+
+        index.put(series(3L, 3L, 3L, "B2", 2 * HOUR, null));
+        assertEquals(3L, index.getSeries(Resource.ROOM, "B2", new Date(0), new Date(WEEK)).get(0).getId());
+
+        MeetingSeries before = index.getSeries(Resource.TEACHER, 1L, new Date(0), new Date(WEEK)).get(0);
+        index.cancel(1L, new Date(WEEK));
+        MeetingSeries after = index.getSeries(Resource.TEACHER, 1L, new Date(0), new Date(WEEK)).get(0);
+        assertTrue(before.getCancelledDates().isEmpty());
+        assertTrue(after.getCancelledDates().contains(new Date(WEEK)));
+
+        index.remove(1L);
+        assertEquals(1, index.getSeries(Resource.ROOM, "A1", new Date(0), new Date(WEEK)).size());
+        assertTrue(index.getSeries(Resource.TEACHER, 1L, new Date(0), new Date(WEEK)).isEmpty());
+        assertEquals(2, index.size());
+        assertEquals(1, loads);
+    }
+
+    private static MeetingSeries series(Long id, Long studentId, Long teacherId, String room, long first,
+                                        Long until) {
+        Student student = new Student();
+        student.setId(studentId);
+        Teacher teacher = new Teacher();
+        teacher.setId(teacherId);
+        return new MeetingSeries(id, student, teacher, room, new Date(first), new Date(first + HOUR),
+                1, until == null ? null : new Date(until));
+    }
+
+    private IMeetingSeriesDAO fakeSeriesDAO() {
+        return (IMeetingSeriesDAO) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{IMeetingSeriesDAO.class}, (proxy, method, args) -> {
+                    if (!method.getName().equals("getAll")) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    loads++;
+                    return new ArrayList<>(seriesTable);
+                });
+    }
+}
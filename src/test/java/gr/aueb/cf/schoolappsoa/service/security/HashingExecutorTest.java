@@ -0,0 +1,98 @@
+package gr.aueb.cf.schoolappsoa.service.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This unit test class tests the {@link HashingExecutor} class.
+ *
+ * @author Thanasis Chousiadas
+ */
+public class HashingExecutorTest {
+    private HashingExecutor executor;
+
+    /**
+     * Before each unit test, this method creates an executor
+     * with one thread and a queue of one task.
+     */
+    @BeforeEach
+    public void setUp() {
+        executor = new HashingExecutor(1, 1);
+    }
+
+    /**
+     * After each unit test, this method stops the executor.
+     */
+    @AfterEach
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    /**
+     * This method tests that a password hashed on the executor
+     * is verified on the executor, off the calling thread.
+     *
+     * @throws Exception if a task fails.
+     */
+    @Test
+    public void hashAndCheck() throws Exception {
+        Thread caller = Thread.currentThread();
+        String hash = executor.submit(() -> {
+            assertNotSame(caller, Thread.currentThread());
+            return SecUtil.hashPassword("123456");
+        }).get(30, TimeUnit.SECONDS);
+
+        assertTrue(executor.check("123456", hash).get(30, TimeUnit.SECONDS));
+        assertFalse(executor.check("654321", hash).get(30, TimeUnit.SECONDS));
+        assertEquals(3, executor.getCompletedCount());
+        assertTrue(executor.getMeanRunMillis() > 0);
+    }
+
+    /**
+     * This method tests that the checked exception of a task
+     * completes its future exceptionally.
+     */
+    @Test
+    public void taskException() {
+        CompletableFuture<Object> future = executor.submit(() -> {
+            throw new IOException("failed");
+        });
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(30, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof IOException);
+    }
+
+    /**
+     * This method tests that a task is rejected, without blocking the
+     * caller, when the thread is busy and the queue is full.
+     *
+     * @throws Exception if a task fails.
+     */
+    @Test
+    public void rejectWhenSaturated() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch running = new CountDownLatch(1);
+
+        CompletableFuture<Boolean> busy = executor.submit(() -> {
+            running.countDown();
+            return release.await(30, TimeUnit.SECONDS);
+        });
+        running.await(30, TimeUnit.SECONDS);
+        CompletableFuture<Integer> queued = executor.submit(() -> 1);
+        CompletableFuture<Integer> rejected = executor.submit(() -> 2);
+
+        assertEquals(1, executor.getQueueDepth());
+        assertTrue(rejected.isCompletedExceptionally());
+        assertEquals(1, executor.getRejectedCount());
+
+        release.countDown();
+        assertTrue(busy.get(30, TimeUnit.SECONDS));
+        assertEquals(1, queued.get(30, TimeUnit.SECONDS));
+    }
+}
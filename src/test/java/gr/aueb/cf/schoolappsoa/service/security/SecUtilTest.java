@@ -0,0 +1,69 @@
+package gr.aueb.cf.schoolappsoa.service.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mindrot.jbcrypt.BCrypt;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This unit test class tests the bcrypt cost handling of
+ * the {@link SecUtil} and {@link BcryptCalibrator} classes.
+ *
+ * @author Thanasis Chousiadas
+ */
+public class SecUtilTest {
+
+    /**
+     * After each unit test, this method restores the default cost.
+     */
+    @AfterEach
+    public void tearDown() {
+        SecUtil.setWorkload(SecUtil.DEFAULT_WORKLOAD);
+    }
+
+    /**
+     * This method tests that the cost is read from the prefix of a hash.
+     */
+    @Test
+    public void costOfHash() {
+        assertEquals(4, SecUtil.costOf(BCrypt.hashpw("secret", BCrypt.gensalt(4))));
+        assertEquals(12, SecUtil.costOf("$2a$12$abcdefghijklmnopqrstuu"));
+        assertThrows(IllegalArgumentException.class, () -> SecUtil.costOf("plain"));
+    }
+
+    /**
+     * This method tests that a hash of another cost needs a rehash
+     * and a hash made with the current cost does not.
+     */
+    @Test
+    public void needsRehash() {
+        SecUtil.setWorkload(5);
+        String oldHash = BCrypt.hashpw("secret", BCrypt.gensalt(4));
+        String newHash = SecUtil.hashPassword("secret");
+
+        assertTrue(SecUtil.needsRehash(oldHash));
+        assertFalse(SecUtil.needsRehash(newHash));
+        assertTrue(SecUtil.checkPassword("secret", newHash));
+    }
+
+    /**
+     * This method tests that the calibrator picks the highest cost
+     * within the target, where each cost doubles the time.
+     */
+    @Test
+    public void calibrateToTarget() {
+        assertEquals(12, BcryptCalibrator.calibrate(300, 10, 16, cost -> 50L << (cost - 10)));
+        assertEquals(10, BcryptCalibrator.calibrate(10, 10, 16, cost -> 50L << (cost - 10)));
+        assertEquals(16, BcryptCalibrator.calibrate(100_000, 10, 16, cost -> 50L << (cost - 10)));
+    }
+
+    /**
+     * This method tests the calibration with concurrent hashes,
+     * where no cost meets a zero target.
+     */
+    @Test
+    public void calibrateConcurrently() {
+        assertEquals(BcryptCalibrator.MIN_COST, BcryptCalibrator.calibrate(0, 2));
+    }
+}
@@ -0,0 +1,251 @@
+package gr.aueb.cf.schoolappsoa.service.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This unit test class tests the {@link ConnectionScope} class
+ * against a fake pool, which records the thread that checks out
+ * and the thread that closes every connection.
+ *
+ * @author Thanasis Chousiadas
+ */
+public class ConnectionScopeTest {
+    private static final int THREADS = 16;
+    private static final int CALLS_PER_THREAD = 500;
+    private static final int DAO_CALLS_PER_SERVICE_CALL = 3;
+
+    private FakePool pool;
+
+    /**
+     * Before each unit test, this method creates a new fake pool.
+     */
+    @BeforeEach
+    public void setUp() {
+        pool = new FakePool();
+    }
+
+    /**
+     * This method runs service calls from many threads concurrently.
+     * Every service call opens a scope and makes three DAO calls.
+     * No thread may close a connection of another thread, every
+     * connection must be released and each service call must check
+     * out one connection instead of three.
+     *
+     * @throws Exception if a thread fails.
+     */
+    @Test
+    @SuppressWarnings("try")
+    public void concurrentServiceCalls() throws Exception {
+        runConcurrently(() -> {
+            try (ConnectionScope ignored = ConnectionScope.open(pool)) {
+                for (int i = 0; i < DAO_CALLS_PER_SERVICE_CALL; i++) {
+                    daoCall();
+                }
+            }
+            assertNull(ConnectionScope.current());
+            return null;
+        });
+
+        assertEquals(0, pool.crossThreadCloses.get());
+        assertEquals(0, pool.open.get());
+        assertEquals(THREADS * CALLS_PER_THREAD, pool.checkouts.get());
+    }
+
+    /**
+     * This method runs the same DAO calls without a scope, where
+     * every DAO call checks out its own connection.
+     *
+     * @throws Exception if a thread fails.
+     */
+    @Test
+    public void concurrentCallsWithoutScope() throws Exception {
+        runConcurrently(() -> {
+            for (int i = 0; i < DAO_CALLS_PER_SERVICE_CALL; i++) {
+                daoCall();
+            }
+            return null;
+        });
+
+        assertEquals(0, pool.crossThreadCloses.get());
+        assertEquals(0, pool.open.get());
+        assertEquals(THREADS * CALLS_PER_THREAD * DAO_CALLS_PER_SERVICE_CALL, pool.checkouts.get());
+    }
+
+    /**
+     * This method tests that nested scopes share the connection
+     * and that the outermost scope releases it.
+     *
+     * @throws SQLException if a connection cannot be checked out.
+     */
+    @Test
+    public void nestedScopes() throws SQLException {
+        try (ConnectionScope outer = ConnectionScope.open(pool)) {
+            Connection first = ConnectionScope.getConnection(pool);
+
+            try (ConnectionScope inner = ConnectionScope.open(pool)) {
+                assertSame(outer, inner);
+                assertSame(first, ConnectionScope.getConnection(pool));
+            }
+            assertEquals(1, pool.open.get());
+            assertFalse(first.isClosed());
+        }
+        assertEquals(0, pool.open.get());
+        assertEquals(1, pool.checkouts.get());
+    }
+
+    /**
+     * This method tests that a scope without DAO calls
+     * does not check out a connection.
+     */
+    @Test
+    public void emptyScope() {
+        try (ConnectionScope scope = ConnectionScope.open(pool)) {
+            assertFalse(scope.hasConnection());
+        }
+        assertEquals(0, pool.checkouts.get());
+    }
+
+    /**
+     * This method tests that a scope cannot be used by
+     * a thread other than its owner.
+     *
+     * @throws Exception if the other thread cannot be joined.
+     */
+    @Test
+    public void scopeBelongsToItsThread() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try (ConnectionScope scope = ConnectionScope.open(pool)) {
+            Future<?> future = executor.submit(() -> scope.getConnection());
+            ExecutionException e = assertThrows(ExecutionException.class, future::get);
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * A DAO call as in the Data Access Object Layer.
+     *
+     * @throws SQLException if a connection cannot be checked out.
+     */
+    private void daoCall() throws SQLException {
+        try (Connection conn = ConnectionScope.getConnection(pool)) {
+            assertFalse(conn.isClosed());
+        }
+    }
+
+    private void runConcurrently(Callable<Void> serviceCall) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < CALLS_PER_THREAD; i++) {
+                    serviceCall.call();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        try {
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * A {@link DataSource} which hands out fake connections and records
+     * the checkouts, the open connections and the closes from a thread
+     * other than the one which checked out the connection.
+     */
+    private static class FakePool implements DataSource {
+        private final AtomicInteger checkouts = new AtomicInteger();
+        private final AtomicInteger open = new AtomicInteger();
+        private final AtomicInteger crossThreadCloses = new AtomicInteger();
+
+        @Override
+        public Connection getConnection() {
+            checkouts.incrementAndGet();
+            open.incrementAndGet();
+            Thread owner = Thread.currentThread();
+            boolean[] closed = {false};
+
+            return (Connection) Proxy.newProxyInstance(
+                    getClass().getClassLoader(),
+                    new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "close":
+                                if (Thread.currentThread() != owner) {
+                                    crossThreadCloses.incrementAndGet();
+                                }
+                                if (!closed[0]) {
+                                    closed[0] = true;
+                                    open.decrementAndGet();
+                                }
+                                return null;
+                            case "isClosed":
+                                return closed[0];
+                            default:
+                                throw new UnsupportedOperationException(method.getName());
+                        }
+                    });
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) {
+            return getConnection();
+        }
+
+        @Override
+        public java.io.PrintWriter getLogWriter() {
+            return null;
+        }
+
+        @Override
+        public void setLogWriter(java.io.PrintWriter out) {
+        }
+
+        @Override
+        public void setLoginTimeout(int seconds) {
+        }
+
+        @Override
+        public int getLoginTimeout() {
+            return 0;
+        }
+
+        @Override
+        public java.util.logging.Logger getParentLogger() {
+            return java.util.logging.Logger.getGlobal();
+        }
+
+        @Override
+        public <T> T unwrap(Class<T> iface) throws SQLException {
+            throw new SQLException("Not a wrapper");
+        }
+
+        @Override
+        public boolean isWrapperFor(Class<?> iface) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package gr.aueb.cf.schoolappsoa.service.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This unit test class tests the {@link DBConfig} class.
+ *
+ * @author Thanasis Chousiadas
+ */
+public class DBConfigTest {
+
+    /**
+     * After each unit test, this method clears the system properties.
+     */
+    @AfterEach
+    public void tearDown() {
+        System.clearProperty("db.pool.maxTotal");
+    }
+
+    /**
+     * This method tests that the settings of the classpath
+     * file are loaded.
+     */
+    @Test
+    public void loadClasspathFile() {
+        DBConfig config = DBConfig.load();
+
+        assertEquals("schoolpro_user", config.getString("db.username", null));
+        assertTrue(config.getBoolean("db.pool.poolPreparedStatements", false));
+        assertEquals(32, config.getInt("db.pool.maxTotal", 0));
+    }
+
+    /**
+     * This method tests that a system property overrides the file.
+     */
+    @Test
+    public void systemPropertyOverridesFile() {
+        System.setProperty("db.pool.maxTotal", "64");
+
+        assertEquals(64, DBConfig.load().getInt("db.pool.maxTotal", 0));
+    }
+
+    /**
+     * This method tests the defaults of missing or blank settings.
+     */
+    @Test
+    public void defaults() {
+        Properties properties = new Properties();
+        properties.setProperty("db.pool.maxIdle", " ");
+        DBConfig config = new DBConfig(properties);
+
+        assertEquals(10, config.getInt("db.pool.maxIdle", 10));
+        assertEquals(-1L, config.getLong("db.pool.maxWaitMillis", -1L));
+        assertEquals("url", config.getString("db.url", "url"));
+    }
+}
@@ -0,0 +1,73 @@
+package gr.aueb.cf.schoolappsoa.service.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This unit test class tests the {@link LatencyHistogram} class.
+ *
+ * @author Thanasis Chousiadas
+ */
+public class LatencyHistogramTest {
+
+    /**
+     * This method tests the count, the mean and the maximum latency.
+     */
+    @Test
+    public void recordLatencies() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(1));
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(3));
+
+        assertEquals(2, histogram.getCount());
+        assertEquals(2.0, histogram.getMeanMillis(), 1e-9);
+        assertEquals(3.0, histogram.getMaxMillis(), 1e-9);
+    }
+
+    /**
+     * This method tests that every latency falls in the bucket
+     * of the smallest bound not less than the latency.
+     */
+    @Test
+    public void bucketsAndPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 99; i++) {
+            histogram.record(TimeUnit.MICROSECONDS.toNanos(800));
+        }
+        histogram.record(TimeUnit.SECONDS.toNanos(10));
+
+        long[] counts = histogram.getBucketCounts();
+        assertEquals(99, counts[2]);
+        assertEquals(1, counts[counts.length - 1]);
+        assertEquals(1.0, histogram.getPercentileMillis(99), 1e-9);
+        assertEquals(10_000.0, histogram.getPercentileMillis(100), 1e-9);
+    }
+
+    /**
+     * This method tests that no latency is lost when
+     * many threads record concurrently.
+     *
+     * @throws InterruptedException if the threads are interrupted.
+     */
+    @Test
+    public void concurrentRecording() throws InterruptedException {
+        LatencyHistogram histogram = new LatencyHistogram();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        for (int t = 0; t < 8; t++) {
+            executor.execute(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    histogram.record(i);
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        assertEquals(80_000, histogram.getCount());
+    }
+}
@@ -0,0 +1,203 @@
+package gr.aueb.cf.schoolappsoa.service.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This unit test class tests the {@link UnitOfWork} class
+ * against a fake pool, which records the transaction calls
+ * made on its connections.
+ *
+ * @author Thanasis Chousiadas
+ */
+public class UnitOfWorkTest {
+    private FakePool pool;
+
+    /**
+     * Before each unit test, this method creates a new fake pool.
+     */
+    @BeforeEach
+    public void setUp() {
+        pool = new FakePool();
+    }
+
+    /**
+     * This method tests that the DAO calls of a committed unit of work
+     * share one connection and one transaction.
+     *
+     * @throws SQLException if a connection cannot be checked out.
+     */
+    @Test
+    public void commit() throws SQLException {
+        try (UnitOfWork uow = UnitOfWork.begin(pool)) {
+            daoCall();
+            daoCall();
+            daoCall();
+            uow.commit();
+            assertTrue(uow.isCommitted());
+        }
+
+        assertEquals(1, pool.checkouts);
+        assertEquals(List.of("setAutoCommit false", "commit", "setAutoCommit true", "close"), pool.calls);
+        assertNull(ConnectionScope.current());
+    }
+
+    /**
+     * This method tests that a unit of work closed by an
+     * exception rolls back its changes.
+     */
+    @Test
+    @SuppressWarnings("try")
+    public void rollbackOnException() {
+        assertThrows(IllegalStateException.class, () -> {
+            try (UnitOfWork ignored = UnitOfWork.begin(pool)) {
+                daoCall();
+                throw new IllegalStateException();
+            }
+        });
+
+        assertEquals(List.of("setAutoCommit false", "rollback", "setAutoCommit true", "close"), pool.calls);
+        assertNull(ConnectionScope.current());
+    }
+
+    /**
+     * This method tests that a nested unit of work joins the
+     * transaction of the outer one and does not commit it.
+     *
+     * @throws SQLException if a connection cannot be checked out.
+     */
+    @Test
+    public void nestedUnitOfWork() throws SQLException {
+        try (UnitOfWork outer = UnitOfWork.begin(pool)) {
+            try (UnitOfWork inner = UnitOfWork.begin(pool)) {
+                daoCall();
+                inner.commit();
+            }
+            assertEquals(List.of("setAutoCommit false"), pool.calls);
+            outer.commit();
+        }
+
+        assertEquals(1, pool.checkouts);
+        assertEquals(List.of("setAutoCommit false", "commit", "setAutoCommit true", "close"), pool.calls);
+    }
+
+    /**
+     * This method tests that a nested unit of work which is closed
+     * without a commit makes the commit of the outer one fail and
+     * rolls back the whole transaction.
+     *
+     * @throws SQLException if a connection cannot be checked out.
+     */
+    @Test
+    @SuppressWarnings("try")
+    public void nestedUnitOfWorkNotCommitted() throws SQLException {
+        try (UnitOfWork outer = UnitOfWork.begin(pool)) {
+            try (UnitOfWork ignored = UnitOfWork.begin(pool)) {
+                daoCall();
+            }
+            assertThrows(SQLException.class, outer::commit);
+            assertFalse(outer.isCommitted());
+        }
+
+        assertEquals(List.of("setAutoCommit false", "rollback", "setAutoCommit true", "close"), pool.calls);
+
+        try (UnitOfWork next = UnitOfWork.begin(pool)) {
+            next.commit();
+        }
+        assertTrue(pool.calls.contains("commit"));
+    }
+
+    /**
+     * A DAO call as in the Data Access Object Layer.
+     *
+     * @throws SQLException if a connection cannot be checked out.
+     */
+    private void daoCall() throws SQLException {
+        try (Connection conn = ConnectionScope.getConnection(pool)) {
+            assertFalse(conn.getAutoCommit());
+        }
+    }
+
+    /**
+     * A {@link DataSource} which hands out fake connections and
+     * records the transaction calls made on them.
+     */
+    private static class FakePool implements DataSource {
+        private final List<String> calls = new ArrayList<>();
+        private int checkouts;
+
+        @Override
+        public Connection getConnection() {
+            checkouts++;
+            boolean[] autoCommit = {true};
+
+            return (Connection) Proxy.newProxyInstance(
+                    getClass().getClassLoader(),
+                    new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "getAutoCommit":
+                                return autoCommit[0];
+                            case "setAutoCommit":
+                                autoCommit[0] = (Boolean) args[0];
+                                calls.add("setAutoCommit " + args[0]);
+                                return null;
+                            case "commit":
+                            case "rollback":
+                            case "close":
+                                calls.add(method.getName());
+                                return null;
+                            default:
+                                throw new UnsupportedOperationException(method.getName());
+                        }
+                    });
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) {
+            return getConnection();
+        }
+
+        @Override
+        public java.io.PrintWriter getLogWriter() {
+            return null;
+        }
+
+        @Override
+        public void setLogWriter(java.io.PrintWriter out) {
+        }
+
+        @Override
+        public void setLoginTimeout(int seconds) {
+        }
+
+        @Override
+        public int getLoginTimeout() {
+            return 0;
+        }
+
+        @Override
+        public java.util.logging.Logger getParentLogger() {
+            return java.util.logging.Logger.getGlobal();
+        }
+
+        @Override
+        public <T> T unwrap(Class<T> iface) throws SQLException {
+            throw new SQLException("Not a wrapper");
+        }
+
+        @Override
+        public boolean isWrapperFor(Class<?> iface) {
+            return false;
+        }
+    }
+}